@@ -0,0 +1,100 @@
+// k6 load test for comparing the platform and virtual thread modes. See "Load testing" in the README.
+import http from 'k6/http';
+import { check } from 'k6';
+import { textSummary } from 'https://jslib.k6.io/k6-summary/0.0.2/index.js';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const OFFICERS = parseInt(__ENV.OFFICERS || '1000');
+const VUS = parseInt(__ENV.VUS || '500');
+const DURATION = __ENV.DURATION || '2m';
+const WRITE_PERCENT = parseInt(__ENV.WRITE_PERCENT || '10');
+// platform or virtual, matching VIRTUAL_THREADS_ENABLED on the service under test
+const MODE = __ENV.MODE || 'platform';
+
+const natural = JSON.parse(open('../src/itest/resources/json/input/natural_disqualified_officer.json'));
+
+const internalHeaders = {
+    'Content-Type': 'application/json',
+    'ERIC-Identity': 'load-test',
+    'ERIC-Identity-Type': 'key',
+    'ERIC-Authorised-Key-Privileges': 'internal-app',
+};
+const readHeaders = {
+    'ERIC-Identity': 'load-test',
+    'ERIC-Identity-Type': 'key',
+};
+
+export const options = {
+    scenarios: {
+        mixed: {
+            executor: 'constant-vus',
+            vus: VUS,
+            duration: DURATION,
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        'http_req_failed': ['rate<0.01'],
+        'http_req_duration{type:read}': ['p(99)<500'],
+        // No limit, only listed so the write latencies are in the summary
+        'http_req_duration{type:write}': [],
+    },
+};
+
+function officerId(index) {
+    return `load-test-officer-${index}`;
+}
+
+function deltaAt() {
+    // Increasing, so repeated writes of an officer are never stale
+    return new Date().toISOString();
+}
+
+function put(index) {
+    const body = JSON.parse(JSON.stringify(natural));
+    body.internal_data.delta_at = deltaAt();
+    return http.put(`${BASE_URL}/disqualified-officers/natural/${officerId(index)}/internal`,
+        JSON.stringify(body), { headers: internalHeaders, tags: { type: 'write' } });
+}
+
+export function setup() {
+    for (let i = 0; i < OFFICERS; i++) {
+        put(i);
+    }
+}
+
+export default function () {
+    const index = Math.floor(Math.random() * OFFICERS);
+    if (Math.random() * 100 < WRITE_PERCENT) {
+        check(put(index), { 'write accepted': (r) => r.status === 200 });
+    } else {
+        const response = http.get(`${BASE_URL}/disqualified-officers/natural/${officerId(index)}`,
+            { headers: readHeaders, tags: { type: 'read' } });
+        check(response, { 'read found': (r) => r.status === 200 });
+    }
+}
+
+function latencies(metric) {
+    const values = metric ? metric.values : {};
+    return { p50: values['p(50)'], p95: values['p(95)'], p99: values['p(99)'] };
+}
+
+/**
+ * Prints the usual summary and writes the figures for the README to load-test/results-<MODE>.json.
+ */
+export function handleSummary(data) {
+    const results = {
+        mode: MODE,
+        vus: VUS,
+        duration: DURATION,
+        write_percent: WRITE_PERCENT,
+        throughput_per_second: data.metrics.http_reqs.values.rate,
+        failed_rate: data.metrics.http_req_failed.values.rate,
+        read_ms: latencies(data.metrics['http_req_duration{type:read}']),
+        write_ms: latencies(data.metrics['http_req_duration{type:write}']),
+    };
+    return {
+        stdout: textSummary(data, { indent: ' ', enableColors: true }),
+        [`load-test/results-${MODE}.json`]: JSON.stringify(results, null, 2) + '\n',
+    };
+}
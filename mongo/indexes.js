@@ -0,0 +1,36 @@
+// Indexes of the disqualifications database. The service does not create them on startup, so run this
+// against the database before deploying a release that needs a new index:
+//
+//   mongosh "$MONGODB_URL/disqualifications" mongo/indexes.js
+//
+// It can be run any number of times. Keep it in step with the @Indexed and @CompoundIndex annotations
+// of the documents. Builds are in the background on MongoDB versions before 4.2, which ignore the option.
+
+function createIndex(collection, keys, name) {
+    var result = collection.createIndex(keys, { name: name, background: true });
+    if (result && result.ok === 0) {
+        throw new Error('Unable to create ' + name + ' on ' + collection.getName() + ': ' + result.errmsg);
+    }
+}
+
+function dropIndexIfExists(collection, name) {
+    var exists = collection.getIndexes().some(function (index) {
+        return index.name === name;
+    });
+    if (exists) {
+        collection.dropIndex(name);
+    }
+}
+
+var disqualifications = db.getCollection('disqualifications');
+createIndex(disqualifications, { 'created.at': 1 }, 'created_at');
+createIndex(disqualifications, { delta_at_micros: 1 }, 'delta_at_micros');
+createIndex(disqualifications, { public_json_version: 1 }, 'public_json_version');
+// Replaced by the plain _id lookup
+dropIndexIfExists(disqualifications, 'staleness_lookup');
+
+var outbox = db.getCollection('disqualifications_outbox');
+createIndex(outbox, { officer_id: 1, sequence: 1 }, 'officer_sequence');
+createIndex(outbox, { failed_at: 1, next_attempt_at: 1, created_at: 1 }, 'pending_due');
+// Replaced by pending_due
+dropIndexIfExists(outbox, 'pending');
@@ -10,7 +10,7 @@ import uk.gov.companieshouse.disqualifiedofficersdataapi.api.DisqualifiedOfficer
  * Loads the application context.
  * Best place to mock your downstream calls.
  */
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "chs.kafka.api.key=itest")
 @DirtiesContext
 @ActiveProfiles({"test"})
 public abstract class AbstractIntegrationTest extends AbstractMongoConfig {
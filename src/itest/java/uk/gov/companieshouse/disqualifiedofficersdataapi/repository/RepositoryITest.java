@@ -4,25 +4,91 @@ import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.Container.ExecResult;
 import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
 import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.api.DisqualifiedOfficerApiService;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.api.ResourceChangedRequest;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.config.AbstractMongoConfig;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.Created;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.OutboxEvent;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.Updated;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.UpsertOutcome;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.service.ResourceChangedPublisher;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
 
 @Testcontainers
 @DataMongoTest
+@Import(JobLockRepository.class)
 class RepositoryITest extends AbstractMongoConfig {
 
+  private static final long JANUARY_2024_MICROS = 1704067200000000L;
+  private static final long FEBRUARY_2024_MICROS = 1706745600000000L;
+  private static final long MARCH_2024_MICROS = 1709251200000000L;
+
   @Autowired
   private NaturalDisqualifiedOfficerRepository naturalRepository;
 
+  @Autowired
+  private DisqualifiedOfficerRepository repository;
+
+  @Autowired
+  private OutboxEventRepository outboxRepository;
+
+  @Autowired
+  private JobLockRepository lockRepository;
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
   @BeforeAll
-  static void setup(){
+  static void setup() throws Exception {
     mongoDBContainer.start();
+    // Indexes are not created on startup, so create them as a deployment would
+    mongoDBContainer.copyFileToContainer(MountableFile.forHostPath("mongo/indexes.js"), "/indexes.js");
+    ExecResult result = mongoDBContainer.execInContainer("mongo", "--quiet", "test", "/indexes.js");
+    Assertions.assertThat(result.getExitCode()).as(result.getStderr()).isZero();
+  }
+
+  @Test
+  void should_create_every_declared_index_with_the_index_script() {
+    IndexResolver resolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+    for (Class<?> type : List.of(DisqualificationDocument.class, OutboxEvent.class)) {
+      List<String> declared = new ArrayList<>();
+      resolver.resolveIndexFor(type).forEach(index -> declared.add(index.getIndexOptions().getString("name")));
+
+      Assertions.assertThat(mongoTemplate.indexOps(type).getIndexInfo())
+          .extracting(IndexInfo::getName)
+          .containsAll(declared)
+          .doesNotContain("staleness_lookup", "pending");
+    }
   }
 
   @Test
@@ -34,6 +100,376 @@ class RepositoryITest extends AbstractMongoConfig {
     Assertions.assertThat(naturalRepository.findById("1234567890")).isNotEmpty();
   }
 
+  @Test
+  void should_upsert_when_not_stale_and_keep_created() {
+    LocalDateTime firstWrite = LocalDateTime.of(2024, 1, 1, 0, 0);
+    LocalDateTime secondWrite = LocalDateTime.of(2024, 2, 1, 0, 0);
+
+    Assertions.assertThat(repository.upsertIfNotStale(
+        createUpsertDocument("upsert-1", "20240101000000000000", firstWrite), true)).isEqualTo(UpsertOutcome.APPLIED);
+    Assertions.assertThat(repository.upsertIfNotStale(
+        createUpsertDocument("upsert-1", "20240201000000000000", secondWrite), true)).isEqualTo(UpsertOutcome.APPLIED);
+
+    DisqualificationDocument stored = repository.findById("upsert-1").orElseThrow();
+    Assertions.assertThat(stored.getDeltaAt()).isEqualTo("20240201000000000000");
+    Assertions.assertThat(stored.getCreated().getAt()).isEqualTo(firstWrite);
+    Assertions.assertThat(stored.getUpdated().getAt()).isEqualTo(secondWrite);
+  }
+
+  @Test
+  void should_stream_every_id() {
+    naturalRepository.save(createDisqualificationDocument("stream-1"));
+    naturalRepository.save(createDisqualificationDocument("stream-2"));
+
+    List<String> ids = new ArrayList<>();
+    repository.forEachId(ids::add);
+
+    Assertions.assertThat(ids).contains("stream-1", "stream-2");
+  }
+
+  @Test
+  void should_stream_ids_created_since() {
+    LocalDateTime since = LocalDateTime.of(2024, 6, 1, 12, 0);
+    NaturalDisqualificationDocument before = createDisqualificationDocument("created-before");
+    before.setCreated(new Created().setAt(since.minusSeconds(1)));
+    NaturalDisqualificationDocument after = createDisqualificationDocument("created-since");
+    after.setCreated(new Created().setAt(since));
+    naturalRepository.save(before);
+    naturalRepository.save(after);
+
+    List<String> ids = new ArrayList<>();
+    repository.forEachIdCreatedSince(since, ids::add);
+
+    Assertions.assertThat(ids).contains("created-since").doesNotContain("created-before");
+  }
+
+  @Test
+  void should_only_store_public_json_of_unchanged_documents() {
+    NaturalDisqualificationDocument document = createDisqualificationDocument("public-json-1");
+    document.getData().setEtag("etag-1");
+    naturalRepository.save(document);
+
+    Assertions.assertThat(repository.findWithPublicJsonVersionNot(1, 100))
+        .extracting(DisqualificationDocument::getId)
+        .contains("public-json-1");
+
+    document.setPublicJson("{}".getBytes()).setPublicJsonVersion(1);
+    Assertions.assertThat(repository.updatePublicJsonIfUnchanged(document)).isTrue();
+    Assertions.assertThat(naturalRepository.findPublicJsonById("public-json-1").orElseThrow().getPublicJson())
+        .isEqualTo("{}".getBytes());
+    Assertions.assertThat(repository.findWithPublicJsonVersionNot(1, 100))
+        .extracting(DisqualificationDocument::getId)
+        .doesNotContain("public-json-1");
+
+    document.getData().setEtag("etag-0");
+    Assertions.assertThat(repository.updatePublicJsonIfUnchanged(document)).isFalse();
+  }
+
+  @Test
+  void should_read_data_as_raw_bson() {
+    NaturalDisqualificationDocument document = createDisqualificationDocument("raw-data-1");
+    document.getData().setEtag("etag-1");
+    document.getData().setSurname("SURNAME");
+    naturalRepository.save(document);
+
+    NaturalDisqualificationDocument found = repository
+        .findWithRawDataById("raw-data-1", NaturalDisqualificationDocument.class).orElseThrow();
+
+    Assertions.assertThat(found.getDeltaAt()).isEqualTo(document.getDeltaAt());
+    Assertions.assertThat(found.getData().getEtag()).isEqualTo("etag-1");
+    Assertions.assertThat(found.getData().getSurname()).isNull();
+    Assertions.assertThat(found.getRawData().getString("surname").getValue()).isEqualTo("SURNAME");
+    Assertions.assertThat(repository.findWithRawDataById("raw-data-2", NaturalDisqualificationDocument.class))
+        .isEmpty();
+  }
+
+  @Test
+  void should_read_only_delta_at_and_officer_type_for_the_staleness_check() {
+    NaturalDisqualificationDocument document = createDisqualificationDocument("staleness-1");
+    document.setDeltaAt("20240101000000000000");
+    naturalRepository.save(document);
+
+    DisqualificationDocument found = repository.findDeltaAtById("staleness-1").orElseThrow();
+    Assertions.assertThat(found.getDeltaAt()).isEqualTo("20240101000000000000");
+    Assertions.assertThat(found.isCorporateOfficer()).isFalse();
+    Assertions.assertThat(found.getCreated()).isNull();
+  }
+
+  @Test
+  void should_not_upsert_when_stale() {
+    LocalDateTime firstWrite = LocalDateTime.of(2024, 2, 1, 0, 0);
+
+    repository.upsertIfNotStale(createUpsertDocument("upsert-2", "20240201000000000000", firstWrite), true);
+
+    Assertions.assertThat(repository.upsertIfNotStale(
+        createUpsertDocument("upsert-2", "20240101000000000000", LocalDateTime.now()), true)).isEqualTo(UpsertOutcome.STALE);
+    Assertions.assertThat(repository.findById("upsert-2").orElseThrow().getDeltaAt())
+        .isEqualTo("20240201000000000000");
+  }
+
+  @Test
+  void should_upsert_when_delta_at_is_equal_or_missing() {
+    repository.save(new DisqualificationDocument().setId("upsert-3"));
+
+    Assertions.assertThat(repository.upsertIfNotStale(
+        createUpsertDocument("upsert-3", "20240101000000000000", LocalDateTime.now()), true)).isEqualTo(UpsertOutcome.APPLIED);
+    Assertions.assertThat(repository.upsertIfNotStale(
+        createUpsertDocument("upsert-3", "20240101000000000000", LocalDateTime.now()), true)).isEqualTo(UpsertOutcome.APPLIED);
+  }
+
+  @Test
+  void should_only_advance_delta_at_when_content_is_unchanged() {
+    LocalDateTime firstWrite = LocalDateTime.of(2024, 1, 1, 0, 0);
+    repository.upsertIfNotStale(createUpsertDocument("unchanged-1", "20240101000000000000", firstWrite)
+        .setContentHash("hash-1"), true);
+
+    Assertions.assertThat(repository.upsertIfNotStale(
+        createUpsertDocument("unchanged-1", "20240201000000000000", LocalDateTime.now())
+            .setContentHash("hash-1"), true)).isEqualTo(UpsertOutcome.UNCHANGED);
+    DisqualificationDocument stored = repository.findById("unchanged-1").orElseThrow();
+    Assertions.assertThat(stored.getDeltaAt()).isEqualTo("20240201000000000000");
+    Assertions.assertThat(stored.getUpdated().getAt()).isEqualTo(firstWrite);
+
+    Assertions.assertThat(repository.upsertIfNotStale(
+        createUpsertDocument("unchanged-1", "20240101000000000000", LocalDateTime.now())
+            .setContentHash("hash-1"), true)).isEqualTo(UpsertOutcome.STALE);
+    Assertions.assertThat(repository.bulkUpsertIfNotStale(List.of(
+        createUpsertDocument("unchanged-1", "20240301000000000000", LocalDateTime.now())
+            .setContentHash("hash-1"),
+        createUpsertDocument("unchanged-2", "20240301000000000000", LocalDateTime.now())
+            .setContentHash("hash-1")), true))
+        .containsExactly(UpsertOutcome.UNCHANGED, UpsertOutcome.APPLIED);
+    Assertions.assertThat(repository.upsertIfNotStale(
+        createUpsertDocument("unchanged-1", "20240401000000000000", LocalDateTime.now())
+            .setContentHash("hash-2"), true)).isEqualTo(UpsertOutcome.APPLIED);
+  }
+
+  @Test
+  void should_apply_resend_until_content_hash_is_stored() {
+    NaturalDisqualificationDocument document = createDisqualificationDocument("hash-1");
+    document.setDeltaAt("20240101000000000000").setContentHash("hash-1");
+    document.getData().setEtag("etag-1");
+    document.setUpdated(new Updated().setAt(LocalDateTime.now()));
+
+    Assertions.assertThat(repository.upsertIfNotStale(document, false)).isEqualTo(UpsertOutcome.APPLIED);
+    Assertions.assertThat(repository.findById("hash-1").orElseThrow().getContentHash()).isNull();
+    // Resent after its notification failed
+    Assertions.assertThat(repository.upsertIfNotStale(document, false)).isEqualTo(UpsertOutcome.APPLIED);
+
+    repository.storeContentHash(List.of(document));
+
+    Assertions.assertThat(repository.findById("hash-1").orElseThrow().getContentHash()).isEqualTo("hash-1");
+    Assertions.assertThat(repository.upsertIfNotStale(document, false)).isEqualTo(UpsertOutcome.UNCHANGED);
+    Assertions.assertThat(repository.bulkUpsertIfNotStale(List.of(document), false))
+        .containsExactly(UpsertOutcome.UNCHANGED);
+    Assertions.assertThat(repository.findById("hash-1").orElseThrow().getContentHash()).isEqualTo("hash-1");
+  }
+
+  @Test
+  void should_only_delete_when_type_matches_and_not_stale() {
+    repository.upsertIfNotStale(createUpsertDocument("delete-1", "20240201000000000000", LocalDateTime.now()), true);
+
+    Assertions.assertThat(repository.findAndDeleteIfNotStale("delete-1", "20240101000000000000", null, false,
+        DisqualificationDocument.class)).isEmpty();
+    Assertions.assertThat(repository.findAndDeleteIfNotStale("delete-1", "20240301000000000000", MARCH_2024_MICROS,
+        true, DisqualificationDocument.class)).isEmpty();
+    Assertions.assertThat(repository.findDeltaAtById("delete-1")).isNotEmpty();
+
+    Assertions.assertThat(repository.findAndDeleteIfNotStale("delete-1", "20240301000000000000", MARCH_2024_MICROS,
+        false, DisqualificationDocument.class)).isNotEmpty();
+    Assertions.assertThat(repository.findById("delete-1")).isEmpty();
+  }
+
+  @Test
+  void should_compare_delta_at_until_delta_at_micros_is_backfilled() {
+    repository.save(new DisqualificationDocument().setId("micros-1").setDeltaAt("20240201000000000000"));
+
+    Assertions.assertThat(repository.upsertIfNotStale(
+        createUpsertDocument("micros-1", "20240101000000000000", LocalDateTime.now())
+            .setDeltaAtMicros(JANUARY_2024_MICROS), true)).isEqualTo(UpsertOutcome.STALE);
+
+    DisqualificationDocument found = repository.findWithoutDeltaAtMicros("micros-0", 1).getFirst();
+    Assertions.assertThat(found.getId()).isEqualTo("micros-1");
+    Assertions.assertThat(found.getDeltaAt()).isEqualTo("20240201000000000000");
+    Assertions.assertThat(repository.updateDeltaAtMicros(List.of(found.setDeltaAtMicros(FEBRUARY_2024_MICROS))))
+        .isEqualTo(1);
+    Assertions.assertThat(repository.updateDeltaAtMicros(List.of(found))).isZero();
+    Assertions.assertThat(repository.findWithoutDeltaAtMicros("micros-0", 1))
+        .extracting(DisqualificationDocument::getId)
+        .doesNotContain("micros-1");
+
+    Assertions.assertThat(repository.upsertIfNotStale(
+        createUpsertDocument("micros-1", "20240101000000000000", LocalDateTime.now())
+            .setDeltaAtMicros(JANUARY_2024_MICROS), true)).isEqualTo(UpsertOutcome.STALE);
+    Assertions.assertThat(repository.upsertIfNotStale(
+        createUpsertDocument("micros-1", "20240301000000000000", LocalDateTime.now())
+            .setDeltaAtMicros(MARCH_2024_MICROS), true)).isEqualTo(UpsertOutcome.APPLIED);
+    Assertions.assertThat(repository.findById("micros-1").orElseThrow().getDeltaAtMicros())
+        .isEqualTo(MARCH_2024_MICROS);
+    Assertions.assertThat(mongoTemplate.indexOps(DisqualificationDocument.class).getIndexInfo())
+        .extracting(IndexInfo::getName)
+        .contains("delta_at_micros");
+  }
+
+  @Test
+  void should_grant_each_job_lease_to_one_owner_until_it_expires() {
+    Instant now = Instant.parse("2024-09-25T17:10:03Z");
+    Duration lease = Duration.ofSeconds(30);
+    String outbox = JobLockRepository.OUTBOX_DISPATCHER;
+
+    Assertions.assertThat(lockRepository.tryAcquire(outbox, "owner-1", now, lease)).isTrue();
+    Assertions.assertThat(lockRepository.tryAcquire(outbox, "owner-2", now.plusSeconds(10), lease)).isFalse();
+    Assertions.assertThat(lockRepository.tryAcquire(outbox, "owner-1", now.plusSeconds(10), lease)).isTrue();
+    Assertions.assertThat(lockRepository.tryAcquire(outbox, "owner-2", now.plusSeconds(41), lease)).isTrue();
+    Assertions.assertThat(lockRepository.tryAcquire(JobLockRepository.PUBLIC_JSON_REBUILD, "owner-1",
+        now.plusSeconds(41), lease)).isTrue();
+
+    lockRepository.release(outbox, "owner-2");
+    Assertions.assertThat(lockRepository.tryAcquire(outbox, "owner-1", now.plusSeconds(42), lease)).isTrue();
+  }
+
+
+  @Test
+  void should_return_due_outbox_events_oldest_first_and_redrive_parked_events() {
+    Instant now = Instant.parse("2024-09-25T17:10:03Z");
+    OutboxEvent parked = outboxRepository.insert(new OutboxEvent().setOfficerId("officer-1")
+        .setResourceType(DisqualificationResourceType.NATURAL).setAttempts(10).setFailedAt(now.minusSeconds(7200)));
+    OutboxEvent waiting = outboxRepository.insert(new OutboxEvent().setOfficerId("officer-2")
+        .setResourceType(DisqualificationResourceType.NATURAL).setAttempts(1).setNextAttemptAt(now.plusSeconds(1)));
+    OutboxEvent retried = outboxRepository.insert(new OutboxEvent().setOfficerId("officer-3")
+        .setResourceType(DisqualificationResourceType.NATURAL).setAttempts(1).setNextAttemptAt(now));
+    OutboxEvent first = outboxRepository.insert(new OutboxEvent().setOfficerId("officer-1")
+        .setResourceType(DisqualificationResourceType.NATURAL));
+    OutboxEvent second = outboxRepository.insert(new OutboxEvent().setOfficerId("officer-1")
+        .setResourceType(DisqualificationResourceType.NATURAL).setDelete(true));
+
+    Assertions.assertThat(outboxRepository.findDue(now, PageRequest.of(0, 10, Sort.by("id"))))
+        .extracting(OutboxEvent::getId)
+        .containsExactly(retried.getId(), first.getId(), second.getId())
+        .doesNotContain(parked.getId(), waiting.getId());
+
+    Assertions.assertThat(outboxRepository.redriveFailedBefore(now.minusSeconds(10800))).isZero();
+    Assertions.assertThat(outboxRepository.redriveFailedBefore(now.minusSeconds(3600))).isEqualTo(1);
+    OutboxEvent redriven = outboxRepository.findById(parked.getId()).orElseThrow();
+    Assertions.assertThat(redriven.getFailedAt()).isNull();
+    Assertions.assertThat(redriven.getAttempts()).isZero();
+    Assertions.assertThat(outboxRepository.findDue(now, PageRequest.of(0, 10, Sort.by("id"))))
+        .extracting(OutboxEvent::getId)
+        .contains(parked.getId());
+    Assertions.assertThat(mongoTemplate.indexOps(OutboxEvent.class).getIndexInfo())
+        .extracting(IndexInfo::getName)
+        .contains("pending_due");
+  }
+
+  @Test
+  void should_write_stale_and_unchanged_documents_in_outbox_transaction() {
+    ensureCollectionsExist();
+    ResourceChangedPublisher publisher = outboxPublisher();
+
+    Assertions.assertThat(write(publisher, createUpsertDocument("outbox-1", "20240201000000000000",
+        LocalDateTime.now()).setContentHash("hash-1"))).isEqualTo(UpsertOutcome.APPLIED);
+    Assertions.assertThat(write(publisher, createUpsertDocument("outbox-1", "20240301000000000000",
+        LocalDateTime.now()).setContentHash("hash-1"))).isEqualTo(UpsertOutcome.UNCHANGED);
+    Assertions.assertThat(write(publisher, createUpsertDocument("outbox-1", "20240101000000000000",
+        LocalDateTime.now()).setContentHash("hash-2"))).isEqualTo(UpsertOutcome.STALE);
+
+    Assertions.assertThat(repository.findById("outbox-1").orElseThrow().getDeltaAt())
+        .isEqualTo("20240301000000000000");
+    Assertions.assertThat(countOutboxEvents("outbox-1")).isEqualTo(1);
+
+    Assertions.assertThat(write(publisher, createUpsertDocument("outbox-1", "20240401000000000000",
+        LocalDateTime.now()).setContentHash("hash-2"))).isEqualTo(UpsertOutcome.APPLIED);
+    Assertions.assertThat(outboxRepository.findByOfficerIdIn(List.of("outbox-1"), Sort.by("sequence")))
+        .extracting(OutboxEvent::getSequence)
+        .containsExactly(1L, 2L);
+  }
+
+  @Test
+  void should_bulk_write_stale_and_unchanged_documents_in_outbox_transaction() {
+    ensureCollectionsExist();
+    repository.upsertIfNotStale(createUpsertDocument("outbox-bulk-1", "20240201000000000000",
+        LocalDateTime.now()).setContentHash("hash-1"), true);
+    repository.upsertIfNotStale(createUpsertDocument("outbox-bulk-2", "20240201000000000000",
+        LocalDateTime.now()).setContentHash("hash-1"), true);
+    List<DisqualificationDocument> documents = List.of(
+        createUpsertDocument("outbox-bulk-1", "20240301000000000000", LocalDateTime.now())
+            .setContentHash("hash-1"),
+        createUpsertDocument("outbox-bulk-2", "20240101000000000000", LocalDateTime.now())
+            .setContentHash("hash-2"),
+        createUpsertDocument("outbox-bulk-3", "20240101000000000000", LocalDateTime.now())
+            .setContentHash("hash-1"));
+
+    List<UpsertOutcome> outcomes = outboxPublisher().writeAndPublishAll(
+        () -> repository.bulkUpsertIfNotStale(documents, true),
+        written -> IntStream.range(0, documents.size())
+            .filter(index -> written.get(index) == UpsertOutcome.APPLIED)
+            .mapToObj(index -> new ResourceChangedRequest("context", documents.get(index).getId(),
+                DisqualificationResourceType.NATURAL, null, false))
+            .toList(),
+        request -> {
+        },
+        (request, ex) -> {
+        });
+
+    Assertions.assertThat(outcomes)
+        .containsExactly(UpsertOutcome.UNCHANGED, UpsertOutcome.STALE, UpsertOutcome.APPLIED);
+    Assertions.assertThat(repository.findById("outbox-bulk-1").orElseThrow().getDeltaAt())
+        .isEqualTo("20240301000000000000");
+    Assertions.assertThat(repository.findById("outbox-bulk-2").orElseThrow().getContentHash())
+        .isEqualTo("hash-1");
+    Assertions.assertThat(repository.existsById("outbox-bulk-3")).isTrue();
+    Assertions.assertThat(countOutboxEvents("outbox-bulk-1")).isZero();
+    Assertions.assertThat(countOutboxEvents("outbox-bulk-2")).isZero();
+    Assertions.assertThat(countOutboxEvents("outbox-bulk-3")).isEqualTo(1);
+  }
+
+  private UpsertOutcome write(ResourceChangedPublisher publisher, DisqualificationDocument document) {
+    AtomicReference<UpsertOutcome> outcome = new AtomicReference<>();
+    try {
+      publisher.writeAndPublish(() -> {
+        outcome.set(repository.upsertIfNotStale(document, true));
+        return Optional.of(new ResourceChangedRequest("context", document.getId(),
+            DisqualificationResourceType.NATURAL, null, false));
+      }, request -> {
+      });
+    } catch (DuplicateKeyException ex) {
+      return repository.resolveNotWritten(document);
+    }
+    return outcome.get();
+  }
+
+  private ResourceChangedPublisher outboxPublisher() {
+    return new ResourceChangedPublisher(Mockito.mock(DisqualifiedOfficerApiService.class), outboxRepository,
+        transactionTemplate(), true);
+  }
+
+  private TransactionTemplate transactionTemplate() {
+    return new TransactionTemplate(new MongoTransactionManager(mongoTemplate.getMongoDatabaseFactory()));
+  }
+
+  private long countOutboxEvents(String officerId) {
+    return mongoTemplate.count(Query.query(Criteria.where("officerId").is(officerId)), OutboxEvent.class);
+  }
+
+  /**
+   * MongoDB 4.0 cannot create a collection inside a transaction.
+   */
+  private void ensureCollectionsExist() {
+    for (Class<?> type : List.of(DisqualificationDocument.class, OutboxEvent.class)) {
+      if (!mongoTemplate.collectionExists(type)) {
+        mongoTemplate.createCollection(type);
+      }
+    }
+  }
+
+  private DisqualificationDocument createUpsertDocument(String officerId, String deltaAt, LocalDateTime at) {
+    return new DisqualificationDocument()
+        .setId(officerId)
+        .setDeltaAt(deltaAt)
+        .setUpdated(new Updated().setAt(at))
+        .setCreated(new Created().setAt(at));
+  }
+
   private NaturalDisqualificationDocument createDisqualificationDocument(String officerId) {
     NaturalDisqualificationDocument disqualificationDocument = new NaturalDisqualificationDocument();
 
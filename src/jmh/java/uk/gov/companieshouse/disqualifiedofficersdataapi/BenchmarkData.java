@@ -0,0 +1,128 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.DisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.DisqualificationLinks;
+import uk.gov.companieshouse.api.disqualification.InternalCorporateDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.InternalDisqualificationApiInternalData;
+import uk.gov.companieshouse.api.disqualification.InternalNaturalDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.PermissionToAct;
+
+/**
+ * Payloads shaped like typical delta records: a few disqualifications, each with an address, a reason and
+ * company names, and one permission to act.
+ */
+public final class BenchmarkData {
+
+    public static final String OFFICER_ID = "1kETe9SJWIp9OlvZgO1xmjyt5_s";
+    public static final OffsetDateTime DELTA_AT = OffsetDateTime.of(2024, 1, 21, 13, 31, 29, 395_000_000,
+            ZoneOffset.UTC);
+    public static final String DELTA_AT_STRING = "20240121133129395000";
+    public static final String OLDER_DELTA_AT_STRING = "20231121133129395000";
+
+    private BenchmarkData() {
+    }
+
+    public static NaturalDisqualificationApi naturalDisqualification() {
+        return naturalDisqualification(3);
+    }
+
+    public static NaturalDisqualificationApi naturalDisqualification(int disqualificationCount) {
+        NaturalDisqualificationApi api = new NaturalDisqualificationApi();
+        api.setForename("Jane");
+        api.setOtherForenames("Mary");
+        api.setSurname("Doe");
+        api.setTitle("Ms");
+        api.setNationality("British");
+        api.setPersonNumber("123456780001");
+        api.setDateOfBirth(LocalDate.of(1970, 5, 4));
+        api.setEtag("0e1b6c8b8a5f4f6e9f3e2d1c0b9a8f7e6d5c4b3a");
+        api.setKind(NaturalDisqualificationApi.KindEnum.NATURAL_DISQUALIFICATION);
+        api.setDisqualifications(disqualifications(disqualificationCount));
+        api.setPermissionsToAct(List.of(permissionToAct()));
+        api.setLinks(new DisqualificationLinks().self("/disqualified-officers/natural/" + OFFICER_ID));
+        return api;
+    }
+
+    public static CorporateDisqualificationApi corporateDisqualification() {
+        CorporateDisqualificationApi api = new CorporateDisqualificationApi();
+        api.setName("Disqualified Holdings Ltd");
+        api.setCompanyNumber("01234567");
+        api.setCountryOfRegistration("United Kingdom");
+        api.setEtag("0e1b6c8b8a5f4f6e9f3e2d1c0b9a8f7e6d5c4b3a");
+        api.setKind(CorporateDisqualificationApi.KindEnum.CORPORATE_DISQUALIFICATION);
+        api.setDisqualifications(disqualifications(3));
+        api.setPermissionsToAct(List.of(permissionToAct()));
+        api.setLinks(new DisqualificationLinks().self("/disqualified-officers/corporate/" + OFFICER_ID));
+        return api;
+    }
+
+    public static InternalNaturalDisqualificationApi internalNaturalDisqualification() {
+        InternalNaturalDisqualificationApi request = new InternalNaturalDisqualificationApi();
+        request.setExternalData(naturalDisqualification());
+        request.setInternalData(internalData());
+        return request;
+    }
+
+    public static InternalCorporateDisqualificationApi internalCorporateDisqualification() {
+        InternalCorporateDisqualificationApi request = new InternalCorporateDisqualificationApi();
+        request.setExternalData(corporateDisqualification());
+        request.setInternalData(internalData());
+        return request;
+    }
+
+    private static InternalDisqualificationApiInternalData internalData() {
+        InternalDisqualificationApiInternalData internalData = new InternalDisqualificationApiInternalData();
+        internalData.setDeltaAt(DELTA_AT);
+        internalData.setOfficerId(OFFICER_ID);
+        internalData.setOfficerIdRaw("3002276133");
+        internalData.setOfficerDetailId("3002276133");
+        internalData.setOfficerDisqId("3000016575");
+        return internalData;
+    }
+
+    private static List<DisqualificationApi> disqualifications(int count) {
+        List<DisqualificationApi> disqualifications = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> address = new LinkedHashMap<>();
+            address.put("premises", "1");
+            address.put("address_line_1", "Crown Way");
+            address.put("locality", "Cardiff");
+            address.put("postal_code", "CF14 3UZ");
+            Map<String, Object> reason = new LinkedHashMap<>();
+            reason.put("act", "company-directors-disqualification-act-1986");
+            reason.put("section", "6");
+            reason.put("description_identifier", "unfitness");
+
+            DisqualificationApi disqualification = new DisqualificationApi();
+            disqualification.setCaseIdentifier("CASE-" + i);
+            disqualification.setCompanyNames(List.of("First Company Ltd", "Second Company Plc"));
+            disqualification.setCourtName("Cardiff County Court");
+            disqualification.setDisqualificationType("court-order");
+            disqualification.setDisqualifiedFrom(LocalDate.of(2020, 1, 1 + i % 28));
+            disqualification.setDisqualifiedUntil(LocalDate.of(2030, 1, 1 + i % 28));
+            disqualification.setHeardOn(LocalDate.of(2019, 12, 1 + i % 28));
+            disqualification.setAddress(address);
+            disqualification.setReason(reason);
+            disqualifications.add(disqualification);
+        }
+        return disqualifications;
+    }
+
+    private static PermissionToAct permissionToAct() {
+        PermissionToAct permission = new PermissionToAct();
+        permission.setCompanyNames(List.of("Third Company Ltd"));
+        permission.setCourtName("Cardiff County Court");
+        permission.setGrantedOn(LocalDate.of(2021, 6, 1));
+        permission.setExpiresOn(LocalDate.of(2025, 6, 1));
+        return permission;
+    }
+}
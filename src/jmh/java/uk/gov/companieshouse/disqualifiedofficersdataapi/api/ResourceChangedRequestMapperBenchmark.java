@@ -0,0 +1,42 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.api;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import uk.gov.companieshouse.api.chskafka.ChangedResource;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.BenchmarkData;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.config.ApplicationConfig;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
+
+/**
+ * Mapping resource changed requests for changed and deleted officers, using the same timestamp generator
+ * as the application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResourceChangedRequestMapperBenchmark {
+
+    private final ResourceChangedRequestMapper mapper =
+            new ResourceChangedRequestMapper(new ApplicationConfig().timestampGenerator());
+
+    private final ResourceChangedRequest changedRequest = new ResourceChangedRequest("context_id",
+            BenchmarkData.OFFICER_ID, DisqualificationResourceType.NATURAL, null, false);
+    private final ResourceChangedRequest deletedRequest = new ResourceChangedRequest("context_id",
+            BenchmarkData.OFFICER_ID, DisqualificationResourceType.CORPORATE,
+            BenchmarkData.corporateDisqualification(), true);
+
+    @Benchmark
+    public ChangedResource mapChanged() {
+        return mapper.mapChangedResource(changedRequest);
+    }
+
+    @Benchmark
+    public ChangedResource mapDeleted() {
+        return mapper.mapChangedResource(deletedRequest);
+    }
+}
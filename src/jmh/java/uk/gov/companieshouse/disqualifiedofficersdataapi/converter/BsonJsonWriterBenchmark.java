@@ -0,0 +1,78 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.converter;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mongodb.BasicDBObject;
+import com.mongodb.MongoClientSettings;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.StreamUtils;
+import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.BenchmarkData;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.config.ApplicationConfig;
+
+/**
+ * Writing a GET response from the BSON bytes read from Mongo: decoding and mapping to the API model then
+ * serialising it, compared with streaming the bytes through {@link BsonJsonWriter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BsonJsonWriterBenchmark {
+
+    private static final String KIND = NaturalDisqualificationApi.KindEnum.NATURAL_DISQUALIFICATION.getValue();
+
+    @Param({"3", "300"})
+    private int disqualifications;
+
+    private final DocumentCodec documentCodec = new DocumentCodec();
+    private final OutputStream output = StreamUtils.nonClosing(OutputStream.nullOutputStream());
+    private ObjectMapper mongoObjectMapper;
+    private ObjectMapper httpObjectMapper;
+    private BsonJsonWriter writer;
+    private byte[] bson;
+
+    @Setup
+    public void setUp() throws IOException {
+        mongoObjectMapper = ApplicationConfig.mongoDbObjectMapper();
+        httpObjectMapper = Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        writer = new BsonJsonWriter(httpObjectMapper);
+        RawBsonDocument raw = new RawBsonDocument(
+                BsonObjectWriter.write(mongoObjectMapper, BenchmarkData.naturalDisqualification(disqualifications)),
+                MongoClientSettings.getDefaultCodecRegistry().get(BasicDBObject.class));
+        bson = Arrays.copyOf(raw.getByteBuffer().array(), raw.getByteBuffer().remaining());
+    }
+
+    @Benchmark
+    public void mapAndSerialise() throws IOException {
+        NaturalDisqualificationApi data = BsonDocumentReader.read(mongoObjectMapper,
+                new RawBsonDocument(bson).decode(documentCodec), NaturalDisqualificationApi.class);
+        data.setKind(NaturalDisqualificationApi.KindEnum.NATURAL_DISQUALIFICATION);
+        httpObjectMapper.writeValue(output, data);
+    }
+
+    @Benchmark
+    public void stream() throws IOException {
+        try (JsonGenerator generator = httpObjectMapper.getFactory().createGenerator(output)) {
+            writer.write(new RawBsonDocument(bson), NaturalDisqualificationApi.class, KIND, generator);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.BasicDBObject;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.BenchmarkData;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.config.ApplicationConfig;
+
+/**
+ * The four Mongo converters as registered in {@link ApplicationConfig}, on realistic natural and corporate
+ * payloads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConverterBenchmark {
+
+    private DisqualifiedNaturalOfficerReadConverter naturalReadConverter;
+    private DisqualifiedCorporateOfficerReadConverter corporateReadConverter;
+    private DisqualifiedNaturalOfficerWriteConverter naturalWriteConverter;
+    private DisqualifiedCorporateOfficerWriteConverter corporateWriteConverter;
+
+    private NaturalDisqualificationApi naturalApi;
+    private CorporateDisqualificationApi corporateApi;
+    private Document naturalDocument;
+    private Document corporateDocument;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = ApplicationConfig.mongoDbObjectMapper();
+        naturalReadConverter = new DisqualifiedNaturalOfficerReadConverter(objectMapper);
+        corporateReadConverter = new DisqualifiedCorporateOfficerReadConverter(objectMapper);
+        naturalWriteConverter = new DisqualifiedNaturalOfficerWriteConverter(objectMapper);
+        corporateWriteConverter = new DisqualifiedCorporateOfficerWriteConverter(objectMapper);
+
+        naturalApi = BenchmarkData.naturalDisqualification();
+        corporateApi = BenchmarkData.corporateDisqualification();
+        // Re-encoded so the documents hold the value types a read from Mongo returns
+        naturalDocument = Document.parse(naturalWriteConverter.convert(naturalApi).toJson());
+        corporateDocument = Document.parse(corporateWriteConverter.convert(corporateApi).toJson());
+    }
+
+    @Benchmark
+    public NaturalDisqualificationApi readNatural() {
+        return naturalReadConverter.convert(naturalDocument);
+    }
+
+    @Benchmark
+    public CorporateDisqualificationApi readCorporate() {
+        return corporateReadConverter.convert(corporateDocument);
+    }
+
+    @Benchmark
+    public BasicDBObject writeNatural() {
+        return naturalWriteConverter.convert(naturalApi);
+    }
+
+    @Benchmark
+    public BasicDBObject writeCorporate() {
+        return corporateWriteConverter.convert(corporateApi);
+    }
+}
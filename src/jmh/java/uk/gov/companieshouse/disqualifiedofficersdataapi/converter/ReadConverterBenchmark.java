@@ -0,0 +1,46 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.BenchmarkData;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.config.ApplicationConfig;
+
+/**
+ * Compares reading a stored natural disqualification through a JSON string with replaying its BSON values
+ * as Jackson tokens. Run with {@code -prof gc} to see allocations per read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReadConverterBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Document document;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = ApplicationConfig.mongoDbObjectMapper();
+        // Parsed the same way as the write converter, giving the value types a read from Mongo returns
+        document = Document.parse(objectMapper.writeValueAsString(BenchmarkData.naturalDisqualification()));
+    }
+
+    @Benchmark
+    public NaturalDisqualificationApi jsonRoundTrip() throws IOException {
+        return objectMapper.readValue(document.toJson(), NaturalDisqualificationApi.class);
+    }
+
+    @Benchmark
+    public NaturalDisqualificationApi tokenReplay() throws IOException {
+        return BsonDocumentReader.read(objectMapper, document, NaturalDisqualificationApi.class);
+    }
+}
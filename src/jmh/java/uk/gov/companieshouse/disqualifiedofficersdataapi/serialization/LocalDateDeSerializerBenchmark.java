@@ -0,0 +1,40 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.serialization;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.config.ApplicationConfig;
+
+/**
+ * Reading both forms of stored date the deserializer accepts: an ISO string for dates from 1970 onwards and
+ * a {@code $numberLong} for earlier ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LocalDateDeSerializerBenchmark {
+
+    private final ObjectReader reader = ApplicationConfig.mongoDbObjectMapper().readerFor(LocalDate.class);
+
+    private final byte[] isoDate = "{\"$date\":\"2024-01-21T00:00:00Z\"}".getBytes(StandardCharsets.UTF_8);
+    private final byte[] numberLongDate = "{\"$date\":{\"$numberLong\":\"-147139200000\"}}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Benchmark
+    public LocalDate isoString() throws IOException {
+        return reader.readValue(isoDate);
+    }
+
+    @Benchmark
+    public LocalDate numberLong() throws IOException {
+        return reader.readValue(numberLongDate);
+    }
+}
@@ -0,0 +1,48 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import static uk.gov.companieshouse.disqualifiedofficersdataapi.service.DateConverter.deltaAtToOffsetDateTime;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.BenchmarkData;
+
+/**
+ * The staleness check run on DELETEs, for both of its overloads, against parsing both values with
+ * {@link DateConverter} as it did before {@link DeltaAtCodec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DeltaAtHandlerBenchmark {
+
+    private final DeltaAtHandler deltaAtHandler = new DeltaAtHandler();
+
+    // Fields rather than constants so the JIT cannot fold the comparison away
+    private String requestDeltaAt = BenchmarkData.DELTA_AT_STRING;
+    private String docDeltaAt = BenchmarkData.OLDER_DELTA_AT_STRING;
+
+    @Benchmark
+    public boolean isRequestStaleFromString() {
+        return deltaAtHandler.isRequestStale(requestDeltaAt, docDeltaAt);
+    }
+
+    @Benchmark
+    public boolean isRequestStaleFromOffsetDateTime() {
+        return deltaAtHandler.isRequestStale(BenchmarkData.DELTA_AT, docDeltaAt);
+    }
+
+    @Benchmark
+    public boolean isRequestStaleWithFormatter() {
+        return deltaAtToOffsetDateTime(requestDeltaAt).isBefore(deltaAtToOffsetDateTime(docDeltaAt));
+    }
+
+    @Benchmark
+    public boolean isRequestStaleFromOffsetDateTimeWithFormatter() {
+        return BenchmarkData.DELTA_AT.isBefore(deltaAtToOffsetDateTime(docDeltaAt));
+    }
+}
@@ -0,0 +1,45 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.transform;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uk.gov.companieshouse.api.disqualification.InternalCorporateDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.InternalNaturalDisqualificationApi;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.BenchmarkData;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
+
+/**
+ * Transforming a PUT request body into the document that is saved. Each call hashes the external data for
+ * its etag and content hash and formats the delta_at.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DisqualificationTransformerBenchmark {
+
+    private final DisqualificationTransformer transformer = new DisqualificationTransformer();
+
+    private InternalNaturalDisqualificationApi naturalRequest;
+    private InternalCorporateDisqualificationApi corporateRequest;
+
+    @Setup
+    public void setUp() {
+        naturalRequest = BenchmarkData.internalNaturalDisqualification();
+        corporateRequest = BenchmarkData.internalCorporateDisqualification();
+    }
+
+    @Benchmark
+    public DisqualificationDocument transformNatural() {
+        return transformer.transformNaturalDisqualifiedOfficer(BenchmarkData.OFFICER_ID, naturalRequest);
+    }
+
+    @Benchmark
+    public DisqualificationDocument transformCorporate() {
+        return transformer.transformCorporateDisqualifiedOfficer(BenchmarkData.OFFICER_ID, corporateRequest);
+    }
+}
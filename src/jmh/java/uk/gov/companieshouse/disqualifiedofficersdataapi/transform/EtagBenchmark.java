@@ -0,0 +1,42 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.transform;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import uk.gov.companieshouse.GenerateEtagUtil;
+import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.BenchmarkData;
+
+/**
+ * The random etag generator against the etag derived from the external data, with several threads
+ * generating etags at once as concurrent PUTs do. Run with {@code -t 1} for the uncontended figures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class EtagBenchmark {
+
+    private NaturalDisqualificationApi naturalData;
+
+    @Setup
+    public void setUp() {
+        naturalData = BenchmarkData.naturalDisqualification();
+    }
+
+    @Benchmark
+    public String randomEtag() {
+        return GenerateEtagUtil.generateEtag();
+    }
+
+    @Benchmark
+    public String contentEtag() {
+        return ContentHash.etag(naturalData);
+    }
+}
@@ -2,8 +2,10 @@ package uk.gov.companieshouse.disqualifiedofficersdataapi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class DisqualifiedOfficersDataApiApplication {
 
     public static final String NAMESPACE = "disqualified-officers-data-api";
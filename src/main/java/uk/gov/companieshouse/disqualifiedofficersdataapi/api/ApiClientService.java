@@ -1,14 +0,0 @@
-package uk.gov.companieshouse.disqualifiedofficersdataapi.api;
-
-import org.springframework.stereotype.Component;
-import uk.gov.companieshouse.api.InternalApiClient;
-import uk.gov.companieshouse.sdk.manager.ApiSdkManager;
-
-@Component
-public class ApiClientService {
-
-    public InternalApiClient getInternalApiClient() {
-        return ApiSdkManager.getPrivateSDK();
-    }
-
-}
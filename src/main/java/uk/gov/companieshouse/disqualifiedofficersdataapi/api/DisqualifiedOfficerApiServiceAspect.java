@@ -2,11 +2,16 @@ package uk.gov.companieshouse.disqualifiedofficersdataapi.api;
 
 import static uk.gov.companieshouse.disqualifiedofficersdataapi.DisqualifiedOfficersDataApiApplication.NAMESPACE;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.springframework.stereotype.Component;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.config.FeatureFlags;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.logging.DataMapHolder;
 import uk.gov.companieshouse.logging.Logger;
 import uk.gov.companieshouse.logging.LoggerFactory;
@@ -17,16 +22,30 @@ public class DisqualifiedOfficerApiServiceAspect {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
     private final FeatureFlags featureFlags;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
 
-    public DisqualifiedOfficerApiServiceAspect(FeatureFlags featureFlags) {
+    public DisqualifiedOfficerApiServiceAspect(FeatureFlags featureFlags, CircuitBreaker chsKafkaApiCircuitBreaker,
+            Bulkhead chsKafkaApiBulkhead) {
         this.featureFlags = featureFlags;
+        this.circuitBreaker = chsKafkaApiCircuitBreaker;
+        this.bulkhead = chsKafkaApiBulkhead;
     }
 
     @Around("execution(public uk.gov.companieshouse.api.model.ApiResponse<Void> uk.gov.companieshouse.disqualifiedofficersdataapi.api.DisqualifiedOfficerApiService.invokeChsKafkaApi(..))")
     Object invokeChsKafkaApi(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
         if (featureFlags.isStreamHookEnabled()) {
             LOGGER.debug("Stream hook enabled; publishing change to chs-kafka-api", DataMapHolder.getLogMap());
-            return proceedingJoinPoint.proceed();
+            try {
+                return Bulkhead.decorateCheckedSupplier(bulkhead,
+                        CircuitBreaker.decorateCheckedSupplier(circuitBreaker, proceedingJoinPoint::proceed)).get();
+            } catch (CallNotPermittedException ex) {
+                LOGGER.info("Circuit breaker open; not calling chs-kafka-api", DataMapHolder.getLogMap());
+                throw new BadGatewayException("Circuit breaker open for resource changed endpoint", ex);
+            } catch (BulkheadFullException ex) {
+                LOGGER.info("Too many concurrent calls; not calling chs-kafka-api", DataMapHolder.getLogMap());
+                throw new BadGatewayException("Too many concurrent calls to resource changed endpoint", ex);
+            }
         } else {
             LOGGER.debug("Stream hook disabled; not publishing change to chs-kafka-api", DataMapHolder.getLogMap());
             return null;
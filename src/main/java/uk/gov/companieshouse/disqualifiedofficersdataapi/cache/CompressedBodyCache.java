@@ -0,0 +1,102 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Gzip compressed GET response bodies, keyed by officer id and ETag, which carries both the data's etag and the
+ * render version, so neither a write nor a new rendering serves the old body.
+ * Caffeine's frequency based admission keeps the bodies of frequently served officers, bounded by their
+ * total compressed size.
+ *
+ * <p>Compression time is recorded by {@code disqualification.response.compression}, and the bytes served
+ * before and after compression by {@code disqualification.response.compression.bytes}.
+ */
+@Component
+public class CompressedBodyCache {
+
+    private final Cache<Key, byte[]> cache;
+    private final long minimumSize;
+    private final int level;
+    private final Timer compression;
+    private final Counter originalBytes;
+    private final Counter compressedBytes;
+
+    public CompressedBodyCache(@Value("${disqualification.compression.cache.maximum-size}") DataSize maximumSize,
+            @Value("${disqualification.compression.min-response-size}") DataSize minimumSize,
+            @Value("${disqualification.compression.level}") int level,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((Key key, byte[] body) -> body.length)
+                .recordStats()
+                .build();
+        this.minimumSize = minimumSize.toBytes();
+        this.level = level;
+        this.compression = Timer.builder("disqualification.response.compression")
+                .description("Time spent gzip compressing response bodies that were not cached")
+                .register(meterRegistry);
+        this.originalBytes = servedBytes(meterRegistry, "original");
+        this.compressedBytes = servedBytes(meterRegistry, "compressed");
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "compressed-responses");
+    }
+
+    /**
+     * @param officerId Mongo id
+     * @param etag      ETag of the uncompressed body, including its render version, or null to compress without
+     *                  caching
+     * @param body      uncompressed response body
+     * @return the gzip compressed body, or null if the body is too small to be worth compressing
+     */
+    public byte[] gzip(String officerId, String etag, byte[] body) {
+        if (body.length < minimumSize) {
+            return null;
+        }
+        byte[] compressed = etag == null ? compress(body) : cache.get(new Key(officerId, etag), key -> compress(body));
+        originalBytes.increment(body.length);
+        compressedBytes.increment(compressed.length);
+        return compressed;
+    }
+
+    private byte[] compress(byte[] body) {
+        return compression.record(() -> {
+            ByteArrayOutputStream output = new ByteArrayOutputStream(body.length / 4);
+            try (GZIPOutputStream gzip = new LeveledGzipOutputStream(output, level)) {
+                gzip.write(body);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return output.toByteArray();
+        });
+    }
+
+    private static Counter servedBytes(MeterRegistry meterRegistry, String size) {
+        return Counter.builder("disqualification.response.compression.bytes")
+                .description("Bytes of gzip encoded response bodies, before and after compression")
+                .baseUnit("bytes")
+                .tag("size", size)
+                .register(meterRegistry);
+    }
+
+    private record Key(String officerId, String etag) {
+    }
+
+    private static class LeveledGzipOutputStream extends GZIPOutputStream {
+
+        LeveledGzipOutputStream(ByteArrayOutputStream output, int level) throws IOException {
+            super(output);
+            def.setLevel(level);
+        }
+    }
+}
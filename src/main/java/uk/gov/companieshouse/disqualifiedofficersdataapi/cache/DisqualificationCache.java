@@ -0,0 +1,96 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.CorporateDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
+
+/**
+ * Bounded, time-limited read-through cache of disqualification documents keyed by officer id.
+ * Entries are invalidated locally on every write or delete of the officer; other instances
+ * pick up the change once their entry expires.
+ *
+ * <p>Loads run on the calling thread outside the cache's map locks, so a virtual thread blocked
+ * on Mongo does not pin its carrier. Invalidating an entry while it loads discards the load.
+ */
+@Component
+public class DisqualificationCache {
+
+    private final AsyncCache<String, NaturalDisqualificationDocument> naturalCache;
+    private final AsyncCache<String, CorporateDisqualificationDocument> corporateCache;
+
+    public DisqualificationCache(@Value("${disqualification.cache.maximum-size}") long maximumSize,
+            @Value("${disqualification.cache.expire-after-write}") Duration expireAfterWrite,
+            MeterRegistry meterRegistry) {
+        this.naturalCache = buildCache(maximumSize, expireAfterWrite);
+        this.corporateCache = buildCache(maximumSize, expireAfterWrite);
+        CaffeineCacheMetrics.monitor(meterRegistry, naturalCache.synchronous(), "natural-disqualifications");
+        CaffeineCacheMetrics.monitor(meterRegistry, corporateCache.synchronous(), "corporate-disqualifications");
+    }
+
+    public NaturalDisqualificationDocument getNatural(String officerId,
+            Function<String, NaturalDisqualificationDocument> loader) {
+        return get(naturalCache, officerId, loader);
+    }
+
+    public CorporateDisqualificationDocument getCorporate(String officerId,
+            Function<String, CorporateDisqualificationDocument> loader) {
+        return get(corporateCache, officerId, loader);
+    }
+
+    public NaturalDisqualificationDocument getNaturalIfPresent(String officerId) {
+        return getIfLoaded(naturalCache, officerId);
+    }
+
+    public CorporateDisqualificationDocument getCorporateIfPresent(String officerId) {
+        return getIfLoaded(corporateCache, officerId);
+    }
+
+    public void invalidate(String officerId) {
+        naturalCache.synchronous().invalidate(officerId);
+        corporateCache.synchronous().invalidate(officerId);
+    }
+
+    private static <T> T get(AsyncCache<String, T> cache, String officerId, Function<String, T> loader) {
+        CompletableFuture<T> load = new CompletableFuture<>();
+        CompletableFuture<T> entry = cache.get(officerId, (id, executor) -> load);
+        if (entry == load) {
+            try {
+                load.complete(loader.apply(officerId));
+            } catch (RuntimeException ex) {
+                // Failed loads are removed from the cache
+                load.completeExceptionally(ex);
+                throw ex;
+            }
+        }
+        try {
+            return entry.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static <T> T getIfLoaded(AsyncCache<String, T> cache, String officerId) {
+        CompletableFuture<T> entry = cache.getIfPresent(officerId);
+        return entry != null && entry.isDone() && !entry.isCompletedExceptionally() ? entry.join() : null;
+    }
+
+    private static <T> AsyncCache<String, T> buildCache(long maximumSize, Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+    }
+}
@@ -0,0 +1,217 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.cache;
+
+import static uk.gov.companieshouse.disqualifiedofficersdataapi.DisqualifiedOfficersDataApiApplication.NAMESPACE;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualifiedOfficerRepository;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+/**
+ * Bloom filter over the ids of every stored disqualification, used to answer GETs for ids that have never
+ * been written without a Mongo lookup. Built by a streaming scan at startup and rebuilt on a fixed delay,
+ * which is also what drops deleted ids. Ids written through this instance are added straight away. Ids
+ * inserted through other instances are topped up frequently from the created.at index, scanning back from
+ * the start of the previous scan by an overlap that covers clock differences between instances and writes
+ * still in flight when it ran.
+ *
+ * <p>Until the first build completes, or when disabled, every id might be present. Lookups and puts take no
+ * lock: a rebuild publishes the new filter with a single volatile write, and Guava's filter is safe to add to
+ * from several threads at once. An id put just before a rebuild starts can miss both the new filter and its
+ * scan, but it is written to Mongo after the scan start less the overlap, so the next top-up adds it.
+ *
+ * <p>A failed top-up leaves the point to scan from alone, so the next one catches up. Failures are counted on
+ * every top-up and logged at WARN at most once per {@code failure-log-interval}.
+ */
+@Component
+public class OfficerIdFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+    // The structured logger has no WARN level
+    private static final org.slf4j.Logger WARN_LOGGER = org.slf4j.LoggerFactory.getLogger(OfficerIdFilter.class);
+
+    private final DisqualifiedOfficerRepository repository;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+    private final Duration topUpOverlap;
+    private final long failureLogIntervalNanos;
+    private final Counter rejected;
+    private final Counter passed;
+    private final Counter falsePositives;
+    private final Counter topUpFailures;
+    private final AtomicLong failuresSinceLogged = new AtomicLong();
+    private final AtomicReference<Long> failureLoggedAt = new AtomicReference<>();
+    private final AtomicReference<LocalDateTime> topUpFrom = new AtomicReference<>();
+
+    private volatile BloomFilter<String> filter;
+    private volatile BloomFilter<String> building;
+
+    public OfficerIdFilter(DisqualifiedOfficerRepository repository,
+            @Value("${disqualification.id-filter.enabled}") boolean enabled,
+            @Value("${disqualification.id-filter.expected-insertions}") long expectedInsertions,
+            @Value("${disqualification.id-filter.false-positive-probability}") double falsePositiveProbability,
+            @Value("${disqualification.id-filter.top-up-overlap}") Duration topUpOverlap,
+            @Value("${disqualification.id-filter.failure-log-interval}") Duration failureLogInterval,
+            MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.topUpOverlap = topUpOverlap;
+        this.failureLogIntervalNanos = failureLogInterval.toNanos();
+        this.rejected = lookups(meterRegistry, "rejected");
+        this.passed = lookups(meterRegistry, "passed");
+        this.falsePositives = lookups(meterRegistry, "false_positive");
+        this.topUpFailures = Counter.builder("disqualification.id.filter.top.up.failures")
+                .description("Top-ups of the officer id filter that failed with a MongoDB error")
+                .register(meterRegistry);
+        Gauge.builder("disqualification.id.filter.expected.fpp", this,
+                        idFilter -> idFilter.filter == null ? 0 : idFilter.filter.expectedFpp())
+                .description("False positive probability of the officer id filter at its current size")
+                .register(meterRegistry);
+        Gauge.builder("disqualification.id.filter.observed.fpp", this, OfficerIdFilter::observedFpp)
+                .description("Share of lookups for missing ids that the officer id filter let through")
+                .register(meterRegistry);
+        Gauge.builder("disqualification.id.filter.approximate.size", this,
+                        idFilter -> idFilter.filter == null ? 0 : idFilter.filter.approximateElementCount())
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return false only if the id has definitely never been stored
+     */
+    public boolean mightContain(String officerId) {
+        BloomFilter<String> current = filter;
+        if (!enabled || current == null) {
+            return true;
+        }
+        if (current.mightContain(officerId)) {
+            passed.increment();
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Add an id that is about to be written, including to a rebuild in progress.
+     */
+    public void put(String officerId) {
+        // Read building first, so an id only misses a new filter if it was put before that rebuild started
+        BloomFilter<String> next = building;
+        BloomFilter<String> current = filter;
+        if (current != null) {
+            current.put(officerId);
+        }
+        if (next != null && next != current) {
+            next.put(officerId);
+        }
+    }
+
+    /**
+     * Record that an id the filter let through was not found in Mongo.
+     */
+    public void recordFalsePositive() {
+        if (enabled && filter != null) {
+            falsePositives.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${disqualification.id-filter.rebuild-interval}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        BloomFilter<String> next = BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8),
+                Math.max(expectedInsertions, 2 * approximateSize()), falsePositiveProbability);
+        building = next;
+        LocalDateTime scannedFrom = scanStart();
+        AtomicLong count = new AtomicLong();
+        try {
+            repository.forEachId(officerId -> {
+                next.put(officerId);
+                count.incrementAndGet();
+            });
+        } catch (DataAccessException ex) {
+            LOGGER.error("MongoDB error when building officer id filter", ex);
+            building = null;
+            return;
+        }
+        filter = next;
+        building = null;
+        topUpFrom.set(scannedFrom);
+        LOGGER.info(String.format("Built officer id filter with %d ids", count.get()));
+    }
+
+    /**
+     * Add the ids inserted since the previous scan, so ids written through other instances are found well
+     * before the next rebuild.
+     */
+    @Scheduled(fixedDelayString = "${disqualification.id-filter.top-up-interval}")
+    public void topUp() {
+        LocalDateTime from = topUpFrom.get();
+        if (!enabled || from == null) {
+            return;
+        }
+        LocalDateTime scannedFrom = scanStart();
+        try {
+            repository.forEachIdCreatedSince(from, this::put);
+        } catch (DataAccessException ex) {
+            topUpFailed(ex);
+            return;
+        }
+        topUpFrom.accumulateAndGet(scannedFrom, (previous, scanned) -> previous.isBefore(scanned) ? scanned : previous);
+    }
+
+    /**
+     * Top-ups run every few seconds and the next one retries from the same point, so an unavailable Mongo is
+     * logged once per interval with the number of failures since, rather than on every attempt.
+     */
+    private void topUpFailed(DataAccessException ex) {
+        topUpFailures.increment();
+        long failures = failuresSinceLogged.incrementAndGet();
+        long now = System.nanoTime();
+        Long loggedAt = failureLoggedAt.get();
+        if ((loggedAt == null || now - loggedAt >= failureLogIntervalNanos)
+                && failureLoggedAt.compareAndSet(loggedAt, now)) {
+            failuresSinceLogged.addAndGet(-failures);
+            WARN_LOGGER.warn("MongoDB error when topping up officer id filter, {} failed top-ups since last logged",
+                    failures, ex);
+        }
+    }
+
+    private LocalDateTime scanStart() {
+        return LocalDateTime.now(ZoneOffset.UTC).minus(topUpOverlap);
+    }
+
+    private long approximateSize() {
+        BloomFilter<String> current = filter;
+        return current == null ? 0 : current.approximateElementCount();
+    }
+
+    private double observedFpp() {
+        double misses = rejected.count() + falsePositives.count();
+        return misses == 0 ? 0 : falsePositives.count() / misses;
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("disqualification.id.filter.lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
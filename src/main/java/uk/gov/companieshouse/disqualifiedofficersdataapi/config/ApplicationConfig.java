@@ -66,7 +66,7 @@ public class ApplicationConfig {
      *
      * @return ObjectMapper.
      */
-    private ObjectMapper mongoDbObjectMapper() {
+    public static ObjectMapper mongoDbObjectMapper() {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         objectMapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
@@ -0,0 +1,82 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import java.time.Duration;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Long-lived client for chs-kafka-api. Connections are pooled and kept alive between calls, so a PUT or
+ * DELETE normally reuses an open connection rather than paying for a new one.
+ */
+@Configuration
+public class ChsKafkaApiClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager chsKafkaApiConnectionManager(
+            @Value("${chs.kafka.api.pool.max-connections}") int maxConnections,
+            @Value("${chs.kafka.api.connect-timeout}") Duration connectTimeout,
+            @Value("${chs.kafka.api.read-timeout}") Duration readTimeout,
+            @Value("${chs.kafka.api.pool.time-to-live}") Duration timeToLive,
+            MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                // Every call goes to the same host, so the route may use the whole pool
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.of(timeToLive))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .setDefaultSocketConfig(SocketConfig.custom()
+                        .setSoKeepAlive(true)
+                        .setTcpNoDelay(true)
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "chs-kafka-api")
+                .bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient chsKafkaApiHttpClient(PoolingHttpClientConnectionManager chsKafkaApiConnectionManager,
+            @Value("${chs.kafka.api.pool.acquire-timeout}") Duration acquireTimeout,
+            @Value("${chs.kafka.api.read-timeout}") Duration readTimeout,
+            @Value("${chs.kafka.api.pool.idle-timeout}") Duration idleTimeout) {
+        return HttpClients.custom()
+                .setConnectionManager(chsKafkaApiConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(acquireTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .disableAutomaticRetries()
+                .build();
+    }
+
+    @Bean
+    public RestClient chsKafkaApiRestClient(RestClient.Builder builder, CloseableHttpClient chsKafkaApiHttpClient,
+            @Value("${chs.kafka.api.endpoint}") String chsKafkaUrl,
+            @Value("${chs.kafka.api.key}") String chsKafkaApiKey) {
+        return builder
+                .baseUrl(chsKafkaUrl)
+                .requestFactory(new HttpComponentsClientHttpRequestFactory(chsKafkaApiHttpClient))
+                .defaultHeaders(headers -> headers.setBasicAuth(chsKafkaApiKey, ""))
+                .build();
+    }
+}
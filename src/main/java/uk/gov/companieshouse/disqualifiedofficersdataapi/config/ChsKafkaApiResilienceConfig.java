@@ -0,0 +1,71 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Circuit breaker and bulkhead guarding calls to chs-kafka-api, so that a slow or failing stream hook cannot
+ * hold every request thread.
+ */
+@Configuration
+public class ChsKafkaApiResilienceConfig {
+
+    public static final String CHS_KAFKA_API = "chs-kafka-api";
+
+    @Bean
+    public CircuitBreaker chsKafkaApiCircuitBreaker(
+            @Value("${chs.kafka.api.circuit-breaker.failure-rate-threshold}") float failureRateThreshold,
+            @Value("${chs.kafka.api.circuit-breaker.slow-call-rate-threshold}") float slowCallRateThreshold,
+            @Value("${chs.kafka.api.circuit-breaker.slow-call-duration-threshold}") Duration slowCallDuration,
+            @Value("${chs.kafka.api.circuit-breaker.sliding-window-size}") int slidingWindowSize,
+            @Value("${chs.kafka.api.circuit-breaker.minimum-number-of-calls}") int minimumNumberOfCalls,
+            @Value("${chs.kafka.api.circuit-breaker.wait-duration-in-open-state}") Duration waitInOpenState,
+            @Value("${chs.kafka.api.circuit-breaker.permitted-calls-in-half-open-state}") int halfOpenCalls,
+            MeterRegistry meterRegistry) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(waitInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .build());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+
+        CircuitBreaker circuitBreaker = registry.circuitBreaker(CHS_KAFKA_API);
+        circuitBreaker.getEventPublisher().onStateTransition(event -> meterRegistry.counter(
+                        "resilience4j.circuitbreaker.transitions",
+                        "name", CHS_KAFKA_API,
+                        "from", event.getStateTransition().getFromState().name().toLowerCase(),
+                        "to", event.getStateTransition().getToState().name().toLowerCase())
+                .increment());
+        return circuitBreaker;
+    }
+
+    @Bean
+    public Bulkhead chsKafkaApiBulkhead(
+            @Value("${chs.kafka.api.bulkhead.max-concurrent-calls}") int maxConcurrentCalls,
+            MeterRegistry meterRegistry) {
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                // Reject at once rather than queue request threads behind a slow stream hook
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(CHS_KAFKA_API);
+    }
+}
@@ -1,10 +1,18 @@
 package uk.gov.companieshouse.disqualifiedofficersdataapi.config;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
 import org.springframework.data.mongodb.core.convert.DefaultMongoTypeMapper;
 import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Configuration
 public class MongoDbConfig implements InitializingBean {
@@ -20,4 +28,27 @@ public class MongoDbConfig implements InitializingBean {
     public void afterPropertiesSet() {
         mappingMongoConverter.setTypeMapper(new DefaultMongoTypeMapper(null));
     }
+
+    // With virtual threads the connection pool, not a thread pool, bounds concurrent Mongo calls, so
+    // requests queue here and must give up quickly rather than after the driver's two minute default.
+    // Static so the client does not depend on this configuration, whose converter depends on the client
+    @Bean
+    public static MongoClientSettingsBuilderCustomizer connectionPoolCustomizer(
+            @Value("${disqualification.mongodb.pool.max-size}") int maxSize,
+            @Value("${disqualification.mongodb.pool.max-wait-time}") Duration maxWaitTime) {
+        return builder -> builder.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxSize)
+                .maxWaitTime(maxWaitTime.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    // Only used to write the outbox alongside a document, which needs a replica set
+    @Bean
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory mongoDatabaseFactory) {
+        return new MongoTransactionManager(mongoDatabaseFactory);
+    }
+
+    @Bean
+    public TransactionTemplate transactionTemplate(MongoTransactionManager transactionManager) {
+        return new TransactionTemplate(transactionManager);
+    }
 }
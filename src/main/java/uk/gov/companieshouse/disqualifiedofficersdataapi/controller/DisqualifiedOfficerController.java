@@ -2,26 +2,43 @@ package uk.gov.companieshouse.disqualifiedofficersdataapi.controller;
 
 import static uk.gov.companieshouse.disqualifiedofficersdataapi.DisqualifiedOfficersDataApiApplication.NAMESPACE;
 
+import java.time.ZoneOffset;
+import java.util.Optional;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi;
-import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi.KindEnum;
 import uk.gov.companieshouse.api.disqualification.InternalCorporateDisqualificationApi;
 import uk.gov.companieshouse.api.disqualification.InternalNaturalDisqualificationApi;
 import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.cache.CompressedBodyCache;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.logging.DataMapHolder;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BatchLookupRequest;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BatchLookupResponse;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkUpsertRequest;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkUpsertResponse;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.CorporateDisqualificationDocument;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DeleteRequestParameters;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.RawDisqualificationData;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.Updated;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.service.BatchLookupService;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.service.BulkDisqualifiedOfficerService;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.service.DeleteDisqualifiedOfficerService;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.service.DisqualifiedOfficerService;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.transform.PublicJsonRenderer;
 import uk.gov.companieshouse.logging.Logger;
 import uk.gov.companieshouse.logging.LoggerFactory;
 
@@ -29,13 +46,23 @@ import uk.gov.companieshouse.logging.LoggerFactory;
 public class DisqualifiedOfficerController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+    private static final String GZIP = "gzip";
+    private static final String GZIP_ETAG_SUFFIX = "-gzip";
+    private static final String VERSION_ETAG_SUFFIX = "-v";
     private final DisqualifiedOfficerService service;
     private final DeleteDisqualifiedOfficerService deleteService;
+    private final BatchLookupService batchLookupService;
+    private final BulkDisqualifiedOfficerService bulkService;
+    private final CompressedBodyCache compressedBodyCache;
 
     public DisqualifiedOfficerController(DisqualifiedOfficerService service,
-            DeleteDisqualifiedOfficerService deleteService) {
+            DeleteDisqualifiedOfficerService deleteService, BatchLookupService batchLookupService,
+            BulkDisqualifiedOfficerService bulkService, CompressedBodyCache compressedBodyCache) {
         this.service = service;
         this.deleteService = deleteService;
+        this.batchLookupService = batchLookupService;
+        this.bulkService = bulkService;
+        this.compressedBodyCache = compressedBodyCache;
     }
 
     /**
@@ -50,7 +77,7 @@ public class DisqualifiedOfficerController {
             @RequestHeader("x-request-id") String contextId,
             @PathVariable("officer_id") String officerId,
             @RequestBody InternalNaturalDisqualificationApi requestBody) {
-        DataMapHolder.get().officerId(officerId);
+        DataMapHolder.officerId(officerId);
         LOGGER.info("Processing PUT disqualified natural officer request",
                 DataMapHolder.getLogMap());
 
@@ -72,7 +99,7 @@ public class DisqualifiedOfficerController {
             @RequestHeader("x-request-id") String contextId,
             @PathVariable("officer_id") String officerId,
             @RequestBody InternalCorporateDisqualificationApi requestBody) {
-        DataMapHolder.get().officerId(officerId);
+        DataMapHolder.officerId(officerId);
         LOGGER.info("Processing PUT disqualified corporate officer request",
                 DataMapHolder.getLogMap());
 
@@ -81,44 +108,114 @@ public class DisqualifiedOfficerController {
         return ResponseEntity.status(HttpStatus.OK).build();
     }
 
+    /**
+     * PUT request to save or update a batch of Natural and Corporate Disqualified Officers.
+     *
+     * @param request the natural and corporate items, each with the same body as the single officer PUT
+     * @return the status of each item: applied, stale or failed
+     */
+    @PutMapping("/disqualified-officers/bulk/internal")
+    public ResponseEntity<BulkUpsertResponse> bulkDisqualifiedOfficers(
+            @RequestHeader("x-request-id") String contextId,
+            @RequestBody BulkUpsertRequest request) {
+        LOGGER.info("Processing bulk PUT disqualified officers request", DataMapHolder.getLogMap());
+
+        return ResponseEntity.status(HttpStatus.OK).body(bulkService.processDisqualifications(contextId, request));
+    }
+
     /**
      * Retrieve natural disqualified officer information for a officer ID.
      *
-     * @param officerId the officer ID for the disqualification
+     * Conditional requests whose If-None-Match or If-Modified-Since still match are answered with 304
+     * without loading the full document. The body stored when the document was written is returned as is,
+     * or gzip compressed with its own ETag, falling back to streaming the stored BSON data for documents not
+     * yet rendered.
+     *
+     * @param officerId  the officer ID for the disqualification
+     * @param webRequest the current request, used to evaluate conditional headers
      * @return NaturalDisqualificationDocument return natural disqualified officer information
      */
     @GetMapping("/disqualified-officers/natural/{officer_id}")
-    public ResponseEntity<NaturalDisqualificationApi> naturalDisqualification(
-            @PathVariable("officer_id") final String officerId) {
-        DataMapHolder.get().officerId(officerId);
+    public ResponseEntity<?> naturalDisqualification(
+            @PathVariable("officer_id") final String officerId, WebRequest webRequest) {
+        DataMapHolder.officerId(officerId);
         LOGGER.info("Retrieving natural officer disqualification information",
                 DataMapHolder.getLogMap());
 
+        if (isConditional(webRequest)) {
+            NaturalDisqualificationDocument validators = service.retrieveNaturalDisqualificationValidators(officerId);
+            if (isNotModified(withoutResponse(webRequest), etag(validators), false, validators)) {
+                isNotModified(webRequest, etag(validators), false, validators);
+                return notModified();
+            }
+        }
+
         NaturalDisqualificationDocument disqualification = service.retrieveNaturalDisqualification(officerId);
-        disqualification.getData().setKind(uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi
-                .KindEnum.NATURAL_DISQUALIFICATION);
+        byte[] compressed = gzip(webRequest, officerId, etag(disqualification), disqualification);
+        if (isNotModified(webRequest, etag(disqualification), compressed != null, disqualification)) {
+            return notModified();
+        }
+        if (PublicJsonRenderer.isRendered(disqualification)) {
+            return rendered(disqualification, compressed);
+        }
 
-        return ResponseEntity.status(HttpStatus.OK).body(disqualification.getData());
+        return streamed(disqualification, NaturalDisqualificationApi.class,
+                NaturalDisqualificationApi.KindEnum.NATURAL_DISQUALIFICATION.getValue());
     }
 
     /**
      * Retrieve corporate disqualified officer information for a officer ID.
      *
-     * @param officerId the officer ID for the disqualification
+     * Conditional requests whose If-None-Match or If-Modified-Since still match are answered with 304
+     * without loading the full document. The body stored when the document was written is returned as is,
+     * or gzip compressed with its own ETag, falling back to streaming the stored BSON data for documents not
+     * yet rendered.
+     *
+     * @param officerId  the officer ID for the disqualification
+     * @param webRequest the current request, used to evaluate conditional headers
      * @return CorporateDisqualificationDocument return corporate disqualified officer information
      */
     @GetMapping("/disqualified-officers/corporate/{officer_id}")
-    public ResponseEntity<CorporateDisqualificationApi> corporateDisqualification(
-            @PathVariable("officer_id") String officerId) {
-        DataMapHolder.get().officerId(officerId);
+    public ResponseEntity<?> corporateDisqualification(
+            @PathVariable("officer_id") String officerId, WebRequest webRequest) {
+        DataMapHolder.officerId(officerId);
         LOGGER.info("Retrieving corporate officer disqualification information",
                 DataMapHolder.getLogMap());
 
+        if (isConditional(webRequest)) {
+            CorporateDisqualificationDocument validators =
+                    service.retrieveCorporateDisqualificationValidators(officerId);
+            if (isNotModified(withoutResponse(webRequest), etag(validators), false, validators)) {
+                isNotModified(webRequest, etag(validators), false, validators);
+                return notModified();
+            }
+        }
+
         CorporateDisqualificationDocument disqualification = service.retrieveCorporateDisqualification(
                 officerId);
-        disqualification.getData().setKind(KindEnum.CORPORATE_DISQUALIFICATION);
+        byte[] compressed = gzip(webRequest, officerId, etag(disqualification), disqualification);
+        if (isNotModified(webRequest, etag(disqualification), compressed != null, disqualification)) {
+            return notModified();
+        }
+        if (PublicJsonRenderer.isRendered(disqualification)) {
+            return rendered(disqualification, compressed);
+        }
 
-        return ResponseEntity.status(HttpStatus.OK).body(disqualification.getData());
+        return streamed(disqualification, CorporateDisqualificationApi.class,
+                CorporateDisqualificationApi.KindEnum.CORPORATE_DISQUALIFICATION.getValue());
+    }
+
+    /**
+     * Retrieve disqualified officer information for many officer IDs of either type in one request.
+     *
+     * @param request the officer IDs, each optionally with the expected officer type
+     * @return one result per requested officer ID, reporting not found and wrong type entries inline
+     */
+    @PostMapping("/disqualified-officers/batch")
+    public ResponseEntity<BatchLookupResponse> batchDisqualifications(@RequestBody BatchLookupRequest request) {
+        LOGGER.info("Retrieving batch of officer disqualification information", DataMapHolder.getLogMap());
+
+        return ResponseEntity.status(HttpStatus.OK).body(batchLookupService.lookup(request));
     }
 
     /**
@@ -133,8 +230,8 @@ public class DisqualifiedOfficerController {
             @RequestHeader("x-delta-at") String requestDeltaAt,
             @PathVariable("officer_type") String officerType,
             @PathVariable("officer_id") String officerId) {
-        DataMapHolder.get().officerId(officerId);
-        DataMapHolder.get().officerType(officerType);
+        DataMapHolder.officerId(officerId);
+        DataMapHolder.officerType(officerType);
         LOGGER.info("Processing DELETE disqualified officer request", DataMapHolder.getLogMap());
 
         deleteService.deleteDisqualification(DeleteRequestParameters.builder()
@@ -146,4 +243,127 @@ public class DisqualifiedOfficerController {
 
         return ResponseEntity.status(HttpStatus.OK).build();
     }
+
+    private static boolean isConditional(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    /**
+     * A view of the request that evaluates its conditional headers without setting any response header or
+     * status. The ETag and Last-Modified headers are only set once, and Spring never overwrites them, so
+     * validators read separately from the document must not set them unless the response is a 304.
+     */
+    private static WebRequest withoutResponse(WebRequest webRequest) {
+        return webRequest instanceof ServletWebRequest servletWebRequest
+                ? new ServletWebRequest(servletWebRequest.getRequest())
+                : webRequest;
+    }
+
+    /**
+     * Evaluates the conditional headers against the document's validators. As a side effect the ETag and
+     * Last-Modified response headers are set, so this is also called for unconditional requests.
+     *
+     * <p>The gzip compressed body is a different representation, so it is sent with the ETag suffixed by
+     * {@code -gzip}. The client may hold either, so both are accepted: a match answers 304 with the ETag that
+     * matched, and otherwise the ETag of the body being sent is set.
+     */
+    private static boolean isNotModified(WebRequest webRequest, String etag, boolean gzip,
+            DisqualificationDocument document) {
+        String other = gzip ? etag : gzipEtag(etag);
+        if (other != null && isNotModified(withoutResponse(webRequest), other, document)) {
+            return isNotModified(webRequest, other, document);
+        }
+        return isNotModified(webRequest, gzip ? gzipEtag(etag) : etag, document);
+    }
+
+    private static String etag(NaturalDisqualificationDocument document) {
+        return document.getData() == null ? null : versionedEtag(document.getData().getEtag());
+    }
+
+    private static String etag(CorporateDisqualificationDocument document) {
+        return document.getData() == null ? null : versionedEtag(document.getData().getEtag());
+    }
+
+    /**
+     * The same data is sent as a different body once {@link PublicJsonRenderer#VERSION} changes, whether rendered
+     * or streamed, so the ETag of the body is the data's etag suffixed by the render version.
+     */
+    private static String versionedEtag(String etag) {
+        return etag == null ? null : etag + VERSION_ETAG_SUFFIX + PublicJsonRenderer.VERSION;
+    }
+
+    private static String gzipEtag(String etag) {
+        return etag == null ? null : etag + GZIP_ETAG_SUFFIX;
+    }
+
+    private static boolean isNotModified(WebRequest webRequest, String etag, DisqualificationDocument document) {
+        long lastModified = Optional.ofNullable(document.getUpdated())
+                .map(Updated::getAt)
+                .map(at -> at.toInstant(ZoneOffset.UTC).toEpochMilli())
+                .orElse(-1L);
+        if (etag == null) {
+            return lastModified >= 0 && webRequest.checkNotModified(lastModified);
+        }
+        return webRequest.checkNotModified(etag, lastModified);
+    }
+
+    /**
+     * @return the stored body gzip compressed, or null unless it is stored, the client accepts gzip and it is
+     *         large enough
+     */
+    private byte[] gzip(WebRequest webRequest, String officerId, String etag, DisqualificationDocument document) {
+        return PublicJsonRenderer.isRendered(document) && acceptsGzip(webRequest)
+                ? compressedBodyCache.gzip(officerId, etag, document.getPublicJson())
+                : null;
+    }
+
+    /**
+     * Responds with the stored body, or with its gzip compressed bytes when there are any.
+     */
+    private static ResponseEntity<byte[]> rendered(DisqualificationDocument document, byte[] compressed) {
+        byte[] body = document.getPublicJson();
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (compressed == null) {
+            return response.body(body);
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(compressed);
+    }
+
+    private static boolean acceptsGzip(WebRequest webRequest) {
+        String acceptEncoding = webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean accepted = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim();
+            boolean refused = parameters.length > 1 && parameters[1].trim().matches("q=0(\\.0*)?");
+            if (GZIP.equalsIgnoreCase(name)) {
+                return !refused;
+            }
+            accepted |= "*".equals(name) && !refused;
+        }
+        return accepted;
+    }
+
+    /**
+     * Responds with the stored data streamed from raw BSON, or with an empty body when there is no data.
+     */
+    private static ResponseEntity<RawDisqualificationData> streamed(DisqualificationDocument document,
+            Class<?> type, String kind) {
+        if (document.getRawData() == null) {
+            return ResponseEntity.status(HttpStatus.OK).build();
+        }
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new RawDisqualificationData(document.getRawData(), type, kind));
+    }
+
+    private static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
 }
@@ -0,0 +1,101 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.converter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+
+/**
+ * Reads a Mongo {@link Document} into an API model by replaying its values as Jackson tokens, without
+ * rendering the document to a JSON string and parsing it again.
+ *
+ * <p>Values are emitted in the same shape as {@link Document#toJson()} in its default relaxed mode, so
+ * deserializers see exactly what they saw before. In particular dates become {@code {"$date": "<ISO-8601>"}},
+ * or {@code {"$date": {"$numberLong": "<millis>"}}} outside years 1970 to 9999, which is what
+ * {@code LocalDateDeSerializer} expects.
+ */
+public final class BsonDocumentReader {
+
+    private static final long LAST_MILLI_OF_YEAR_9999 = 253402300799999L;
+
+    private BsonDocumentReader() {
+    }
+
+    public static <T> T read(ObjectMapper objectMapper, Document source, Class<T> type) throws IOException {
+        TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+        writeValue(buffer, source);
+        try (JsonParser parser = buffer.asParser(objectMapper)) {
+            return objectMapper.readValue(parser, type);
+        }
+    }
+
+    private static void writeValue(JsonGenerator generator, Object value) throws IOException {
+        switch (value) {
+            case null -> generator.writeNull();
+            case String string -> generator.writeString(string);
+            case Boolean bool -> generator.writeBoolean(bool);
+            case Integer integer -> generator.writeNumber(integer);
+            // Relaxed JSON prints a long as a plain number, which Jackson reads back as an int when it fits
+            case Long number when number == number.intValue() -> generator.writeNumber(number.intValue());
+            case Long number -> generator.writeNumber(number);
+            case Double number -> writeDouble(generator, number);
+            case Date date -> writeDate(generator, date.getTime());
+            case Map<?, ?> map -> writeMap(generator, map);
+            case Collection<?> collection -> {
+                generator.writeStartArray();
+                for (Object element : collection) {
+                    writeValue(generator, element);
+                }
+                generator.writeEndArray();
+            }
+            case ObjectId objectId -> writeWrapped(generator, "$oid", objectId.toHexString());
+            case Decimal128 decimal -> writeWrapped(generator, "$numberDecimal", decimal.toString());
+            default -> generator.writeString(value.toString());
+        }
+    }
+
+    private static void writeMap(JsonGenerator generator, Map<?, ?> map) throws IOException {
+        generator.writeStartObject();
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            generator.writeFieldName(String.valueOf(entry.getKey()));
+            writeValue(generator, entry.getValue());
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeDouble(JsonGenerator generator, double number) throws IOException {
+        if (Double.isNaN(number) || Double.isInfinite(number)) {
+            writeWrapped(generator, "$numberDouble", Double.toString(number));
+        } else {
+            generator.writeNumber(number);
+        }
+    }
+
+    private static void writeDate(JsonGenerator generator, long millis) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName("$date");
+        if (millis < 0 || millis > LAST_MILLI_OF_YEAR_9999) {
+            writeWrapped(generator, "$numberLong", Long.toString(millis));
+        } else {
+            generator.writeString(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(
+                    Instant.ofEpochMilli(millis).atOffset(ZoneOffset.UTC)));
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeWrapped(JsonGenerator generator, String key, String value) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField(key, value);
+        generator.writeEndObject();
+    }
+}
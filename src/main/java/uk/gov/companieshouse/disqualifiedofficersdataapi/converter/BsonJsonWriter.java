@@ -0,0 +1,192 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.converter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.config.ApplicationConfig;
+
+/**
+ * Writes the raw BSON data of a disqualification as the JSON the API models would be serialised to, looking
+ * each value up in the stored bytes so no document tree or API model is built.
+ *
+ * <p>The output matches reading the data with {@link BsonDocumentReader} and serialising it with the HTTP
+ * ObjectMapper, with kind set: only the properties of the model are written, in the order the HTTP
+ * ObjectMapper writes them, leaving out nulls and the properties the MongoDB ObjectMapper does not read, such
+ * as the purpose of each permission to act. Dates are written as the {@code yyyy-MM-dd} of the LocalDate that
+ * {@code LocalDateDeSerializer} would have read, and values of free-form maps as {@code Document#toJson()}
+ * would print them.
+ */
+public class BsonJsonWriter {
+
+    private static final String KIND = "kind";
+    private static final long LAST_MILLI_OF_YEAR_9999 = 253402300799999L;
+
+    private final ObjectMapper objectMapper;
+    private final DeserializationConfig storageConfig = ApplicationConfig.mongoDbObjectMapper()
+            .getDeserializationConfig();
+    private final Map<JavaType, List<Property>> properties = new ConcurrentHashMap<>();
+    private final JavaType objectType;
+
+    /**
+     * @param objectMapper the HTTP ObjectMapper
+     */
+    public BsonJsonWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.objectType = objectMapper.constructType(Object.class);
+    }
+
+    /**
+     * @param data stored data
+     * @param type API model the data is stored from
+     * @param kind written as the model's kind property, in place of any stored kind
+     */
+    public void write(RawBsonDocument data, Class<?> type, String kind, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        for (Property property : properties(objectMapper.constructType(type))) {
+            if (KIND.equals(property.name())) {
+                generator.writeStringField(KIND, kind);
+            } else {
+                writeProperty(data, property, generator);
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeProperty(BsonDocument document, Property property, JsonGenerator generator)
+            throws IOException {
+        BsonValue value = document.get(property.name());
+        if (value != null && !value.isNull() && isSupported(value)) {
+            generator.writeFieldName(property.name());
+            writeValue(value, property.type(), generator);
+        }
+    }
+
+    private void writeValue(BsonValue value, JavaType type, JsonGenerator generator) throws IOException {
+        if (value.isDocument() && !type.isMapLikeType() && !type.isJavaLangObject()) {
+            generator.writeStartObject();
+            for (Property property : properties(type)) {
+                writeProperty(value.asDocument(), property, generator);
+            }
+            generator.writeEndObject();
+        } else if (value.isDocument()) {
+            writeMap(value.asDocument(), generator);
+        } else if (value.isArray()) {
+            JavaType elementType = type.isContainerType() ? type.getContentType() : type;
+            generator.writeStartArray();
+            for (BsonValue element : value.asArray()) {
+                writeValue(element, elementType, generator);
+            }
+            generator.writeEndArray();
+        } else if (value.isDateTime() && type.hasRawClass(LocalDate.class)) {
+            generator.writeString(toLocalDate(value.asDateTime().getValue()).toString());
+        } else {
+            writeScalar(value, generator);
+        }
+    }
+
+    private void writeMap(BsonDocument document, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        for (Map.Entry<String, BsonValue> entry : document.entrySet()) {
+            BsonValue value = entry.getValue();
+            if (!value.isNull() && isSupported(value)) {
+                generator.writeFieldName(entry.getKey());
+                writeValue(value, objectType, generator);
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeScalar(BsonValue value, JsonGenerator generator) throws IOException {
+        switch (value.getBsonType()) {
+            case STRING -> generator.writeString(value.asString().getValue());
+            case BOOLEAN -> generator.writeBoolean(value.asBoolean().getValue());
+            case INT32 -> generator.writeNumber(value.asInt32().getValue());
+            case INT64 -> generator.writeNumber(value.asInt64().getValue());
+            case DOUBLE -> generator.writeNumber(value.asDouble().getValue());
+            case DECIMAL128 -> generator.writeNumber(value.asDecimal128().getValue().bigDecimalValue());
+            case DATE_TIME -> writeDate(value.asDateTime().getValue(), generator);
+            default -> generator.writeNull();
+        }
+    }
+
+    /**
+     * The model's properties in the order the HTTP ObjectMapper writes them, less those the MongoDB
+     * ObjectMapper ignores when reading the stored data.
+     */
+    private List<Property> properties(JavaType type) throws JsonMappingException {
+        List<Property> known = properties.get(type);
+        if (known != null) {
+            return known;
+        }
+        JsonSerializer<Object> serializer = objectMapper.getSerializerProviderInstance().findValueSerializer(type);
+        List<Property> found = new ArrayList<>();
+        if (serializer instanceof BeanSerializerBase bean) {
+            Set<String> ignored = storageConfig.getDefaultPropertyIgnorals(type.getRawClass(),
+                    storageConfig.introspectClassAnnotations(type).getClassInfo()).findIgnoredForDeserialization();
+            for (Iterator<PropertyWriter> writers = bean.properties(); writers.hasNext(); ) {
+                PropertyWriter writer = writers.next();
+                if (!ignored.contains(writer.getName())) {
+                    found.add(new Property(writer.getName(), writer.getType()));
+                }
+            }
+        }
+        properties.putIfAbsent(type, List.copyOf(found));
+        return found;
+    }
+
+    private static boolean isSupported(BsonValue value) {
+        return switch (value.getBsonType()) {
+            case DOCUMENT, ARRAY, STRING, BOOLEAN, INT32, INT64, DOUBLE, DECIMAL128, DATE_TIME, NULL -> true;
+            // The API models have no field that could have been written as any other type
+            default -> false;
+        };
+    }
+
+    /**
+     * Dates in years 1970 to 9999 reach LocalDateDeSerializer as a UTC timestamp, any others as epoch millis
+     * converted in the system zone.
+     */
+    private static LocalDate toLocalDate(long millis) {
+        ZoneId zone = millis < 0 || millis > LAST_MILLI_OF_YEAR_9999 ? ZoneId.systemDefault() : ZoneOffset.UTC;
+        return LocalDate.ofInstant(Instant.ofEpochMilli(millis), zone);
+    }
+
+    /**
+     * A date in a free-form map, as {@link BsonDocumentReader} presents it to Jackson.
+     */
+    private static void writeDate(long millis, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        if (millis < 0 || millis > LAST_MILLI_OF_YEAR_9999) {
+            generator.writeObjectFieldStart("$date");
+            generator.writeStringField("$numberLong", Long.toString(millis));
+            generator.writeEndObject();
+        } else {
+            generator.writeStringField("$date", DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(
+                    Instant.ofEpochMilli(millis).atOffset(ZoneOffset.UTC)));
+        }
+        generator.writeEndObject();
+    }
+
+    private record Property(String name, JavaType type) {
+    }
+}
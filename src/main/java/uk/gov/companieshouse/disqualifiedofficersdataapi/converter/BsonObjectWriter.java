@@ -0,0 +1,101 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.converter;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.Date;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Writes an API model to a {@link BasicDBObject} by running it through the mapper's serializers into a token
+ * buffer and building the object from the tokens, without printing JSON and parsing it back.
+ *
+ * <p>The result holds the same value types that {@code BasicDBObject.parse} produced from the printed JSON:
+ * integers that fit are stored as int32, decimals as doubles, and the raw {@code ISODate("...")} values
+ * written by {@code LocalDateSerializer} as dates.
+ */
+public final class BsonObjectWriter {
+
+    private static final Pattern ISO_DATE = Pattern.compile("ISODate\\(\"([^\"]+)\"\\)");
+
+    private BsonObjectWriter() {
+    }
+
+    public static BasicDBObject write(ObjectMapper objectMapper, Object source) throws IOException {
+        TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+        objectMapper.writeValue(buffer, source);
+        try (JsonParser parser = buffer.asParser(objectMapper)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Expected " + source.getClass().getName()
+                        + " to serialize as an object");
+            }
+            return readObject(parser);
+        }
+    }
+
+    private static BasicDBObject readObject(JsonParser parser) throws IOException {
+        BasicDBObject object = new BasicDBObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            object.put(name, readValue(parser));
+        }
+        return object;
+    }
+
+    private static Object readValue(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case START_OBJECT -> readObject(parser);
+            case START_ARRAY -> {
+                BasicDBList list = new BasicDBList();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    list.add(readValue(parser));
+                }
+                yield list;
+            }
+            case VALUE_STRING -> parser.getText();
+            case VALUE_NUMBER_INT -> readInteger(parser);
+            // Printed JSON decimals were always read back as doubles, whatever their Java type
+            case VALUE_NUMBER_FLOAT -> switch (parser.getNumberType()) {
+                case FLOAT -> Double.parseDouble(Float.toString(parser.getFloatValue()));
+                case BIG_DECIMAL -> Double.parseDouble(parser.getDecimalValue().toString());
+                default -> parser.getDoubleValue();
+            };
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            case VALUE_NULL -> null;
+            case VALUE_EMBEDDED_OBJECT -> readEmbedded(parser.getEmbeddedObject());
+            default -> throw new IllegalStateException("Unexpected token " + parser.currentToken());
+        };
+    }
+
+    private static Object readInteger(JsonParser parser) throws IOException {
+        BigInteger value = parser.getBigIntegerValue();
+        if (value.bitLength() < Integer.SIZE) {
+            return value.intValue();
+        } else if (value.bitLength() < Long.SIZE) {
+            return value.longValue();
+        }
+        return value.doubleValue();
+    }
+
+    private static Object readEmbedded(Object embedded) {
+        if (embedded instanceof RawValue raw) {
+            String text = String.valueOf(raw.rawValue());
+            Matcher isoDate = ISO_DATE.matcher(text);
+            if (isoDate.matches()) {
+                return Date.from(Instant.parse(isoDate.group(1)));
+            }
+            return BasicDBObject.parse("{\"value\": " + text + "}").get("value");
+        }
+        return embedded;
+    }
+}
@@ -23,7 +23,7 @@ public class DisqualifiedNaturalOfficerReadConverter implements Converter<Docume
     @Override
     public NaturalDisqualificationApi convert(Document source) {
         try {
-            return objectMapper.readValue(source.toJson(), NaturalDisqualificationApi.class);
+            return BsonDocumentReader.read(objectMapper, source, NaturalDisqualificationApi.class);
         } catch (Exception ex) {
             throw new RuntimeException(ex);
         }
@@ -0,0 +1,55 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.converter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.RawDisqualificationData;
+
+/**
+ * Streams raw disqualification data to the response through the response's own output buffer.
+ */
+@Component
+public class RawDisqualificationDataHttpMessageConverter
+        extends AbstractHttpMessageConverter<RawDisqualificationData> {
+
+    private final JsonFactory jsonFactory;
+    private final BsonJsonWriter writer;
+
+    public RawDisqualificationDataHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.jsonFactory = objectMapper.getFactory();
+        this.writer = new BsonJsonWriter(objectMapper);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return RawDisqualificationData.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected RawDisqualificationData readInternal(Class<? extends RawDisqualificationData> clazz,
+            HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Raw disqualification data is write only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(RawDisqualificationData rawData, HttpOutputMessage outputMessage)
+            throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(StreamUtils.nonClosing(outputMessage.getBody()))) {
+            writer.write(rawData.data(), rawData.type(), rawData.kind(), generator);
+        }
+    }
+}
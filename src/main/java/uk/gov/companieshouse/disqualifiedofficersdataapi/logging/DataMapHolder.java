@@ -1,35 +1,73 @@
 package uk.gov.companieshouse.disqualifiedofficersdataapi.logging;
 
-import uk.gov.companieshouse.logging.util.DataMap.Builder;
 import java.util.Map;
+import java.util.function.Supplier;
 
+/**
+ * Holds the {@link RequestContext} of the current thread. Updates replace the context rather than modify it,
+ * so {@link #current()} can be handed to another thread and installed there with {@link #runWith} or
+ * {@link #callWith}.
+ */
 public class DataMapHolder {
 
-    private static final ThreadLocal<Builder> DATAMAP_BUILDER
-            = ThreadLocal.withInitial(() -> new Builder().requestId("uninitialised"));
+    private static final RequestContext UNINITIALISED = RequestContext.of("uninitialised");
+    private static final ThreadLocal<RequestContext> CONTEXT = ThreadLocal.withInitial(() -> UNINITIALISED);
 
     public static void initialise(String requestId) {
-        DATAMAP_BUILDER.get().requestId(requestId);
+        CONTEXT.set(RequestContext.of(requestId));
     }
 
     private DataMapHolder() {
     }
 
     public static void clear() {
-        DATAMAP_BUILDER.remove();
+        CONTEXT.remove();
     }
 
-    public static Builder get() {
-        return DATAMAP_BUILDER.get();
+    public static RequestContext current() {
+        return CONTEXT.get();
+    }
+
+    public static void officerId(String officerId) {
+        CONTEXT.set(CONTEXT.get().withOfficerId(officerId));
+    }
+
+    public static void officerType(String officerType) {
+        CONTEXT.set(CONTEXT.get().withOfficerType(officerType));
+    }
+
+    public static void status(String status) {
+        CONTEXT.set(CONTEXT.get().withStatus(status));
     }
 
     public static Map<String, Object> getLogMap() {
-        return DATAMAP_BUILDER.get()
-                .build()
-                .getLogMap();
+        return CONTEXT.get().getLogMap();
     }
 
     public static String getRequestId() {
-        return (String) getLogMap().get("request_id");
+        return CONTEXT.get().getRequestId();
+    }
+
+    /**
+     * Run the task with the given context, restoring the thread's previous context afterwards.
+     */
+    public static void runWith(RequestContext context, Runnable task) {
+        callWith(context, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Call the task with the given context, restoring the thread's previous context afterwards.
+     */
+    public static <T> T callWith(RequestContext context, Supplier<T> task) {
+        RequestContext previous = CONTEXT.get();
+        CONTEXT.set(context);
+        try {
+            return task.get();
+        } finally {
+            CONTEXT.set(previous);
+        }
     }
 }
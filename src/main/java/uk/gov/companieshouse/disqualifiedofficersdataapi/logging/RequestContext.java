@@ -0,0 +1,65 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.logging;
+
+import java.util.Collections;
+import java.util.Map;
+import uk.gov.companieshouse.logging.util.DataMap;
+
+/**
+ * Immutable logging context of one request or background task. Each change returns a new context, so a
+ * context handed to another thread is never modified under it. The log map is built on first use and kept.
+ */
+public final class RequestContext {
+
+    private final String requestId;
+    private final String officerId;
+    private final String officerType;
+    private final String status;
+    private Map<String, Object> logMap;
+
+    private RequestContext(String requestId, String officerId, String officerType, String status) {
+        this.requestId = requestId;
+        this.officerId = officerId;
+        this.officerType = officerType;
+        this.status = status;
+    }
+
+    public static RequestContext of(String requestId) {
+        return new RequestContext(requestId, null, null, null);
+    }
+
+    public RequestContext withOfficerId(String officerId) {
+        return new RequestContext(requestId, officerId, officerType, status);
+    }
+
+    public RequestContext withOfficerType(String officerType) {
+        return new RequestContext(requestId, officerId, officerType, status);
+    }
+
+    public RequestContext withStatus(String status) {
+        return new RequestContext(requestId, officerId, officerType, status);
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public Map<String, Object> getLogMap() {
+        // Racing threads build equal maps, so the unsynchronised write is harmless
+        Map<String, Object> map = logMap;
+        if (map == null) {
+            DataMap.Builder builder = new DataMap.Builder().requestId(requestId);
+            if (officerId != null) {
+                builder.officerId(officerId);
+            }
+            if (officerType != null) {
+                builder.officerType(officerType);
+            }
+            if (status != null) {
+                builder.status(status);
+            }
+            map = Collections.unmodifiableMap(builder.build().getLogMap());
+            logMap = map;
+        }
+        return map;
+    }
+}
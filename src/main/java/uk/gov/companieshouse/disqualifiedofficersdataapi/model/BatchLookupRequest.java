@@ -0,0 +1,15 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * Request body for a batch lookup. officer_type is optional on each item; when given, a stored
+ * disqualification of the other type is reported as wrong_type rather than returned.
+ */
+public record BatchLookupRequest(@JsonProperty("items") List<Item> items) {
+
+    public record Item(@JsonProperty("officer_id") String officerId,
+                       @JsonProperty("officer_type") String officerType) {
+    }
+}
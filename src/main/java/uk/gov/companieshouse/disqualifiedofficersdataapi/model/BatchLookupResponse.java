@@ -0,0 +1,33 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonValue;
+import java.util.List;
+
+/**
+ * Response body for a batch lookup, with one result per requested item in request order.
+ */
+public record BatchLookupResponse(@JsonProperty("items") List<Result> items) {
+
+    public record Result(@JsonProperty("officer_id") String officerId,
+                         @JsonProperty("status") Status status,
+                         @JsonProperty("data") Object data) {
+    }
+
+    public enum Status {
+        FOUND("found"),
+        NOT_FOUND("not_found"),
+        WRONG_TYPE("wrong_type");
+
+        private final String value;
+
+        Status(String value) {
+            this.value = value;
+        }
+
+        @JsonValue
+        public String getValue() {
+            return value;
+        }
+    }
+}
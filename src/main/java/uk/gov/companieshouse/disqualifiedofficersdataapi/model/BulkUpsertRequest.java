@@ -0,0 +1,21 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import uk.gov.companieshouse.api.disqualification.InternalCorporateDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.InternalNaturalDisqualificationApi;
+
+/**
+ * Request body for a bulk PUT. Each item carries the same payload as the single officer PUT endpoints.
+ */
+public record BulkUpsertRequest(@JsonProperty("natural") List<NaturalItem> natural,
+                                @JsonProperty("corporate") List<CorporateItem> corporate) {
+
+    public record NaturalItem(@JsonProperty("officer_id") String officerId,
+                              @JsonProperty("data") InternalNaturalDisqualificationApi data) {
+    }
+
+    public record CorporateItem(@JsonProperty("officer_id") String officerId,
+                                @JsonProperty("data") InternalCorporateDisqualificationApi data) {
+    }
+}
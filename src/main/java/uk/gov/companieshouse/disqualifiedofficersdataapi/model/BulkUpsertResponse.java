@@ -0,0 +1,17 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * Response body for a bulk PUT, with one result per requested item: natural items first, then corporate
+ * items, each in request order.
+ */
+public record BulkUpsertResponse(@JsonProperty("items") List<Result> items) {
+
+    public record Result(@JsonProperty("officer_id") String officerId,
+                         @JsonProperty("officer_type") String officerType,
+                         @JsonProperty("status") UpsertOutcome status,
+                         @JsonProperty("message") String message) {
+    }
+}
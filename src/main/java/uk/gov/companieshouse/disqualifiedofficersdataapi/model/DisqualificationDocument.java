@@ -1,10 +1,15 @@
 package uk.gov.companieshouse.disqualifiedofficersdataapi.model;
 
+import org.bson.RawBsonDocument;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
 @Document(collection = "disqualifications")
+@CompoundIndex(name = "created_at", def = "{ 'created.at': 1 }")
 public class DisqualificationDocument {
 
     @Id
@@ -24,11 +29,44 @@ public class DisqualificationDocument {
     @Field("delta_at")
     private String deltaAt;
 
+    /**
+     * delta_at as epoch microseconds, so it is compared numerically. Null on documents written before it
+     * existed until they are backfilled, and for a delta_at outside years 1 to 9999.
+     */
+    @Indexed(name = "delta_at_micros")
+    @Field("delta_at_micros")
+    private Long deltaAtMicros;
+
     @Field("is_corporate_officer")
     private boolean isCorporateOfficer;
 
     private Updated updated;
 
+    /**
+     * The GET response body, rendered when the document is written.
+     */
+    @Field("public_json")
+    private byte[] publicJson;
+
+    /**
+     * Indexed so the rebuild finds the documents left to render without scanning the collection.
+     */
+    @Indexed(name = "public_json_version")
+    @Field("public_json_version")
+    private Integer publicJsonVersion;
+
+    /**
+     * Hash of the written content, see {@code ContentHash}.
+     */
+    @Field("content_hash")
+    private String contentHash;
+
+    /**
+     * The stored data as raw BSON, set by reads that stream it to the response instead of mapping it.
+     */
+    @Transient
+    private RawBsonDocument rawData;
+
     public String getId() {
         return id;
     }
@@ -83,6 +121,15 @@ public class DisqualificationDocument {
         return this;
     }
 
+    public Long getDeltaAtMicros() {
+        return deltaAtMicros;
+    }
+
+    public DisqualificationDocument setDeltaAtMicros(Long deltaAtMicros) {
+        this.deltaAtMicros = deltaAtMicros;
+        return this;
+    }
+
     public boolean isCorporateOfficer() {
         return isCorporateOfficer;
     }
@@ -100,4 +147,40 @@ public class DisqualificationDocument {
         this.updated = updated;
         return this;
     }
+
+    public byte[] getPublicJson() {
+        return publicJson;
+    }
+
+    public DisqualificationDocument setPublicJson(byte[] publicJson) {
+        this.publicJson = publicJson;
+        return this;
+    }
+
+    public Integer getPublicJsonVersion() {
+        return publicJsonVersion;
+    }
+
+    public DisqualificationDocument setPublicJsonVersion(Integer publicJsonVersion) {
+        this.publicJsonVersion = publicJsonVersion;
+        return this;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public DisqualificationDocument setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+        return this;
+    }
+
+    public RawBsonDocument getRawData() {
+        return rawData;
+    }
+
+    public DisqualificationDocument setRawData(RawBsonDocument rawData) {
+        this.rawData = rawData;
+        return this;
+    }
 }
@@ -22,6 +22,10 @@ public enum DisqualificationResourceType {
         this.officerType = officerType;
     }
 
+    public String getOfficerType() {
+        return officerType;
+    }
+
     public static DisqualificationResourceType valueOfOfficerType(final String input) {
         return BY_OFFICER_TYPE.computeIfAbsent(input, k -> {
             throw new IllegalArgumentException();
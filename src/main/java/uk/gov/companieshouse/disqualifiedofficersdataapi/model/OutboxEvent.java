@@ -0,0 +1,195 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.model;
+
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.api.ResourceChangedRequest;
+
+/**
+ * A resource changed notification waiting to be sent to chs-kafka-api. Events are written alongside the
+ * disqualification they describe and removed once delivered. The sequence numbers the events of an officer
+ * in the order their writes committed.
+ */
+@Document(collection = "disqualifications_outbox")
+@CompoundIndex(name = "officer_sequence", def = "{ 'officer_id': 1, 'sequence': 1 }")
+@CompoundIndex(name = "pending_due", def = "{ 'failed_at': 1, 'next_attempt_at': 1, 'created_at': 1 }")
+public class OutboxEvent {
+
+    @Id
+    private String id;
+
+    @Field("officer_id")
+    private String officerId;
+
+    private long sequence;
+
+    @Field("context_id")
+    private String contextId;
+
+    @Field("resource_type")
+    private DisqualificationResourceType resourceType;
+
+    @Field("is_delete")
+    private boolean delete;
+
+    @Field("natural_deleted_data")
+    private NaturalDisqualificationApi naturalDeletedData;
+
+    @Field("corporate_deleted_data")
+    private CorporateDisqualificationApi corporateDeletedData;
+
+    @Field("created_at")
+    private Instant createdAt;
+
+    private int attempts;
+
+    @Field("next_attempt_at")
+    private Instant nextAttemptAt;
+
+    @Field("failed_at")
+    private Instant failedAt;
+
+    @Field("last_error")
+    private String lastError;
+
+    public static OutboxEvent of(ResourceChangedRequest request, Instant createdAt) {
+        OutboxEvent event = new OutboxEvent()
+                .setOfficerId(request.getOfficerId())
+                .setContextId(request.getContextId())
+                .setResourceType(request.getType())
+                .setDelete(Boolean.TRUE.equals(request.getIsDelete()))
+                .setCreatedAt(createdAt);
+        if (request.getDisqualificationData() instanceof NaturalDisqualificationApi natural) {
+            event.setNaturalDeletedData(natural);
+        } else if (request.getDisqualificationData() instanceof CorporateDisqualificationApi corporate) {
+            event.setCorporateDeletedData(corporate);
+        }
+        return event;
+    }
+
+    public ResourceChangedRequest toResourceChangedRequest() {
+        Object deletedData = naturalDeletedData != null ? naturalDeletedData : corporateDeletedData;
+        return new ResourceChangedRequest(contextId, officerId, resourceType, deletedData, delete);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public OutboxEvent setId(String id) {
+        this.id = id;
+        return this;
+    }
+
+    public String getOfficerId() {
+        return officerId;
+    }
+
+    public OutboxEvent setOfficerId(String officerId) {
+        this.officerId = officerId;
+        return this;
+    }
+
+    public String getContextId() {
+        return contextId;
+    }
+
+    public OutboxEvent setContextId(String contextId) {
+        this.contextId = contextId;
+        return this;
+    }
+
+    public DisqualificationResourceType getResourceType() {
+        return resourceType;
+    }
+
+    public OutboxEvent setResourceType(DisqualificationResourceType resourceType) {
+        this.resourceType = resourceType;
+        return this;
+    }
+
+    public boolean isDelete() {
+        return delete;
+    }
+
+    public OutboxEvent setDelete(boolean delete) {
+        this.delete = delete;
+        return this;
+    }
+
+    public NaturalDisqualificationApi getNaturalDeletedData() {
+        return naturalDeletedData;
+    }
+
+    public OutboxEvent setNaturalDeletedData(NaturalDisqualificationApi naturalDeletedData) {
+        this.naturalDeletedData = naturalDeletedData;
+        return this;
+    }
+
+    public CorporateDisqualificationApi getCorporateDeletedData() {
+        return corporateDeletedData;
+    }
+
+    public OutboxEvent setCorporateDeletedData(CorporateDisqualificationApi corporateDeletedData) {
+        this.corporateDeletedData = corporateDeletedData;
+        return this;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public OutboxEvent setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+        return this;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public OutboxEvent setSequence(long sequence) {
+        this.sequence = sequence;
+        return this;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public OutboxEvent setAttempts(int attempts) {
+        this.attempts = attempts;
+        return this;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public OutboxEvent setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+        return this;
+    }
+
+    public Instant getFailedAt() {
+        return failedAt;
+    }
+
+    public OutboxEvent setFailedAt(Instant failedAt) {
+        this.failedAt = failedAt;
+        return this;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public OutboxEvent setLastError(String lastError) {
+        this.lastError = lastError;
+        return this;
+    }
+}
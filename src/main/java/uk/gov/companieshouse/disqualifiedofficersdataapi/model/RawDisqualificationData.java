@@ -0,0 +1,13 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.model;
+
+import org.bson.RawBsonDocument;
+
+/**
+ * GET response body streamed from the stored BSON data by RawDisqualificationDataHttpMessageConverter.
+ *
+ * @param data stored data
+ * @param type API model the data is stored from
+ * @param kind kind of the response
+ */
+public record RawDisqualificationData(RawBsonDocument data, Class<?> type, String kind) {
+}
@@ -0,0 +1,22 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.model;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum UpsertOutcome {
+
+    APPLIED("applied"),
+    STALE("stale"),
+    UNCHANGED("unchanged"),
+    FAILED("failed");
+
+    private final String value;
+
+    UpsertOutcome(String value) {
+        this.value = value;
+    }
+
+    @JsonValue
+    public String getValue() {
+        return value;
+    }
+}
@@ -1,6 +1,8 @@
 package uk.gov.companieshouse.disqualifiedofficersdataapi.repository;
 
+import java.util.Optional;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.CorporateDisqualificationDocument;
 
@@ -8,4 +10,10 @@ import uk.gov.companieshouse.disqualifiedofficersdataapi.model.CorporateDisquali
 @Repository
 public interface CorporateDisqualifiedOfficerRepository extends MongoRepository<CorporateDisqualificationDocument, String> {
 
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'data.etag': 1, 'updated': 1, 'is_corporate_officer': 1 }")
+    Optional<CorporateDisqualificationDocument> findEtagById(String officerId);
+
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'public_json': 1, 'public_json_version': 1, 'data.etag': 1, "
+            + "'updated': 1, 'is_corporate_officer': 1 }")
+    Optional<CorporateDisqualificationDocument> findPublicJsonById(String officerId);
 }
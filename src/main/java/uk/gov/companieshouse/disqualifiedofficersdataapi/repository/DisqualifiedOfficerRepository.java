@@ -1,9 +1,21 @@
 package uk.gov.companieshouse.disqualifiedofficersdataapi.repository;
 
+import java.util.Optional;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
 
 @Repository
-public interface DisqualifiedOfficerRepository extends MongoRepository<DisqualificationDocument, String> {
+public interface DisqualifiedOfficerRepository extends MongoRepository<DisqualificationDocument, String>,
+        DisqualifiedOfficerRepositoryCustom {
+
+    /**
+     * Read only what a staleness check needs.
+     *
+     * @param officerId Mongo id
+     * @return the document with only its id, delta_at and is_corporate_officer, or empty if not found
+     */
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'delta_at': 1, 'is_corporate_officer': 1 }")
+    Optional<DisqualificationDocument> findDeltaAtById(String officerId);
 }
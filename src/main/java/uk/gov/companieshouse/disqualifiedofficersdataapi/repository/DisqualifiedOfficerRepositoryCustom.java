@@ -0,0 +1,157 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.UpsertOutcome;
+
+public interface DisqualifiedOfficerRepositoryCustom {
+
+    /**
+     * Insert or update the document in a single upsert, unless the stored document has a more recent
+     * delta_at. The stored created field is kept; the document's created field is only used on insert. If the
+     * stored document has the same content_hash only its delta_at is advanced, so its etag and updated
+     * timestamp are kept. Inside a transaction a write that is stale or unchanged fails with a
+     * DuplicateKeyException, which aborts the transaction; {@link #resolveNotWritten} then gives its outcome.
+     *
+     * @param document         the transformed document to be written
+     * @param storeContentHash false to leave the stored content_hash unset, for
+     *                         {@link #storeContentHash(List)} once the write has been notified. The
+     *                         document's content_hash is still compared with the stored one.
+     * @return APPLIED if the document was written, UNCHANGED if only delta_at was, or STALE if the stored
+     *         document is more recent
+     */
+    UpsertOutcome upsertIfNotStale(DisqualificationDocument document, boolean storeContentHash);
+
+    /**
+     * The outcome of a write that failed with a duplicate key inside a transaction: advance only delta_at if
+     * the content is unchanged, otherwise leave the stored document as it is.
+     *
+     * @param document the document whose write failed
+     * @return UNCHANGED if delta_at was advanced, or STALE if the stored document is more recent
+     * @throws org.springframework.dao.ConcurrencyFailureException if the document was inserted concurrently
+     *         and the write is neither stale nor unchanged, so it has to be made again
+     */
+    UpsertOutcome resolveNotWritten(DisqualificationDocument document);
+
+    /**
+     * Apply {@link #upsertIfNotStale(DisqualificationDocument, boolean)} to every document with one read of
+     * their stored state and one unordered bulk write. Documents must have distinct ids.
+     *
+     * @param documents        the transformed documents to be written
+     * @param storeContentHash false to leave the stored content_hash of each written document unset
+     * @return the outcome for each document, by position
+     */
+    List<UpsertOutcome> bulkUpsertIfNotStale(List<? extends DisqualificationDocument> documents,
+            boolean storeContentHash);
+
+    /**
+     * Store the content_hash of each document with one unordered bulk write, unless the stored document has
+     * been written since. Used once the resource changed notification of a write stored without its
+     * content_hash has been sent.
+     *
+     * @param documents documents as written, with content_hash set
+     */
+    void storeContentHash(List<? extends DisqualificationDocument> documents);
+
+    /**
+     * Atomically delete the document if it is of the requested officer type and its delta_at is not more
+     * recent than the request's.
+     *
+     * @param officerId        Mongo id
+     * @param deltaAt          delta_at of the delete request
+     * @param deltaAtMicros    delta_at of the delete request as epoch microseconds, or null to compare it
+     *                         as a string only
+     * @param corporateOfficer the officer type the delete was requested for
+     * @param type             document class used to read the removed document
+     * @return the removed document, or empty if nothing matched
+     */
+    <T extends DisqualificationDocument> Optional<T> findAndDeleteIfNotStale(String officerId, String deltaAt,
+            Long deltaAtMicros, boolean corporateOfficer, Class<T> type);
+
+    /**
+     * Find a document with its data left as raw BSON in rawData, for streaming to a response without
+     * mapping it. data is populated with the etag only.
+     *
+     * @param officerId Mongo id
+     * @param type      NaturalDisqualificationDocument or CorporateDisqualificationDocument
+     * @return the document, or empty if not found
+     */
+    <T extends DisqualificationDocument> Optional<T> findWithRawDataById(String officerId, Class<T> type);
+
+    /**
+     * Find the stored GET bodies of all documents with the given ids in a single $in query. Each document is
+     * read as a NaturalDisqualificationDocument or CorporateDisqualificationDocument according to its
+     * is_corporate_officer field.
+     *
+     * @param officerIds Mongo ids
+     * @return the documents found with only their id, is_corporate_officer, public_json and public_json_version,
+     *         in no particular order
+     */
+    List<DisqualificationDocument> findAllPublicJsonByIdIn(Collection<String> officerIds);
+
+    /**
+     * Find the data of all documents with the given ids in a single $in query, typed as by
+     * {@link #findAllPublicJsonByIdIn(Collection)}.
+     *
+     * @param officerIds Mongo ids
+     * @return the documents found with only their id, is_corporate_officer and data, in no particular order
+     */
+    List<DisqualificationDocument> findAllTypedByIdIn(Collection<String> officerIds);
+
+    /**
+     * Stream the id of every document through a cursor, reading only the _id field.
+     *
+     * @param action called with each id in turn
+     */
+    void forEachId(Consumer<String> action);
+
+    /**
+     * Stream the id of every document first inserted at or after a time, through the created.at index.
+     *
+     * @param since earliest created.at, in UTC
+     * @param action called with each id in turn
+     */
+    void forEachIdCreatedSince(LocalDateTime since, Consumer<String> action);
+
+    /**
+     * Find up to limit documents whose public_json was not rendered with the given version, each read as
+     * its own type.
+     *
+     * @param version current PublicJsonRenderer version
+     * @param limit   maximum number of documents
+     * @return the documents found
+     */
+    List<DisqualificationDocument> findWithPublicJsonVersionNot(int version, int limit);
+
+    /**
+     * Store the document's public_json and public_json_version, unless the stored document has been written
+     * since it was read.
+     *
+     * @param document document read with its delta_at and data.etag, then rendered
+     * @return true if the rendered body was stored
+     */
+    boolean updatePublicJsonIfUnchanged(DisqualificationDocument document);
+
+    /**
+     * Find up to limit documents with a delta_at but no delta_at_micros, in _id order, reading only their
+     * delta_at.
+     *
+     * @param afterId only documents after this id are found, or null to start from the first
+     * @param limit   maximum number of documents
+     * @return the documents found
+     */
+    List<DisqualificationDocument> findWithoutDeltaAtMicros(String afterId, int limit);
+
+    /**
+     * Store the delta_at_micros of each document with one unordered bulk write, unless the stored document
+     * has been written since it was read.
+     *
+     * @param documents documents read with their delta_at, with delta_at_micros set
+     * @return the number of documents updated
+     */
+    long updateDeltaAtMicros(List<DisqualificationDocument> documents);
+}
@@ -0,0 +1,469 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.CorporateDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.UpsertOutcome;
+
+public class DisqualifiedOfficerRepositoryCustomImpl implements DisqualifiedOfficerRepositoryCustom {
+
+    static final String ID = "_id";
+    static final String DELTA_AT = "delta_at";
+    static final String DELTA_AT_MICROS = "delta_at_micros";
+    static final String CREATED = "created";
+    static final String CREATED_AT = "created.at";
+    static final String IS_CORPORATE_OFFICER = "is_corporate_officer";
+    static final String PUBLIC_JSON = "public_json";
+    static final String PUBLIC_JSON_VERSION = "public_json_version";
+    static final String DATA = "data";
+    static final String ETAG = "etag";
+    static final String CONTENT_HASH = "content_hash";
+    private static final DocumentCodec DOCUMENT_CODEC = new DocumentCodec();
+    private static final int DUPLICATE_KEY_ERROR_CODE = 11000;
+
+    /**
+     * Top level fields owned by a PUT. Any of these missing from the new document are unset so the update
+     * leaves the same document a full replace would.
+     */
+    private static final List<String> REPLACED_FIELDS = List.of("officer_disq_id", "officer_detail_id",
+            "officer_id_raw", DELTA_AT, DELTA_AT_MICROS, IS_CORPORATE_OFFICER, "updated", DATA, PUBLIC_JSON,
+            PUBLIC_JSON_VERSION, CONTENT_HASH);
+
+    private final MongoTemplate mongoTemplate;
+
+    public DisqualifiedOfficerRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * One upsert guarded by the staleness and content filter, so a changed document is updated or a missing one
+     * inserted in a single round trip. Only a write that is stale or unchanged, or that loses a race to insert
+     * the document first, matches nothing and fails with a duplicate key on _id. Inside a transaction that
+     * failure has aborted the transaction, so it is rethrown for {@link #resolveNotWritten} once the
+     * transaction has ended.
+     */
+    @Override
+    public UpsertOutcome upsertIfNotStale(DisqualificationDocument document, boolean storeContentHash) {
+        Query changedQuery = changedQuery(document);
+        Update update = replaceUpdate(document, storeContentHash);
+        try {
+            mongoTemplate.upsert(changedQuery, update, DisqualificationDocument.class);
+            return UpsertOutcome.APPLIED;
+        } catch (DuplicateKeyException ex) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                throw ex;
+            }
+            if (advancedDeltaAtIfUnchanged(document)) {
+                return UpsertOutcome.UNCHANGED;
+            }
+            // A concurrent first insert won the race, so the write is evaluated against that document
+            return updated(changedQuery, update) ? UpsertOutcome.APPLIED : UpsertOutcome.STALE;
+        }
+    }
+
+    @Override
+    public UpsertOutcome resolveNotWritten(DisqualificationDocument document) {
+        if (advancedDeltaAtIfUnchanged(document)) {
+            return UpsertOutcome.UNCHANGED;
+        }
+        if (mongoTemplate.exists(changedQuery(document), DisqualificationDocument.class)) {
+            throw new ConcurrencyFailureException(
+                    "Document inserted concurrently with its write for " + document.getId());
+        }
+        return UpsertOutcome.STALE;
+    }
+
+    /**
+     * The stored delta_at and content_hash of every document are read first, so each write is already
+     * known to be an insert, an update of changed content, an update of delta_at only or stale. The writes
+     * then go in one unordered bulk write, still guarded by the same filters as the single upsert, so a
+     * document written concurrently is never overwritten by a stale write.
+     */
+    @Override
+    public List<UpsertOutcome> bulkUpsertIfNotStale(List<? extends DisqualificationDocument> documents,
+            boolean storeContentHash) {
+        if (documents.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Document> stored = findStoredState(documents);
+        UpsertOutcome[] outcomes = new UpsertOutcome[documents.size()];
+        BulkOperations operations = mongoTemplate.bulkOps(BulkMode.UNORDERED, DisqualificationDocument.class);
+        List<Integer> indices = new ArrayList<>();
+        List<Integer> updates = new ArrayList<>();
+        for (int index = 0; index < documents.size(); index++) {
+            DisqualificationDocument document = documents.get(index);
+            Document current = stored.get(document.getId());
+            if (current == null) {
+                operations.insert(insertDocument(document, storeContentHash));
+                outcomes[index] = UpsertOutcome.APPLIED;
+            } else if (!isNotStale(current, document)) {
+                outcomes[index] = UpsertOutcome.STALE;
+                continue;
+            } else if (document.getContentHash() != null
+                    && document.getContentHash().equals(current.getString(CONTENT_HASH))) {
+                operations.updateOne(unchangedQuery(document), deltaAtUpdate(document));
+                outcomes[index] = UpsertOutcome.UNCHANGED;
+                updates.add(index);
+            } else {
+                operations.updateOne(changedQuery(document), replaceUpdate(document, storeContentHash));
+                outcomes[index] = UpsertOutcome.APPLIED;
+                updates.add(index);
+            }
+            indices.add(index);
+        }
+        if (indices.isEmpty()) {
+            return List.of(outcomes);
+        }
+
+        BulkWriteResult result;
+        List<BulkWriteError> errors;
+        try {
+            result = operations.execute();
+            errors = List.of();
+        } catch (BulkOperationException ex) {
+            result = ex.getResult();
+            errors = ex.getErrors();
+        }
+        List<Integer> raced = new ArrayList<>();
+        for (BulkWriteError error : errors) {
+            int index = indices.get(error.getIndex());
+            if (error.getCode() == DUPLICATE_KEY_ERROR_CODE) {
+                raced.add(index);
+            } else {
+                outcomes[index] = UpsertOutcome.FAILED;
+            }
+        }
+        if (result != null && result.wasAcknowledged() && result.getMatchedCount() < updates.size()) {
+            checkUpdatesApplied(documents, updates, outcomes, storeContentHash);
+        }
+        // Only outside a transaction: a concurrent first insert won the race
+        raced.forEach(index -> outcomes[index] = upsertIfNotStale(documents.get(index), storeContentHash));
+        return List.of(outcomes);
+    }
+
+    @Override
+    public void storeContentHash(List<? extends DisqualificationDocument> documents) {
+        if (documents.isEmpty()) {
+            return;
+        }
+        BulkOperations operations = mongoTemplate.bulkOps(BulkMode.UNORDERED, DisqualificationDocument.class);
+        documents.forEach(document -> operations.updateOne(
+                Query.query(Criteria.where(ID).is(document.getId())
+                        .and(DELTA_AT).is(document.getDeltaAt())
+                        .and("data.etag").is(etag(document))
+                        .and(CONTENT_HASH).is(null)),
+                new Update().set(CONTENT_HASH, document.getContentHash())));
+        operations.execute();
+    }
+
+    @Override
+    public <T extends DisqualificationDocument> Optional<T> findAndDeleteIfNotStale(String officerId,
+            String deltaAt, Long deltaAtMicros, boolean corporateOfficer, Class<T> type) {
+        Query query = Query.query(notStaleCriteria(officerId, deltaAt, deltaAtMicros)
+                .and(IS_CORPORATE_OFFICER).is(corporateOfficer));
+        return Optional.ofNullable(mongoTemplate.findAndRemove(query, type));
+    }
+
+    @Override
+    public <T extends DisqualificationDocument> Optional<T> findWithRawDataById(String officerId, Class<T> type) {
+        RawBsonDocument raw = mongoTemplate.execute(DisqualificationDocument.class, collection -> collection
+                .withDocumentClass(RawBsonDocument.class)
+                .find(Filters.eq(ID, officerId))
+                .projection(Projections.exclude(PUBLIC_JSON))
+                .first());
+        if (raw == null) {
+            return Optional.empty();
+        }
+
+        // Only the small top level fields are decoded and mapped; data stays as the bytes read from Mongo
+        BsonDocument fields = new BsonDocument();
+        raw.forEach((name, value) -> {
+            if (!DATA.equals(name)) {
+                fields.put(name, value);
+            }
+        });
+        T document = mongoTemplate.getConverter().read(type,
+                DOCUMENT_CODEC.decode(new BsonDocumentReader(fields), DecoderContext.builder().build()));
+
+        RawBsonDocument data = raw.get(DATA) instanceof RawBsonDocument rawData ? rawData : null;
+        String etag = data != null && data.isString(ETAG) ? data.getString(ETAG).getValue() : null;
+        if (document instanceof NaturalDisqualificationDocument natural) {
+            NaturalDisqualificationApi naturalData = new NaturalDisqualificationApi();
+            naturalData.setEtag(etag);
+            natural.setData(naturalData);
+        } else if (document instanceof CorporateDisqualificationDocument corporate) {
+            CorporateDisqualificationApi corporateData = new CorporateDisqualificationApi();
+            corporateData.setEtag(etag);
+            corporate.setData(corporateData);
+        }
+        document.setRawData(data);
+        return Optional.of(document);
+    }
+
+    @Override
+    public List<DisqualificationDocument> findAllPublicJsonByIdIn(Collection<String> officerIds) {
+        Query query = Query.query(Criteria.where(ID).in(officerIds));
+        query.fields().include(IS_CORPORATE_OFFICER, PUBLIC_JSON, PUBLIC_JSON_VERSION);
+        return findTyped(query);
+    }
+
+    @Override
+    public List<DisqualificationDocument> findAllTypedByIdIn(Collection<String> officerIds) {
+        Query query = Query.query(Criteria.where(ID).in(officerIds));
+        query.fields().include(IS_CORPORATE_OFFICER, DATA);
+        return findTyped(query);
+    }
+
+    @Override
+    public List<DisqualificationDocument> findWithPublicJsonVersionNot(int version, int limit) {
+        return findTyped(Query.query(Criteria.where(PUBLIC_JSON_VERSION).ne(version)).limit(limit));
+    }
+
+    @Override
+    public boolean updatePublicJsonIfUnchanged(DisqualificationDocument document) {
+        Query query = Query.query(Criteria.where(ID).is(document.getId())
+                .and(DELTA_AT).is(document.getDeltaAt())
+                .and("data.etag").is(etag(document)));
+        Update update = new Update()
+                .set(PUBLIC_JSON, document.getPublicJson())
+                .set(PUBLIC_JSON_VERSION, document.getPublicJsonVersion());
+        return mongoTemplate.updateFirst(query, update, DisqualificationDocument.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public List<DisqualificationDocument> findWithoutDeltaAtMicros(String afterId, int limit) {
+        Criteria criteria = Criteria.where(DELTA_AT_MICROS).is(null).and(DELTA_AT).ne(null);
+        if (afterId != null) {
+            criteria.and(ID).gt(afterId);
+        }
+        Query query = Query.query(criteria).with(Sort.by(ID)).limit(limit);
+        query.fields().include(DELTA_AT);
+        return mongoTemplate.find(query, DisqualificationDocument.class);
+    }
+
+    @Override
+    public long updateDeltaAtMicros(List<DisqualificationDocument> documents) {
+        if (documents.isEmpty()) {
+            return 0;
+        }
+        BulkOperations operations = mongoTemplate.bulkOps(BulkMode.UNORDERED, DisqualificationDocument.class);
+        documents.forEach(document -> operations.updateOne(
+                Query.query(Criteria.where(ID).is(document.getId())
+                        .and(DELTA_AT).is(document.getDeltaAt())
+                        .and(DELTA_AT_MICROS).is(null)),
+                new Update().set(DELTA_AT_MICROS, document.getDeltaAtMicros())));
+        return operations.execute().getModifiedCount();
+    }
+
+    @Override
+    public void forEachId(Consumer<String> action) {
+        Query query = new Query();
+        query.fields().include(ID);
+        try (Stream<Document> ids = mongoTemplate.stream(query, Document.class,
+                mongoTemplate.getCollectionName(DisqualificationDocument.class))) {
+            ids.forEach(document -> action.accept(document.getString(ID)));
+        }
+    }
+
+    @Override
+    public void forEachIdCreatedSince(LocalDateTime since, Consumer<String> action) {
+        Query query = Query.query(Criteria.where(CREATED_AT).gte(since));
+        query.fields().include(ID);
+        try (Stream<Document> ids = mongoTemplate.stream(query, Document.class, collectionName())) {
+            ids.forEach(document -> action.accept(document.getString(ID)));
+        }
+    }
+
+    /**
+     * delta_at, delta_at_micros and content_hash of the stored documents, by id.
+     */
+    private Map<String, Document> findStoredState(List<? extends DisqualificationDocument> documents) {
+        Query query = Query.query(Criteria.where(ID).in(documents.stream()
+                .map(DisqualificationDocument::getId)
+                .toList()));
+        query.fields().include(DELTA_AT, DELTA_AT_MICROS, CONTENT_HASH);
+        Map<String, Document> stored = new HashMap<>();
+        mongoTemplate.find(query, Document.class, collectionName())
+                .forEach(document -> stored.put(document.getString(ID), document));
+        return stored;
+    }
+
+    /**
+     * The same comparison as {@link #notStaleCriteria}, made in memory on the stored state.
+     */
+    private static boolean isNotStale(Document stored, DisqualificationDocument document) {
+        if (document.getDeltaAtMicros() != null && stored.get(DELTA_AT_MICROS) instanceof Number storedMicros) {
+            return storedMicros.longValue() <= document.getDeltaAtMicros();
+        }
+        String storedDeltaAt = stored.getString(DELTA_AT);
+        return storedDeltaAt == null || storedDeltaAt.compareTo(document.getDeltaAt()) <= 0;
+    }
+
+    /**
+     * Some guarded updates matched nothing, so a document was written between the read and the bulk write.
+     * An update only took effect if the stored document now holds its delta_at and content; the others lost
+     * to a more recent write.
+     */
+    private void checkUpdatesApplied(List<? extends DisqualificationDocument> documents, List<Integer> updates,
+            UpsertOutcome[] outcomes, boolean storeContentHash) {
+        Map<String, Document> stored = findStoredState(updates.stream().map(documents::get).toList());
+        for (int index : updates) {
+            DisqualificationDocument document = documents.get(index);
+            Document current = stored.get(document.getId());
+            String writtenHash = storeContentHash || outcomes[index] == UpsertOutcome.UNCHANGED
+                    ? document.getContentHash() : null;
+            if (outcomes[index] != UpsertOutcome.FAILED && (current == null
+                    || !document.getDeltaAt().equals(current.getString(DELTA_AT))
+                    || !Objects.equals(writtenHash, current.getString(CONTENT_HASH)))) {
+                outcomes[index] = UpsertOutcome.STALE;
+            }
+        }
+    }
+
+    /**
+     * Read each matching document as a NaturalDisqualificationDocument or CorporateDisqualificationDocument
+     * according to its is_corporate_officer field.
+     */
+    private List<DisqualificationDocument> findTyped(Query query) {
+        MongoConverter converter = mongoTemplate.getConverter();
+        return mongoTemplate.find(query, Document.class,
+                        mongoTemplate.getCollectionName(DisqualificationDocument.class)).stream()
+                .map(document -> Boolean.TRUE.equals(document.getBoolean(IS_CORPORATE_OFFICER))
+                        ? (DisqualificationDocument) converter.read(CorporateDisqualificationDocument.class, document)
+                        : converter.read(NaturalDisqualificationDocument.class, document))
+                .toList();
+    }
+
+    private static String etag(DisqualificationDocument document) {
+        return document instanceof NaturalDisqualificationDocument natural
+                ? natural.getData().getEtag()
+                : ((CorporateDisqualificationDocument) document).getData().getEtag();
+    }
+
+    private boolean advancedDeltaAtIfUnchanged(DisqualificationDocument document) {
+        return document.getContentHash() != null && updated(unchangedQuery(document), deltaAtUpdate(document));
+    }
+
+    private boolean updated(Query query, Update update) {
+        return mongoTemplate.updateFirst(query, update, DisqualificationDocument.class).getMatchedCount() > 0;
+    }
+
+    private String collectionName() {
+        return mongoTemplate.getCollectionName(DisqualificationDocument.class);
+    }
+
+    /**
+     * Matches the stored document if the write is not stale and, when the document has a content hash,
+     * changes its content. The hash is compared whether or not the write stores it, so a document stored
+     * without its hash is always written again.
+     */
+    private static Query changedQuery(DisqualificationDocument document) {
+        Criteria criteria = notStaleCriteria(document.getId(), document.getDeltaAt(), document.getDeltaAtMicros());
+        if (document.getContentHash() != null) {
+            criteria.and(CONTENT_HASH).ne(document.getContentHash());
+        }
+        return Query.query(criteria);
+    }
+
+    private static Query unchangedQuery(DisqualificationDocument document) {
+        return Query.query(notStaleCriteria(document.getId(), document.getDeltaAt(), document.getDeltaAtMicros())
+                .and(CONTENT_HASH).is(document.getContentHash()));
+    }
+
+    /**
+     * delta_at_micros is compared numerically where both sides have it. Otherwise delta_at, stored as
+     * yyyyMMddHHmmssSSSSSS, is compared as a string, whose order is chronological order for the years
+     * delta_at_micros is written for. Documents without a delta_at are never stale, matching DeltaAtHandler.
+     */
+    private static Criteria notStaleCriteria(String id, String deltaAt, Long deltaAtMicros) {
+        Criteria[] byString = {Criteria.where(DELTA_AT).lte(deltaAt), Criteria.where(DELTA_AT).is(null)};
+        if (deltaAtMicros == null) {
+            return Criteria.where(ID).is(id).orOperator(byString);
+        }
+        return Criteria.where(ID).is(id)
+                .orOperator(Criteria.where(DELTA_AT_MICROS).lte(deltaAtMicros),
+                        Criteria.where(DELTA_AT_MICROS).is(null).orOperator(byString));
+    }
+
+    /**
+     * Replace the fields owned by a PUT, setting created only on insert so the stored one is kept. Without
+     * storeContentHash the stored content_hash is unset, to be stored once the write has been notified.
+     */
+    private Update replaceUpdate(DisqualificationDocument document, boolean storeContentHash) {
+        Document fields = fields(document, storeContentHash);
+        Object created = fields.remove(CREATED);
+
+        Update update = new Update();
+        fields.forEach(update::set);
+        if (created != null) {
+            update.setOnInsert(CREATED, created);
+        }
+        REPLACED_FIELDS.stream()
+                .filter(field -> !fields.containsKey(field))
+                .forEach(update::unset);
+        return update;
+    }
+
+    /**
+     * Advance only delta_at and delta_at_micros of a stored document with the same content.
+     */
+    private static Update deltaAtUpdate(DisqualificationDocument document) {
+        Update update = new Update().set(DELTA_AT, document.getDeltaAt());
+        if (document.getDeltaAtMicros() != null) {
+            update.set(DELTA_AT_MICROS, document.getDeltaAtMicros());
+        } else {
+            update.unset(DELTA_AT_MICROS);
+        }
+        return update;
+    }
+
+    private Document insertDocument(DisqualificationDocument document, boolean storeContentHash) {
+        Document inserted = new Document(ID, document.getId());
+        inserted.putAll(fields(document, storeContentHash));
+        return inserted;
+    }
+
+    private Document fields(DisqualificationDocument document, boolean storeContentHash) {
+        Document fields = new Document();
+        mongoTemplate.getConverter().write(document, fields);
+        fields.remove(ID);
+        if (!storeContentHash) {
+            fields.remove(CONTENT_HASH);
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,57 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Leases on scheduled jobs so that only one instance runs each job at a time, one lock document per job.
+ */
+@Repository
+public class JobLockRepository {
+
+    public static final String OUTBOX_DISPATCHER = "outbox-dispatcher";
+    public static final String PUBLIC_JSON_REBUILD = "public-json-rebuild";
+
+    static final String COLLECTION = "disqualifications_outbox_lock";
+    private static final String OWNER = "owner";
+    private static final String LEASE_UNTIL = "lease_until";
+
+    private final MongoTemplate mongoTemplate;
+
+    public JobLockRepository(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Take or renew the lease. The upsert only matches a lease that has expired or is already held by the
+     * owner; otherwise it attempts an insert of the existing lock id, which fails with a duplicate key.
+     *
+     * @param lockId the job, such as {@link #OUTBOX_DISPATCHER}
+     * @return true if the owner now holds the lease
+     */
+    public boolean tryAcquire(String lockId, String owner, Instant now, Duration lease) {
+        Query query = new Query(where("_id").is(lockId)
+                .orOperator(where(LEASE_UNTIL).lte(now), where(OWNER).is(owner)));
+        Update update = new Update()
+                .set(OWNER, owner)
+                .set(LEASE_UNTIL, now.plus(lease));
+        try {
+            mongoTemplate.upsert(query, update, COLLECTION);
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    public void release(String lockId, String owner) {
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(lockId).and(OWNER).is(owner)), COLLECTION);
+    }
+}
@@ -0,0 +1,33 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
+import org.springframework.stereotype.Repository;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.OutboxEvent;
+
+@Repository
+public interface OutboxEventRepository extends MongoRepository<OutboxEvent, String> {
+
+    /**
+     * Events that are neither parked nor waiting for their next attempt, through the pending_due index.
+     */
+    @Query("{ 'failed_at': null, '$or': [ { 'next_attempt_at': null }, { 'next_attempt_at': { '$lte': ?0 } } ] }")
+    List<OutboxEvent> findDue(Instant now, Pageable pageable);
+
+    List<OutboxEvent> findByOfficerIdIn(Collection<String> officerIds, Sort sort);
+
+    /**
+     * Return events parked before a time to the outbox with a fresh set of attempts.
+     *
+     * @return the number of events re-driven
+     */
+    @Query("{ 'failed_at': { '$ne': null, '$lte': ?0 } }")
+    @Update("{ '$set': { 'attempts': 0 }, '$unset': { 'failed_at': '', 'next_attempt_at': '' } }")
+    long redriveFailedBefore(Instant failedBefore);
+}
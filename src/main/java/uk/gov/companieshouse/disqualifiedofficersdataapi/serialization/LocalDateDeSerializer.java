@@ -17,24 +17,24 @@ public class LocalDateDeSerializer extends JsonDeserializer<LocalDate> {
     public static final String APPLICATION_NAME_SPACE = "disqualified-officers-data-api";
 
     private static final Logger LOGGER = LoggerFactory.getLogger(APPLICATION_NAME_SPACE);
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter
+            .ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
 
     @Override
     public LocalDate deserialize(JsonParser jsonParser, DeserializationContext
             deserializationContext) {
         try {
-            DateTimeFormatter dateTimeFormatter = DateTimeFormatter
-                    .ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
             JsonNode jsonNode = jsonParser.readValueAsTree();
             JsonNode dateNode = jsonNode.get("$date");
 
             /** If textValue() returns a value we received a string of format yyyy-MM-dd'T'HH:mm:ss'Z 
-             * and use dateTimeFormatter to return LocalDate.
+             * and use DATE_TIME_FORMATTER to return LocalDate.
              * 
              * Otherwise we received a long of milliseconds away from 01/01/1970 and need to return 
-             * a LocalDate without dateTimeFormatter.
+             * a LocalDate without DATE_TIME_FORMATTER.
              */
             return dateNode.textValue() != null ?
-                    LocalDate.parse(dateNode.textValue(), dateTimeFormatter) :
+                    LocalDate.parse(dateNode.textValue(), DATE_TIME_FORMATTER) :
                     LocalDate.ofInstant(Instant.ofEpochMilli(dateNode.get("$numberLong").asLong()), ZoneId.systemDefault());
         } catch (Exception exception) {
             LOGGER.error("Deserialization failed.", exception);
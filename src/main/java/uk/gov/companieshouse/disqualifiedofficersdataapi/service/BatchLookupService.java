@@ -0,0 +1,130 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import static uk.gov.companieshouse.disqualifiedofficersdataapi.DisqualifiedOfficersDataApiApplication.NAMESPACE;
+
+import com.fasterxml.jackson.databind.util.RawValue;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadRequestException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.logging.DataMapHolder;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BatchLookupRequest;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BatchLookupResponse;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BatchLookupResponse.Result;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BatchLookupResponse.Status;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.CorporateDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualifiedOfficerRepository;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.transform.PublicJsonRenderer;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+@Service
+public class BatchLookupService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+
+    private final DisqualifiedOfficerRepository repository;
+    private final int maxSize;
+
+    public BatchLookupService(DisqualifiedOfficerRepository repository,
+            @Value("${disqualification.batch.max-size}") int maxSize) {
+        this.repository = repository;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Resolve every requested officer id with a single query, reading only the stored GET bodies. Documents
+     * whose body is not rendered at the current version are read again with their data in a second query.
+     *
+     * @param request ids to look up, optionally with the expected officer type
+     * @return one result per requested item, in request order
+     */
+    public BatchLookupResponse lookup(BatchLookupRequest request) {
+        List<BatchLookupRequest.Item> items = validate(request);
+
+        Set<String> officerIds = items.stream()
+                .map(BatchLookupRequest.Item::officerId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<String, DisqualificationDocument> documents = repository.findAllPublicJsonByIdIn(officerIds).stream()
+                .collect(Collectors.toMap(DisqualificationDocument::getId, Function.identity(),
+                        (first, second) -> first, HashMap::new));
+        Set<String> unrendered = documents.values().stream()
+                .filter(document -> !PublicJsonRenderer.isRendered(document))
+                .map(DisqualificationDocument::getId)
+                .collect(Collectors.toSet());
+        if (!unrendered.isEmpty()) {
+            // Not rendered at the current version, so read again with their data
+            documents.keySet().removeAll(unrendered);
+            repository.findAllTypedByIdIn(unrendered).forEach(document -> documents.put(document.getId(), document));
+        }
+        LOGGER.info(String.format("Batch lookup found %d of %d disqualifications", documents.size(),
+                officerIds.size()), DataMapHolder.getLogMap());
+
+        return new BatchLookupResponse(items.stream()
+                .map(item -> toResult(item, documents.get(item.officerId())))
+                .toList());
+    }
+
+    private List<BatchLookupRequest.Item> validate(BatchLookupRequest request) {
+        if (request == null || request.items() == null || request.items().isEmpty()) {
+            throw new BadRequestException("Batch lookup request must contain at least one item");
+        }
+        if (request.items().size() > maxSize) {
+            throw new BadRequestException(
+                    String.format("Batch lookup request must not contain more than %d items", maxSize));
+        }
+        for (BatchLookupRequest.Item item : request.items()) {
+            if (item == null || StringUtils.isBlank(item.officerId())) {
+                throw new BadRequestException("Batch lookup item must contain an officer_id");
+            }
+            if (item.officerType() != null) {
+                try {
+                    DisqualificationResourceType.valueOfOfficerType(item.officerType());
+                } catch (IllegalArgumentException ex) {
+                    throw new BadRequestException("Invalid officer type in batch lookup item", ex);
+                }
+            }
+        }
+        return request.items();
+    }
+
+    private static Result toResult(BatchLookupRequest.Item item, DisqualificationDocument document) {
+        if (document == null) {
+            return new Result(item.officerId(), Status.NOT_FOUND, null);
+        }
+        DisqualificationResourceType storedType = document.isCorporateOfficer()
+                ? DisqualificationResourceType.CORPORATE : DisqualificationResourceType.NATURAL;
+        if (item.officerType() != null
+                && DisqualificationResourceType.valueOfOfficerType(item.officerType()) != storedType) {
+            return new Result(item.officerId(), Status.WRONG_TYPE, null);
+        }
+        return new Result(item.officerId(), Status.FOUND, data(document));
+    }
+
+    private static Object data(DisqualificationDocument document) {
+        if (PublicJsonRenderer.isRendered(document)) {
+            return new RawValue(new String(document.getPublicJson(), StandardCharsets.UTF_8));
+        }
+        if (document instanceof CorporateDisqualificationDocument corporate) {
+            CorporateDisqualificationApi data = corporate.getData();
+            data.setKind(CorporateDisqualificationApi.KindEnum.CORPORATE_DISQUALIFICATION);
+            return data;
+        }
+        NaturalDisqualificationApi data = ((NaturalDisqualificationDocument) document).getData();
+        data.setKind(NaturalDisqualificationApi.KindEnum.NATURAL_DISQUALIFICATION);
+        return data;
+    }
+}
@@ -0,0 +1,274 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import static uk.gov.companieshouse.disqualifiedofficersdataapi.DisqualifiedOfficersDataApiApplication.NAMESPACE;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import uk.gov.companieshouse.api.disqualification.InternalCorporateDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.InternalDisqualificationApiInternalData;
+import uk.gov.companieshouse.api.disqualification.InternalNaturalDisqualificationApi;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.api.ResourceChangedRequest;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.cache.DisqualificationCache;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.cache.OfficerIdFilter;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadRequestException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.logging.DataMapHolder;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkUpsertRequest;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkUpsertResponse;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.Created;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.UpsertOutcome;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualifiedOfficerRepository;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.transform.DisqualificationTransformer;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.transform.PublicJsonRenderer;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+/**
+ * Applies a batch of natural and corporate PUTs with one unordered bulk write, reporting the outcome of each
+ * item. Resource changed notifications are still one per applied officer, as chs-kafka-api takes a single
+ * resource per call.
+ */
+@Service
+public class BulkDisqualifiedOfficerService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+    private static final String INVALID_ITEM_MESSAGE = "Item must contain officer_id, internal_data.delta_at and external_data";
+    private static final String SUPERSEDED_MESSAGE = "Superseded by a more recent item for the same officer in this request";
+    private static final String STALE_MESSAGE = "Delta at field on request is stale";
+    private static final String UNCHANGED_MESSAGE = "Content on request is unchanged, only delta at updated";
+    private static final String WRITE_FAILED_MESSAGE = "MongoDB error when inserting/updating document";
+    private static final String NOTIFICATION_FAILED_MESSAGE = "Document saved but ChsKafka api CHANGED call failed";
+
+    private final DisqualifiedOfficerRepository repository;
+    private final DisqualificationTransformer transformer;
+    private final PublicJsonRenderer renderer;
+    private final ResourceChangedPublisher publisher;
+    private final DisqualificationCache cache;
+    private final OfficerIdFilter idFilter;
+    private final int maxSize;
+    private final Counter unchangedWrites;
+
+    public BulkDisqualifiedOfficerService(DisqualifiedOfficerRepository repository,
+            DisqualificationTransformer transformer, PublicJsonRenderer renderer, ResourceChangedPublisher publisher,
+            DisqualificationCache cache, OfficerIdFilter idFilter,
+            @Value("${disqualification.bulk.max-size}") int maxSize, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.transformer = transformer;
+        this.renderer = renderer;
+        this.publisher = publisher;
+        this.cache = cache;
+        this.idFilter = idFilter;
+        this.maxSize = maxSize;
+        this.unchangedWrites = WriteMetrics.unchangedWrites(meterRegistry, "bulk");
+    }
+
+    /**
+     * Save or update a batch of natural and corporate disqualifications with a single unordered bulk write,
+     * applying the same delta_at staleness rule as the single officer PUT to each item.
+     *
+     * @param contextId Id used for chsKafkaCall
+     * @param request   Items to be saved
+     * @return the status of each item
+     */
+    public BulkUpsertResponse processDisqualifications(String contextId, BulkUpsertRequest request) {
+        List<Item> items = toItems(request);
+
+        List<Item> writes = selectWrites(items);
+        List<DisqualificationDocument> documents = writes.stream().map(Item::document).toList();
+        documents.forEach(renderer::render);
+        writes.forEach(item -> idFilter.put(item.officerId));
+        boolean storeHashesAfterPublish = !publisher.isOutboxEnabled();
+        Set<String> notificationFailed = new HashSet<>();
+        List<UpsertOutcome> outcomes;
+        try {
+            outcomes = publisher.writeAndPublishAll(() -> repository.bulkUpsertIfNotStale(documents, !storeHashesAfterPublish),
+                    written -> appliedChanges(contextId, writes, written),
+                    change -> cache.invalidate(change.getOfficerId()),
+                    (change, ex) -> {
+                        LOGGER.error(NOTIFICATION_FAILED_MESSAGE, ex, DataMapHolder.getLogMap());
+                        notificationFailed.add(change.getOfficerId());
+                    });
+        } catch (TransientDataAccessException ex) {
+            LOGGER.info("Recoverable MongoDB error when bulk inserting/updating documents", DataMapHolder.getLogMap());
+            throw new BadGatewayException("Recoverable MongoDB error when bulk inserting/updating documents", ex);
+        } catch (DataAccessException ex) {
+            LOGGER.error("MongoDB error when bulk inserting/updating documents", ex, DataMapHolder.getLogMap());
+            throw new BadGatewayException("MongoDB error when bulk inserting/updating documents", ex);
+        }
+
+        for (int i = 0; i < writes.size(); i++) {
+            Item item = writes.get(i);
+            switch (outcomes.get(i)) {
+                case APPLIED -> {
+                    if (notificationFailed.contains(item.officerId)) {
+                        item.result(UpsertOutcome.FAILED, NOTIFICATION_FAILED_MESSAGE);
+                    } else {
+                        item.result(UpsertOutcome.APPLIED, null);
+                    }
+                }
+                case STALE -> item.result(UpsertOutcome.STALE, STALE_MESSAGE);
+                case UNCHANGED -> {
+                    item.result(UpsertOutcome.UNCHANGED, UNCHANGED_MESSAGE);
+                    unchangedWrites.increment();
+                }
+                default -> item.result(UpsertOutcome.FAILED, WRITE_FAILED_MESSAGE);
+            }
+        }
+        if (storeHashesAfterPublish) {
+            storeContentHashes(writes);
+        }
+        LOGGER.info(String.format("Bulk upsert wrote %d of %d disqualifications",
+                writes.stream().filter(item -> item.status == UpsertOutcome.APPLIED).count(), items.size()),
+                DataMapHolder.getLogMap());
+
+        return new BulkUpsertResponse(items.stream()
+                .map(item -> new BulkUpsertResponse.Result(item.officerId, item.type.getOfficerType(),
+                        item.status, item.message))
+                .toList());
+    }
+
+    private List<Item> toItems(BulkUpsertRequest request) {
+        List<Item> items = new ArrayList<>();
+        if (request != null) {
+            Optional.ofNullable(request.natural()).orElse(List.of()).forEach(natural -> items.add(
+                    new Item(natural.officerId(), DisqualificationResourceType.NATURAL,
+                            Optional.ofNullable(natural.data())
+                                    .filter(data -> data.getExternalData() != null)
+                                    .map(InternalNaturalDisqualificationApi::getInternalData)
+                                    .orElse(null),
+                            () -> transformer.transformNaturalDisqualifiedOfficer(natural.officerId(),
+                                    natural.data()))));
+            Optional.ofNullable(request.corporate()).orElse(List.of()).forEach(corporate -> items.add(
+                    new Item(corporate.officerId(), DisqualificationResourceType.CORPORATE,
+                            Optional.ofNullable(corporate.data())
+                                    .filter(data -> data.getExternalData() != null)
+                                    .map(InternalCorporateDisqualificationApi::getInternalData)
+                                    .orElse(null),
+                            () -> transformer.transformCorporateDisqualifiedOfficer(corporate.officerId(),
+                                    corporate.data()))));
+        }
+        if (items.isEmpty()) {
+            throw new BadRequestException("Bulk request must contain at least one item");
+        }
+        if (items.size() > maxSize) {
+            throw new BadRequestException(
+                    String.format("Bulk request must not contain more than %d items", maxSize));
+        }
+        return items;
+    }
+
+    /**
+     * Transform the valid items, keeping only the most recent item for each officer id so the unordered
+     * bulk write never holds two upserts for the same document.
+     */
+    private List<Item> selectWrites(List<Item> items) {
+        Map<String, Item> latest = new HashMap<>();
+        List<Item> writes = new ArrayList<>();
+        for (Item item : items) {
+            if (StringUtils.isBlank(item.officerId) || item.internalData == null
+                    || item.internalData.getDeltaAt() == null) {
+                item.result(UpsertOutcome.FAILED, INVALID_ITEM_MESSAGE);
+                continue;
+            }
+            Item previous = latest.get(item.officerId);
+            if (previous != null) {
+                if (previous.internalData.getDeltaAt().isAfter(item.internalData.getDeltaAt())) {
+                    item.result(UpsertOutcome.STALE, SUPERSEDED_MESSAGE);
+                    continue;
+                }
+                previous.result(UpsertOutcome.STALE, SUPERSEDED_MESSAGE);
+                writes.remove(previous);
+            }
+            latest.put(item.officerId, item);
+            writes.add(item);
+        }
+        writes.forEach(Item::transform);
+        return writes;
+    }
+
+    /**
+     * The changes to publish for the applied items. With the outbox they are stored in the bulk write's
+     * transaction. Without it chs-kafka-api, which takes one changed resource per call, is called for each
+     * once the bulk write has completed, and a failed call marks its item as failed so the caller resends it.
+     */
+    private static List<ResourceChangedRequest> appliedChanges(String contextId, List<Item> writes,
+            List<UpsertOutcome> outcomes) {
+        List<ResourceChangedRequest> changes = new ArrayList<>();
+        for (int i = 0; i < writes.size(); i++) {
+            if (outcomes.get(i) == UpsertOutcome.APPLIED) {
+                Item item = writes.get(i);
+                changes.add(new ResourceChangedRequest(contextId, item.officerId, item.type, null, false));
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Without the outbox the bulk write compares content_hash but leaves it unset, and it is only stored once
+     * the item's notification has been sent, so a resend after a failed notification is written and notified
+     * again rather than reported as unchanged. A hash that could not be stored only means the next identical
+     * write is notified again.
+     */
+    private void storeContentHashes(List<Item> writes) {
+        List<DisqualificationDocument> notified = writes.stream()
+                .filter(item -> item.status == UpsertOutcome.APPLIED && item.document().getContentHash() != null)
+                .map(Item::document)
+                .toList();
+        if (notified.isEmpty()) {
+            return;
+        }
+        try {
+            repository.storeContentHash(notified);
+        } catch (DataAccessException ex) {
+            LOGGER.error("MongoDB error when storing content hashes", ex, DataMapHolder.getLogMap());
+        }
+    }
+
+    private static final class Item {
+
+        private final String officerId;
+        private final DisqualificationResourceType type;
+        private final InternalDisqualificationApiInternalData internalData;
+        private final Supplier<DisqualificationDocument> transform;
+        private DisqualificationDocument document;
+        private UpsertOutcome status;
+        private String message;
+
+        private Item(String officerId, DisqualificationResourceType type,
+                InternalDisqualificationApiInternalData internalData, Supplier<DisqualificationDocument> transform) {
+            this.officerId = officerId;
+            this.type = type;
+            this.internalData = internalData;
+            this.transform = transform;
+        }
+
+        private void transform() {
+            document = transform.get();
+            document.setCreated(new Created().setAt(document.getUpdated().getAt()));
+        }
+
+        private DisqualificationDocument document() {
+            return document;
+        }
+
+        private void result(UpsertOutcome status, String message) {
+            this.status = status;
+            this.message = message;
+        }
+    }
+}
@@ -2,17 +2,17 @@ package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
 
 import static uk.gov.companieshouse.disqualifiedofficersdataapi.DisqualifiedOfficersDataApiApplication.NAMESPACE;
 
+import java.util.Optional;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.TransientDataAccessException;
 import org.springframework.stereotype.Component;
-import uk.gov.companieshouse.disqualifiedofficersdataapi.api.DisqualifiedOfficerApiService;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.api.ResourceChangedRequest;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.cache.DisqualificationCache;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadRequestException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.logging.DataMapHolder;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DeleteRequestParameters;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
-import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualifiedOfficerRepository;
 import uk.gov.companieshouse.logging.Logger;
 import uk.gov.companieshouse.logging.LoggerFactory;
 
@@ -21,15 +21,15 @@ public class DeleteDisqualifiedOfficerService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
 
-    private final DisqualifiedOfficerRepository repository;
-    private final DisqualifiedOfficerApiService disqualifiedOfficerApiService;
+    private final ResourceChangedPublisher publisher;
     private final DeletionDataService deletionDataService;
+    private final DisqualificationCache cache;
 
-    public DeleteDisqualifiedOfficerService(DisqualifiedOfficerRepository repository,
-                                            DisqualifiedOfficerApiService disqualifiedOfficerApiService, DeletionDataService deletionDataService) {
-        this.repository = repository;
-        this.disqualifiedOfficerApiService = disqualifiedOfficerApiService;
+    public DeleteDisqualifiedOfficerService(ResourceChangedPublisher publisher,
+                                            DeletionDataService deletionDataService, DisqualificationCache cache) {
+        this.publisher = publisher;
         this.deletionDataService = deletionDataService;
+        this.cache = cache;
     }
 
     public void deleteDisqualification(DeleteRequestParameters deleteRequestParameters) {
@@ -47,28 +47,24 @@ public class DeleteDisqualifiedOfficerService {
             throw new BadRequestException(msg, ex);
         }
 
-        Object data;
-        if (type == DisqualificationResourceType.CORPORATE) {
-            data = deletionDataService.processCorporateDisqualificationData(officerId, requestDeltaAt);
-        } else {
-            data = deletionDataService.processNaturalDisqualificationData(officerId, requestDeltaAt);
-        }
-        if (data != null) {
-            LOGGER.info("Attempting to delete disqualification", DataMapHolder.getLogMap());
-            try {
-                repository.deleteById(officerId);
-            } catch (TransientDataAccessException ex) {
-                LOGGER.info("Recoverable MongoDB error when deleting document", DataMapHolder.getLogMap());
-                throw new BadGatewayException("Recoverable MongoDB error when deleting document", ex);
-            } catch (DataAccessException ex) {
-                LOGGER.error("MongoDB error when deleting document", ex, DataMapHolder.getLogMap());
-                throw new BadGatewayException("MongoDB error when deleting document", ex);
-            }
-            disqualifiedOfficerApiService.invokeChsKafkaApi(new ResourceChangedRequest(
-                    contextId, officerId, type, data, true));
-        } else {
-            disqualifiedOfficerApiService.invokeChsKafkaApi(new ResourceChangedRequest(
-                    contextId, officerId, type, null, true));
+        LOGGER.info("Attempting to delete disqualification", DataMapHolder.getLogMap());
+        try {
+            publisher.writeAndPublish(() -> {
+                Object data = type == DisqualificationResourceType.CORPORATE
+                        ? deletionDataService.deleteCorporateDisqualificationData(officerId, requestDeltaAt)
+                        : deletionDataService.deleteNaturalDisqualificationData(officerId, requestDeltaAt);
+                return Optional.of(new ResourceChangedRequest(contextId, officerId, type, data, true));
+            }, change -> {
+                if (change.getDisqualificationData() != null) {
+                    cache.invalidate(officerId);
+                }
+            });
+        } catch (TransientDataAccessException ex) {
+            LOGGER.info("Recoverable MongoDB error when deleting document", DataMapHolder.getLogMap());
+            throw new BadGatewayException("Recoverable MongoDB error when deleting document", ex);
+        } catch (DataAccessException ex) {
+            LOGGER.error("MongoDB error when deleting document", ex, DataMapHolder.getLogMap());
+            throw new BadGatewayException("MongoDB error when deleting document", ex);
         }
     }
 }
@@ -4,12 +4,15 @@ import static uk.gov.companieshouse.api.disqualification.CorporateDisqualificati
 import static uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi.KindEnum.NATURAL_DISQUALIFICATION;
 import static uk.gov.companieshouse.disqualifiedofficersdataapi.DisqualifiedOfficersDataApiApplication.NAMESPACE;
 
+import java.util.Optional;
 import org.springframework.stereotype.Component;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadRequestException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.ConflictException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.logging.DataMapHolder;
-import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.CorporateDisqualifiedOfficerRepository;
-import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.NaturalDisqualifiedOfficerRepository;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.CorporateDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualifiedOfficerRepository;
 import uk.gov.companieshouse.logging.Logger;
 import uk.gov.companieshouse.logging.LoggerFactory;
 
@@ -19,57 +22,78 @@ public class DeletionDataService {
     private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
     private static final String STALE_DELTA_AT_MESSAGE = "[delta_at] field on request is stale";
     private static final String NULL_DATA_MESSAGE = "Document not found in MongoDB - invoking CHS Kafka API with null data";
+    private static final String CONCURRENT_UPDATE_MESSAGE = "Document was modified concurrently with delete request";
 
-    private final NaturalDisqualifiedOfficerRepository naturalRepository;
-    private final CorporateDisqualifiedOfficerRepository corporateRepository;
+    private final DisqualifiedOfficerRepository repository;
     private final DeltaAtHandler deltaAtHandler;
 
-    public DeletionDataService(NaturalDisqualifiedOfficerRepository naturalRepository,
-            CorporateDisqualifiedOfficerRepository corporateRepository, DeltaAtHandler deltaAtHandler) {
-        this.naturalRepository = naturalRepository;
-        this.corporateRepository = corporateRepository;
+    public DeletionDataService(DisqualifiedOfficerRepository repository, DeltaAtHandler deltaAtHandler) {
+        this.repository = repository;
         this.deltaAtHandler = deltaAtHandler;
     }
 
-    public Object processNaturalDisqualificationData(final String officerId, final String requestDeltaAt) {
-        return naturalRepository.findById(officerId)
+    /**
+     * Delete a natural disqualification if it is not more recent than the request.
+     *
+     * @return the deleted data, or null if no document was found
+     */
+    public Object deleteNaturalDisqualificationData(final String officerId, final String requestDeltaAt) {
+        return delete(officerId, requestDeltaAt, false, NaturalDisqualificationDocument.class)
                 .map(document -> {
-                    if (document.isCorporateOfficer()) {
-                        LOGGER.error("Delete requested for natural officer when corporate officer found in DB", DataMapHolder.getLogMap());
-                        throw new BadRequestException(
-                                "Delete requested for natural officer when corporate officer found in DB");
-                    }
-
-                    if (deltaAtHandler.isRequestStale(requestDeltaAt, document.getDeltaAt())) {
-                        LOGGER.error(STALE_DELTA_AT_MESSAGE, DataMapHolder.getLogMap());
-                        throw new ConflictException(STALE_DELTA_AT_MESSAGE);
-                    }
                     document.getData().setKind(NATURAL_DISQUALIFICATION);
-                    return document.getData();
-                }).orElseGet(() -> {
-                    LOGGER.info(NULL_DATA_MESSAGE, DataMapHolder.getLogMap());
-                    return null;
-                });
+                    return (Object) document.getData();
+                }).orElse(null);
     }
 
-    public Object processCorporateDisqualificationData(final String officerId, final String requestDeltaAt) {
-        return corporateRepository.findById(officerId)
+    /**
+     * Delete a corporate disqualification if it is not more recent than the request.
+     *
+     * @return the deleted data, or null if no document was found
+     */
+    public Object deleteCorporateDisqualificationData(final String officerId, final String requestDeltaAt) {
+        return delete(officerId, requestDeltaAt, true, CorporateDisqualificationDocument.class)
                 .map(document -> {
-                    if (!document.isCorporateOfficer()) {
-                        LOGGER.error("Delete requested for corporate officer when natural officer found in DB", DataMapHolder.getLogMap());
-                        throw new BadRequestException(
-                                "Delete requested for corporate officer when natural officer found in DB");
-                    }
-
-                    if (deltaAtHandler.isRequestStale(requestDeltaAt, document.getDeltaAt())) {
-                        LOGGER.error(STALE_DELTA_AT_MESSAGE, DataMapHolder.getLogMap());
-                        throw new ConflictException(STALE_DELTA_AT_MESSAGE);
-                    }
                     document.getData().setKind(CORPORATE_DISQUALIFICATION);
-                    return document.getData();
-                }).orElseGet(() -> {
-                    LOGGER.info(NULL_DATA_MESSAGE, DataMapHolder.getLogMap());
-                    return null;
-                });
+                    return (Object) document.getData();
+                }).orElse(null);
+    }
+
+    private <T extends DisqualificationDocument> Optional<T> delete(final String officerId,
+            final String requestDeltaAt, boolean corporateOfficer, Class<T> type) {
+        // Reject a malformed delta_at before it is compared in the delete filter
+        Long requestDeltaAtMicros = DeltaAtCodec.toEpochMicros(requestDeltaAt);
+
+        Optional<T> deleted = repository.findAndDeleteIfNotStale(officerId, requestDeltaAt, requestDeltaAtMicros,
+                corporateOfficer, type);
+        if (deleted.isPresent()) {
+            return deleted;
+        }
+
+        // Nothing matched: read just enough of the document to tell missing, wrong type and stale apart
+        Optional<DisqualificationDocument> existing = repository.findDeltaAtById(officerId);
+        if (existing.isEmpty()) {
+            LOGGER.info(NULL_DATA_MESSAGE, DataMapHolder.getLogMap());
+            return Optional.empty();
+        }
+        DisqualificationDocument document = existing.get();
+        if (document.isCorporateOfficer() != corporateOfficer) {
+            final String msg = corporateOfficer
+                    ? "Delete requested for corporate officer when natural officer found in DB"
+                    : "Delete requested for natural officer when corporate officer found in DB";
+            LOGGER.error(msg, DataMapHolder.getLogMap());
+            throw new BadRequestException(msg);
+        }
+        if (deltaAtHandler.isRequestStale(requestDeltaAt, document.getDeltaAt())) {
+            LOGGER.error(STALE_DELTA_AT_MESSAGE, DataMapHolder.getLogMap());
+            throw new ConflictException(STALE_DELTA_AT_MESSAGE);
+        }
+
+        // The document was written between the delete and the read, so try the delete once more
+        return Optional.of(repository.findAndDeleteIfNotStale(officerId, requestDeltaAt, requestDeltaAtMicros,
+                        corporateOfficer, type)
+                .orElseThrow(() -> {
+                    LOGGER.error(CONCURRENT_UPDATE_MESSAGE, DataMapHolder.getLogMap());
+                    return new ConflictException(CONCURRENT_UPDATE_MESSAGE);
+                }));
     }
 }
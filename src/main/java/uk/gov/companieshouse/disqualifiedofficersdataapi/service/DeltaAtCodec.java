@@ -0,0 +1,129 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import static uk.gov.companieshouse.disqualifiedofficersdataapi.service.DateConverter.deltaAtToOffsetDateTime;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Validates and compares delta_at values, {@code yyyyMMddHHmmssSSSSSS} in UTC, by reading their digits as
+ * epoch microseconds, without allocating.
+ *
+ * <p>Values are accepted, rejected and ordered exactly as with {@link DateConverter}: any value the fast
+ * path does not read, such as a malformed value, an end of day 24:00 or a day past the end of its month, is
+ * handed to it, so it is parsed, resolved or rejected with the same DateTimeParseException as before.
+ */
+public final class DeltaAtCodec {
+
+    private static final int LENGTH = 20;
+    private static final long NOT_READ = Long.MIN_VALUE;
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+    private static final long SECONDS_PER_DAY = 86_400L;
+    private static final long DAYS_0000_TO_1970 = 719_468L;
+
+    private DeltaAtCodec() {
+    }
+
+    /**
+     * Validate a delta_at and read it as the epoch microseconds stored in delta_at_micros.
+     *
+     * @return the epoch microseconds, or null for a valid delta_at that is only compared as a string, such
+     *         as an end of day 24:00
+     * @throws java.time.format.DateTimeParseException if deltaAt is not a valid delta_at
+     */
+    public static Long toEpochMicros(String deltaAt) {
+        long micros = read(deltaAt);
+        if (micros != NOT_READ) {
+            return micros;
+        }
+        deltaAtToOffsetDateTime(deltaAt);
+        return null;
+    }
+
+    /**
+     * Compare two delta_at values by the instant they represent. first is read before second, so if both
+     * are invalid the exception is for first.
+     *
+     * @return negative, zero or positive as first is before, at or after second
+     * @throws java.time.format.DateTimeParseException if either value is not a valid delta_at
+     */
+    public static int compare(String first, String second) {
+        long firstMicros = read(first);
+        long secondMicros = firstMicros == NOT_READ ? NOT_READ : read(second);
+        if (secondMicros == NOT_READ) {
+            return deltaAtToOffsetDateTime(first).toInstant().compareTo(deltaAtToOffsetDateTime(second).toInstant());
+        }
+        return Long.compare(firstMicros, secondMicros);
+    }
+
+    /**
+     * @return true if first is an earlier instant than second, as {@link OffsetDateTime#isBefore}
+     * @throws java.time.format.DateTimeParseException if second is not a valid delta_at
+     */
+    public static boolean isBefore(OffsetDateTime first, String second) {
+        long secondMicros = read(second);
+        if (secondMicros == NOT_READ) {
+            return first.isBefore(deltaAtToOffsetDateTime(second));
+        }
+        long firstSeconds = first.toEpochSecond();
+        long secondSeconds = Math.floorDiv(secondMicros, MICROS_PER_SECOND);
+        return firstSeconds < secondSeconds || (firstSeconds == secondSeconds
+                && first.getNano() < Math.floorMod(secondMicros, MICROS_PER_SECOND) * 1000);
+    }
+
+    /**
+     * @return the epoch microseconds of a well-formed delta_at whose fields need no resolving, or
+     *         {@link #NOT_READ} for any other value
+     */
+    private static long read(String deltaAt) {
+        if (deltaAt == null || deltaAt.length() != LENGTH) {
+            return NOT_READ;
+        }
+        for (int i = 0; i < LENGTH; i++) {
+            char c = deltaAt.charAt(i);
+            if (c < '0' || c > '9') {
+                return NOT_READ;
+            }
+        }
+        int year = digits(deltaAt, 0, 4);
+        int month = digits(deltaAt, 4, 2);
+        int day = digits(deltaAt, 6, 2);
+        int hour = digits(deltaAt, 8, 2);
+        int minute = digits(deltaAt, 10, 2);
+        int second = digits(deltaAt, 12, 2);
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > monthLength(year, month)
+                || hour > 23 || minute > 59 || second > 59) {
+            return NOT_READ;
+        }
+        long seconds = epochDay(year, month, day) * SECONDS_PER_DAY + hour * 3600L + minute * 60L + second;
+        return seconds * MICROS_PER_SECOND + digits(deltaAt, 14, 6);
+    }
+
+    private static int digits(String value, int start, int count) {
+        int result = 0;
+        for (int i = start; i < start + count; i++) {
+            result = result * 10 + (value.charAt(i) - '0');
+        }
+        return result;
+    }
+
+    private static int monthLength(int year, int month) {
+        return switch (month) {
+            case 2 -> year % 4 == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    /**
+     * Days from 1970-01-01 of a proleptic Gregorian date in years 1 to 9999, counting years from March so
+     * leap days fall at the end of the year.
+     */
+    private static long epochDay(int year, int month, int day) {
+        long marchYear = month <= 2 ? year - 1 : year;
+        long era = marchYear / 400;
+        long yearOfEra = marchYear - era * 400;
+        long dayOfYear = (153L * ((month + 9) % 12) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - DAYS_0000_TO_1970;
+    }
+}
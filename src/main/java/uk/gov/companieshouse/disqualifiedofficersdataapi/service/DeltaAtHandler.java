@@ -1,7 +1,5 @@
 package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
 
-import static uk.gov.companieshouse.disqualifiedofficersdataapi.service.DateConverter.deltaAtToOffsetDateTime;
-
 import java.time.OffsetDateTime;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
@@ -10,12 +8,10 @@ import org.springframework.stereotype.Component;
 public class DeltaAtHandler {
 
     public boolean isRequestStale(final String requestDeltaAt, final String docDeltaAt) {
-        return StringUtils.isNotBlank(docDeltaAt)
-                && deltaAtToOffsetDateTime(requestDeltaAt).isBefore(deltaAtToOffsetDateTime(docDeltaAt));
+        return StringUtils.isNotBlank(docDeltaAt) && DeltaAtCodec.compare(requestDeltaAt, docDeltaAt) < 0;
     }
 
     public boolean isRequestStale(OffsetDateTime requestDeltaAt, final String docDeltaAt) {
-        return StringUtils.isNotBlank(docDeltaAt)
-                && requestDeltaAt.isBefore(deltaAtToOffsetDateTime(docDeltaAt));
+        return StringUtils.isNotBlank(docDeltaAt) && DeltaAtCodec.isBefore(requestDeltaAt, docDeltaAt);
     }
 }
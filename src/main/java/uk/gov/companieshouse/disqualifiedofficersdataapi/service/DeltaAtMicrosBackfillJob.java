@@ -0,0 +1,94 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import static uk.gov.companieshouse.disqualifiedofficersdataapi.DisqualifiedOfficersDataApiApplication.NAMESPACE;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualifiedOfficerRepository;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+/**
+ * Backfills delta_at_micros of documents written before it existed, in batches in _id order with a pause
+ * between them, so the migration runs while the service is serving. A document written while it is being
+ * backfilled is left alone, since the write stored delta_at_micros already, so instances may run this
+ * concurrently. Until a document is backfilled its staleness is compared on delta_at.
+ */
+@Component
+public class DeltaAtMicrosBackfillJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+
+    private final DisqualifiedOfficerRepository repository;
+    private final int batchSize;
+    private final Duration batchPause;
+
+    public DeltaAtMicrosBackfillJob(DisqualifiedOfficerRepository repository,
+            @Value("${disqualification.delta-at-micros.batch-size}") int batchSize,
+            @Value("${disqualification.delta-at-micros.batch-pause}") Duration batchPause) {
+        this.repository = repository;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+    }
+
+    @Scheduled(fixedDelayString = "${disqualification.delta-at-micros.backfill-interval}")
+    public void backfill() {
+        long backfilled = 0;
+        long skipped = 0;
+        try {
+            String afterId = null;
+            List<DisqualificationDocument> documents;
+            do {
+                documents = repository.findWithoutDeltaAtMicros(afterId, batchSize);
+                if (documents.isEmpty()) {
+                    break;
+                }
+                afterId = documents.getLast().getId();
+                List<DisqualificationDocument> converted = convert(documents);
+                skipped += documents.size() - converted.size();
+                backfilled += repository.updateDeltaAtMicros(converted);
+            } while (documents.size() == batchSize && pause());
+        } catch (DataAccessException ex) {
+            LOGGER.error("MongoDB error when backfilling delta_at_micros", ex);
+        }
+        if (backfilled > 0 || skipped > 0) {
+            LOGGER.info(String.format("Backfilled delta_at_micros of %d documents, %d left to compare on delta_at",
+                    backfilled, skipped));
+        }
+    }
+
+    private static List<DisqualificationDocument> convert(List<DisqualificationDocument> documents) {
+        List<DisqualificationDocument> converted = new ArrayList<>(documents.size());
+        for (DisqualificationDocument document : documents) {
+            try {
+                Long micros = DeltaAtCodec.toEpochMicros(document.getDeltaAt());
+                if (micros != null) {
+                    converted.add(document.setDeltaAtMicros(micros));
+                }
+            } catch (DateTimeParseException ex) {
+                LOGGER.error(String.format("Unable to read delta_at of %s", document.getId()), ex);
+            }
+        }
+        return converted;
+    }
+
+    /**
+     * @return false if interrupted, so the backfill stops and resumes on its next run
+     */
+    private boolean pause() {
+        try {
+            Thread.sleep(batchPause);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
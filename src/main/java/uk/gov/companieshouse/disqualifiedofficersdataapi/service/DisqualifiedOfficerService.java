@@ -2,13 +2,22 @@ package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
 
 import static uk.gov.companieshouse.disqualifiedofficersdataapi.DisqualifiedOfficersDataApiApplication.NAMESPACE;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.TransientDataAccessException;
 import org.springframework.stereotype.Service;
 import uk.gov.companieshouse.api.disqualification.InternalCorporateDisqualificationApi;
 import uk.gov.companieshouse.api.disqualification.InternalNaturalDisqualificationApi;
-import uk.gov.companieshouse.disqualifiedofficersdataapi.api.DisqualifiedOfficerApiService;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.api.ResourceChangedRequest;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.cache.DisqualificationCache;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.cache.OfficerIdFilter;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.cache.SingleFlight;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.NotFoundException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.logging.DataMapHolder;
@@ -17,10 +26,12 @@ import uk.gov.companieshouse.disqualifiedofficersdataapi.model.Created;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.UpsertOutcome;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.CorporateDisqualifiedOfficerRepository;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualifiedOfficerRepository;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.NaturalDisqualifiedOfficerRepository;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.transform.DisqualificationTransformer;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.transform.PublicJsonRenderer;
 import uk.gov.companieshouse.logging.Logger;
 import uk.gov.companieshouse.logging.LoggerFactory;
 import java.util.Optional;
@@ -30,24 +41,43 @@ public class DisqualifiedOfficerService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
     private static final String STALE_DELTA_AT_MESSAGE = "Delta at field on request is stale";
+    private static final String UNCHANGED_MESSAGE = "Content on request is unchanged, only delta at updated";
 
     private final DisqualifiedOfficerRepository repository;
     private final NaturalDisqualifiedOfficerRepository naturalRepository;
     private final CorporateDisqualifiedOfficerRepository corporateRepository;
     private final DisqualificationTransformer transformer;
-    private final DisqualifiedOfficerApiService disqualifiedOfficerApiService;
-    private final DeltaAtHandler deltaAtHandler;
+    private final PublicJsonRenderer renderer;
+    private final ResourceChangedPublisher publisher;
+    private final DisqualificationCache cache;
+    private final OfficerIdFilter idFilter;
+    private final SingleFlight<String, NaturalDisqualificationDocument> naturalLookups;
+    private final SingleFlight<String, CorporateDisqualificationDocument> corporateLookups;
+    private final SingleFlight<String, Optional<NaturalDisqualificationDocument>> naturalValidatorLookups;
+    private final SingleFlight<String, Optional<CorporateDisqualificationDocument>> corporateValidatorLookups;
+    private final Counter unchangedWrites;
 
     public DisqualifiedOfficerService(DisqualifiedOfficerRepository repository,
             NaturalDisqualifiedOfficerRepository naturalRepository,
             CorporateDisqualifiedOfficerRepository corporateRepository, DisqualificationTransformer transformer,
-            DisqualifiedOfficerApiService disqualifiedOfficerApiService, DeltaAtHandler deltaAtHandler) {
+            PublicJsonRenderer renderer, ResourceChangedPublisher publisher, DisqualificationCache cache, OfficerIdFilter idFilter,
+            @Value("${disqualification.single-flight.timeout}") Duration singleFlightTimeout,
+            MeterRegistry meterRegistry) {
         this.repository = repository;
         this.naturalRepository = naturalRepository;
         this.corporateRepository = corporateRepository;
         this.transformer = transformer;
-        this.disqualifiedOfficerApiService = disqualifiedOfficerApiService;
-        this.deltaAtHandler = deltaAtHandler;
+        this.renderer = renderer;
+        this.publisher = publisher;
+        this.cache = cache;
+        this.idFilter = idFilter;
+        this.naturalLookups = new SingleFlight<>("natural", singleFlightTimeout, meterRegistry);
+        this.corporateLookups = new SingleFlight<>("corporate", singleFlightTimeout, meterRegistry);
+        this.naturalValidatorLookups = new SingleFlight<>("natural-validators", singleFlightTimeout,
+                meterRegistry);
+        this.corporateValidatorLookups = new SingleFlight<>("corporate-validators", singleFlightTimeout,
+                meterRegistry);
+        this.unchangedWrites = WriteMetrics.unchangedWrites(meterRegistry, "single");
     }
 
     /**
@@ -59,17 +89,8 @@ public class DisqualifiedOfficerService {
      */
     public void processNaturalDisqualification(String contextId, String officerId,
             InternalNaturalDisqualificationApi requestBody) {
-        Optional<DisqualificationDocument> existingDocument = repository.findById(officerId);
-
-        if (existingDocument.isEmpty() ||
-                !deltaAtHandler.isRequestStale(requestBody.getInternalData().getDeltaAt(),
-                        existingDocument.get().getDeltaAt())) {
-            DisqualificationDocument document = transformer.transformNaturalDisqualifiedOfficer(officerId, requestBody);
-            saveAndCallChsKafka(contextId, officerId, document, DisqualificationResourceType.NATURAL,
-                    existingDocument.orElse(null));
-        } else {
-            LOGGER.info(STALE_DELTA_AT_MESSAGE, DataMapHolder.getLogMap());
-        }
+        DisqualificationDocument document = transformer.transformNaturalDisqualifiedOfficer(officerId, requestBody);
+        saveAndCallChsKafka(contextId, officerId, document, DisqualificationResourceType.NATURAL);
     }
 
     /**
@@ -81,22 +102,18 @@ public class DisqualifiedOfficerService {
      */
     public void processCorporateDisqualification(String contextId, String officerId,
             InternalCorporateDisqualificationApi requestBody) {
-        Optional<DisqualificationDocument> existingDocument = repository.findById(officerId);
-
-        if (existingDocument.isEmpty() ||
-                !deltaAtHandler.isRequestStale(requestBody.getInternalData().getDeltaAt(),
-                        existingDocument.get().getDeltaAt())) {
-            DisqualificationDocument document = transformer.transformCorporateDisqualifiedOfficer(officerId,
-                    requestBody);
-            saveAndCallChsKafka(contextId, officerId, document, DisqualificationResourceType.CORPORATE,
-                    existingDocument.orElse(null));
-        } else {
-            LOGGER.info(STALE_DELTA_AT_MESSAGE, DataMapHolder.getLogMap());
-        }
+        DisqualificationDocument document = transformer.transformCorporateDisqualifiedOfficer(officerId,
+                requestBody);
+        saveAndCallChsKafka(contextId, officerId, document, DisqualificationResourceType.CORPORATE);
     }
 
     /**
-     * Save or update the mongo record
+     * Save or update the mongo record in a single conditional upsert. The record is left untouched if it
+     * holds a more recent delta_at, only its delta_at is updated if it holds the same content, and its created
+     * timestamp is kept on update. The resource changed notification is published only when the record was
+     * written. Without the outbox a notification can fail after the write, so the write compares content_hash
+     * but leaves it unset, and it is only stored once the notification has been sent; a resend after a failed
+     * notification is then written and notified again rather than reported as unchanged.
      *
      * @param contextId Chs kafka id
      * @param officerId Mongo id
@@ -104,17 +121,18 @@ public class DisqualifiedOfficerService {
      */
     private void saveAndCallChsKafka(
             String contextId, String officerId,
-            DisqualificationDocument document, DisqualificationResourceType type,
-            DisqualificationDocument existingDocument) {
+            DisqualificationDocument document, DisqualificationResourceType type) {
 
-        DataMapHolder.get().officerType(String.valueOf(type));
-        Optional.ofNullable(existingDocument)
-                .map(DisqualificationDocument::getCreated)
-                .ifPresentOrElse(document::setCreated,
-                        () -> document.setCreated(new Created().setAt(document.getUpdated().getAt())));
+        DataMapHolder.officerType(String.valueOf(type));
+        document.setCreated(new Created().setAt(document.getUpdated().getAt()));
+        renderer.render(document);
+        // Added before the write so a concurrent GET cannot be rejected once the record exists
+        idFilter.put(officerId);
+        boolean storeHashAfterPublish = !publisher.isOutboxEnabled() && document.getContentHash() != null;
 
+        UpsertOutcome outcome;
         try {
-            repository.save(document);
+            outcome = write(contextId, officerId, document, type, !storeHashAfterPublish);
         } catch (TransientDataAccessException ex) {
             LOGGER.info("Recoverable MongoDB error when inserting/updating document", DataMapHolder.getLogMap());
             throw new BadGatewayException("Recoverable MongoDB error when inserting/updating document", ex);
@@ -122,20 +140,69 @@ public class DisqualifiedOfficerService {
             LOGGER.error("MongoDB error when inserting/updating document", ex, DataMapHolder.getLogMap());
             throw new BadGatewayException("MongoDB error when inserting/updating document", ex);
         }
+        if (outcome == UpsertOutcome.UNCHANGED) {
+            unchangedWrites.increment();
+            LOGGER.info(UNCHANGED_MESSAGE, DataMapHolder.getLogMap());
+            return;
+        }
+        if (outcome != UpsertOutcome.APPLIED) {
+            LOGGER.info(STALE_DELTA_AT_MESSAGE, DataMapHolder.getLogMap());
+            return;
+        }
+        LOGGER.info("ChsKafka api CHANGED published successfully", DataMapHolder.getLogMap());
+        if (storeHashAfterPublish) {
+            storeContentHash(List.of(document));
+        }
+    }
 
-        disqualifiedOfficerApiService.invokeChsKafkaApi(
-                new ResourceChangedRequest(contextId, officerId,
-                        type, null, false));
-        LOGGER.info("ChsKafka api CHANGED invoked successfully", DataMapHolder.getLogMap());
+    /**
+     * With the outbox a write that is stale or unchanged fails with a duplicate key and aborts its transaction,
+     * leaving nothing to publish, so its outcome is resolved once the transaction has ended.
+     */
+    private UpsertOutcome write(String contextId, String officerId, DisqualificationDocument document,
+            DisqualificationResourceType type, boolean storeContentHash) {
+        AtomicReference<UpsertOutcome> outcome = new AtomicReference<>();
+        try {
+            publisher.writeAndPublish(() -> {
+                        outcome.set(repository.upsertIfNotStale(document, storeContentHash));
+                        return outcome.get() == UpsertOutcome.APPLIED
+                                ? Optional.of(new ResourceChangedRequest(contextId, officerId, type, null, false))
+                                : Optional.empty();
+                    },
+                    change -> cache.invalidate(officerId));
+            return outcome.get();
+        } catch (DuplicateKeyException ex) {
+            return repository.resolveNotWritten(document);
+        }
     }
 
+    /**
+     * A content_hash that could not be stored only means the next identical write is notified again.
+     */
+    private void storeContentHash(List<DisqualificationDocument> documents) {
+        try {
+            repository.storeContentHash(documents);
+        } catch (DataAccessException ex) {
+            LOGGER.error("MongoDB error when storing content hash", ex, DataMapHolder.getLogMap());
+        }
+    }
+
+    /**
+     * Retrieve a natural disqualification for a GET. When the stored response body is current only it and the
+     * validators are read; otherwise the data is read as raw BSON. Either way data holds nothing but the etag.
+     *
+     * @param officerId Mongo id
+     * @return document with either a rendered public_json or raw data
+     */
     public NaturalDisqualificationDocument retrieveNaturalDisqualification(String officerId) {
-        NaturalDisqualificationDocument disqualificationDocument =
-                naturalRepository.findById(officerId)
+        checkIdMightExist(officerId);
+        NaturalDisqualificationDocument disqualificationDocument = naturalLookups.load(officerId,
+                key -> cache.getNatural(key, id -> findNatural(id)
                         .orElseGet(() -> {
+                            idFilter.recordFalsePositive();
                             LOGGER.info("Record not found in MongoDB", DataMapHolder.getLogMap());
                             throw new NotFoundException("Record no found in MongoDB");
-                        });
+                        })));
         if (disqualificationDocument.isCorporateOfficer()) {
             LOGGER.info("Natural type record not found in MongoDB", DataMapHolder.getLogMap());
             throw new NotFoundException("Natural type record not found in MongoDB");
@@ -143,13 +210,70 @@ public class DisqualifiedOfficerService {
         return disqualificationDocument;
     }
 
+    /**
+     * Retrieve a corporate disqualification for a GET. When the stored response body is current only it and the
+     * validators are read; otherwise the data is read as raw BSON. Either way data holds nothing but the etag.
+     *
+     * @param officerId Mongo id
+     * @return document with either a rendered public_json or raw data
+     */
     public CorporateDisqualificationDocument retrieveCorporateDisqualification(String officerId) {
-        CorporateDisqualificationDocument disqualificationDocument =
-                corporateRepository.findById(officerId)
+        checkIdMightExist(officerId);
+        CorporateDisqualificationDocument disqualificationDocument = corporateLookups.load(officerId,
+                key -> cache.getCorporate(key, id -> findCorporate(id)
                         .orElseGet(() -> {
+                            idFilter.recordFalsePositive();
                             LOGGER.info("Record not found in MongoDB", DataMapHolder.getLogMap());
                             throw new NotFoundException("Record no found in MongoDB");
-                        });
+                        })));
+        if (!disqualificationDocument.isCorporateOfficer()) {
+            LOGGER.info("Corporate type record not found in MongoDB", DataMapHolder.getLogMap());
+            throw new NotFoundException("Corporate type record not found in MongoDB");
+        }
+        return disqualificationDocument;
+    }
+
+    /**
+     * Retrieve only the cache validators (etag and updated timestamp) of a natural disqualification, served
+     * from the cache when the full document is already held, otherwise from a projected read.
+     *
+     * @param officerId Mongo id
+     * @return document populated with data.etag, updated and is_corporate_officer only
+     */
+    public NaturalDisqualificationDocument retrieveNaturalDisqualificationValidators(String officerId) {
+        checkIdMightExist(officerId);
+        NaturalDisqualificationDocument disqualificationDocument = Optional.ofNullable(
+                        cache.getNaturalIfPresent(officerId))
+                .or(() -> naturalValidatorLookups.load(officerId, naturalRepository::findEtagById))
+                .orElseThrow(() -> {
+                    idFilter.recordFalsePositive();
+                    LOGGER.info("Record not found in MongoDB", DataMapHolder.getLogMap());
+                    return new NotFoundException("Record no found in MongoDB");
+                });
+        if (disqualificationDocument.isCorporateOfficer()) {
+            LOGGER.info("Natural type record not found in MongoDB", DataMapHolder.getLogMap());
+            throw new NotFoundException("Natural type record not found in MongoDB");
+        }
+        return disqualificationDocument;
+    }
+
+    /**
+     * Retrieve only the cache validators (etag and updated timestamp) of a corporate disqualification, served
+     * from the cache when the full document is already held, otherwise from a projected read.
+     *
+     * @param officerId Mongo id
+     * @return document populated with data.etag, updated and is_corporate_officer only
+     */
+    public CorporateDisqualificationDocument retrieveCorporateDisqualificationValidators(String officerId) {
+        checkIdMightExist(officerId);
+        CorporateDisqualificationDocument disqualificationDocument = Optional.ofNullable(
+                        cache.getCorporateIfPresent(officerId))
+                .or(() -> corporateValidatorLookups.load(officerId, corporateRepository::findEtagById))
+                .orElseThrow(() -> {
+                    idFilter.recordFalsePositive();
+                    LOGGER.info("Record not found in MongoDB", DataMapHolder.getLogMap());
+                    return new NotFoundException("Record no found in MongoDB");
+                });
         if (!disqualificationDocument.isCorporateOfficer()) {
             LOGGER.info("Corporate type record not found in MongoDB", DataMapHolder.getLogMap());
             throw new NotFoundException("Corporate type record not found in MongoDB");
@@ -157,4 +281,34 @@ public class DisqualifiedOfficerService {
         return disqualificationDocument;
     }
 
+    /**
+     * Reject an id the officer id filter has never seen without querying Mongo. The exception has no stack
+     * trace as these lookups are expected and frequent.
+     */
+    private void checkIdMightExist(String officerId) {
+        if (!idFilter.mightContain(officerId)) {
+            LOGGER.info("Record not found in officer id filter", DataMapHolder.getLogMap());
+            throw new NotFoundException("Record not found in officer id filter", false);
+        }
+    }
+
+    /**
+     * Read only the stored response body and validators, falling back to the document with its data as raw
+     * BSON when the body has not been rendered with the current version yet.
+     */
+    private Optional<NaturalDisqualificationDocument> findNatural(String officerId) {
+        Optional<NaturalDisqualificationDocument> document = naturalRepository.findPublicJsonById(officerId);
+        if (document.isPresent() && !PublicJsonRenderer.isRendered(document.get())) {
+            return repository.findWithRawDataById(officerId, NaturalDisqualificationDocument.class);
+        }
+        return document;
+    }
+
+    private Optional<CorporateDisqualificationDocument> findCorporate(String officerId) {
+        Optional<CorporateDisqualificationDocument> document = corporateRepository.findPublicJsonById(officerId);
+        if (document.isPresent() && !PublicJsonRenderer.isRendered(document.get())) {
+            return repository.findWithRawDataById(officerId, CorporateDisqualificationDocument.class);
+        }
+        return document;
+    }
 }
@@ -0,0 +1,227 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import static uk.gov.companieshouse.disqualifiedofficersdataapi.DisqualifiedOfficersDataApiApplication.NAMESPACE;
+import static uk.gov.companieshouse.disqualifiedofficersdataapi.repository.JobLockRepository.OUTBOX_DISPATCHER;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.api.DisqualifiedOfficerApiService;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.logging.DataMapHolder;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.logging.RequestContext;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.OutboxEvent;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.JobLockRepository;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.OutboxEventRepository;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+/**
+ * Drains the outbox to chs-kafka-api. The officers with the oldest pending events are served first, and the
+ * events of each officer are sent in sequence order. Once an event for an officer fails, is waiting to be
+ * retried or is parked, later events for the same officer are held back so they are never delivered out of
+ * order. Failed events are retried with exponential backoff and parked once the attempts run out; a parked
+ * event holds back its officer until it is re-driven, which happens once it has been parked for redrive-after.
+ * A call rejected by the circuit breaker or bulkhead never reached chs-kafka-api, so it is not counted as an
+ * attempt; the batch stops there and is tried again on the next poll.
+ */
+@Component
+@ConditionalOnProperty(name = "disqualification.outbox.enabled", havingValue = "true")
+public class OutboxDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+
+    private final String owner = UUID.randomUUID().toString();
+    private final OutboxEventRepository outboxRepository;
+    private final JobLockRepository lockRepository;
+    private final DisqualifiedOfficerApiService disqualifiedOfficerApiService;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final Duration redriveAfter;
+    private Instant renewLeaseAt = Instant.MIN;
+
+    public OutboxDispatcher(OutboxEventRepository outboxRepository, JobLockRepository lockRepository,
+            DisqualifiedOfficerApiService disqualifiedOfficerApiService,
+            @Value("${disqualification.outbox.batch-size}") int batchSize,
+            @Value("${disqualification.outbox.max-attempts}") int maxAttempts,
+            @Value("${disqualification.outbox.initial-backoff}") Duration initialBackoff,
+            @Value("${disqualification.outbox.max-backoff}") Duration maxBackoff,
+            @Value("${disqualification.outbox.lease}") Duration lease,
+            @Value("${disqualification.outbox.redrive-after}") Duration redriveAfter) {
+        this.outboxRepository = outboxRepository;
+        this.lockRepository = lockRepository;
+        this.disqualifiedOfficerApiService = disqualifiedOfficerApiService;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+        this.redriveAfter = redriveAfter;
+    }
+
+    @Scheduled(fixedDelayString = "${disqualification.outbox.poll-interval}")
+    public void dispatch() {
+        dispatch(Instant.now());
+    }
+
+    void dispatch(Instant now) {
+        try {
+            if (lockRepository.tryAcquire(OUTBOX_DISPATCHER, owner, now, lease)) {
+                renewLeaseAt = Instant.now().plus(lease.dividedBy(2));
+                dispatchBatch(now);
+            }
+        } catch (DataAccessException ex) {
+            LOGGER.error("MongoDB error when dispatching outbox events", ex, DataMapHolder.getLogMap());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${disqualification.outbox.redrive-interval}")
+    public void redriveParked() {
+        redriveParked(Instant.now());
+    }
+
+    void redriveParked(Instant now) {
+        try {
+            long redriven = outboxRepository.redriveFailedBefore(now.minus(redriveAfter));
+            if (redriven > 0) {
+                LOGGER.info(String.format("Re-drove %d parked outbox events", redriven), DataMapHolder.getLogMap());
+            }
+        } catch (DataAccessException ex) {
+            LOGGER.error("MongoDB error when re-driving parked outbox events", ex, DataMapHolder.getLogMap());
+        }
+    }
+
+    @PreDestroy
+    public void releaseLease() {
+        try {
+            lockRepository.release(OUTBOX_DISPATCHER, owner);
+        } catch (DataAccessException ex) {
+            LOGGER.error("MongoDB error when releasing outbox lease", ex, DataMapHolder.getLogMap());
+        }
+    }
+
+    private void dispatchBatch(Instant now) {
+        Set<String> officerIds = new LinkedHashSet<>();
+        outboxRepository.findDue(now, PageRequest.of(0, batchSize, Sort.by("createdAt", "id")))
+                .forEach(event -> officerIds.add(event.getOfficerId()));
+        if (officerIds.isEmpty()) {
+            return;
+        }
+        Map<String, List<OutboxEvent>> eventsByOfficer = outboxRepository
+                .findByOfficerIdIn(officerIds, Sort.by("sequence", "id")).stream()
+                .collect(Collectors.groupingBy(OutboxEvent::getOfficerId));
+
+        List<String> delivered = new ArrayList<>();
+        dispatching:
+        for (String officerId : officerIds) {
+            for (OutboxEvent event : eventsByOfficer.getOrDefault(officerId, List.of())) {
+                if (event.getFailedAt() != null
+                        || (event.getNextAttemptAt() != null && event.getNextAttemptAt().isAfter(now))) {
+                    break;
+                }
+                if (!holdLease()) {
+                    break dispatching;
+                }
+                Delivery delivery = deliver(event, now);
+                if (delivery == Delivery.NOT_CALLED) {
+                    LOGGER.info("chs-kafka-api call rejected, stopping dispatch until the next poll",
+                            DataMapHolder.getLogMap());
+                    break dispatching;
+                }
+                if (delivery == Delivery.FAILED) {
+                    break;
+                }
+                delivered.add(event.getId());
+            }
+        }
+        if (!delivered.isEmpty()) {
+            outboxRepository.deleteAllById(delivered);
+            LOGGER.debug(String.format("Dispatched %d outbox events", delivered.size()), DataMapHolder.getLogMap());
+        }
+    }
+
+    private Delivery deliver(OutboxEvent event, Instant now) {
+        return DataMapHolder.callWith(RequestContext.of(event.getContextId()).withOfficerId(event.getOfficerId()),
+                () -> {
+                    try {
+                        disqualifiedOfficerApiService.invokeChsKafkaApi(event.toResourceChangedRequest());
+                        return Delivery.SENT;
+                    } catch (RuntimeException ex) {
+                        if (isRejected(ex)) {
+                            return Delivery.NOT_CALLED;
+                        }
+                        recordFailure(event, ex, now);
+                        return Delivery.FAILED;
+                    }
+                });
+    }
+
+    private static boolean isRejected(RuntimeException ex) {
+        return ExceptionUtils.indexOfType(ex, CallNotPermittedException.class) >= 0
+                || ExceptionUtils.indexOfType(ex, BulkheadFullException.class) >= 0;
+    }
+
+    /**
+     * Renew the lease once half of it has passed, so a batch of slow calls never outlives it and lets a second
+     * instance dispatch the same events.
+     *
+     * @return false if the lease has been taken by another instance
+     */
+    private boolean holdLease() {
+        Instant current = Instant.now();
+        if (current.isBefore(renewLeaseAt)) {
+            return true;
+        }
+        if (lockRepository.tryAcquire(OUTBOX_DISPATCHER, owner, current, lease)) {
+            renewLeaseAt = current.plus(lease.dividedBy(2));
+            return true;
+        }
+        LOGGER.info("Outbox lease lost, stopping dispatch until the next poll", DataMapHolder.getLogMap());
+        return false;
+    }
+
+    private void recordFailure(OutboxEvent event, RuntimeException ex, Instant now) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts).setLastError(ex.getMessage());
+        if (attempts >= maxAttempts) {
+            event.setFailedAt(now);
+            LOGGER.error(String.format("Outbox event %s failed after %d attempts", event.getId(), attempts), ex,
+                    DataMapHolder.getLogMap());
+        } else {
+            event.setNextAttemptAt(now.plus(backoff(attempts)));
+            LOGGER.info(String.format("Outbox event %s failed on attempt %d", event.getId(), attempts),
+                    DataMapHolder.getLogMap());
+        }
+        outboxRepository.save(event);
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    private enum Delivery {
+        SENT,
+        FAILED,
+        NOT_CALLED
+    }
+}
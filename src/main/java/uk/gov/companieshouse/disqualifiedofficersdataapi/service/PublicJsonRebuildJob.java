@@ -0,0 +1,88 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import static uk.gov.companieshouse.disqualifiedofficersdataapi.DisqualifiedOfficersDataApiApplication.NAMESPACE;
+import static uk.gov.companieshouse.disqualifiedofficersdataapi.repository.JobLockRepository.PUBLIC_JSON_REBUILD;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualifiedOfficerRepository;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.JobLockRepository;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.transform.PublicJsonRenderer;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+/**
+ * Renders the stored GET body of documents written before it existed, or rendered with an older
+ * {@link PublicJsonRenderer#VERSION}, in batches. A document written while it is being rendered is left
+ * alone, since the write rendered it already.
+ *
+ * <p>Only the instance holding the lease renders, renewing it before each batch, so a new version is rolled
+ * out by one instance rather than every instance reading the same batches at once.
+ */
+@Component
+@ConditionalOnProperty(name = "disqualification.public-json.rebuild-enabled", havingValue = "true")
+public class PublicJsonRebuildJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+
+    private final String owner = UUID.randomUUID().toString();
+    private final DisqualifiedOfficerRepository repository;
+    private final JobLockRepository lockRepository;
+    private final PublicJsonRenderer renderer;
+    private final int batchSize;
+    private final Duration lease;
+
+    public PublicJsonRebuildJob(DisqualifiedOfficerRepository repository, JobLockRepository lockRepository,
+            PublicJsonRenderer renderer,
+            @Value("${disqualification.public-json.batch-size}") int batchSize,
+            @Value("${disqualification.public-json.lease}") Duration lease) {
+        this.repository = repository;
+        this.lockRepository = lockRepository;
+        this.renderer = renderer;
+        this.batchSize = batchSize;
+        this.lease = lease;
+    }
+
+    @Scheduled(fixedDelayString = "${disqualification.public-json.rebuild-interval}")
+    public void rebuild() {
+        long rendered = 0;
+        try {
+            List<DisqualificationDocument> documents;
+            do {
+                if (!lockRepository.tryAcquire(PUBLIC_JSON_REBUILD, owner, Instant.now(), lease)) {
+                    break;
+                }
+                documents = repository.findWithPublicJsonVersionNot(PublicJsonRenderer.VERSION, batchSize);
+                long renderedInBatch = documents.stream().filter(this::render).count();
+                rendered += renderedInBatch;
+                if (renderedInBatch == 0) {
+                    // Whatever is left cannot be rendered or keeps being written by older instances
+                    break;
+                }
+            } while (documents.size() == batchSize);
+            lockRepository.release(PUBLIC_JSON_REBUILD, owner);
+        } catch (DataAccessException ex) {
+            LOGGER.error("MongoDB error when rendering public_json", ex);
+        }
+        if (rendered > 0) {
+            LOGGER.info(String.format("Rendered public_json of %d documents", rendered));
+        }
+    }
+
+    private boolean render(DisqualificationDocument document) {
+        try {
+            return repository.updatePublicJsonIfUnchanged(renderer.render(document));
+        } catch (IllegalStateException | IllegalArgumentException ex) {
+            LOGGER.error(String.format("Unable to render public_json of %s", document.getId()), ex);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import static uk.gov.companieshouse.disqualifiedofficersdataapi.DisqualifiedOfficersDataApiApplication.NAMESPACE;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.api.DisqualifiedOfficerApiService;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.api.ResourceChangedRequest;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.logging.DataMapHolder;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.OutboxEvent;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.OutboxEventRepository;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+/**
+ * Publishes resource changed notifications for writes to the disqualifications collection. When the outbox
+ * is enabled the notification is stored in the same transaction as the write and sent later by the
+ * {@link OutboxDispatcher}; otherwise chs-kafka-api is called directly once the write has completed.
+ */
+@Component
+public class ResourceChangedPublisher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+
+    private final DisqualifiedOfficerApiService disqualifiedOfficerApiService;
+    private final OutboxEventRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean outboxEnabled;
+
+    public ResourceChangedPublisher(DisqualifiedOfficerApiService disqualifiedOfficerApiService,
+            OutboxEventRepository outboxRepository, TransactionTemplate transactionTemplate,
+            @Value("${disqualification.outbox.enabled}") boolean outboxEnabled) {
+        this.disqualifiedOfficerApiService = disqualifiedOfficerApiService;
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.outboxEnabled = outboxEnabled;
+    }
+
+    /**
+     * @return true if notifications are stored in the write's transaction, so they are sent even if
+     *         chs-kafka-api is down when the write is made
+     */
+    public boolean isOutboxEnabled() {
+        return outboxEnabled;
+    }
+
+    /**
+     * Run a write and publish the change it reports.
+     *
+     * @param write     the write, returning the change to publish or empty if nothing was written
+     * @param afterWrite run once the write is durable and before the change is published
+     * @return true if the write reported a change
+     */
+    public boolean writeAndPublish(Supplier<Optional<ResourceChangedRequest>> write,
+            Consumer<ResourceChangedRequest> afterWrite) {
+        if (!outboxEnabled) {
+            Optional<ResourceChangedRequest> change = write.get();
+            change.ifPresent(request -> {
+                afterWrite.accept(request);
+                disqualifiedOfficerApiService.invokeChsKafkaApi(request);
+            });
+            return change.isPresent();
+        }
+
+        Optional<ResourceChangedRequest> change;
+        try {
+            change = transactionTemplate.execute(status -> {
+                Optional<ResourceChangedRequest> written = write.get();
+                written.ifPresent(request -> outboxRepository.insert(sequenced(List.of(request), Instant.now())));
+                return written;
+            });
+        } catch (TransactionException ex) {
+            LOGGER.error("MongoDB transaction failed when writing document and outbox event", ex,
+                    DataMapHolder.getLogMap());
+            throw new BadGatewayException("MongoDB transaction failed when writing document and outbox event", ex);
+        }
+        change.ifPresent(afterWrite);
+        return change.isPresent();
+    }
+
+    /**
+     * Run a write of many documents and publish the changes it reports. With the outbox the changes are
+     * stored in the same transaction as the write. Otherwise each change is sent once the write has
+     * completed, and a change that could not be sent is passed to onPublishFailure so the rest are still sent.
+     *
+     * @param write            the write
+     * @param changes          the changes to publish for the result of the write
+     * @param afterWrite       run for each change once the write is durable and before it is published
+     * @param onPublishFailure run for each change chs-kafka-api could not be called for
+     * @return the result of the write
+     */
+    public <T> T writeAndPublishAll(Supplier<T> write, Function<T, List<ResourceChangedRequest>> changes,
+            Consumer<ResourceChangedRequest> afterWrite,
+            BiConsumer<ResourceChangedRequest, RuntimeException> onPublishFailure) {
+        if (!outboxEnabled) {
+            T written = write.get();
+            for (ResourceChangedRequest request : changes.apply(written)) {
+                afterWrite.accept(request);
+                try {
+                    disqualifiedOfficerApiService.invokeChsKafkaApi(request);
+                } catch (RuntimeException ex) {
+                    onPublishFailure.accept(request, ex);
+                }
+            }
+            return written;
+        }
+
+        List<ResourceChangedRequest> published = new ArrayList<>();
+        T written;
+        try {
+            written = transactionTemplate.execute(status -> {
+                T result = write.get();
+                published.addAll(changes.apply(result));
+                if (!published.isEmpty()) {
+                    outboxRepository.insert(sequenced(published, Instant.now()));
+                }
+                return result;
+            });
+        } catch (TransactionException ex) {
+            LOGGER.error("MongoDB transaction failed when writing documents and outbox events", ex,
+                    DataMapHolder.getLogMap());
+            throw new BadGatewayException("MongoDB transaction failed when writing documents and outbox events", ex);
+        }
+        published.forEach(afterWrite);
+        return written;
+    }
+
+    /**
+     * Number each event after the last stored event of its officer. Writes to the same officer conflict in
+     * MongoDB, so two transactions that commit never give an officer the same sequence.
+     */
+    private List<OutboxEvent> sequenced(List<ResourceChangedRequest> requests, Instant now) {
+        Map<String, Long> last = new HashMap<>();
+        outboxRepository.findByOfficerIdIn(requests.stream().map(ResourceChangedRequest::getOfficerId).toList(),
+                        Sort.unsorted())
+                .forEach(event -> last.merge(event.getOfficerId(), event.getSequence(), Math::max));
+        return requests.stream()
+                .map(request -> OutboxEvent.of(request, now)
+                        .setSequence(last.merge(request.getOfficerId(), 1L, Long::sum)))
+                .toList();
+    }
+}
@@ -0,0 +1,25 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Meters shared by the single and bulk PUT paths.
+ */
+final class WriteMetrics {
+
+    private WriteMetrics() {
+    }
+
+    /**
+     * @param path single or bulk
+     * @return counter of writes whose content matched the stored content, so only delta_at was written and
+     *         no resource changed notification was published
+     */
+    static Counter unchangedWrites(MeterRegistry meterRegistry, String path) {
+        return Counter.builder("disqualification.writes.unchanged")
+                .description("PUTs suppressed because their content matched the stored content")
+                .tag("path", path)
+                .register(meterRegistry);
+    }
+}
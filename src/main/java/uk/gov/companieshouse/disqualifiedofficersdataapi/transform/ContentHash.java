@@ -0,0 +1,79 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.transform;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.common.hash.Funnels;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.InternalDisqualificationApiInternalData;
+import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+
+/**
+ * Hashes of the content a PUT writes, so identical content gets the same etag on every node and a write of
+ * content identical to the stored content can be recognised without reading the stored data.
+ *
+ * <p>The external data is serialised canonically: properties in alphabetical order, null and empty values
+ * left out as they are when stored, and without its etag. delta_at is not part of the content.
+ */
+public final class ContentHash {
+
+    private static final int ETAG_BYTES = 20;
+    private static final BaseEncoding HEX = BaseEncoding.base16().lowerCase();
+    private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .addMixIn(NaturalDisqualificationApi.class, IgnoreEtagMixIn.class)
+            .addMixIn(CorporateDisqualificationApi.class, IgnoreEtagMixIn.class)
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .serializationInclusion(JsonInclude.Include.NON_EMPTY)
+            .build();
+
+    private ContentHash() {
+    }
+
+    /**
+     * @param externalData natural or corporate external data
+     * @return the first 160 bits of the SHA-256 of the canonical external data, hex encoded
+     */
+    public static String etag(Object externalData) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        try (OutputStream output = Funnels.asOutputStream(hasher)) {
+            CANONICAL_MAPPER.writeValue(output, externalData);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to hash disqualification data", ex);
+        }
+        return HEX.encode(hasher.hash().asBytes(), 0, ETAG_BYTES);
+    }
+
+    /**
+     * @param etag         etag of the external data, see {@link #etag(Object)}
+     * @param internalData internal data of the same request
+     * @param corporate    whether the officer is corporate
+     * @return hex encoded SHA-256 of the etag, officer type and officer ids
+     */
+    public static String of(String etag, InternalDisqualificationApiInternalData internalData,
+            boolean corporate) {
+        Hasher hasher = Hashing.sha256().newHasher()
+                .putString(etag, StandardCharsets.UTF_8)
+                .putBoolean(corporate);
+        Stream.of(internalData.getOfficerDetailId(), internalData.getOfficerDisqId(), internalData.getOfficerIdRaw())
+                .forEach(id -> hasher.putByte((byte) 0).putString(String.valueOf(id), StandardCharsets.UTF_8));
+        return hasher.hash().toString();
+    }
+
+    @JsonIgnoreProperties("etag")
+    private abstract static class IgnoreEtagMixIn {
+    }
+}
@@ -1,7 +1,6 @@
 package uk.gov.companieshouse.disqualifiedofficersdataapi.transform;
 
 import org.springframework.stereotype.Component;
-import uk.gov.companieshouse.GenerateEtagUtil;
 import uk.gov.companieshouse.api.disqualification.InternalCorporateDisqualificationApi;
 import uk.gov.companieshouse.api.disqualification.InternalDisqualificationApiInternalData;
 import uk.gov.companieshouse.api.disqualification.InternalNaturalDisqualificationApi;
@@ -10,9 +9,12 @@ import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationD
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.Updated;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 
 @Component
 public class DisqualificationTransformer {
@@ -21,7 +23,8 @@ public class DisqualificationTransformer {
         DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSSSSS");
 
     /**
-     * Transform the internal data class to a mongo ready document
+     * Transform the internal data class to a mongo ready document. The etag is derived from the external
+     * data, so identical data always gets the same etag.
      * @param officerId     Mongo Id
      * @param requestBody   Internal data class
      * @return document     Mongo wrapper document
@@ -31,17 +34,20 @@ public class DisqualificationTransformer {
 
         NaturalDisqualificationDocument document = new NaturalDisqualificationDocument();
 
-        requestBody.getExternalData().setEtag(GenerateEtagUtil.generateEtag());
+        String etag = ContentHash.etag(requestBody.getExternalData());
+        requestBody.getExternalData().setEtag(etag);
 
         document.setData(requestBody.getExternalData())
                 .setId(officerId)
-                .setCorporateOfficer(false);
+                .setCorporateOfficer(false)
+                .setContentHash(ContentHash.of(etag, requestBody.getInternalData(), false));
 
         return transformDisqualifiedOfficer(document, requestBody.getInternalData());
     }
 
     /**
-     * Transform the internal data class to a mongo ready document
+     * Transform the internal data class to a mongo ready document. The etag is derived from the external
+     * data, so identical data always gets the same etag.
      * @param officerId     Mongo Id
      * @param requestBody   Internal data class
      * @return document     Mongo wrapper document
@@ -51,11 +57,13 @@ public class DisqualificationTransformer {
 
         CorporateDisqualificationDocument document = new CorporateDisqualificationDocument();
 
-        requestBody.getExternalData().setEtag(GenerateEtagUtil.generateEtag());
+        String etag = ContentHash.etag(requestBody.getExternalData());
+        requestBody.getExternalData().setEtag(etag);
 
         document.setData(requestBody.getExternalData())
                 .setId(officerId)
-                .setCorporateOfficer(true);
+                .setCorporateOfficer(true)
+                .setContentHash(ContentHash.of(etag, requestBody.getInternalData(), true));
 
         return transformDisqualifiedOfficer(document, requestBody.getInternalData());
     }
@@ -70,13 +78,26 @@ public class DisqualificationTransformer {
             DisqualificationDocument document,
             InternalDisqualificationApiInternalData internalData) {
 
-        OffsetDateTime deltaAt = internalData.getDeltaAt();
+        // delta_at is stored and compared as UTC, so requests with other offsets are ordered by instant
+        OffsetDateTime deltaAt = internalData.getDeltaAt().withOffsetSameInstant(ZoneOffset.UTC);
 
-        document.setUpdated(new Updated().setAt(LocalDateTime.now()))
+        document.setUpdated(new Updated().setAt(LocalDateTime.now(ZoneOffset.UTC)))
                 .setOfficerIdRaw(internalData.getOfficerIdRaw())
                 .setOfficerDetailId(internalData.getOfficerDetailId())
                 .setOfficerDisqId(internalData.getOfficerDisqId())
-                .setDeltaAt(dateTimeFormatter.format(deltaAt));
+                .setDeltaAt(dateTimeFormatter.format(deltaAt))
+                .setDeltaAtMicros(toEpochMicros(deltaAt));
         return document;
     }
+
+    /**
+     * Outside years 1 to 9999 delta_at is not in chronological order, so it is left to be compared as a
+     * string.
+     */
+    private static Long toEpochMicros(OffsetDateTime deltaAt) {
+        if (deltaAt.getYear() < 1 || deltaAt.getYear() > 9999) {
+            return null;
+        }
+        return ChronoUnit.MICROS.between(Instant.EPOCH, deltaAt.toInstant());
+    }
 }
@@ -0,0 +1,75 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.transform;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import org.bson.Document;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.config.ApplicationConfig;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.converter.BsonDocumentReader;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.converter.BsonObjectWriter;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.CorporateDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
+
+/**
+ * Renders the GET response body of a document, so the stored body is exactly what the controller would have
+ * written. The data is first written and read back with the MongoDB ObjectMapper, as the converters do on a
+ * save and a GET, so empty values and the permission to act purpose are left out as they are from a GET, and
+ * the copy is then written with the HTTP ObjectMapper. The document's own data is left as it is.
+ */
+@Component
+public class PublicJsonRenderer {
+
+    /**
+     * Version of the stored bodies. Increment it whenever the API models or the ObjectMapper
+     * configurations change, and {@code PublicJsonRebuildJob} re-renders every document.
+     */
+    public static final int VERSION = 2;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper storageObjectMapper = ApplicationConfig.mongoDbObjectMapper();
+
+    public PublicJsonRenderer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Render the document's data, with kind set, into its public_json field.
+     *
+     * @param document natural or corporate document with data
+     * @return the document
+     */
+    public DisqualificationDocument render(DisqualificationDocument document) {
+        try {
+            if (document instanceof NaturalDisqualificationDocument natural) {
+                NaturalDisqualificationApi data = stored(natural.getData(), NaturalDisqualificationApi.class);
+                data.setKind(NaturalDisqualificationApi.KindEnum.NATURAL_DISQUALIFICATION);
+                document.setPublicJson(objectMapper.writeValueAsBytes(data));
+            } else if (document instanceof CorporateDisqualificationDocument corporate) {
+                CorporateDisqualificationApi data = stored(corporate.getData(), CorporateDisqualificationApi.class);
+                data.setKind(CorporateDisqualificationApi.KindEnum.CORPORATE_DISQUALIFICATION);
+                document.setPublicJson(objectMapper.writeValueAsBytes(data));
+            } else {
+                throw new IllegalArgumentException("Unknown disqualification document type");
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to render disqualification data", ex);
+        }
+        return document.setPublicJsonVersion(VERSION);
+    }
+
+    /**
+     * @return a copy of the data as a GET reads it back from MongoDB
+     */
+    private <T> T stored(T data, Class<T> type) throws IOException {
+        return BsonDocumentReader.read(storageObjectMapper,
+                new Document(BsonObjectWriter.write(storageObjectMapper, data)), type);
+    }
+
+    public static boolean isRendered(DisqualificationDocument document) {
+        return document.getPublicJson() != null
+                && Integer.valueOf(VERSION).equals(document.getPublicJsonVersion());
+    }
+}
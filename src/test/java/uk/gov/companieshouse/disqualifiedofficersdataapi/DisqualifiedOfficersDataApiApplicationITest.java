@@ -1,6 +1,8 @@
 package uk.gov.companieshouse.disqualifiedofficersdataapi;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -8,24 +10,36 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.web.servlet.MockMvc;
 
 @AutoConfigureMockMvc
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "chs.kafka.api.key=" + DisqualifiedOfficersDataApiApplicationITest.API_KEY)
 class DisqualifiedOfficersDataApiApplicationITest {
 
+    static final String API_KEY = "test-api-key";
+
     @Autowired
     private MockMvc mockMvc;
 
     @Test
     void shouldStartApplication() {
-        Executable executable = () -> DisqualifiedOfficersDataApiApplication.main(new String[0]);
+        Executable executable = () -> DisqualifiedOfficersDataApiApplication.main(
+                new String[]{"--chs.kafka.api.key=" + API_KEY});
         assertDoesNotThrow(executable);
     }
 
+    @Test
+    void shouldNotStartWithoutChsKafkaApiKey() {
+        assumeTrue(System.getenv("CHS_INTERNAL_API_KEY") == null && System.getenv("CHS_API_KEY") == null);
+        Executable executable = () -> DisqualifiedOfficersDataApiApplication.main(new String[]{"--server.port=0"});
+        assertThrows(BeanCreationException.class, executable);
+    }
+
     @Test
     void shouldReturn200FromGetHealthEndpoint() throws Exception {
         this.mockMvc.perform(get("/healthcheck"))
@@ -1,47 +1,43 @@
 package uk.gov.companieshouse.disqualifiedofficersdataapi.api;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
-
-import com.google.api.client.http.HttpHeaders;
-import com.google.api.client.http.HttpResponseException;
-import org.assertj.core.api.Assertions;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withException;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.net.SocketTimeoutException;
+import java.util.Base64;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
-import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import uk.gov.companieshouse.api.InternalApiClient;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
 import uk.gov.companieshouse.api.chskafka.ChangedResource;
-import uk.gov.companieshouse.api.error.ApiErrorResponseException;
-import uk.gov.companieshouse.api.handler.chskafka.PrivateChangedResourceHandler;
-import uk.gov.companieshouse.api.handler.chskafka.request.PrivateChangedResourcePost;
-import uk.gov.companieshouse.api.http.HttpClient;
+import uk.gov.companieshouse.api.chskafka.ChangedResourceEvent;
 import uk.gov.companieshouse.api.model.ApiResponse;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
-import java.util.function.Function;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.logging.DataMapHolder;
 
 @ExtendWith(MockitoExtension.class)
 class DisqualifiedOfficerApiClientServiceTest {
 
-    @Mock
-    private ApiClientService apiClientService;
-
-    @Mock
-    private InternalApiClient internalApiClient;
-
-    @Mock
-    private PrivateChangedResourceHandler privateChangedResourceHandler;
-
-    @Mock
-    private PrivateChangedResourcePost changedResourcePost;
-
-    @Mock
-    private ApiResponse<Void> response;
+    private static final String BASE_URL = "http://chs-kafka-api";
+    private static final String CHANGED_RESOURCE_URL = BASE_URL + "/private/resource-changed";
+    private static final String API_KEY = "apiKey";
 
     @Mock
     private Function<ResourceChangedRequest, ChangedResource> mapper;
@@ -49,87 +45,95 @@ class DisqualifiedOfficerApiClientServiceTest {
     @Mock
     private ResourceChangedRequest resourceChangedRequest;
 
-    @Mock
-    private ChangedResource changedResource;
-
-    @Mock
-    private HttpClient httpClient;
+    private MockRestServiceServer server;
 
-    @InjectMocks
     private DisqualifiedOfficerApiService disqualifiedOfficerApiService;
 
     @BeforeEach
     void setup() {
-        when(internalApiClient.getHttpClient()).thenReturn(httpClient);
+        RestClient.Builder builder = RestClient.builder()
+                .baseUrl(BASE_URL)
+                .defaultHeaders(headers -> headers.setBasicAuth(API_KEY, ""));
+        server = MockRestServiceServer.bindTo(builder).build();
+        disqualifiedOfficerApiService = new DisqualifiedOfficerApiService(builder.build(), mapper);
+        DataMapHolder.initialise("request-id");
     }
 
-    @Test
-    void should_invoke_chs_kafka_endpoint_successfully() throws ApiErrorResponseException {
-        when(apiClientService.getInternalApiClient()).thenReturn(internalApiClient);
-        when(internalApiClient.privateChangedResourceHandler()).thenReturn(privateChangedResourceHandler);
-        when(privateChangedResourceHandler.postChangedResource(Mockito.any(), Mockito.any())).thenReturn(changedResourcePost);
-        when(changedResourcePost.execute()).thenReturn(response);
-        when(mapper.apply(resourceChangedRequest)).thenReturn(changedResource);
-
-        ApiResponse<?> apiResponse =
-                disqualifiedOfficerApiService.invokeChsKafkaApi(resourceChangedRequest);
-
-        Assertions.assertThat(apiResponse).isNotNull();
-
-        verify(apiClientService, times(1)).getInternalApiClient();
-        verify(internalApiClient, times(1)).privateChangedResourceHandler();
-        verify(privateChangedResourceHandler, times(1)).postChangedResource("/private/resource-changed", changedResource);
-        verify(changedResourcePost, times(1)).execute();
+    @AfterEach
+    void tearDown() {
+        DataMapHolder.clear();
     }
 
     @Test
-    void should_handle_exception_when_chs_kafka_endpoint_throws_503() throws ApiErrorResponseException {
+    void should_invoke_chs_kafka_endpoint_successfully() {
+        when(mapper.apply(resourceChangedRequest)).thenReturn(changedResource());
+        server.expect(requestTo(CHANGED_RESOURCE_URL))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(header("x-request-id", "request-id"))
+                .andExpect(header("Authorization", "Basic "
+                        + Base64.getEncoder().encodeToString((API_KEY + ":").getBytes())))
+                .andExpect(content().json("""
+                        {"resource_uri":"/disqualified-officers/natural/officerId",
+                         "resource_kind":"disqualified-officer-natural",
+                         "context_id":"context-id",
+                         "event":{"type":"changed"}}
+                        """))
+                .andRespond(withSuccess());
+
+        ApiResponse<Void> apiResponse = disqualifiedOfficerApiService.invokeChsKafkaApi(resourceChangedRequest);
+
+        assertEquals(200, apiResponse.getStatusCode());
+        server.verify();
+    }
 
-        setupExceptionScenario(503, "Service Unavailable");
+    @Test
+    void should_send_request_id_of_each_call() {
+        when(mapper.apply(resourceChangedRequest)).thenReturn(changedResource());
+        server.expect(header("x-request-id", "request-id")).andRespond(withSuccess());
+        server.expect(header("x-request-id", "other-request-id")).andRespond(withSuccess());
 
-        assertThrows(BadGatewayException.class, () -> disqualifiedOfficerApiService.invokeChsKafkaApi(resourceChangedRequest));
+        disqualifiedOfficerApiService.invokeChsKafkaApi(resourceChangedRequest);
+        DataMapHolder.clear();
+        DataMapHolder.initialise("other-request-id");
+        disqualifiedOfficerApiService.invokeChsKafkaApi(resourceChangedRequest);
 
-        verifyExceptionScenario();
+        server.verify();
     }
 
-    @Test
-    void should_handle_exception_when_chs_kafka_endpoint_throws_500() throws ApiErrorResponseException {
-
-        setupExceptionScenario(500, "Internal Service Error");
+    @ParameterizedTest
+    @ValueSource(ints = {400, 500, 503})
+    void should_throw_bad_gateway_when_chs_kafka_endpoint_returns_error(int status) {
+        when(mapper.apply(resourceChangedRequest)).thenReturn(changedResource());
+        server.expect(requestTo(CHANGED_RESOURCE_URL)).andRespond(withStatus(HttpStatus.valueOf(status)));
 
-        assertThrows(BadGatewayException.class, () -> disqualifiedOfficerApiService.invokeChsKafkaApi(resourceChangedRequest));
+        assertThrows(BadGatewayException.class,
+                () -> disqualifiedOfficerApiService.invokeChsKafkaApi(resourceChangedRequest));
 
-        verifyExceptionScenario();
+        assertEquals(Integer.toString(status), DataMapHolder.getLogMap().get("status"));
+        server.verify();
     }
 
     @Test
-    void should_handle_exception_when_chs_kafka_endpoint_throws_error_with_200() throws ApiErrorResponseException {
-
-        setupExceptionScenario(200, "");
+    void should_throw_bad_gateway_when_chs_kafka_endpoint_times_out() {
+        when(mapper.apply(resourceChangedRequest)).thenReturn(changedResource());
+        server.expect(requestTo(CHANGED_RESOURCE_URL))
+                .andRespond(withException(new SocketTimeoutException("Read timed out")));
 
-        assertThrows(RuntimeException.class, () -> disqualifiedOfficerApiService.invokeChsKafkaApi(resourceChangedRequest));
-
-        verifyExceptionScenario();
-    }
+        BadGatewayException exception = assertThrows(BadGatewayException.class,
+                () -> disqualifiedOfficerApiService.invokeChsKafkaApi(resourceChangedRequest));
 
-    private void setupExceptionScenario(int statusCode, String statusMessage) throws ApiErrorResponseException {
-        when(apiClientService.getInternalApiClient()).thenReturn(internalApiClient);
-        when(internalApiClient.privateChangedResourceHandler()).thenReturn(privateChangedResourceHandler);
-        when(privateChangedResourceHandler.postChangedResource(Mockito.any(), Mockito.any())).thenReturn(changedResourcePost);
-        when(mapper.apply(resourceChangedRequest)).thenReturn(changedResource);
-
-        HttpResponseException.Builder builder = new HttpResponseException.Builder(statusCode,
-                statusMessage, new HttpHeaders());
-        ApiErrorResponseException apiErrorResponseException =
-                new ApiErrorResponseException(builder);
-        when(changedResourcePost.execute()).thenThrow(apiErrorResponseException);
+        assertEquals(SocketTimeoutException.class, exception.getCause().getCause().getClass());
+        server.verify();
     }
 
-    private void verifyExceptionScenario() throws ApiErrorResponseException {
-        verify(apiClientService, times(1)).getInternalApiClient();
-        verify(internalApiClient, times(1)).privateChangedResourceHandler();
-        verify(privateChangedResourceHandler, times(1)).postChangedResource("/private/resource-changed",
-                changedResource);
-        verify(changedResourcePost, times(1)).execute();
+    private static ChangedResource changedResource() {
+        ChangedResource changedResource = new ChangedResource();
+        changedResource.setResourceUri("/disqualified-officers/natural/officerId");
+        changedResource.setResourceKind("disqualified-officer-natural");
+        changedResource.setContextId("context-id");
+        ChangedResourceEvent event = new ChangedResourceEvent();
+        event.setType("changed");
+        changedResource.setEvent(event);
+        return changedResource;
     }
 }
@@ -1,18 +1,30 @@
 package uk.gov.companieshouse.disqualifiedofficersdataapi.api;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.config.ChsKafkaApiResilienceConfig;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.config.FeatureFlags;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
 
 @ExtendWith(MockitoExtension.class)
 class DisqualifiedOfficerApiServiceAspectTest {
@@ -20,7 +32,11 @@ class DisqualifiedOfficerApiServiceAspectTest {
     @Mock
     private FeatureFlags featureFlags;
 
-    @InjectMocks
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ChsKafkaApiResilienceConfig resilienceConfig = new ChsKafkaApiResilienceConfig();
+
+    private CircuitBreaker circuitBreaker;
+    private Bulkhead bulkhead;
     private DisqualifiedOfficerApiServiceAspect aspect;
 
     @Mock
@@ -29,6 +45,14 @@ class DisqualifiedOfficerApiServiceAspectTest {
     @Mock
     private Object object;
 
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = resilienceConfig.chsKafkaApiCircuitBreaker(50, 100, Duration.ofSeconds(2), 4, 4,
+                Duration.ofMinutes(1), 1, meterRegistry);
+        bulkhead = resilienceConfig.chsKafkaApiBulkhead(1, meterRegistry);
+        aspect = new DisqualifiedOfficerApiServiceAspect(featureFlags, circuitBreaker, bulkhead);
+    }
+
     @Test
     void testAspectProceedsWhenFlagEnabled() throws Throwable {
         // given
@@ -51,4 +75,40 @@ class DisqualifiedOfficerApiServiceAspectTest {
         assertNull(actual);
         verifyNoInteractions(proceedingJoinPoint);
     }
+
+    @Test
+    void testAspectOpensCircuitAndFailsFastAfterRepeatedFailures() throws Throwable {
+        // given
+        when(featureFlags.isStreamHookEnabled()).thenReturn(true);
+        when(proceedingJoinPoint.proceed()).thenThrow(new BadGatewayException("error"));
+        for (int i = 0; i < 4; i++) {
+            assertThrows(BadGatewayException.class, () -> aspect.invokeChsKafkaApi(proceedingJoinPoint));
+        }
+
+        // when
+        BadGatewayException exception = assertThrows(BadGatewayException.class,
+                () -> aspect.invokeChsKafkaApi(proceedingJoinPoint));
+
+        // then
+        assertInstanceOf(CallNotPermittedException.class, exception.getCause());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        verify(proceedingJoinPoint, times(4)).proceed();
+        assertEquals(1.0, meterRegistry.get("resilience4j.circuitbreaker.transitions")
+                .tag("from", "closed").tag("to", "open").counter().count());
+    }
+
+    @Test
+    void testAspectRejectsCallWhenBulkheadFull() throws Throwable {
+        // given
+        when(featureFlags.isStreamHookEnabled()).thenReturn(true);
+        bulkhead.acquirePermission();
+
+        // when
+        BadGatewayException exception = assertThrows(BadGatewayException.class,
+                () -> aspect.invokeChsKafkaApi(proceedingJoinPoint));
+
+        // then
+        assertInstanceOf(BulkheadFullException.class, exception.getCause());
+        verifyNoInteractions(proceedingJoinPoint);
+    }
 }
@@ -0,0 +1,63 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+class CompressedBodyCacheTest {
+
+    private static final String OFFICER_ID = "officerId";
+    private static final byte[] BODY = "{\"disqualifications\":[{\"court_name\":\"Cardiff County Court\"}]}"
+            .repeat(20).getBytes(StandardCharsets.UTF_8);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CompressedBodyCache cache = new CompressedBodyCache(DataSize.ofMegabytes(1),
+            DataSize.ofBytes(100), 6, meterRegistry);
+
+    @Test
+    void shouldCompressOncePerOfficerAndEtag() throws IOException {
+        byte[] first = cache.gzip(OFFICER_ID, "etag-1", BODY);
+        byte[] second = cache.gzip(OFFICER_ID, "etag-1", BODY);
+
+        assertSame(first, second);
+        assertArrayEquals(BODY, new GZIPInputStream(new ByteArrayInputStream(first)).readAllBytes());
+        assertEquals(1, meterRegistry.get("disqualification.response.compression").timer().count());
+        assertEquals(2.0 * BODY.length, meterRegistry.get("disqualification.response.compression.bytes")
+                .tag("size", "original").counter().count());
+        assertEquals(2.0 * first.length, meterRegistry.get("disqualification.response.compression.bytes")
+                .tag("size", "compressed").counter().count());
+        assertTrue(first.length < BODY.length / 4);
+    }
+
+    @Test
+    void shouldCompressAgainAfterWrite() {
+        byte[] first = cache.gzip(OFFICER_ID, "etag-1", BODY);
+        byte[] second = cache.gzip(OFFICER_ID, "etag-2", BODY);
+
+        assertArrayEquals(first, second);
+        assertEquals(2, meterRegistry.get("disqualification.response.compression").timer().count());
+    }
+
+    @Test
+    void shouldNotCacheBodiesWithoutEtag() {
+        cache.gzip(OFFICER_ID, null, BODY);
+        cache.gzip(OFFICER_ID, null, BODY);
+
+        assertEquals(2, meterRegistry.get("disqualification.response.compression").timer().count());
+    }
+
+    @Test
+    void shouldNotCompressSmallBodies() {
+        assertNull(cache.gzip(OFFICER_ID, "etag-1", "{}".getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,101 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.NotFoundException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.CorporateDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
+
+class DisqualificationCacheTest {
+
+    private static final String OFFICER_ID = "officerId";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private DisqualificationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new DisqualificationCache(10, Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @Test
+    void shouldLoadOnceAndServeSubsequentReadsFromCache() {
+        NaturalDisqualificationDocument first = cache.getNatural(OFFICER_ID, this::loadNatural);
+        NaturalDisqualificationDocument second = cache.getNatural(OFFICER_ID, this::loadNatural);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "natural-disqualifications")
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "natural-disqualifications")
+                .tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void shouldReloadBothTypesAfterInvalidation() {
+        cache.getNatural(OFFICER_ID, this::loadNatural);
+        cache.getCorporate(OFFICER_ID, this::loadCorporate);
+
+        cache.invalidate(OFFICER_ID);
+        cache.getNatural(OFFICER_ID, this::loadNatural);
+        cache.getCorporate(OFFICER_ID, this::loadCorporate);
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void shouldNotCacheFailedLoads() {
+        assertThrows(NotFoundException.class, () -> cache.getNatural(OFFICER_ID, id -> {
+            loads.incrementAndGet();
+            throw new NotFoundException("not found");
+        }));
+        cache.getNatural(OFFICER_ID, this::loadNatural);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldDiscardLoadInvalidatedWhileInFlight() {
+        cache.getNatural(OFFICER_ID, id -> {
+            cache.invalidate(id);
+            return loadNatural(id);
+        });
+        cache.getNatural(OFFICER_ID, this::loadNatural);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldOnlyReturnLoadedEntriesIfPresent() {
+        cache.getNatural(OFFICER_ID, id -> {
+            assertNull(cache.getNaturalIfPresent(id));
+            return loadNatural(id);
+        });
+
+        assertEquals(OFFICER_ID, cache.getNaturalIfPresent(OFFICER_ID).getId());
+    }
+
+    private NaturalDisqualificationDocument loadNatural(String officerId) {
+        loads.incrementAndGet();
+        NaturalDisqualificationDocument document = new NaturalDisqualificationDocument();
+        document.setId(officerId);
+        return document;
+    }
+
+    private CorporateDisqualificationDocument loadCorporate(String officerId) {
+        loads.incrementAndGet();
+        CorporateDisqualificationDocument document = new CorporateDisqualificationDocument();
+        document.setId(officerId);
+        return document;
+    }
+}
@@ -0,0 +1,263 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualifiedOfficerRepository;
+
+@ExtendWith(MockitoExtension.class)
+class OfficerIdFilterTest {
+
+    private static final String OFFICER_ID = "officerId";
+    private static final String UNKNOWN_ID = "unknownId";
+    private static final Duration OVERLAP = Duration.ofMinutes(1);
+    private static final Duration FAILURE_LOG_INTERVAL = Duration.ofMinutes(5);
+
+    @Mock
+    private DisqualifiedOfficerRepository repository;
+
+    @Captor
+    private ArgumentCaptor<LocalDateTime> sinceCaptor;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ListAppender<ILoggingEvent> logs = new ListAppender<>();
+    private final Logger logger = (Logger) LoggerFactory.getLogger(OfficerIdFilter.class);
+
+    private OfficerIdFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new OfficerIdFilter(repository, true, 100, 0.01, OVERLAP, FAILURE_LOG_INTERVAL, meterRegistry);
+        logs.start();
+        logger.addAppender(logs);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(logs);
+    }
+
+    @Test
+    void shouldLetEveryIdThroughUntilBuilt() {
+        assertTrue(filter.mightContain(UNKNOWN_ID));
+    }
+
+    @Test
+    void shouldNotScanWhenDisabled() {
+        OfficerIdFilter disabled = new OfficerIdFilter(repository, false, 100, 0.01, OVERLAP, FAILURE_LOG_INTERVAL,
+                new SimpleMeterRegistry());
+
+        disabled.rebuild();
+
+        assertTrue(disabled.mightContain(UNKNOWN_ID));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldRejectIdsMissingFromScan() {
+        scan(OFFICER_ID);
+
+        filter.rebuild();
+
+        assertTrue(filter.mightContain(OFFICER_ID));
+        assertFalse(filter.mightContain(UNKNOWN_ID));
+        assertEquals(1.0, lookups("passed"));
+        assertEquals(1.0, lookups("rejected"));
+        assertEquals(1.0, meterRegistry.get("disqualification.id.filter.approximate.size").gauge().value());
+    }
+
+    @Test
+    void shouldKeepIdsWrittenDuringRebuild() {
+        doAnswer(invocation -> {
+            Consumer<String> action = invocation.getArgument(0);
+            filter.put(OFFICER_ID);
+            action.accept("scannedId");
+            return null;
+        }).when(repository).forEachId(any());
+
+        filter.rebuild();
+
+        assertTrue(filter.mightContain(OFFICER_ID));
+        assertTrue(filter.mightContain("scannedId"));
+    }
+
+    @Test
+    void shouldKeepPreviousFilterWhenRebuildFails() {
+        scan(OFFICER_ID);
+        filter.rebuild();
+        doThrow(new DataAccessResourceFailureException("down")).when(repository).forEachId(any());
+
+        filter.rebuild();
+
+        assertTrue(filter.mightContain(OFFICER_ID));
+        assertFalse(filter.mightContain(UNKNOWN_ID));
+    }
+
+    @Test
+    void shouldReportObservedFalsePositiveRate() {
+        scan(OFFICER_ID);
+        filter.rebuild();
+
+        filter.mightContain(UNKNOWN_ID);
+        filter.recordFalsePositive();
+
+        assertEquals(0.5, meterRegistry.get("disqualification.id.filter.observed.fpp").gauge().value());
+        assertTrue(meterRegistry.get("disqualification.id.filter.expected.fpp").gauge().value() < 0.01);
+    }
+
+    @Test
+    void shouldNotTopUpUntilBuilt() {
+        filter.topUp();
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldTopUpIdsInsertedSinceTheRebuildStartedLessTheOverlap() {
+        scan(OFFICER_ID);
+        LocalDateTime before = LocalDateTime.now(ZoneOffset.UTC).minus(OVERLAP);
+        filter.rebuild();
+        LocalDateTime after = LocalDateTime.now(ZoneOffset.UTC).minus(OVERLAP);
+        doAnswer(invocation -> {
+            Consumer<String> action = invocation.getArgument(1);
+            action.accept("insertedElsewhere");
+            return null;
+        }).when(repository).forEachIdCreatedSince(any(), any());
+
+        filter.topUp();
+
+        verify(repository).forEachIdCreatedSince(sinceCaptor.capture(), any());
+        assertFalse(sinceCaptor.getValue().isBefore(before));
+        assertFalse(sinceCaptor.getValue().isAfter(after));
+        assertTrue(filter.mightContain("insertedElsewhere"));
+        assertFalse(filter.mightContain(UNKNOWN_ID));
+    }
+
+    @Test
+    void shouldTopUpFromThePreviousTopUpOnlyOnceItSucceeded() throws Exception {
+        scan(OFFICER_ID);
+        filter.rebuild();
+        doThrow(new DataAccessResourceFailureException("down"))
+                .doNothing()
+                .doNothing()
+                .when(repository).forEachIdCreatedSince(any(), any());
+
+        filter.topUp();
+        Thread.sleep(5);
+        filter.topUp();
+        Thread.sleep(5);
+        filter.topUp();
+
+        verify(repository, times(3)).forEachIdCreatedSince(sinceCaptor.capture(), any());
+        List<LocalDateTime> since = sinceCaptor.getAllValues();
+        assertEquals(since.get(0), since.get(1));
+        assertTrue(since.get(2).isAfter(since.get(1)));
+    }
+
+    @Test
+    void shouldCountEveryFailedTopUpButWarnOncePerInterval() {
+        scan(OFFICER_ID);
+        filter.rebuild();
+        doThrow(new DataAccessResourceFailureException("down")).when(repository).forEachIdCreatedSince(any(), any());
+
+        filter.topUp();
+        filter.topUp();
+        filter.topUp();
+
+        assertEquals(3.0, meterRegistry.get("disqualification.id.filter.top.up.failures").counter().count());
+        assertEquals(1, logs.list.size());
+        assertEquals(Level.WARN, logs.list.getFirst().getLevel());
+    }
+
+    @Test
+    void shouldWarnWithTheFailuresSinceLastLoggedOnceTheIntervalHasPassed() {
+        OfficerIdFilter unlimited = new OfficerIdFilter(repository, true, 100, 0.01, OVERLAP, Duration.ZERO,
+                new SimpleMeterRegistry());
+        scan(OFFICER_ID);
+        unlimited.rebuild();
+        doThrow(new DataAccessResourceFailureException("down")).when(repository).forEachIdCreatedSince(any(), any());
+
+        unlimited.topUp();
+        unlimited.topUp();
+
+        assertEquals(2, logs.list.size());
+        assertEquals(1L, logs.list.get(1).getArgumentArray()[0]);
+    }
+
+    @Test
+    void shouldKeepIdsPutFromSeveralThreadsAtOnce() throws Exception {
+        scan(OFFICER_ID);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int thread = 0; thread < 4; thread++) {
+                String prefix = "thread" + thread + "-";
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 25; i++) {
+                        filter.put(prefix + i);
+                    }
+                    return null;
+                });
+            }
+            filter.rebuild();
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (int thread = 0; thread < 4; thread++) {
+            for (int i = 0; i < 25; i++) {
+                assertTrue(filter.mightContain("thread" + thread + "-" + i));
+            }
+        }
+    }
+
+    private void scan(String... officerIds) {
+        doAnswer(invocation -> {
+            Consumer<String> action = invocation.getArgument(0);
+            for (String officerId : officerIds) {
+                action.accept(officerId);
+            }
+            return null;
+        }).when(repository).forEachId(any());
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("disqualification.id.filter.lookups").tag("result", result).counter().count();
+    }
+}
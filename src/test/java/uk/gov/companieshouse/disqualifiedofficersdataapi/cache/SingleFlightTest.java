@@ -0,0 +1,124 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.NotFoundException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.ServiceUnavailableException;
+
+class SingleFlightTest {
+
+    private static final String KEY = "officerId";
+    private static final int WAITERS = 4;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(WAITERS + 1);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CountDownLatch loading = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentCallers() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofSeconds(5), meterRegistry);
+        Future<String> leader = executor.submit(() -> flight.load(KEY, key -> blockingLoad("value")));
+        loading.await(5, TimeUnit.SECONDS);
+        List<Future<String>> waiters = submitWaiters(flight);
+        awaitCoalesced(WAITERS);
+
+        release.countDown();
+
+        assertEquals("value", leader.get(5, TimeUnit.SECONDS));
+        for (Future<String> waiter : waiters) {
+            assertEquals("value", waiter.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldPropagateLoadErrorToEveryCaller() throws Exception {
+        NotFoundException notFound = new NotFoundException("not found");
+        SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofSeconds(5), meterRegistry);
+        Future<String> leader = executor.submit(() -> flight.load(KEY, key -> {
+            blockingLoad(null);
+            throw notFound;
+        }));
+        loading.await(5, TimeUnit.SECONDS);
+        List<Future<String>> waiters = submitWaiters(flight);
+        awaitCoalesced(WAITERS);
+
+        release.countDown();
+
+        assertSame(notFound, assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS))
+                .getCause());
+        for (Future<String> waiter : waiters) {
+            assertSame(notFound, assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS))
+                    .getCause());
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldStopWaitingAfterTimeout() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofMillis(50), meterRegistry);
+        executor.submit(() -> flight.load(KEY, key -> blockingLoad("value")));
+        loading.await(5, TimeUnit.SECONDS);
+
+        assertThrows(ServiceUnavailableException.class, () -> flight.load(KEY, key -> "other"));
+    }
+
+    @Test
+    void shouldLoadAgainOnceFlightCompletes() {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofSeconds(5), meterRegistry);
+
+        flight.load(KEY, key -> String.valueOf(loads.incrementAndGet()));
+
+        assertEquals("2", flight.load(KEY, key -> String.valueOf(loads.incrementAndGet())));
+    }
+
+    private String blockingLoad(String value) {
+        loads.incrementAndGet();
+        loading.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+
+    private List<Future<String>> submitWaiters(SingleFlight<String, String> flight) {
+        List<Future<String>> waiters = new ArrayList<>();
+        for (int i = 0; i < WAITERS; i++) {
+            waiters.add(executor.submit(() -> flight.load(KEY, key -> blockingLoad("unexpected"))));
+        }
+        return waiters;
+    }
+
+    private void awaitCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("disqualification.single.flight.coalesced").counter().count() < expected
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
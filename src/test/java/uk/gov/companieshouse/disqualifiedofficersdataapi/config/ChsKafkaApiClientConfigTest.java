@@ -0,0 +1,28 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+
+class ChsKafkaApiClientConfigTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldSizePoolForSingleRouteAndPublishPoolMetrics() {
+        try (PoolingHttpClientConnectionManager connectionManager = new ChsKafkaApiClientConfig()
+                .chsKafkaApiConnectionManager(20, Duration.ofSeconds(2), Duration.ofSeconds(5),
+                        Duration.ofMinutes(5), meterRegistry)) {
+
+            assertEquals(20, connectionManager.getMaxTotal());
+            assertEquals(20, connectionManager.getDefaultMaxPerRoute());
+            assertEquals(20.0, meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                    .tag("httpclient", "chs-kafka-api").gauge().value());
+            assertEquals(0.0, meterRegistry.get("httpcomponents.httpclient.pool.total.pending")
+                    .tag("httpclient", "chs-kafka-api").gauge().value());
+        }
+    }
+}
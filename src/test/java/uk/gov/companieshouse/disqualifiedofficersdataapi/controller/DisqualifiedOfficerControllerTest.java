@@ -8,14 +8,17 @@ import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -24,6 +27,10 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.github.dockerjava.api.exception.InternalServerErrorException;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.bson.RawBsonDocument;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -40,21 +47,33 @@ import org.springframework.test.web.servlet.MvcResult;
 import uk.gov.companieshouse.api.disqualification.InternalDisqualificationApiInternalData;
 import uk.gov.companieshouse.api.disqualification.InternalNaturalDisqualificationApi;
 import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.cache.CompressedBodyCache;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.config.ExceptionHandlerConfig;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.config.WebSecurityConfig;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.converter.RawDisqualificationDataHttpMessageConverter;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadRequestException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.ConflictException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.MethodNotAllowedException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.NotFoundException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.ServiceUnavailableException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BatchLookupRequest;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BatchLookupResponse;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkUpsertRequest;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkUpsertResponse;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DeleteRequestParameters;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.Updated;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.UpsertOutcome;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.service.BatchLookupService;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.service.BulkDisqualifiedOfficerService;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.service.DeleteDisqualifiedOfficerService;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.service.DisqualifiedOfficerService;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.transform.PublicJsonRenderer;
 
 @ExtendWith(SpringExtension.class)
 @WebMvcTest(controllers = DisqualifiedOfficerController.class)
-@ContextConfiguration(classes = {DisqualifiedOfficerController.class, ExceptionHandlerConfig.class})
+@ContextConfiguration(classes = {DisqualifiedOfficerController.class, ExceptionHandlerConfig.class,
+        RawDisqualificationDataHttpMessageConverter.class})
 @Import({WebSecurityConfig.class})
 class DisqualifiedOfficerControllerTest {
 
@@ -67,6 +86,10 @@ class DisqualifiedOfficerControllerTest {
     private static final String DELETE_CORPORATE_URL = String.format("/disqualified-officers/%s/%s/internal", CORPORATE, OFFICER_ID);
     private static final String DELTA_AT = "20240925171003950844";
     private static final String STALE_DELTA_AT = "20220925171003950844";
+    private static final String ETAG = "etag-1234";
+    private static final String RESPONSE_ETAG = ETAG + "-v" + PublicJsonRenderer.VERSION;
+    private static final String BATCH_URL = "/disqualified-officers/batch";
+    private static final String BULK_URL = "/disqualified-officers/bulk/internal";
 
     @Autowired
     private MockMvc mockMvc;
@@ -77,6 +100,15 @@ class DisqualifiedOfficerControllerTest {
     @MockitoBean
     private DeleteDisqualifiedOfficerService deleteService;
 
+    @MockitoBean
+    private BatchLookupService batchLookupService;
+
+    @MockitoBean
+    private BulkDisqualifiedOfficerService bulkService;
+
+    @MockitoBean
+    private CompressedBodyCache compressedBodyCache;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -412,8 +444,11 @@ class DisqualifiedOfficerControllerTest {
     @DisplayName("Disqualified Officer GET request")
     void callDisqualifiedOfficerGetRequest() throws Exception {
         NaturalDisqualificationDocument naturalDisqualification = new NaturalDisqualificationDocument();
+        naturalDisqualification.setData(new NaturalDisqualificationApi());
+        naturalDisqualification.setRawData(RawBsonDocument.parse("{\"surname\": \"SURNAME\"}"));
         NaturalDisqualificationApi data = new NaturalDisqualificationApi();
-        naturalDisqualification.setData(data);
+        data.setSurname("SURNAME");
+        data.setKind(NaturalDisqualificationApi.KindEnum.NATURAL_DISQUALIFICATION);
 
         doReturn(naturalDisqualification)
                 .when(disqualifiedOfficerService).retrieveNaturalDisqualification(anyString());
@@ -430,12 +465,27 @@ class DisqualifiedOfficerControllerTest {
                 objectMapper.readValue(result.getResponse().getContentAsString(), NaturalDisqualificationApi.class));
     }
 
+    @Test
+    @DisplayName("Disqualified Officer GET request returns an empty body when the document has no data")
+    void callDisqualifiedOfficerGetRequestWithoutData() throws Exception {
+        doReturn(new NaturalDisqualificationDocument())
+                .when(disqualifiedOfficerService).retrieveNaturalDisqualification(anyString());
+
+        mockMvc.perform(get(NATURAL_GET_URL)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "key"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(""));
+    }
+
     @Test
     @DisplayName("Disqualified Officer GET request with oauth2 success")
     void callDisqualifiedOfficerGetRequestOauth2() throws Exception {
         NaturalDisqualificationDocument naturalDisqualification = new NaturalDisqualificationDocument();
         NaturalDisqualificationApi data = new NaturalDisqualificationApi();
         naturalDisqualification.setData(data);
+        naturalDisqualification.setRawData(RawBsonDocument.parse("{}"));
 
         doReturn(naturalDisqualification)
                 .when(disqualifiedOfficerService).retrieveNaturalDisqualification(anyString());
@@ -448,6 +498,72 @@ class DisqualifiedOfficerControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @DisplayName("Disqualified Officer GET request returns the stored public_json as is")
+    void callDisqualifiedOfficerGetRequestReturnsPublicJson() throws Exception {
+        String publicJson = "{\"kind\":\"natural-disqualification\",\"etag\":\"" + ETAG + "\"}";
+        NaturalDisqualificationDocument naturalDisqualification = naturalDocument();
+        naturalDisqualification.setPublicJson(publicJson.getBytes(StandardCharsets.UTF_8))
+                .setPublicJsonVersion(PublicJsonRenderer.VERSION);
+        doReturn(naturalDisqualification)
+                .when(disqualifiedOfficerService).retrieveNaturalDisqualification(anyString());
+
+        mockMvc.perform(get(NATURAL_GET_URL)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "key"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, APPLICATION_JSON.toString()))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + RESPONSE_ETAG + "\""))
+                .andExpect(content().string(publicJson));
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer GET request returns the stored public_json gzip compressed when accepted")
+    void callDisqualifiedOfficerGetRequestReturnsCompressedPublicJson() throws Exception {
+        byte[] publicJson = "{\"kind\":\"natural-disqualification\"}".getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = {31, -117, 8};
+        NaturalDisqualificationDocument naturalDisqualification = naturalDocument();
+        naturalDisqualification.setPublicJson(publicJson).setPublicJsonVersion(PublicJsonRenderer.VERSION);
+        doReturn(naturalDisqualification)
+                .when(disqualifiedOfficerService).retrieveNaturalDisqualification(anyString());
+        doReturn(compressed).when(compressedBodyCache).gzip(OFFICER_ID, RESPONSE_ETAG, publicJson);
+
+        mockMvc.perform(get(NATURAL_GET_URL)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "key")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + RESPONSE_ETAG + "-gzip\""))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(content().bytes(compressed));
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer GET request returns the stored public_json uncompressed when gzip is refused")
+    void callDisqualifiedOfficerGetRequestReturnsUncompressedPublicJsonWhenGzipRefused() throws Exception {
+        byte[] publicJson = "{\"kind\":\"natural-disqualification\"}".getBytes(StandardCharsets.UTF_8);
+        NaturalDisqualificationDocument naturalDisqualification = naturalDocument();
+        naturalDisqualification.setPublicJson(publicJson).setPublicJsonVersion(PublicJsonRenderer.VERSION);
+        doReturn(naturalDisqualification)
+                .when(disqualifiedOfficerService).retrieveNaturalDisqualification(anyString());
+
+        mockMvc.perform(get(NATURAL_GET_URL)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "key")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "*, gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + RESPONSE_ETAG + "\""))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(content().bytes(publicJson));
+
+        verify(compressedBodyCache, never()).gzip(any(), any(), any());
+    }
+
     @Test
     @DisplayName("DisqualifiedOfficer GET request - NotFoundException status code 404 resource not found")
     void callDisqualifiedOfficerGetRequestWhenDocumentNotFound() throws Exception {
@@ -462,6 +578,237 @@ class DisqualifiedOfficerControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("Disqualified Officer GET request returns ETag and Last-Modified headers")
+    void callDisqualifiedOfficerGetRequestReturnsValidators() throws Exception {
+        doReturn(naturalDocument())
+                .when(disqualifiedOfficerService).retrieveNaturalDisqualification(anyString());
+
+        mockMvc.perform(get(NATURAL_GET_URL)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "key"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + RESPONSE_ETAG + "\""))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+
+        verify(disqualifiedOfficerService, never()).retrieveNaturalDisqualificationValidators(anyString());
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer GET request with matching If-None-Match returns 304 without loading document")
+    void callDisqualifiedOfficerGetRequestNotModified() throws Exception {
+        doReturn(naturalDocument())
+                .when(disqualifiedOfficerService).retrieveNaturalDisqualificationValidators(anyString());
+
+        mockMvc.perform(get(NATURAL_GET_URL)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "key")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + RESPONSE_ETAG + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + RESPONSE_ETAG + "\""))
+                .andExpect(content().string(""));
+
+        verify(disqualifiedOfficerService, never()).retrieveNaturalDisqualification(anyString());
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer GET request with matching gzip If-None-Match returns 304 with that ETag")
+    void callDisqualifiedOfficerGetRequestNotModifiedGzip() throws Exception {
+        doReturn(naturalDocument())
+                .when(disqualifiedOfficerService).retrieveNaturalDisqualificationValidators(anyString());
+
+        mockMvc.perform(get(NATURAL_GET_URL)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "key")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + RESPONSE_ETAG + "-gzip\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + RESPONSE_ETAG + "-gzip\""));
+
+        verify(disqualifiedOfficerService, never()).retrieveNaturalDisqualification(anyString());
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer GET request with If-None-Match of an earlier render version returns the body")
+    void callDisqualifiedOfficerGetRequestModifiedByRenderVersion() throws Exception {
+        doReturn(naturalDocument())
+                .when(disqualifiedOfficerService).retrieveNaturalDisqualificationValidators(anyString());
+        doReturn(naturalDocument())
+                .when(disqualifiedOfficerService).retrieveNaturalDisqualification(anyString());
+
+        mockMvc.perform(get(NATURAL_GET_URL)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "key")
+                        .header(HttpHeaders.IF_NONE_MATCH,
+                                "\"" + ETAG + "-v" + (PublicJsonRenderer.VERSION - 1) + "\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + RESPONSE_ETAG + "\""))
+                .andExpect(content().string(containsString(ETAG)));
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer GET request with If-Modified-Since after last update returns 304")
+    void callDisqualifiedOfficerGetRequestNotModifiedSince() throws Exception {
+        doReturn(naturalDocument())
+                .when(disqualifiedOfficerService).retrieveNaturalDisqualificationValidators(anyString());
+
+        mockMvc.perform(get(NATURAL_GET_URL)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "key")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Sun, 01 Jan 2090 00:00:00 GMT"))
+                .andExpect(status().isNotModified());
+
+        verify(disqualifiedOfficerService, never()).retrieveNaturalDisqualification(anyString());
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer GET request with stale If-None-Match returns full document")
+    void callDisqualifiedOfficerGetRequestModified() throws Exception {
+        doReturn(naturalDocument())
+                .when(disqualifiedOfficerService).retrieveNaturalDisqualificationValidators(anyString());
+        doReturn(naturalDocument())
+                .when(disqualifiedOfficerService).retrieveNaturalDisqualification(anyString());
+
+        mockMvc.perform(get(NATURAL_GET_URL)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "key")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"other-etag\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + RESPONSE_ETAG + "\""))
+                .andExpect(content().string(containsString(ETAG)));
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer conditional GET request returns the validators of the document served")
+    void callDisqualifiedOfficerGetRequestModifiedSinceValidatorsRead() throws Exception {
+        NaturalDisqualificationDocument validators = naturalDocument();
+        validators.getData().setEtag("older-etag");
+        validators.setUpdated(new Updated().setAt(LocalDateTime.of(2024, 9, 24, 0, 0)));
+        doReturn(validators)
+                .when(disqualifiedOfficerService).retrieveNaturalDisqualificationValidators(anyString());
+        doReturn(naturalDocument())
+                .when(disqualifiedOfficerService).retrieveNaturalDisqualification(anyString());
+
+        mockMvc.perform(get(NATURAL_GET_URL)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "key")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"other-etag\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + RESPONSE_ETAG + "\""))
+                .andExpect(header().string(HttpHeaders.LAST_MODIFIED, "Wed, 25 Sep 2024 17:10:03 GMT"));
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer conditional GET request - NotFoundException status code 404")
+    void callDisqualifiedOfficerConditionalGetRequestWhenDocumentNotFound() throws Exception {
+        doThrow(new NotFoundException("Document not found"))
+                .when(disqualifiedOfficerService).retrieveNaturalDisqualificationValidators(anyString());
+
+        mockMvc.perform(get(NATURAL_GET_URL)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "key")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + RESPONSE_ETAG + "\""))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer bulk PUT request returns per item status")
+    void callDisqualifiedOfficerBulkPutRequest() throws Exception {
+        doReturn(new BulkUpsertResponse(List.of(
+                new BulkUpsertResponse.Result(OFFICER_ID, NATURAL, UpsertOutcome.APPLIED, null),
+                new BulkUpsertResponse.Result("other", CORPORATE, UpsertOutcome.STALE, "stale"))))
+                .when(bulkService).processDisqualifications(anyString(), any());
+
+        mockMvc.perform(put(BULK_URL)
+                        .contentType(APPLICATION_JSON)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "Test-Identity")
+                        .header("ERIC-Identity-Type", "Key")
+                        .header("ERIC-Authorised-Key-Privileges", "internal-app")
+                        .content("{\"natural\":[{\"officer_id\":\"" + OFFICER_ID + "\",\"data\":{}}],"
+                                + "\"corporate\":[{\"officer_id\":\"other\",\"data\":{}}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].status").value("applied"))
+                .andExpect(jsonPath("$.items[0].officer_type").value(NATURAL))
+                .andExpect(jsonPath("$.items[1].status").value("stale"));
+
+        verify(bulkService).processDisqualifications(anyString(), isA(BulkUpsertRequest.class));
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer bulk PUT request fails without internal app privileges")
+    void callDisqualifiedOfficerBulkPutRequestWithoutPrivileges() throws Exception {
+        mockMvc.perform(put(BULK_URL)
+                        .contentType(APPLICATION_JSON)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "Test-Identity")
+                        .header("ERIC-Identity-Type", "Key")
+                        .content("{\"natural\":[]}"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer batch POST request returns per item results")
+    void callDisqualifiedOfficerBatchRequest() throws Exception {
+        BatchLookupRequest request = new BatchLookupRequest(List.of(
+                new BatchLookupRequest.Item(OFFICER_ID, NATURAL), new BatchLookupRequest.Item("missing", null)));
+        doReturn(new BatchLookupResponse(List.of(
+                new BatchLookupResponse.Result(OFFICER_ID, BatchLookupResponse.Status.FOUND,
+                        new NaturalDisqualificationApi()),
+                new BatchLookupResponse.Result("missing", BatchLookupResponse.Status.NOT_FOUND, null))))
+                .when(batchLookupService).lookup(request);
+
+        mockMvc.perform(post(BATCH_URL)
+                        .contentType(APPLICATION_JSON)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "Test-Identity")
+                        .header("ERIC-Identity-Type", "Key")
+                        .header("ERIC-Authorised-Key-Privileges", "internal-app")
+                        .content("{\"items\":[{\"officer_id\":\"" + OFFICER_ID + "\",\"officer_type\":\"natural\"},"
+                                + "{\"officer_id\":\"missing\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].officer_id").value(OFFICER_ID))
+                .andExpect(jsonPath("$.items[0].status").value("found"))
+                .andExpect(jsonPath("$.items[1].status").value("not_found"))
+                .andExpect(jsonPath("$.items[1].data").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer batch POST request fails without internal app privileges")
+    void callDisqualifiedOfficerBatchRequestWithoutPrivileges() throws Exception {
+        mockMvc.perform(post(BATCH_URL)
+                        .contentType(APPLICATION_JSON)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "Test-Identity")
+                        .header("ERIC-Identity-Type", "oauth2")
+                        .content("{\"items\":[]}"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer batch POST request too large returns 400")
+    void callDisqualifiedOfficerBatchRequestBadRequest() throws Exception {
+        doThrow(new BadRequestException("too many"))
+                .when(batchLookupService).lookup(any());
+
+        mockMvc.perform(post(BATCH_URL)
+                        .contentType(APPLICATION_JSON)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "Test-Identity")
+                        .header("ERIC-Identity-Type", "Key")
+                        .header("ERIC-Authorised-Key-Privileges", "internal-app")
+                        .content("{\"items\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Disqualified Officer OPTIONS request - CORS")
     void callDisqualifiedOfficerOptionsRequestCORS() throws Exception {
@@ -484,6 +831,7 @@ class DisqualifiedOfficerControllerTest {
         NaturalDisqualificationDocument naturalDisqualification = new NaturalDisqualificationDocument();
         NaturalDisqualificationApi data = new NaturalDisqualificationApi();
         naturalDisqualification.setData(data);
+        naturalDisqualification.setRawData(RawBsonDocument.parse("{}"));
 
         doReturn(naturalDisqualification)
                 .when(disqualifiedOfficerService).retrieveNaturalDisqualification(anyString());
@@ -501,6 +849,7 @@ class DisqualifiedOfficerControllerTest {
                 .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_METHODS, containsString("GET")))
                 .andReturn();
 
+        data.setKind(NaturalDisqualificationApi.KindEnum.NATURAL_DISQUALIFICATION);
         assertEquals(data,
                 objectMapper.readValue(result.getResponse().getContentAsString(), NaturalDisqualificationApi.class));
     }
@@ -549,4 +898,13 @@ class DisqualifiedOfficerControllerTest {
                 .andReturn();
     }
 
+    private static NaturalDisqualificationDocument naturalDocument() {
+        NaturalDisqualificationApi data = new NaturalDisqualificationApi();
+        data.setEtag(ETAG);
+        NaturalDisqualificationDocument document = new NaturalDisqualificationDocument();
+        document.setData(data);
+        document.setRawData(RawBsonDocument.parse("{\"etag\": \"" + ETAG + "\"}"));
+        document.setUpdated(new Updated().setAt(LocalDateTime.of(2024, 9, 25, 17, 10, 3)));
+        return document;
+    }
 }
@@ -0,0 +1,80 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.converter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.api.disqualification.DisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.PermissionToAct;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.config.ApplicationConfig;
+
+class BsonDocumentReaderTest {
+
+    private final ObjectMapper objectMapper = ApplicationConfig.mongoDbObjectMapper();
+
+    @Test
+    void shouldProduceSameTokensAsRelaxedJson() throws Exception {
+        Document document = new Document("string", "value")
+                .append("boolean", true)
+                .append("int", 42)
+                .append("small_long", 7L)
+                .append("long", 9_000_000_000L)
+                .append("double", 1.5)
+                .append("whole_double", 2.0)
+                .append("nan", Double.NaN)
+                .append("null", null)
+                .append("date", Date.from(Instant.parse("2024-01-21T00:00:00Z")))
+                .append("date_with_millis", Date.from(Instant.parse("2024-01-21T13:31:29.395Z")))
+                .append("pre_epoch_date", Date.from(Instant.parse("1965-05-04T00:00:00Z")))
+                .append("object_id", new ObjectId("65a5d54f3f8e3b2a1c9d0e7f"))
+                .append("decimal", Decimal128.parse("10.25"))
+                .append("array", Arrays.asList("a", 1, null, new Document("nested", 2L)))
+                .append("document", new Document("inner", List.of(1.0, "b")));
+
+        assertEquals(objectMapper.readTree(document.toJson()),
+                BsonDocumentReader.read(objectMapper, document, JsonNode.class));
+    }
+
+    @Test
+    void shouldReadSameModelAsJsonRoundTrip() throws Exception {
+        Document document = new Document("forename", "Jane")
+                .append("surname", "Doe")
+                .append("date_of_birth", Date.from(Instant.parse("1965-05-04T00:00:00Z")))
+                .append("kind", "natural-disqualification")
+                .append("disqualifications", List.of(new Document("case_identifier", "case")
+                        .append("disqualified_from", Date.from(Instant.parse("2024-01-21T00:00:00Z")))
+                        .append("company_names", List.of("Company Ltd"))
+                        .append("address", new Document("premises", "1").append("postal_code", "CF14 3UZ"))
+                        .append("reason", new Document("act", "company-directors-disqualification-act-1986")
+                                .append("section", "6"))))
+                .append("permissions_to_act", List.of(new Document("company_names", List.of("Other Ltd"))
+                        .append("court_name", "Court")
+                        .append("granted_on", Date.from(Instant.parse("2024-02-01T00:00:00Z")))
+                        .append("purpose", "ignored")));
+
+        NaturalDisqualificationApi expected = objectMapper.readValue(document.toJson(),
+                NaturalDisqualificationApi.class);
+        NaturalDisqualificationApi actual = BsonDocumentReader.read(objectMapper, document,
+                NaturalDisqualificationApi.class);
+
+        assertEquals(expected, actual);
+        assertEquals(LocalDate.of(2024, 1, 21), actual.getDisqualifications().getFirst().getDisqualifiedFrom());
+        assertEquals(Map.of("premises", "1", "postal_code", "CF14 3UZ"),
+                actual.getDisqualifications().getFirst().getAddress());
+        PermissionToAct permission = actual.getPermissionsToAct().getFirst();
+        assertEquals(LocalDate.of(2024, 2, 1), permission.getGrantedOn());
+        DisqualificationApi disqualification = actual.getDisqualifications().getFirst();
+        assertEquals(List.of("Company Ltd"), disqualification.getCompanyNames());
+    }
+}
@@ -0,0 +1,172 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.converter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mongodb.BasicDBObject;
+import com.mongodb.MongoClientSettings;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.DisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.PermissionToAct;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.config.ApplicationConfig;
+
+class BsonJsonWriterTest {
+
+    private static final String NATURAL_KIND = NaturalDisqualificationApi.KindEnum.NATURAL_DISQUALIFICATION.getValue();
+    private static final String CORPORATE_KIND =
+            CorporateDisqualificationApi.KindEnum.CORPORATE_DISQUALIFICATION.getValue();
+
+    private final ObjectMapper mongoObjectMapper = ApplicationConfig.mongoDbObjectMapper();
+    // Configured as Spring Boot configures the HTTP ObjectMapper for this application
+    private final ObjectMapper httpObjectMapper = Jackson2ObjectMapperBuilder.json()
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final BsonJsonWriter bsonJsonWriter = new BsonJsonWriter(httpObjectMapper);
+
+    @Test
+    void shouldWriteSameJsonAsReadingAndSerialisingNaturalData() throws Exception {
+        NaturalDisqualificationApi api = naturalDisqualification();
+        RawBsonDocument raw = raw(api);
+
+        NaturalDisqualificationApi read = BsonDocumentReader.read(mongoObjectMapper, raw.decode(new DocumentCodec()),
+                NaturalDisqualificationApi.class);
+        read.setKind(NaturalDisqualificationApi.KindEnum.NATURAL_DISQUALIFICATION);
+
+        assertEquals(httpObjectMapper.writeValueAsString(read), write(raw, NATURAL_KIND));
+    }
+
+    @Test
+    void shouldWriteSameJsonAsReadingAndSerialisingCorporateData() throws Exception {
+        CorporateDisqualificationApi api = new CorporateDisqualificationApi();
+        api.setName("Acme Ltd");
+        api.setCompanyNumber("01234567");
+        api.setDisqualifications(naturalDisqualification().getDisqualifications());
+        RawBsonDocument raw = raw(api);
+
+        CorporateDisqualificationApi read = BsonDocumentReader.read(mongoObjectMapper,
+                raw.decode(new DocumentCodec()), CorporateDisqualificationApi.class);
+        read.setKind(CorporateDisqualificationApi.KindEnum.CORPORATE_DISQUALIFICATION);
+
+        assertEquals(httpObjectMapper.writeValueAsString(read),
+                write(raw, CorporateDisqualificationApi.class, CORPORATE_KIND));
+    }
+
+    @Test
+    void shouldWriteKindInPlaceOfStoredKind() throws Exception {
+        RawBsonDocument raw = RawBsonDocument.parse("{\"kind\": \"stored-kind\", \"surname\": \"Doe\"}");
+
+        assertEquals("{\"surname\":\"Doe\",\"kind\":\"" + NATURAL_KIND + "\"}", write(raw, NATURAL_KIND));
+    }
+
+    @Test
+    void shouldWriteModelPropertiesInModelOrder() throws Exception {
+        RawBsonDocument raw = RawBsonDocument.parse("{\"etag\": \"etag\", \"surname\": \"Doe\", "
+                + "\"disqualifications\": [{\"court_name\": \"Court\", \"case_identifier\": \"CASE-1\"}], "
+                + "\"forename\": \"Jane\"}");
+
+        assertEquals("{\"forename\":\"Jane\",\"surname\":\"Doe\",\"kind\":\"" + NATURAL_KIND + "\","
+                + "\"etag\":\"etag\",\"disqualifications\":[{\"case_identifier\":\"CASE-1\","
+                + "\"court_name\":\"Court\"}]}", write(raw, NATURAL_KIND));
+    }
+
+    @Test
+    void shouldLeaveOutPropertiesNotInTheModel() throws Exception {
+        RawBsonDocument raw = RawBsonDocument.parse("{\"surname\": \"Doe\", \"officer_id\": \"1234\", "
+                + "\"disqualifications\": [{\"court_name\": \"Court\", \"legacy\": true}]}");
+
+        assertEquals("{\"surname\":\"Doe\",\"kind\":\"" + NATURAL_KIND + "\","
+                + "\"disqualifications\":[{\"court_name\":\"Court\"}]}", write(raw, NATURAL_KIND));
+    }
+
+    @Test
+    void shouldKeepEveryEntryOfFreeFormMaps() throws Exception {
+        RawBsonDocument raw = RawBsonDocument.parse("{\"disqualifications\": [{\"address\": "
+                + "{\"postal_code\": \"CF14 3UZ\", \"premises\": \"1\", \"extra\": {\"line\": 2}}}]}");
+
+        assertEquals("{\"kind\":\"" + NATURAL_KIND + "\",\"disqualifications\":[{\"address\":"
+                + "{\"postal_code\":\"CF14 3UZ\",\"premises\":\"1\",\"extra\":{\"line\":2}}}]}",
+                write(raw, NATURAL_KIND));
+    }
+
+    @Test
+    void shouldLeaveOutPurposeOfPermissionsToAct() throws Exception {
+        RawBsonDocument raw = RawBsonDocument.parse(
+                "{\"permissions_to_act\": [{\"court_name\": \"Court\", \"purpose\": \"x\"}]}");
+
+        JsonNode json = httpObjectMapper.readTree(write(raw, NATURAL_KIND));
+
+        assertEquals("Court", json.get("permissions_to_act").get(0).get("court_name").asText());
+        assertFalse(json.get("permissions_to_act").get(0).has("purpose"));
+    }
+
+    @Test
+    void shouldWriteOnlyKindOfEmptyData() throws Exception {
+        assertEquals("{\"kind\":\"" + NATURAL_KIND + "\"}", write(new RawBsonDocument(new byte[] {5, 0, 0, 0, 0}),
+                NATURAL_KIND));
+    }
+
+    private RawBsonDocument raw(Object api) throws Exception {
+        return new RawBsonDocument(BsonObjectWriter.write(mongoObjectMapper, api),
+                MongoClientSettings.getDefaultCodecRegistry().get(BasicDBObject.class));
+    }
+
+    private String write(RawBsonDocument raw, String kind) throws Exception {
+        return write(raw, NaturalDisqualificationApi.class, kind);
+    }
+
+    private String write(RawBsonDocument raw, Class<?> type, String kind) throws Exception {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = httpObjectMapper.getFactory().createGenerator(writer)) {
+            bsonJsonWriter.write(raw, type, kind, generator);
+        }
+        return writer.toString();
+    }
+
+    private static NaturalDisqualificationApi naturalDisqualification() {
+        Map<String, Object> address = new LinkedHashMap<>();
+        address.put("premises", "1");
+        address.put("address_line_1", "Crown Way");
+        Map<String, Object> reason = new LinkedHashMap<>();
+        reason.put("act", "company-directors-disqualification-act-1986");
+        reason.put("section", "6");
+
+        DisqualificationApi disqualification = new DisqualificationApi();
+        disqualification.setCaseIdentifier("CASE-1");
+        disqualification.setCompanyNames(List.of("First Company Ltd", "Second Company Plc"));
+        disqualification.setDisqualificationType("court-order");
+        disqualification.setDisqualifiedFrom(LocalDate.of(2020, 1, 1));
+        disqualification.setDisqualifiedUntil(LocalDate.of(2030, 1, 1));
+        disqualification.setAddress(address);
+        disqualification.setReason(reason);
+
+        PermissionToAct permission = new PermissionToAct();
+        permission.setCompanyNames(List.of("Third Company Ltd"));
+        permission.setGrantedOn(LocalDate.of(2021, 6, 1));
+        permission.setPurpose("left out of responses");
+
+        NaturalDisqualificationApi api = new NaturalDisqualificationApi();
+        api.setForename("Jane");
+        api.setSurname("Doe");
+        api.setEtag("etag");
+        api.setDateOfBirth(LocalDate.of(1965, 5, 4));
+        api.setDisqualifications(List.of(disqualification));
+        api.setPermissionsToAct(List.of(permission));
+        return api;
+    }
+}
@@ -0,0 +1,120 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.converter;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.BasicDBObject;
+import com.mongodb.MongoClientSettings;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.bson.RawBsonDocument;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.api.disqualification.DisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.PermissionToAct;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.config.ApplicationConfig;
+
+class BsonObjectWriterTest {
+
+    private final ObjectMapper objectMapper = ApplicationConfig.mongoDbObjectMapper();
+
+    @Test
+    void shouldMatchGoldenDocument() throws Exception {
+        BasicDBObject object = BsonObjectWriter.write(objectMapper, naturalDisqualification());
+
+        assertEquals(golden("golden/natural-disqualification.json"),
+                object.toJson(JsonWriterSettings.builder().outputMode(JsonMode.EXTENDED).indent(true).build()));
+    }
+
+    @Test
+    void shouldWriteSameBytesAsJsonRoundTrip() throws Exception {
+        NaturalDisqualificationApi api = naturalDisqualification();
+
+        assertArrayEquals(bytes(BasicDBObject.parse(objectMapper.writeValueAsString(api))),
+                bytes(BsonObjectWriter.write(objectMapper, api)));
+    }
+
+    @Test
+    void shouldWriteSameValueTypesAsJsonRoundTrip() throws Exception {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("int", 42);
+        values.put("small_long", 7L);
+        values.put("long", 9_000_000_000L);
+        values.put("negative_long", -9_000_000_000L);
+        values.put("float", 1.1f);
+        values.put("double", 2.5);
+        values.put("whole_double", 3.0);
+        values.put("big_decimal", new BigDecimal("10.25"));
+        values.put("boolean", false);
+        values.put("string", "quote \" and \\ slash é");
+        values.put("date", LocalDate.of(1965, 5, 4));
+        values.put("array", Arrays.asList("a", 1, null, Map.of("nested", 2L)));
+        values.put("empty_object", Map.of());
+
+        assertArrayEquals(bytes(BasicDBObject.parse(objectMapper.writeValueAsString(values))),
+                bytes(BsonObjectWriter.write(objectMapper, values)));
+    }
+
+    private static byte[] bytes(BasicDBObject object) {
+        RawBsonDocument document = new RawBsonDocument(object,
+                MongoClientSettings.getDefaultCodecRegistry().get(BasicDBObject.class));
+        return Arrays.copyOf(document.getByteBuffer().array(), document.getByteBuffer().remaining());
+    }
+
+    private static String golden(String path) throws IOException {
+        try (InputStream stream = BsonObjectWriterTest.class.getClassLoader().getResourceAsStream(path)) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8).strip();
+        }
+    }
+
+    private static NaturalDisqualificationApi naturalDisqualification() {
+        List<DisqualificationApi> disqualifications = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Map<String, Object> address = new LinkedHashMap<>();
+            address.put("premises", "1");
+            address.put("address_line_1", "Crown Way");
+            address.put("postal_code", "CF14 3UZ");
+            Map<String, Object> reason = new LinkedHashMap<>();
+            reason.put("act", "company-directors-disqualification-act-1986");
+            reason.put("section", "6");
+
+            DisqualificationApi disqualification = new DisqualificationApi();
+            disqualification.setCaseIdentifier("CASE-" + i);
+            disqualification.setCompanyNames(List.of("First Company Ltd", "Second Company Plc"));
+            disqualification.setCourtName("Cardiff County Court");
+            disqualification.setDisqualificationType("court-order");
+            disqualification.setDisqualifiedFrom(LocalDate.of(2020, 1, 1 + i));
+            disqualification.setDisqualifiedUntil(LocalDate.of(2030, 1, 1 + i));
+            disqualification.setAddress(address);
+            disqualification.setReason(reason);
+            disqualifications.add(disqualification);
+        }
+        PermissionToAct permission = new PermissionToAct();
+        permission.setCompanyNames(List.of("Third Company Ltd"));
+        permission.setCourtName("Cardiff County Court");
+        permission.setGrantedOn(LocalDate.of(2021, 6, 1));
+        permission.setPurpose("ignored on write");
+
+        NaturalDisqualificationApi api = new NaturalDisqualificationApi();
+        api.setForename("Jane");
+        api.setSurname("Doe");
+        api.setOtherForenames("");
+        api.setPersonNumber("123456780001");
+        api.setDateOfBirth(LocalDate.of(1965, 5, 4));
+        api.setKind(NaturalDisqualificationApi.KindEnum.NATURAL_DISQUALIFICATION);
+        api.setDisqualifications(disqualifications);
+        api.setPermissionsToAct(List.of(permission));
+        return api;
+    }
+}
@@ -0,0 +1,65 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class DataMapHolderTest {
+
+    @AfterEach
+    void tearDown() {
+        DataMapHolder.clear();
+    }
+
+    @Test
+    void shouldBuildLogMapOnceUntilContextChanges() {
+        DataMapHolder.initialise("request-id");
+
+        assertSame(DataMapHolder.getLogMap(), DataMapHolder.getLogMap());
+
+        var before = DataMapHolder.getLogMap();
+        DataMapHolder.officerId("officer-id");
+
+        assertNotSame(before, DataMapHolder.getLogMap());
+        assertEquals("officer-id", DataMapHolder.getLogMap().get("officer_id"));
+        assertEquals("request-id", DataMapHolder.getRequestId());
+    }
+
+    @Test
+    void shouldNotChangeContextAlreadyHandedOut() {
+        DataMapHolder.initialise("request-id");
+        RequestContext handedOut = DataMapHolder.current();
+
+        DataMapHolder.officerType("natural");
+
+        assertNull(handedOut.getLogMap().get("officer_type"));
+        assertEquals("natural", DataMapHolder.getLogMap().get("officer_type"));
+    }
+
+    @Test
+    void shouldRunTaskOnAnotherThreadWithCapturedContext() {
+        DataMapHolder.initialise("request-id");
+        RequestContext context = DataMapHolder.current();
+
+        String requestId = CompletableFuture.supplyAsync(
+                () -> DataMapHolder.callWith(context, DataMapHolder::getRequestId)).join();
+
+        assertEquals("request-id", requestId);
+    }
+
+    @Test
+    void shouldRestorePreviousContextAfterRunWith() {
+        DataMapHolder.initialise("outer");
+
+        DataMapHolder.runWith(RequestContext.of("inner").withOfficerId("officer-id"),
+                () -> assertEquals("inner", DataMapHolder.getRequestId()));
+
+        assertEquals("outer", DataMapHolder.getRequestId());
+        assertNull(DataMapHolder.getLogMap().get("officer_id"));
+    }
+}
@@ -0,0 +1,489 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.CorporateDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.Created;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.Updated;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.UpsertOutcome;
+
+@ExtendWith(MockitoExtension.class)
+class DisqualifiedOfficerRepositoryCustomImplTest {
+
+    private static final String OFFICER_ID = "officerId";
+    private static final String DELTA_AT = "20240925171003950844";
+    private static final long DELTA_AT_MICROS = 1727284203950844L;
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 9, 25, 17, 10, 3);
+
+    @InjectMocks
+    private DisqualifiedOfficerRepositoryCustomImpl repository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Captor
+    private ArgumentCaptor<Query> queryCaptor;
+    @Captor
+    private ArgumentCaptor<Update> updateCaptor;
+    @Captor
+    private ArgumentCaptor<Document> documentCaptor;
+
+    private DisqualificationDocument document;
+
+    @BeforeEach
+    void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        lenient().when(mongoTemplate.getConverter()).thenReturn(converter);
+
+        document = new DisqualificationDocument()
+                .setId(OFFICER_ID)
+                .setDeltaAt(DELTA_AT)
+                .setOfficerIdRaw("raw")
+                .setUpdated(new Updated().setAt(NOW))
+                .setCreated(new Created().setAt(NOW));
+    }
+
+    @Test
+    void shouldUpsertWithDeltaAtGuardAndSetCreatedOnlyOnInsert() {
+        when(mongoTemplate.upsert(queryCaptor.capture(), updateCaptor.capture(), eq(DisqualificationDocument.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, new BsonString(OFFICER_ID)));
+
+        assertEquals(UpsertOutcome.APPLIED, repository.upsertIfNotStale(document, true));
+
+        Document filter = queryCaptor.getValue().getQueryObject();
+        assertEquals(OFFICER_ID, filter.get("_id"));
+        assertEquals(List.of(new Document("delta_at", new Document("$lte", DELTA_AT)),
+                new Document("delta_at", null)), filter.get("$or"));
+
+        Document update = updateCaptor.getValue().getUpdateObject();
+        Document set = update.get("$set", Document.class);
+        assertEquals(DELTA_AT, set.get("delta_at"));
+        assertEquals("raw", set.get("officer_id_raw"));
+        assertFalse(set.containsKey("_id"));
+        assertFalse(set.containsKey("created"));
+        assertTrue(update.get("$setOnInsert", Document.class).containsKey("created"));
+        assertTrue(update.get("$unset", Document.class).containsKey("officer_disq_id"));
+        assertTrue(update.get("$unset", Document.class).containsKey("data"));
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), any(Class.class));
+    }
+
+    @Test
+    void shouldRetryUpdateAfterConcurrentInsert() {
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(DisqualificationDocument.class)))
+                .thenThrow(new DuplicateKeyException("duplicate"));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(DisqualificationDocument.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        assertEquals(UpsertOutcome.APPLIED, repository.upsertIfNotStale(document, true));
+        verify(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(DisqualificationDocument.class));
+    }
+
+    @Test
+    void shouldReturnStaleWithoutWritingWhenStoredDocumentIsMoreRecent() {
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(DisqualificationDocument.class)))
+                .thenThrow(new DuplicateKeyException("duplicate"));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(DisqualificationDocument.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        assertEquals(UpsertOutcome.STALE, repository.upsertIfNotStale(document, true));
+        verify(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(DisqualificationDocument.class));
+    }
+
+    @Test
+    void shouldOnlyAdvanceDeltaAtWhenContentIsUnchanged() {
+        document.setContentHash("hash");
+        when(mongoTemplate.upsert(queryCaptor.capture(), any(Update.class), eq(DisqualificationDocument.class)))
+                .thenThrow(new DuplicateKeyException("duplicate"));
+        when(mongoTemplate.updateFirst(queryCaptor.capture(), updateCaptor.capture(),
+                eq(DisqualificationDocument.class))).thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        assertEquals(UpsertOutcome.UNCHANGED, repository.upsertIfNotStale(document, true));
+
+        assertEquals(new Document("$ne", "hash"), queryCaptor.getAllValues().get(0).getQueryObject()
+                .get("content_hash"));
+        assertEquals("hash", queryCaptor.getAllValues().get(1).getQueryObject().get("content_hash"));
+        assertEquals(new Document("$set", new Document("delta_at", DELTA_AT))
+                        .append("$unset", new Document("delta_at_micros", 1)),
+                updateCaptor.getValue().getUpdateObject());
+    }
+
+    @Test
+    void shouldCompareContentHashButLeaveItUnsetWhenNotStored() {
+        document.setContentHash("hash");
+        when(mongoTemplate.upsert(queryCaptor.capture(), updateCaptor.capture(), eq(DisqualificationDocument.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        assertEquals(UpsertOutcome.APPLIED, repository.upsertIfNotStale(document, false));
+
+        assertEquals(new Document("$ne", "hash"), queryCaptor.getValue().getQueryObject().get("content_hash"));
+        Document update = updateCaptor.getValue().getUpdateObject();
+        assertFalse(update.get("$set", Document.class).containsKey("content_hash"));
+        assertTrue(update.get("$unset", Document.class).containsKey("content_hash"));
+    }
+
+    @Test
+    void shouldReportUnchangedContentWhoseHashIsNotStoredByTheWrite() {
+        document.setContentHash("hash");
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(DisqualificationDocument.class)))
+                .thenThrow(new DuplicateKeyException("duplicate"));
+        when(mongoTemplate.updateFirst(queryCaptor.capture(), updateCaptor.capture(),
+                eq(DisqualificationDocument.class))).thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        assertEquals(UpsertOutcome.UNCHANGED, repository.upsertIfNotStale(document, false));
+
+        assertEquals("hash", queryCaptor.getValue().getQueryObject().get("content_hash"));
+        assertFalse(updateCaptor.getValue().getUpdateObject().get("$set", Document.class)
+                .containsKey("content_hash"));
+    }
+
+    @Test
+    void shouldReturnStaleWhenUnchangedContentIsStale() {
+        document.setContentHash("hash");
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(DisqualificationDocument.class)))
+                .thenThrow(new DuplicateKeyException("duplicate"));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(DisqualificationDocument.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        assertEquals(UpsertOutcome.STALE, repository.upsertIfNotStale(document, true));
+        verify(mongoTemplate, times(2)).updateFirst(any(Query.class), any(Update.class),
+                eq(DisqualificationDocument.class));
+    }
+
+    @Test
+    void shouldRethrowDuplicateKeyInsideTransaction() {
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(DisqualificationDocument.class)))
+                .thenThrow(new DuplicateKeyException("duplicate"));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThrows(DuplicateKeyException.class, () -> repository.upsertIfNotStale(document, true));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), any(Class.class));
+    }
+
+    @Test
+    void shouldResolveWriteNotMadeAsUnchanged() {
+        document.setContentHash("hash");
+        when(mongoTemplate.updateFirst(queryCaptor.capture(), any(Update.class), eq(DisqualificationDocument.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        assertEquals(UpsertOutcome.UNCHANGED, repository.resolveNotWritten(document));
+        assertEquals("hash", queryCaptor.getValue().getQueryObject().get("content_hash"));
+    }
+
+    @Test
+    void shouldResolveWriteNotMadeAsStale() {
+        document.setContentHash("hash");
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(DisqualificationDocument.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+        when(mongoTemplate.exists(any(Query.class), eq(DisqualificationDocument.class))).thenReturn(false);
+
+        assertEquals(UpsertOutcome.STALE, repository.resolveNotWritten(document));
+    }
+
+    @Test
+    void shouldFailWriteNotMadeThatLostARaceToInsert() {
+        when(mongoTemplate.exists(queryCaptor.capture(), eq(DisqualificationDocument.class))).thenReturn(true);
+
+        assertThrows(ConcurrencyFailureException.class, () -> repository.resolveNotWritten(document));
+        assertEquals(OFFICER_ID, queryCaptor.getValue().getQueryObject().get("_id"));
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), any(Class.class));
+    }
+
+    @Test
+    void shouldFindAndDeleteWithTypeAndDeltaAtGuard() {
+        when(mongoTemplate.findAndRemove(queryCaptor.capture(), eq(DisqualificationDocument.class)))
+                .thenReturn(document);
+
+        assertEquals(Optional.of(document),
+                repository.findAndDeleteIfNotStale(OFFICER_ID, DELTA_AT, null, true,
+                        DisqualificationDocument.class));
+
+        Document filter = queryCaptor.getValue().getQueryObject();
+        assertEquals(OFFICER_ID, filter.get("_id"));
+        assertEquals(true, filter.get("is_corporate_officer"));
+        assertEquals(List.of(new Document("delta_at", new Document("$lte", DELTA_AT)),
+                new Document("delta_at", null)), filter.get("$or"));
+    }
+
+    @Test
+    void shouldCompareDeltaAtMicrosAndFallBackToDeltaAtWhereNotBackfilled() {
+        document.setDeltaAtMicros(DELTA_AT_MICROS);
+        when(mongoTemplate.upsert(queryCaptor.capture(), updateCaptor.capture(), eq(DisqualificationDocument.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        assertEquals(UpsertOutcome.APPLIED, repository.upsertIfNotStale(document, true));
+
+        Document filter = queryCaptor.getValue().getQueryObject();
+        assertEquals(OFFICER_ID, filter.get("_id"));
+        assertEquals(List.of(new Document("delta_at_micros", new Document("$lte", DELTA_AT_MICROS)),
+                new Document("delta_at_micros", null).append("$or", List.of(
+                        new Document("delta_at", new Document("$lte", DELTA_AT)),
+                        new Document("delta_at", null)))), filter.get("$or"));
+        assertEquals(DELTA_AT_MICROS, updateCaptor.getValue().getUpdateObject().get("$set", Document.class)
+                .get("delta_at_micros"));
+    }
+
+    @Test
+    void shouldAdvanceDeltaAtMicrosWithDeltaAtWhenContentIsUnchanged() {
+        document.setContentHash("hash").setDeltaAtMicros(DELTA_AT_MICROS);
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(DisqualificationDocument.class)))
+                .thenThrow(new DuplicateKeyException("duplicate"));
+        when(mongoTemplate.updateFirst(any(Query.class), updateCaptor.capture(), eq(DisqualificationDocument.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        assertEquals(UpsertOutcome.UNCHANGED, repository.upsertIfNotStale(document, true));
+
+        assertEquals(new Document("$set", new Document("delta_at", DELTA_AT)
+                        .append("delta_at_micros", DELTA_AT_MICROS)),
+                updateCaptor.getValue().getUpdateObject());
+    }
+
+    @Test
+    void shouldFindDocumentsWithoutDeltaAtMicrosAfterId() {
+        when(mongoTemplate.find(queryCaptor.capture(), eq(DisqualificationDocument.class)))
+                .thenReturn(List.of(document));
+
+        assertEquals(List.of(document), repository.findWithoutDeltaAtMicros("after", 10));
+
+        Query query = queryCaptor.getValue();
+        assertEquals(new Document("delta_at_micros", null)
+                .append("delta_at", new Document("$ne", null))
+                .append("_id", new Document("$gt", "after")), query.getQueryObject());
+        assertEquals(new Document("_id", 1), query.getSortObject());
+        assertEquals(new Document("delta_at", 1), query.getFieldsObject());
+        assertEquals(10, query.getLimit());
+    }
+
+    @Test
+    void shouldBackfillDeltaAtMicrosOnlyWhereDeltaAtIsUnchanged() {
+        document.setDeltaAtMicros(DELTA_AT_MICROS);
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, DisqualificationDocument.class)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+
+        assertEquals(1, repository.updateDeltaAtMicros(List.of(document)));
+
+        verify(bulkOperations).updateOne(queryCaptor.capture(), updateCaptor.capture());
+        assertEquals(new Document("_id", OFFICER_ID).append("delta_at", DELTA_AT).append("delta_at_micros", null),
+                queryCaptor.getValue().getQueryObject());
+        assertEquals(new Document("$set", new Document("delta_at_micros", DELTA_AT_MICROS)),
+                updateCaptor.getValue().getUpdateObject());
+    }
+
+    @Test
+    void shouldStoreContentHashOnlyWhereDocumentIsUnchangedSinceWritten() {
+        NaturalDisqualificationDocument natural = new NaturalDisqualificationDocument();
+        NaturalDisqualificationApi data = new NaturalDisqualificationApi();
+        data.setEtag("etag");
+        natural.setData(data);
+        natural.setId(OFFICER_ID).setDeltaAt(DELTA_AT).setContentHash("hash");
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, DisqualificationDocument.class)).thenReturn(bulkOperations);
+
+        repository.storeContentHash(List.of(natural));
+
+        verify(bulkOperations).updateOne(queryCaptor.capture(), updateCaptor.capture());
+        assertEquals(new Document("_id", OFFICER_ID).append("delta_at", DELTA_AT).append("data.etag", "etag")
+                .append("content_hash", null), queryCaptor.getValue().getQueryObject());
+        assertEquals(new Document("$set", new Document("content_hash", "hash")),
+                updateCaptor.getValue().getUpdateObject());
+        verify(bulkOperations).execute();
+    }
+
+    @Test
+    void shouldFindAllByIdInAndReadEachDocumentAsItsType() {
+        when(mongoTemplate.getCollectionName(DisqualificationDocument.class)).thenReturn("disqualifications");
+        when(mongoTemplate.find(queryCaptor.capture(), eq(Document.class), eq("disqualifications")))
+                .thenReturn(List.of(new Document("_id", "natural").append("is_corporate_officer", false),
+                        new Document("_id", "corporate").append("is_corporate_officer", true)));
+
+        List<DisqualificationDocument> actual = repository.findAllTypedByIdIn(List.of("natural", "corporate"));
+
+        assertEquals(new Document("_id", new Document("$in", List.of("natural", "corporate"))),
+                queryCaptor.getValue().getQueryObject());
+        assertEquals(new Document("is_corporate_officer", 1).append("data", 1),
+                queryCaptor.getValue().getFieldsObject());
+        assertInstanceOf(NaturalDisqualificationDocument.class, actual.get(0));
+        assertInstanceOf(CorporateDisqualificationDocument.class, actual.get(1));
+        assertEquals("corporate", actual.get(1).getId());
+    }
+
+    @Test
+    void shouldFindOnlyPublicJsonByIdIn() {
+        when(mongoTemplate.getCollectionName(DisqualificationDocument.class)).thenReturn("disqualifications");
+        when(mongoTemplate.find(queryCaptor.capture(), eq(Document.class), eq("disqualifications")))
+                .thenReturn(List.of(new Document("_id", "corporate").append("is_corporate_officer", true)
+                        .append("public_json_version", 2)));
+
+        List<DisqualificationDocument> actual = repository.findAllPublicJsonByIdIn(List.of("corporate"));
+
+        assertEquals(new Document("is_corporate_officer", 1).append("public_json", 1)
+                .append("public_json_version", 1), queryCaptor.getValue().getFieldsObject());
+        assertInstanceOf(CorporateDisqualificationDocument.class, actual.getFirst());
+        assertEquals(2, actual.getFirst().getPublicJsonVersion());
+    }
+
+    @Test
+    void shouldClassifyBulkWritesOnTheStoredState() {
+        DisqualificationDocument inserted = bulkDocument("inserted", "hash");
+        DisqualificationDocument changed = bulkDocument("changed", "hash");
+        DisqualificationDocument unchanged = bulkDocument("unchanged", "hash");
+        DisqualificationDocument stale = bulkDocument("stale", "hash");
+        when(mongoTemplate.getCollectionName(DisqualificationDocument.class)).thenReturn("disqualifications");
+        when(mongoTemplate.find(queryCaptor.capture(), eq(Document.class), eq("disqualifications")))
+                .thenReturn(List.of(
+                        new Document("_id", "changed").append("delta_at", DELTA_AT).append("content_hash", "old"),
+                        new Document("_id", "unchanged").append("delta_at", "20240101000000000000")
+                                .append("content_hash", "hash"),
+                        new Document("_id", "stale").append("delta_at", "20250101000000000000")));
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, DisqualificationDocument.class)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(BulkWriteResult.acknowledged(1, 2, 0, 2, List.of(), List.of()));
+
+        List<UpsertOutcome> outcomes = repository.bulkUpsertIfNotStale(List.of(inserted, changed, unchanged, stale),
+                true);
+
+        assertEquals(List.of(UpsertOutcome.APPLIED, UpsertOutcome.APPLIED, UpsertOutcome.UNCHANGED,
+                UpsertOutcome.STALE), outcomes);
+        assertEquals(new Document("_id", new Document("$in", List.of("inserted", "changed", "unchanged", "stale"))),
+                queryCaptor.getValue().getQueryObject());
+        verify(bulkOperations).insert(documentCaptor.capture());
+        assertEquals("inserted", documentCaptor.getValue().get("_id"));
+        verify(bulkOperations, times(2)).updateOne(queryCaptor.capture(), updateCaptor.capture());
+        assertEquals(new Document("$ne", "hash"), queryCaptor.getAllValues().get(1).getQueryObject()
+                .get("content_hash"));
+        assertEquals("hash", queryCaptor.getAllValues().get(2).getQueryObject().get("content_hash"));
+        assertEquals(new Document("delta_at", DELTA_AT),
+                updateCaptor.getAllValues().get(1).getUpdateObject().get("$set"));
+        verify(bulkOperations, never()).upsert(any(Query.class), any(Update.class));
+    }
+
+    @Test
+    void shouldClassifyBulkWritesOnContentHashNotStoredByTheWrite() {
+        DisqualificationDocument changed = bulkDocument("changed", "hash");
+        DisqualificationDocument unchanged = bulkDocument("unchanged", "hash");
+        when(mongoTemplate.getCollectionName(DisqualificationDocument.class)).thenReturn("disqualifications");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("disqualifications")))
+                .thenReturn(List.of(new Document("_id", "changed").append("delta_at", DELTA_AT),
+                        new Document("_id", "unchanged").append("delta_at", DELTA_AT).append("content_hash", "hash")));
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, DisqualificationDocument.class)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(BulkWriteResult.acknowledged(0, 2, 0, 2, List.of(), List.of()));
+
+        assertEquals(List.of(UpsertOutcome.APPLIED, UpsertOutcome.UNCHANGED),
+                repository.bulkUpsertIfNotStale(List.of(changed, unchanged), false));
+
+        verify(bulkOperations, times(2)).updateOne(queryCaptor.capture(), updateCaptor.capture());
+        assertEquals(new Document("$ne", "hash"), queryCaptor.getAllValues().get(0).getQueryObject()
+                .get("content_hash"));
+        assertTrue(updateCaptor.getAllValues().get(0).getUpdateObject().get("$unset", Document.class)
+                .containsKey("content_hash"));
+        assertEquals("hash", queryCaptor.getAllValues().get(1).getQueryObject().get("content_hash"));
+    }
+
+    @Test
+    void shouldNotWriteBulkOfStaleDocuments() {
+        document.setDeltaAtMicros(DELTA_AT_MICROS);
+        when(mongoTemplate.getCollectionName(DisqualificationDocument.class)).thenReturn("disqualifications");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("disqualifications")))
+                .thenReturn(List.of(new Document("_id", OFFICER_ID).append("delta_at", "20250101000000000000")
+                        .append("delta_at_micros", DELTA_AT_MICROS + 1)));
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, DisqualificationDocument.class)).thenReturn(bulkOperations);
+
+        assertEquals(List.of(UpsertOutcome.STALE), repository.bulkUpsertIfNotStale(List.of(document), true));
+        verify(bulkOperations, never()).execute();
+    }
+
+    @Test
+    void shouldReadBackUpdatesThatMatchedNothingAndRetryRacedInserts() {
+        DisqualificationDocument inserted = bulkDocument("inserted", null);
+        DisqualificationDocument overtaken = bulkDocument("overtaken", null);
+        DisqualificationDocument failed = bulkDocument("failed", null);
+        when(mongoTemplate.getCollectionName(DisqualificationDocument.class)).thenReturn("disqualifications");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("disqualifications")))
+                .thenReturn(List.of(new Document("_id", "overtaken").append("delta_at", DELTA_AT),
+                        new Document("_id", "failed").append("delta_at", DELTA_AT)))
+                .thenReturn(List.of(new Document("_id", "overtaken").append("delta_at", "20250101000000000000"),
+                        new Document("_id", "failed").append("delta_at", DELTA_AT)));
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, DisqualificationDocument.class)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenThrow(bulkException(
+                new BulkWriteError(11000, "duplicate", new BsonDocument(), 0),
+                new BulkWriteError(2, "bad value", new BsonDocument(), 2)));
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(DisqualificationDocument.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        List<UpsertOutcome> outcomes = repository.bulkUpsertIfNotStale(List.of(inserted, overtaken, failed), true);
+
+        assertEquals(List.of(UpsertOutcome.APPLIED, UpsertOutcome.STALE, UpsertOutcome.FAILED), outcomes);
+        verify(mongoTemplate).upsert(queryCaptor.capture(), any(Update.class), eq(DisqualificationDocument.class));
+        assertEquals("inserted", queryCaptor.getValue().getQueryObject().get("_id"));
+    }
+
+    @Test
+    void shouldNotWriteEmptyBulk() {
+        assertEquals(List.of(), repository.bulkUpsertIfNotStale(List.of(), true));
+        verify(mongoTemplate, never()).bulkOps(any(BulkMode.class), any(Class.class));
+    }
+
+    private static DisqualificationDocument bulkDocument(String id, String contentHash) {
+        return new DisqualificationDocument().setId(id).setDeltaAt(DELTA_AT).setContentHash(contentHash)
+                .setUpdated(new Updated().setAt(NOW));
+    }
+
+    private static BulkOperationException bulkException(BulkWriteError... errors) {
+        return new BulkOperationException("bulk write failed", new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of()), List.of(errors), null, new ServerAddress(), Set.of()));
+    }
+}
@@ -0,0 +1,170 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadRequestException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BatchLookupRequest;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BatchLookupRequest.Item;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BatchLookupResponse;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BatchLookupResponse.Status;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.CorporateDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualifiedOfficerRepository;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.transform.PublicJsonRenderer;
+
+@ExtendWith(MockitoExtension.class)
+class BatchLookupServiceTest {
+
+    private static final String NATURAL_ID = "natural-id";
+    private static final String CORPORATE_ID = "corporate-id";
+    private static final String MISSING_ID = "missing-id";
+
+    @Mock
+    private DisqualifiedOfficerRepository repository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private BatchLookupService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BatchLookupService(repository, 3);
+    }
+
+    @Test
+    void shouldServeStoredBodiesWithOneQueryAndReportPerItem() throws Exception {
+        NaturalDisqualificationDocument natural = rendered(new NaturalDisqualificationDocument(), NATURAL_ID,
+                "{\"kind\":\"natural-disqualification\"}");
+        CorporateDisqualificationDocument corporate = rendered(new CorporateDisqualificationDocument(),
+                CORPORATE_ID, "{\"kind\":\"corporate-disqualification\"}");
+        corporate.setCorporateOfficer(true);
+        when(repository.findAllPublicJsonByIdIn(Set.of(NATURAL_ID, CORPORATE_ID, MISSING_ID)))
+                .thenReturn(List.of(natural, corporate));
+
+        BatchLookupResponse response = service.lookup(new BatchLookupRequest(List.of(
+                new Item(NATURAL_ID, "natural"),
+                new Item(CORPORATE_ID, null),
+                new Item(MISSING_ID, "corporate"))));
+
+        assertEquals(3, response.items().size());
+        assertEquals(Status.FOUND, response.items().get(0).status());
+        assertEquals("{\"kind\":\"natural-disqualification\"}",
+                objectMapper.writeValueAsString(response.items().get(0).data()));
+        assertEquals(Status.FOUND, response.items().get(1).status());
+        assertEquals("{\"kind\":\"corporate-disqualification\"}",
+                objectMapper.writeValueAsString(response.items().get(1).data()));
+        assertEquals(MISSING_ID, response.items().get(2).officerId());
+        assertEquals(Status.NOT_FOUND, response.items().get(2).status());
+        assertNull(response.items().get(2).data());
+        verify(repository, never()).findAllTypedByIdIn(any());
+    }
+
+    @Test
+    void shouldReadDataOfDocumentsNotRenderedAtTheCurrentVersion() {
+        NaturalDisqualificationDocument rendered = rendered(new NaturalDisqualificationDocument(), NATURAL_ID,
+                "{}");
+        CorporateDisqualificationDocument outdated = new CorporateDisqualificationDocument();
+        outdated.setId(CORPORATE_ID).setCorporateOfficer(true).setPublicJson(new byte[0])
+                .setPublicJsonVersion(PublicJsonRenderer.VERSION - 1);
+        CorporateDisqualificationDocument corporate = new CorporateDisqualificationDocument();
+        corporate.setData(new CorporateDisqualificationApi());
+        corporate.setId(CORPORATE_ID).setCorporateOfficer(true);
+        when(repository.findAllPublicJsonByIdIn(Set.of(NATURAL_ID, CORPORATE_ID)))
+                .thenReturn(List.of(rendered, outdated));
+        when(repository.findAllTypedByIdIn(Set.of(CORPORATE_ID))).thenReturn(List.of(corporate));
+
+        BatchLookupResponse response = service.lookup(new BatchLookupRequest(List.of(
+                new Item(NATURAL_ID, null), new Item(CORPORATE_ID, "corporate"))));
+
+        assertEquals(Status.FOUND, response.items().get(1).status());
+        assertEquals(CorporateDisqualificationApi.KindEnum.CORPORATE_DISQUALIFICATION,
+                ((CorporateDisqualificationApi) response.items().get(1).data()).getKind());
+    }
+
+    @Test
+    void shouldReportDocumentDeletedBetweenQueriesAsNotFound() {
+        NaturalDisqualificationDocument unrendered = new NaturalDisqualificationDocument();
+        unrendered.setId(NATURAL_ID);
+        when(repository.findAllPublicJsonByIdIn(any())).thenReturn(List.of(unrendered));
+        when(repository.findAllTypedByIdIn(Set.of(NATURAL_ID))).thenReturn(Collections.emptyList());
+
+        BatchLookupResponse response = service.lookup(
+                new BatchLookupRequest(List.of(new Item(NATURAL_ID, null))));
+
+        assertEquals(Status.NOT_FOUND, response.items().getFirst().status());
+    }
+
+    @Test
+    void shouldReportWrongTypeInline() {
+        NaturalDisqualificationDocument natural = rendered(new NaturalDisqualificationDocument(), NATURAL_ID,
+                "{}");
+        when(repository.findAllPublicJsonByIdIn(any())).thenReturn(List.of(natural));
+
+        BatchLookupResponse response = service.lookup(
+                new BatchLookupRequest(List.of(new Item(NATURAL_ID, "corporate"))));
+
+        assertEquals(Status.WRONG_TYPE, response.items().getFirst().status());
+        assertNull(response.items().getFirst().data());
+    }
+
+    @Test
+    void shouldQueryDuplicateIdsOnceAndAnswerEachItem() {
+        when(repository.findAllPublicJsonByIdIn(any())).thenReturn(Collections.emptyList());
+
+        BatchLookupResponse response = service.lookup(new BatchLookupRequest(List.of(
+                new Item(MISSING_ID, null), new Item(MISSING_ID, null))));
+
+        assertEquals(2, response.items().size());
+        verify(repository).findAllPublicJsonByIdIn(Set.of(MISSING_ID));
+    }
+
+    @Test
+    void shouldRejectBatchLargerThanMaxSize() {
+        BatchLookupRequest request = new BatchLookupRequest(List.of(new Item("1", null), new Item("2", null),
+                new Item("3", null), new Item("4", null)));
+
+        assertThrows(BadRequestException.class, () -> service.lookup(request));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldRejectEmptyBatch() {
+        BatchLookupRequest request = new BatchLookupRequest(List.of());
+
+        assertThrows(BadRequestException.class, () -> service.lookup(request));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldRejectInvalidOfficerType() {
+        BatchLookupRequest request = new BatchLookupRequest(List.of(new Item(NATURAL_ID, "invalid")));
+
+        assertThrows(BadRequestException.class, () -> service.lookup(request));
+        verifyNoInteractions(repository);
+    }
+
+    private static <T extends DisqualificationDocument> T rendered(T document, String id, String publicJson) {
+        document.setId(id);
+        document.setPublicJson(publicJson.getBytes(StandardCharsets.UTF_8))
+                .setPublicJsonVersion(PublicJsonRenderer.VERSION);
+        return document;
+    }
+}
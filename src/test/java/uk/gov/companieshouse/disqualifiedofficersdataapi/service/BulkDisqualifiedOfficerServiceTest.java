@@ -0,0 +1,306 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.InternalCorporateDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.InternalDisqualificationApiInternalData;
+import uk.gov.companieshouse.api.disqualification.InternalNaturalDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.api.DisqualifiedOfficerApiService;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.api.ResourceChangedRequest;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.cache.DisqualificationCache;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.cache.OfficerIdFilter;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadRequestException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkUpsertRequest;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkUpsertRequest.CorporateItem;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkUpsertRequest.NaturalItem;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkUpsertResponse;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.CorporateDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.OutboxEvent;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.Updated;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.UpsertOutcome;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualifiedOfficerRepository;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.OutboxEventRepository;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.transform.DisqualificationTransformer;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.transform.PublicJsonRenderer;
+
+@ExtendWith(MockitoExtension.class)
+class BulkDisqualifiedOfficerServiceTest {
+
+    private static final String CONTEXT_ID = "context-id";
+    private static final OffsetDateTime DELTA_AT = OffsetDateTime.of(2024, 9, 25, 17, 10, 3, 0, ZoneOffset.UTC);
+
+    @Mock
+    private DisqualifiedOfficerRepository repository;
+    @Mock
+    private DisqualificationTransformer transformer;
+    @Mock
+    private DisqualifiedOfficerApiService disqualifiedOfficerApiService;
+    @Mock
+    private DisqualificationCache cache;
+    @Mock
+    private OfficerIdFilter idFilter;
+    @Mock
+    private OutboxEventRepository outboxRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private PublicJsonRenderer renderer;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BulkDisqualifiedOfficerService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BulkDisqualifiedOfficerService(repository, transformer, renderer, new ResourceChangedPublisher(
+                disqualifiedOfficerApiService, outboxRepository, transactionTemplate, false), cache, idFilter, 3,
+                meterRegistry);
+    }
+
+    @Test
+    void shouldWriteAllItemsInOneBulkAndReportPerItemStatus() {
+        InternalNaturalDisqualificationApi natural = naturalRequest(DELTA_AT);
+        InternalNaturalDisqualificationApi staleNatural = naturalRequest(DELTA_AT);
+        InternalCorporateDisqualificationApi corporate = corporateRequest();
+        NaturalDisqualificationDocument naturalDocument = naturalDocument("natural-1");
+        NaturalDisqualificationDocument staleDocument = naturalDocument("natural-2");
+        CorporateDisqualificationDocument corporateDocument = corporateDocument("corporate-1");
+        when(transformer.transformNaturalDisqualifiedOfficer("natural-1", natural)).thenReturn(naturalDocument);
+        when(transformer.transformNaturalDisqualifiedOfficer("natural-2", staleNatural)).thenReturn(staleDocument);
+        when(transformer.transformCorporateDisqualifiedOfficer("corporate-1", corporate))
+                .thenReturn(corporateDocument);
+        when(repository.bulkUpsertIfNotStale(List.of(naturalDocument, staleDocument, corporateDocument), false))
+                .thenReturn(List.of(UpsertOutcome.APPLIED, UpsertOutcome.STALE, UpsertOutcome.FAILED));
+
+        BulkUpsertResponse response = service.processDisqualifications(CONTEXT_ID, new BulkUpsertRequest(
+                List.of(new NaturalItem("natural-1", natural), new NaturalItem("natural-2", staleNatural)),
+                List.of(new CorporateItem("corporate-1", corporate))));
+
+        assertEquals(List.of(
+                new BulkUpsertResponse.Result("natural-1", "natural", UpsertOutcome.APPLIED, null),
+                new BulkUpsertResponse.Result("natural-2", "natural", UpsertOutcome.STALE,
+                        "Delta at field on request is stale"),
+                new BulkUpsertResponse.Result("corporate-1", "corporate", UpsertOutcome.FAILED,
+                        "MongoDB error when inserting/updating document")), response.items());
+        assertEquals(naturalDocument.getUpdated().getAt(), naturalDocument.getCreated().getAt());
+        verify(cache).invalidate("natural-1");
+        verify(cache, never()).invalidate("natural-2");
+        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest(CONTEXT_ID, "natural-1",
+                DisqualificationResourceType.NATURAL, null, false));
+        verify(disqualifiedOfficerApiService, never()).invokeChsKafkaApi(new ResourceChangedRequest(CONTEXT_ID,
+                "natural-2", DisqualificationResourceType.NATURAL, null, false));
+    }
+
+    @Test
+    void shouldNotPublishItemsWithUnchangedContent() {
+        InternalNaturalDisqualificationApi natural = naturalRequest(DELTA_AT);
+        NaturalDisqualificationDocument naturalDocument = naturalDocument("natural-1");
+        when(transformer.transformNaturalDisqualifiedOfficer("natural-1", natural)).thenReturn(naturalDocument);
+        when(repository.bulkUpsertIfNotStale(List.of(naturalDocument), false))
+                .thenReturn(List.of(UpsertOutcome.UNCHANGED));
+
+        BulkUpsertResponse response = service.processDisqualifications(CONTEXT_ID, new BulkUpsertRequest(
+                List.of(new NaturalItem("natural-1", natural)), null));
+
+        assertEquals(List.of(new BulkUpsertResponse.Result("natural-1", "natural", UpsertOutcome.UNCHANGED,
+                "Content on request is unchanged, only delta at updated")), response.items());
+        verify(cache, never()).invalidate(any());
+        verifyNoInteractions(disqualifiedOfficerApiService);
+        assertEquals(1.0, meterRegistry.get("disqualification.writes.unchanged").tag("path", "bulk")
+                .counter().count());
+    }
+
+    @Test
+    void shouldKeepOnlyMostRecentItemForAnOfficer() {
+        InternalNaturalDisqualificationApi older = naturalRequest(DELTA_AT.minusDays(1));
+        InternalNaturalDisqualificationApi newer = naturalRequest(DELTA_AT);
+        NaturalDisqualificationDocument newerDocument = naturalDocument("natural-1");
+        when(transformer.transformNaturalDisqualifiedOfficer("natural-1", newer)).thenReturn(newerDocument);
+        when(repository.bulkUpsertIfNotStale(List.of(newerDocument), false))
+                .thenReturn(List.of(UpsertOutcome.APPLIED));
+
+        BulkUpsertResponse response = service.processDisqualifications(CONTEXT_ID, new BulkUpsertRequest(
+                List.of(new NaturalItem("natural-1", newer), new NaturalItem("natural-1", older)), null));
+
+        assertEquals(UpsertOutcome.APPLIED, response.items().get(0).status());
+        assertEquals(UpsertOutcome.STALE, response.items().get(1).status());
+        verify(transformer, never()).transformNaturalDisqualifiedOfficer("natural-1", older);
+    }
+
+    @Test
+    void shouldReportInvalidItemsAsFailedWithoutWritingThem() {
+        InternalNaturalDisqualificationApi invalid = new InternalNaturalDisqualificationApi();
+        invalid.setInternalData(new InternalDisqualificationApiInternalData());
+        invalid.setExternalData(new NaturalDisqualificationApi());
+        when(repository.bulkUpsertIfNotStale(List.of(), false)).thenReturn(List.of());
+
+        BulkUpsertResponse response = service.processDisqualifications(CONTEXT_ID, new BulkUpsertRequest(
+                List.of(new NaturalItem("natural-1", invalid), new NaturalItem(null, naturalRequest(DELTA_AT))),
+                null));
+
+        assertEquals(UpsertOutcome.FAILED, response.items().get(0).status());
+        assertEquals(UpsertOutcome.FAILED, response.items().get(1).status());
+        verifyNoInteractions(transformer);
+        verifyNoInteractions(disqualifiedOfficerApiService);
+    }
+
+    @Test
+    void shouldReportAppliedItemAsFailedWhenNotificationFails() {
+        InternalNaturalDisqualificationApi natural = naturalRequest(DELTA_AT);
+        NaturalDisqualificationDocument naturalDocument = naturalDocument("natural-1");
+        when(transformer.transformNaturalDisqualifiedOfficer("natural-1", natural)).thenReturn(naturalDocument);
+        when(repository.bulkUpsertIfNotStale(List.of(naturalDocument), false))
+                .thenReturn(List.of(UpsertOutcome.APPLIED));
+        doThrow(new BadGatewayException("error")).when(disqualifiedOfficerApiService).invokeChsKafkaApi(any());
+
+        BulkUpsertResponse response = service.processDisqualifications(CONTEXT_ID, new BulkUpsertRequest(
+                List.of(new NaturalItem("natural-1", natural)), null));
+
+        assertEquals(new BulkUpsertResponse.Result("natural-1", "natural", UpsertOutcome.FAILED,
+                "Document saved but ChsKafka api CHANGED call failed"), response.items().getFirst());
+        verify(cache).invalidate("natural-1");
+    }
+
+    @Test
+    void shouldStoreContentHashOnlyOfItemsWhoseNotificationWasSent() {
+        InternalNaturalDisqualificationApi natural = naturalRequest(DELTA_AT);
+        InternalNaturalDisqualificationApi failing = naturalRequest(DELTA_AT);
+        NaturalDisqualificationDocument naturalDocument = naturalDocument("natural-1");
+        NaturalDisqualificationDocument failingDocument = naturalDocument("natural-2");
+        naturalDocument.setContentHash("hash-1");
+        failingDocument.setContentHash("hash-2");
+        when(transformer.transformNaturalDisqualifiedOfficer("natural-1", natural)).thenReturn(naturalDocument);
+        when(transformer.transformNaturalDisqualifiedOfficer("natural-2", failing)).thenReturn(failingDocument);
+        when(repository.bulkUpsertIfNotStale(List.of(naturalDocument, failingDocument), false))
+                .thenAnswer(invocation -> {
+                    // Compared by the write, which leaves them unset
+                    assertEquals("hash-1", naturalDocument.getContentHash());
+                    assertEquals("hash-2", failingDocument.getContentHash());
+                    return List.of(UpsertOutcome.APPLIED, UpsertOutcome.APPLIED);
+                });
+        when(disqualifiedOfficerApiService.invokeChsKafkaApi(any())).thenAnswer(invocation -> {
+            if ("natural-2".equals(invocation.<ResourceChangedRequest>getArgument(0).getOfficerId())) {
+                throw new BadGatewayException("error");
+            }
+            return null;
+        });
+
+        BulkUpsertResponse response = service.processDisqualifications(CONTEXT_ID, new BulkUpsertRequest(
+                List.of(new NaturalItem("natural-1", natural), new NaturalItem("natural-2", failing)), null));
+
+        assertEquals(UpsertOutcome.APPLIED, response.items().get(0).status());
+        assertEquals(UpsertOutcome.FAILED, response.items().get(1).status());
+        verify(repository).storeContentHash(List.of(naturalDocument));
+        assertEquals("hash-1", naturalDocument.getContentHash());
+    }
+
+    @Test
+    void shouldWriteOutboxEventsOfAppliedItemsInTheBulkTransaction() {
+        service = new BulkDisqualifiedOfficerService(repository, transformer, renderer, new ResourceChangedPublisher(
+                disqualifiedOfficerApiService, outboxRepository, transactionTemplate, true), cache, idFilter, 3,
+                meterRegistry);
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        InternalNaturalDisqualificationApi natural = naturalRequest(DELTA_AT);
+        InternalNaturalDisqualificationApi staleNatural = naturalRequest(DELTA_AT);
+        NaturalDisqualificationDocument naturalDocument = naturalDocument("natural-1");
+        NaturalDisqualificationDocument staleDocument = naturalDocument("natural-2");
+        when(transformer.transformNaturalDisqualifiedOfficer("natural-1", natural)).thenReturn(naturalDocument);
+        when(transformer.transformNaturalDisqualifiedOfficer("natural-2", staleNatural)).thenReturn(staleDocument);
+        when(repository.bulkUpsertIfNotStale(List.of(naturalDocument, staleDocument), true))
+                .thenReturn(List.of(UpsertOutcome.APPLIED, UpsertOutcome.STALE));
+
+        BulkUpsertResponse response = service.processDisqualifications(CONTEXT_ID, new BulkUpsertRequest(
+                List.of(new NaturalItem("natural-1", natural), new NaturalItem("natural-2", staleNatural)), null));
+
+        assertEquals(UpsertOutcome.APPLIED, response.items().getFirst().status());
+        ArgumentCaptor<List<OutboxEvent>> events = ArgumentCaptor.captor();
+        verify(outboxRepository).insert(events.capture());
+        assertEquals(List.of(new ResourceChangedRequest(CONTEXT_ID, "natural-1", DisqualificationResourceType.NATURAL,
+                null, false)), events.getValue().stream().map(OutboxEvent::toResourceChangedRequest).toList());
+        verify(cache).invalidate("natural-1");
+        verifyNoInteractions(disqualifiedOfficerApiService);
+    }
+
+    @Test
+    void shouldThrowBadGatewayWhenBulkWriteFails() {
+        InternalNaturalDisqualificationApi natural = naturalRequest(DELTA_AT);
+        when(transformer.transformNaturalDisqualifiedOfficer("natural-1", natural))
+                .thenReturn(naturalDocument("natural-1"));
+        when(repository.bulkUpsertIfNotStale(any(), anyBoolean()))
+                .thenThrow(new DataAccessResourceFailureException("error"));
+
+        BulkUpsertRequest request = new BulkUpsertRequest(List.of(new NaturalItem("natural-1", natural)), null);
+
+        assertThrows(BadGatewayException.class, () -> service.processDisqualifications(CONTEXT_ID, request));
+        verifyNoInteractions(disqualifiedOfficerApiService);
+    }
+
+    @Test
+    void shouldRejectEmptyAndOversizedRequests() {
+        BulkUpsertRequest empty = new BulkUpsertRequest(List.of(), null);
+        BulkUpsertRequest oversized = new BulkUpsertRequest(List.of(
+                new NaturalItem("1", null), new NaturalItem("2", null), new NaturalItem("3", null)),
+                List.of(new CorporateItem("4", null)));
+
+        assertThrows(BadRequestException.class, () -> service.processDisqualifications(CONTEXT_ID, empty));
+        assertThrows(BadRequestException.class, () -> service.processDisqualifications(CONTEXT_ID, oversized));
+        verifyNoInteractions(repository);
+    }
+
+    private static InternalNaturalDisqualificationApi naturalRequest(OffsetDateTime deltaAt) {
+        InternalNaturalDisqualificationApi request = new InternalNaturalDisqualificationApi();
+        InternalDisqualificationApiInternalData internalData = new InternalDisqualificationApiInternalData();
+        internalData.setDeltaAt(deltaAt);
+        request.setInternalData(internalData);
+        request.setExternalData(new NaturalDisqualificationApi());
+        return request;
+    }
+
+    private static InternalCorporateDisqualificationApi corporateRequest() {
+        InternalCorporateDisqualificationApi request = new InternalCorporateDisqualificationApi();
+        InternalDisqualificationApiInternalData internalData = new InternalDisqualificationApiInternalData();
+        internalData.setDeltaAt(DELTA_AT);
+        request.setInternalData(internalData);
+        request.setExternalData(new CorporateDisqualificationApi());
+        return request;
+    }
+
+    private static NaturalDisqualificationDocument naturalDocument(String officerId) {
+        NaturalDisqualificationDocument document = new NaturalDisqualificationDocument();
+        document.setId(officerId).setUpdated(new Updated().setAt(LocalDateTime.now()));
+        return document;
+    }
+
+    private static CorporateDisqualificationDocument corporateDocument(String officerId) {
+        CorporateDisqualificationDocument document = new CorporateDisqualificationDocument();
+        document.setId(officerId).setCorporateOfficer(true).setUpdated(new Updated().setAt(LocalDateTime.now()));
+        return document;
+    }
+}
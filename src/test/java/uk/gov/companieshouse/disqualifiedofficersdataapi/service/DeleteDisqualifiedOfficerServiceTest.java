@@ -8,21 +8,25 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.HashMap;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.function.Executable;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
 import uk.gov.companieshouse.api.model.ApiResponse;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.api.DisqualifiedOfficerApiService;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.api.ResourceChangedRequest;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.cache.DisqualificationCache;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadRequestException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DeleteRequestParameters;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
-import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualifiedOfficerRepository;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.OutboxEventRepository;
 
 @ExtendWith(MockitoExtension.class)
 class DeleteDisqualifiedOfficerServiceTest {
@@ -36,24 +40,32 @@ class DeleteDisqualifiedOfficerServiceTest {
     private final ApiResponse<Void> successResponse = new ApiResponse<>(200, new HashMap<>());
     private final ApiResponse<Void> unsuccessfulResponse = new ApiResponse<>(503, new HashMap<>());
 
-    @InjectMocks
     private DeleteDisqualifiedOfficerService service;
 
-    @Mock
-    private DisqualifiedOfficerRepository repository;
     @Mock
     private DisqualifiedOfficerApiService disqualifiedOfficerApiService;
     @Mock
     private DeletionDataService deletionDataService;
+    @Mock
+    private DisqualificationCache cache;
+    @Mock
+    private OutboxEventRepository outboxRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
 
     @Mock
     private Object dataObject;
 
+    @BeforeEach
+    void setUp() {
+        service = new DeleteDisqualifiedOfficerService(new ResourceChangedPublisher(disqualifiedOfficerApiService,
+                outboxRepository, transactionTemplate, false), deletionDataService, cache);
+    }
 
     @Test
     void shouldDeleteCorporateDisqualification() {
         // given
-        when(deletionDataService.processCorporateDisqualificationData(anyString(), anyString())).thenReturn(dataObject);
+        when(deletionDataService.deleteCorporateDisqualificationData(anyString(), anyString())).thenReturn(dataObject);
         when(disqualifiedOfficerApiService.invokeChsKafkaApi(any())).thenReturn(successResponse);
 
         DeleteRequestParameters deleteRequestParameters = DeleteRequestParameters.builder()
@@ -67,8 +79,8 @@ class DeleteDisqualifiedOfficerServiceTest {
         service.deleteDisqualification(deleteRequestParameters);
 
         // then
-        verify(deletionDataService).processCorporateDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
-        verify(repository).deleteById(OFFICER_ID);
+        verify(deletionDataService).deleteCorporateDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
+        verify(cache).invalidate(OFFICER_ID);
         verify(disqualifiedOfficerApiService).invokeChsKafkaApi(
                 new ResourceChangedRequest(CONTEXT_ID, OFFICER_ID, DisqualificationResourceType.CORPORATE, dataObject,
                         true));
@@ -77,7 +89,7 @@ class DeleteDisqualifiedOfficerServiceTest {
     @Test
     void shouldDeleteCorporateDisqualificationWhenFactoryReturnsNull() {
         // given
-        when(deletionDataService.processCorporateDisqualificationData(anyString(), anyString())).thenReturn(null);
+        when(deletionDataService.deleteCorporateDisqualificationData(anyString(), anyString())).thenReturn(null);
         when(disqualifiedOfficerApiService.invokeChsKafkaApi(any())).thenReturn(successResponse);
 
         DeleteRequestParameters deleteRequestParameters = DeleteRequestParameters.builder()
@@ -91,8 +103,8 @@ class DeleteDisqualifiedOfficerServiceTest {
         service.deleteDisqualification(deleteRequestParameters);
 
         // then
-        verify(deletionDataService).processCorporateDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
-        verifyNoInteractions(repository);
+        verify(deletionDataService).deleteCorporateDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
+        verifyNoInteractions(cache);
         verify(disqualifiedOfficerApiService).invokeChsKafkaApi(
                 new ResourceChangedRequest(CONTEXT_ID, OFFICER_ID, DisqualificationResourceType.CORPORATE, null,
                         true));
@@ -101,7 +113,7 @@ class DeleteDisqualifiedOfficerServiceTest {
     @Test
     void shouldDeleteCorporateDisqualificationWhenChsKafkaApiReturnsNon200OK() {
         // given
-        when(deletionDataService.processCorporateDisqualificationData(anyString(), anyString())).thenReturn(dataObject);
+        when(deletionDataService.deleteCorporateDisqualificationData(anyString(), anyString())).thenReturn(dataObject);
         when(disqualifiedOfficerApiService.invokeChsKafkaApi(any())).thenReturn(unsuccessfulResponse);
 
         DeleteRequestParameters deleteRequestParameters = DeleteRequestParameters.builder()
@@ -115,8 +127,8 @@ class DeleteDisqualifiedOfficerServiceTest {
         service.deleteDisqualification(deleteRequestParameters);
 
         // then
-        verify(deletionDataService).processCorporateDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
-        verify(repository).deleteById(OFFICER_ID);
+        verify(deletionDataService).deleteCorporateDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
+        verify(cache).invalidate(OFFICER_ID);
         verify(disqualifiedOfficerApiService).invokeChsKafkaApi(
                 new ResourceChangedRequest(CONTEXT_ID, OFFICER_ID, DisqualificationResourceType.CORPORATE, dataObject,
                         true));
@@ -125,7 +137,7 @@ class DeleteDisqualifiedOfficerServiceTest {
     @Test
     void shouldDeleteNaturalDisqualification() {
         // given
-        when(deletionDataService.processNaturalDisqualificationData(anyString(), anyString())).thenReturn(dataObject);
+        when(deletionDataService.deleteNaturalDisqualificationData(anyString(), anyString())).thenReturn(dataObject);
         when(disqualifiedOfficerApiService.invokeChsKafkaApi(any())).thenReturn(successResponse);
 
         DeleteRequestParameters deleteRequestParameters = DeleteRequestParameters.builder()
@@ -139,8 +151,8 @@ class DeleteDisqualifiedOfficerServiceTest {
         service.deleteDisqualification(deleteRequestParameters);
 
         // then
-        verify(deletionDataService).processNaturalDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
-        verify(repository).deleteById(OFFICER_ID);
+        verify(deletionDataService).deleteNaturalDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
+        verify(cache).invalidate(OFFICER_ID);
         verify(disqualifiedOfficerApiService).invokeChsKafkaApi(
                 new ResourceChangedRequest(CONTEXT_ID, OFFICER_ID, DisqualificationResourceType.NATURAL, dataObject,
                         true));
@@ -149,7 +161,7 @@ class DeleteDisqualifiedOfficerServiceTest {
     @Test
     void shouldNotCallDeleteNaturalDisqualificationWhenFactoryReturnsNull() {
         // given
-        when(deletionDataService.processNaturalDisqualificationData(anyString(), anyString())).thenReturn(null);
+        when(deletionDataService.deleteNaturalDisqualificationData(anyString(), anyString())).thenReturn(null);
         when(disqualifiedOfficerApiService.invokeChsKafkaApi(any())).thenReturn(successResponse);
 
         DeleteRequestParameters deleteRequestParameters = DeleteRequestParameters.builder()
@@ -163,8 +175,8 @@ class DeleteDisqualifiedOfficerServiceTest {
         service.deleteDisqualification(deleteRequestParameters);
 
         // then
-        verify(deletionDataService).processNaturalDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
-        verifyNoInteractions(repository);
+        verify(deletionDataService).deleteNaturalDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
+        verifyNoInteractions(cache);
         verify(disqualifiedOfficerApiService).invokeChsKafkaApi(
                 new ResourceChangedRequest(CONTEXT_ID, OFFICER_ID, DisqualificationResourceType.NATURAL, null,
                         true));
@@ -173,7 +185,7 @@ class DeleteDisqualifiedOfficerServiceTest {
     @Test
     void shouldDeleteNaturalDisqualificationWhenChsKafkaApiReturnsNon200OK() {
         // given
-        when(deletionDataService.processNaturalDisqualificationData(anyString(), anyString())).thenReturn(dataObject);
+        when(deletionDataService.deleteNaturalDisqualificationData(anyString(), anyString())).thenReturn(dataObject);
         when(disqualifiedOfficerApiService.invokeChsKafkaApi(any())).thenReturn(unsuccessfulResponse);
 
         DeleteRequestParameters deleteRequestParameters = DeleteRequestParameters.builder()
@@ -187,13 +199,35 @@ class DeleteDisqualifiedOfficerServiceTest {
         service.deleteDisqualification(deleteRequestParameters);
 
         // then
-        verify(deletionDataService).processNaturalDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
-        verify(repository).deleteById(OFFICER_ID);
+        verify(deletionDataService).deleteNaturalDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
+        verify(cache).invalidate(OFFICER_ID);
         verify(disqualifiedOfficerApiService).invokeChsKafkaApi(
                 new ResourceChangedRequest(CONTEXT_ID, OFFICER_ID, DisqualificationResourceType.NATURAL, dataObject,
                         true));
     }
 
+    @Test
+    void shouldThrowBadGatewayWhenDeleteFails() {
+        // given
+        when(deletionDataService.deleteNaturalDisqualificationData(anyString(), anyString()))
+                .thenThrow(new DataAccessResourceFailureException("error"));
+
+        DeleteRequestParameters deleteRequestParameters = DeleteRequestParameters.builder()
+                .contextId(CONTEXT_ID)
+                .officerId(OFFICER_ID)
+                .requestDeltaAt(REQUEST_DELTA_AT)
+                .officerType(NATURAL)
+                .build();
+
+        // when
+        Executable ex = () -> service.deleteDisqualification(deleteRequestParameters);
+
+        // then
+        assertThrows(BadGatewayException.class, ex);
+        verifyNoInteractions(cache);
+        verifyNoInteractions(disqualifiedOfficerApiService);
+    }
+
     @ParameterizedTest
     @CsvSource(value = {
             "invalid",
@@ -215,7 +249,6 @@ class DeleteDisqualifiedOfficerServiceTest {
         // then
         assertThrows(BadRequestException.class, ex);
         verifyNoInteractions(deletionDataService);
-        verifyNoInteractions(repository);
         verifyNoInteractions(disqualifiedOfficerApiService);
     }
 }
@@ -11,6 +11,7 @@ import static org.mockito.Mockito.when;
 import static uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi.KindEnum.CORPORATE_DISQUALIFICATION;
 import static uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi.KindEnum.NATURAL_DISQUALIFICATION;
 
+import java.time.format.DateTimeParseException;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,9 +24,9 @@ import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadRequestException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.ConflictException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.CorporateDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
-import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.CorporateDisqualifiedOfficerRepository;
-import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.NaturalDisqualifiedOfficerRepository;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualifiedOfficerRepository;
 
 @ExtendWith(MockitoExtension.class)
 class DeletionDataServiceTest {
@@ -34,14 +35,14 @@ class DeletionDataServiceTest {
     private static final String REQUEST_DELTA_AT = "20240925171003950844";
     private static final String EXISTING_DELTA_AT = "20230925171003950844";
     private static final String STALE_DELTA_AT = "20220925171003950844";
+    private static final long REQUEST_DELTA_AT_MICROS = 1727284203950844L;
+    private static final long STALE_DELTA_AT_MICROS = 1664125803950844L;
 
     @InjectMocks
     private DeletionDataService deletionDataService;
 
     @Mock
-    private NaturalDisqualifiedOfficerRepository naturalRepository;
-    @Mock
-    private CorporateDisqualifiedOfficerRepository corporateRepository;
+    private DisqualifiedOfficerRepository repository;
     @Mock
     private DeltaAtHandler deltaAtHandler;
 
@@ -57,134 +58,160 @@ class DeletionDataServiceTest {
     @Test
     void shouldReturnNaturalDisqualificationData() {
         // given
-        when(naturalRepository.findById(anyString())).thenReturn(Optional.of(naturalDisqualificationDocument));
-        when(naturalDisqualificationDocument.isCorporateOfficer()).thenReturn(false);
-        when(naturalDisqualificationDocument.getDeltaAt()).thenReturn(EXISTING_DELTA_AT);
-        when(deltaAtHandler.isRequestStale(anyString(), anyString())).thenReturn(false);
+        when(repository.findAndDeleteIfNotStale(OFFICER_ID, REQUEST_DELTA_AT, REQUEST_DELTA_AT_MICROS, false,
+                NaturalDisqualificationDocument.class)).thenReturn(Optional.of(naturalDisqualificationDocument));
         when(naturalDisqualificationDocument.getData()).thenReturn(naturalData);
 
         // when
-        Object actual = deletionDataService.processNaturalDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
+        Object actual = deletionDataService.deleteNaturalDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
 
         // then
         assertEquals(naturalData, actual);
-        verify(naturalRepository).findById(OFFICER_ID);
-        verify(deltaAtHandler).isRequestStale(REQUEST_DELTA_AT, EXISTING_DELTA_AT);
         verify(naturalData).setKind(NATURAL_DISQUALIFICATION);
-        verifyNoInteractions(corporateRepository);
+        verify(repository, times(0)).findDeltaAtById(anyString());
+        verifyNoInteractions(deltaAtHandler);
     }
 
     @Test
     void shouldReturnNullDataWhenNoNaturalDocumentFound() {
         // given
-        when(naturalRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(repository.findAndDeleteIfNotStale(OFFICER_ID, REQUEST_DELTA_AT, REQUEST_DELTA_AT_MICROS, false,
+                NaturalDisqualificationDocument.class)).thenReturn(Optional.empty());
+        when(repository.findDeltaAtById(OFFICER_ID)).thenReturn(Optional.empty());
 
         // when
-        Object actual = deletionDataService.processNaturalDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
+        Object actual = deletionDataService.deleteNaturalDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
 
         // then
         assertNull(actual);
-        verifyNoInteractions(corporateRepository);
+        verifyNoInteractions(deltaAtHandler);
     }
 
     @Test
     void shouldThrowConflictExceptionWhenRequestIsStaleOnNaturalDelete() {
         // given
-        when(naturalRepository.findById(anyString())).thenReturn(Optional.of(naturalDisqualificationDocument));
-        when(naturalDisqualificationDocument.isCorporateOfficer()).thenReturn(false);
-        when(naturalDisqualificationDocument.getDeltaAt()).thenReturn(EXISTING_DELTA_AT);
-        when(deltaAtHandler.isRequestStale(anyString(), anyString())).thenReturn(true);
+        when(repository.findAndDeleteIfNotStale(OFFICER_ID, STALE_DELTA_AT, STALE_DELTA_AT_MICROS, false,
+                NaturalDisqualificationDocument.class)).thenReturn(Optional.empty());
+        when(repository.findDeltaAtById(OFFICER_ID)).thenReturn(Optional.of(existingDocument(false)));
+        when(deltaAtHandler.isRequestStale(STALE_DELTA_AT, EXISTING_DELTA_AT)).thenReturn(true);
 
         // when
-        Executable ex = () -> deletionDataService.processNaturalDisqualificationData(OFFICER_ID, STALE_DELTA_AT);
+        Executable ex = () -> deletionDataService.deleteNaturalDisqualificationData(OFFICER_ID, STALE_DELTA_AT);
 
         // then
         assertThrows(ConflictException.class, ex);
-        verify(deltaAtHandler).isRequestStale(STALE_DELTA_AT, EXISTING_DELTA_AT);
-        verify(naturalDisqualificationDocument, times(0)).getData();
-        verifyNoInteractions(corporateRepository);
+        verify(repository, times(1)).findAndDeleteIfNotStale(OFFICER_ID, STALE_DELTA_AT, STALE_DELTA_AT_MICROS,
+                false, NaturalDisqualificationDocument.class);
     }
 
     @Test
     void shouldThrowBadRequestExceptionWhenRequestTypeIsNaturalButMongoDocumentIsCorporate() {
         // given
-        when(naturalRepository.findById(anyString())).thenReturn(Optional.of(naturalDisqualificationDocument));
-        when(naturalDisqualificationDocument.isCorporateOfficer()).thenReturn(true);
+        when(repository.findAndDeleteIfNotStale(OFFICER_ID, STALE_DELTA_AT, STALE_DELTA_AT_MICROS, false,
+                NaturalDisqualificationDocument.class)).thenReturn(Optional.empty());
+        when(repository.findDeltaAtById(OFFICER_ID)).thenReturn(Optional.of(existingDocument(true)));
 
         // when
-        Executable ex = () -> deletionDataService.processNaturalDisqualificationData(OFFICER_ID, STALE_DELTA_AT);
+        Executable ex = () -> deletionDataService.deleteNaturalDisqualificationData(OFFICER_ID, STALE_DELTA_AT);
 
         // then
         assertThrows(BadRequestException.class, ex);
         verifyNoInteractions(deltaAtHandler);
-        verify(naturalDisqualificationDocument, times(0)).getData();
-        verifyNoInteractions(corporateRepository);
+    }
+
+    @Test
+    void shouldRetryDeleteWhenDocumentWrittenConcurrently() {
+        // given
+        when(repository.findAndDeleteIfNotStale(OFFICER_ID, REQUEST_DELTA_AT, REQUEST_DELTA_AT_MICROS, false,
+                NaturalDisqualificationDocument.class))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(naturalDisqualificationDocument));
+        when(repository.findDeltaAtById(OFFICER_ID)).thenReturn(Optional.of(existingDocument(false)));
+        when(deltaAtHandler.isRequestStale(REQUEST_DELTA_AT, EXISTING_DELTA_AT)).thenReturn(false);
+        when(naturalDisqualificationDocument.getData()).thenReturn(naturalData);
+
+        // when
+        Object actual = deletionDataService.deleteNaturalDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
+
+        // then
+        assertEquals(naturalData, actual);
+        verify(repository, times(2)).findAndDeleteIfNotStale(OFFICER_ID, REQUEST_DELTA_AT, REQUEST_DELTA_AT_MICROS,
+                false, NaturalDisqualificationDocument.class);
+    }
+
+    @Test
+    void shouldThrowDateTimeParseExceptionWhenRequestDeltaAtIsInvalid() {
+        // when
+        Executable ex = () -> deletionDataService.deleteNaturalDisqualificationData(OFFICER_ID, "not-a-delta-at");
+
+        // then
+        assertThrows(DateTimeParseException.class, ex);
+        verifyNoInteractions(repository);
     }
 
     @Test
     void shouldReturnCorporateDisqualificationData() {
         // given
-        when(corporateRepository.findById(anyString())).thenReturn(Optional.of(corporateDisqualificationDocument));
-        when(corporateDisqualificationDocument.isCorporateOfficer()).thenReturn(true);
-        when(corporateDisqualificationDocument.getDeltaAt()).thenReturn(EXISTING_DELTA_AT);
-        when(deltaAtHandler.isRequestStale(anyString(), anyString())).thenReturn(false);
+        when(repository.findAndDeleteIfNotStale(OFFICER_ID, REQUEST_DELTA_AT, REQUEST_DELTA_AT_MICROS, true,
+                CorporateDisqualificationDocument.class)).thenReturn(Optional.of(corporateDisqualificationDocument));
         when(corporateDisqualificationDocument.getData()).thenReturn(corporateData);
 
         // when
-        Object actual = deletionDataService.processCorporateDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
+        Object actual = deletionDataService.deleteCorporateDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
 
         // then
         assertEquals(corporateData, actual);
-        verify(corporateRepository).findById(OFFICER_ID);
-        verify(deltaAtHandler).isRequestStale(REQUEST_DELTA_AT, EXISTING_DELTA_AT);
         verify(corporateData).setKind(CORPORATE_DISQUALIFICATION);
-        verifyNoInteractions(naturalRepository);
+        verify(repository, times(0)).findDeltaAtById(anyString());
     }
 
     @Test
     void shouldReturnNullDataWhenNoCorporateDocumentFound() {
         // given
-        when(corporateRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(repository.findAndDeleteIfNotStale(OFFICER_ID, REQUEST_DELTA_AT, REQUEST_DELTA_AT_MICROS, true,
+                CorporateDisqualificationDocument.class)).thenReturn(Optional.empty());
+        when(repository.findDeltaAtById(OFFICER_ID)).thenReturn(Optional.empty());
 
         // when
-        Object actual = deletionDataService.processCorporateDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
+        Object actual = deletionDataService.deleteCorporateDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
 
         // then
         assertNull(actual);
-        verifyNoInteractions(naturalRepository);
     }
 
     @Test
     void shouldThrowConflictExceptionWhenRequestIsStaleOnCorporateDelete() {
         // given
-        when(corporateRepository.findById(anyString())).thenReturn(Optional.of(corporateDisqualificationDocument));
-        when(corporateDisqualificationDocument.isCorporateOfficer()).thenReturn(true);
-        when(corporateDisqualificationDocument.getDeltaAt()).thenReturn(EXISTING_DELTA_AT);
-        when(deltaAtHandler.isRequestStale(anyString(), anyString())).thenReturn(true);
+        when(repository.findAndDeleteIfNotStale(OFFICER_ID, STALE_DELTA_AT, STALE_DELTA_AT_MICROS, true,
+                CorporateDisqualificationDocument.class)).thenReturn(Optional.empty());
+        when(repository.findDeltaAtById(OFFICER_ID)).thenReturn(Optional.of(existingDocument(true)));
+        when(deltaAtHandler.isRequestStale(STALE_DELTA_AT, EXISTING_DELTA_AT)).thenReturn(true);
 
         // when
-        Executable ex = () -> deletionDataService.processCorporateDisqualificationData(OFFICER_ID, STALE_DELTA_AT);
+        Executable ex = () -> deletionDataService.deleteCorporateDisqualificationData(OFFICER_ID, STALE_DELTA_AT);
 
         // then
         assertThrows(ConflictException.class, ex);
-        verify(deltaAtHandler).isRequestStale(STALE_DELTA_AT, EXISTING_DELTA_AT);
-        verify(corporateDisqualificationDocument, times(0)).getData();
-        verifyNoInteractions(naturalRepository);
     }
 
     @Test
     void shouldThrowBadRequestExceptionWhenRequestTypeIsCorporateButMongoDocumentIsNatural() {
         // given
-        when(corporateRepository.findById(anyString())).thenReturn(Optional.of(corporateDisqualificationDocument));
-        when(corporateDisqualificationDocument.isCorporateOfficer()).thenReturn(false);
+        when(repository.findAndDeleteIfNotStale(OFFICER_ID, STALE_DELTA_AT, STALE_DELTA_AT_MICROS, true,
+                CorporateDisqualificationDocument.class)).thenReturn(Optional.empty());
+        when(repository.findDeltaAtById(OFFICER_ID)).thenReturn(Optional.of(existingDocument(false)));
 
         // when
-        Executable ex = () -> deletionDataService.processCorporateDisqualificationData(OFFICER_ID, STALE_DELTA_AT);
+        Executable ex = () -> deletionDataService.deleteCorporateDisqualificationData(OFFICER_ID, STALE_DELTA_AT);
 
         // then
         assertThrows(BadRequestException.class, ex);
         verifyNoInteractions(deltaAtHandler);
-        verify(corporateDisqualificationDocument, times(0)).getData();
-        verifyNoInteractions(naturalRepository);
     }
-}
\ No newline at end of file
+
+    private static DisqualificationDocument existingDocument(boolean corporateOfficer) {
+        return new DisqualificationDocument()
+                .setDeltaAt(EXISTING_DELTA_AT)
+                .setCorporateOfficer(corporateOfficer);
+    }
+}
@@ -0,0 +1,118 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static uk.gov.companieshouse.disqualifiedofficersdataapi.service.DateConverter.deltaAtToOffsetDateTime;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class DeltaAtCodecTest {
+
+    private static final String DELTA_AT = "20240925171003950844";
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "20240925171003950844",
+            "00010101000000000000",
+            "99991231235959999999",
+            "19691231235959999999",
+            "20240229000000000000",
+            // Resolved rather than rejected by the formatter
+            "20230229000000000000",
+            "20240431120000000000",
+            "20241231240000000000",
+            "+120240925171003950844"})
+    void shouldAcceptAndOrderValuesAsTheFormatterDoes(String deltaAt) {
+        Long micros = assertDoesNotThrow(() -> DeltaAtCodec.toEpochMicros(deltaAt));
+        OffsetDateTime expected = deltaAtToOffsetDateTime(deltaAt);
+        OffsetDateTime reference = deltaAtToOffsetDateTime(DELTA_AT);
+
+        if (micros != null) {
+            assertEquals(ChronoUnit.MICROS.between(Instant.EPOCH, expected.toInstant()), micros);
+        }
+
+        assertEquals(Integer.signum(expected.toInstant().compareTo(reference.toInstant())),
+                Integer.signum(DeltaAtCodec.compare(deltaAt, DELTA_AT)));
+        assertEquals(Integer.signum(reference.toInstant().compareTo(expected.toInstant())),
+                Integer.signum(DeltaAtCodec.compare(DELTA_AT, deltaAt)));
+        assertEquals(0, DeltaAtCodec.compare(deltaAt, deltaAt));
+        assertEquals(expected.minusNanos(1).isBefore(expected),
+                DeltaAtCodec.isBefore(expected.minusNanos(1), deltaAt));
+        assertEquals(false, DeltaAtCodec.isBefore(expected, deltaAt));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "20240925",
+            "202409251710039508440",
+            "2024092517100395084a",
+            "2024-09-25T17:10:03Z",
+            "00000925171003950844",
+            "20241325171003950844",
+            "20240900171003950844",
+            "20240932171003950844",
+            "20240925251003950844",
+            "20241231240000000001",
+            "20240925176003950844",
+            "20240925171060950844",
+            " 2024092517100395084",
+            ""})
+    void shouldRejectValuesAsTheFormatterDoes(String deltaAt) {
+        DateTimeParseException expected = assertThrows(DateTimeParseException.class,
+                () -> deltaAtToOffsetDateTime(deltaAt));
+
+        DateTimeParseException actual = assertThrows(DateTimeParseException.class,
+                () -> DeltaAtCodec.toEpochMicros(deltaAt));
+        assertEquals(expected.getMessage(), actual.getMessage());
+        assertThrows(DateTimeParseException.class, () -> DeltaAtCodec.compare(deltaAt, DELTA_AT));
+        assertThrows(DateTimeParseException.class, () -> DeltaAtCodec.compare(DELTA_AT, deltaAt));
+        assertThrows(DateTimeParseException.class,
+                () -> DeltaAtCodec.isBefore(OffsetDateTime.now(ZoneOffset.UTC), deltaAt));
+    }
+
+    @Test
+    void shouldRejectNullAsTheFormatterDoes() {
+        assertThrows(NullPointerException.class, () -> deltaAtToOffsetDateTime(null));
+        assertThrows(NullPointerException.class, () -> DeltaAtCodec.toEpochMicros(null));
+    }
+
+    @Test
+    void shouldLeaveValuesTheFormatterResolvesToBeComparedAsStrings() {
+        assertEquals(1727284203950844L, DeltaAtCodec.toEpochMicros(DELTA_AT));
+        assertEquals(-1L, DeltaAtCodec.toEpochMicros("19691231235959999999"));
+        assertNull(DeltaAtCodec.toEpochMicros("20230229000000000000"));
+        assertNull(DeltaAtCodec.toEpochMicros("20241231240000000000"));
+    }
+
+    @Test
+    void shouldOrderRandomValuesAsTheFormatterDoes() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            String first = randomDeltaAt(random);
+            String second = random.nextInt(10) == 0 ? first : randomDeltaAt(random);
+            OffsetDateTime firstDateTime = deltaAtToOffsetDateTime(first);
+            OffsetDateTime secondDateTime = deltaAtToOffsetDateTime(second);
+
+            assertEquals(Integer.signum(firstDateTime.toInstant().compareTo(secondDateTime.toInstant())),
+                    Integer.signum(DeltaAtCodec.compare(first, second)), first + " " + second);
+            assertEquals(firstDateTime.isBefore(secondDateTime), DeltaAtCodec.isBefore(firstDateTime, second),
+                    first + " " + second);
+        }
+    }
+
+    private static String randomDeltaAt(Random random) {
+        return String.format("%04d%02d%02d%02d%02d%02d%06d", 1 + random.nextInt(9999), 1 + random.nextInt(12),
+                1 + random.nextInt(28), random.nextInt(24), random.nextInt(60), random.nextInt(60),
+                random.nextInt(1_000_000));
+    }
+}
@@ -0,0 +1,104 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualifiedOfficerRepository;
+
+@ExtendWith(MockitoExtension.class)
+class DeltaAtMicrosBackfillJobTest {
+
+    @Mock
+    private DisqualifiedOfficerRepository repository;
+
+    @Captor
+    private ArgumentCaptor<List<DisqualificationDocument>> documentsCaptor;
+
+    private DeltaAtMicrosBackfillJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new DeltaAtMicrosBackfillJob(repository, 2, Duration.ZERO);
+    }
+
+    @Test
+    void shouldBackfillBatchesInIdOrderUntilAShortBatch() {
+        DisqualificationDocument first = document("a", "19700101000000000001");
+        DisqualificationDocument second = document("b", "19700101000001000000");
+        DisqualificationDocument third = document("c", "20240925171003950844");
+        when(repository.findWithoutDeltaAtMicros(null, 2)).thenReturn(List.of(first, second));
+        when(repository.findWithoutDeltaAtMicros("b", 2)).thenReturn(List.of(third));
+        when(repository.updateDeltaAtMicros(any())).thenReturn(2L, 1L);
+
+        job.backfill();
+
+        verify(repository, times(2)).updateDeltaAtMicros(documentsCaptor.capture());
+        assertEquals(List.of(first, second), documentsCaptor.getAllValues().get(0));
+        assertEquals(List.of(third), documentsCaptor.getAllValues().get(1));
+        assertEquals(1L, first.getDeltaAtMicros());
+        assertEquals(1_000_000L, second.getDeltaAtMicros());
+        assertEquals(1727284203950844L, third.getDeltaAtMicros());
+    }
+
+    @Test
+    void shouldSkipDeltaAtThatCannotBeReadAndContinueAfterIt() {
+        DisqualificationDocument invalid = document("a", "not a delta_at");
+        DisqualificationDocument valid = document("b", "20240925171003950844");
+        when(repository.findWithoutDeltaAtMicros(null, 2)).thenReturn(List.of(invalid, valid));
+        when(repository.findWithoutDeltaAtMicros("b", 2)).thenReturn(List.of());
+        when(repository.updateDeltaAtMicros(any())).thenReturn(1L);
+
+        job.backfill();
+
+        verify(repository).updateDeltaAtMicros(List.of(valid));
+        assertNull(invalid.getDeltaAtMicros());
+    }
+
+    @Test
+    void shouldStopWhenInterruptedBetweenBatches() {
+        job = new DeltaAtMicrosBackfillJob(repository, 2, Duration.ofSeconds(1));
+        when(repository.findWithoutDeltaAtMicros(null, 2))
+                .thenReturn(List.of(document("a", "20240925171003950844"), document("b", "20240925171003950844")));
+        Thread.currentThread().interrupt();
+        try {
+            job.backfill();
+
+            assertTrue(Thread.currentThread().isInterrupted());
+            verify(repository).findWithoutDeltaAtMicros(any(), anyInt());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void shouldStopOnMongoError() {
+        when(repository.findWithoutDeltaAtMicros(null, 2))
+                .thenThrow(new DataAccessResourceFailureException("unavailable"));
+
+        job.backfill();
+
+        verify(repository, never()).updateDeltaAtMicros(any());
+    }
+
+    private static DisqualificationDocument document(String id, String deltaAt) {
+        return new DisqualificationDocument().setId(id).setDeltaAt(deltaAt);
+    }
+}
@@ -1,8 +1,12 @@
 package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -14,9 +18,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.function.Executable;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi;
 import uk.gov.companieshouse.api.disqualification.InternalCorporateDisqualificationApi;
 import uk.gov.companieshouse.api.disqualification.InternalDisqualificationApiInternalData;
@@ -24,31 +35,39 @@ import uk.gov.companieshouse.api.disqualification.InternalNaturalDisqualificatio
 import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.api.DisqualifiedOfficerApiService;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.api.ResourceChangedRequest;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.cache.DisqualificationCache;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.cache.OfficerIdFilter;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.NotFoundException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.CorporateDisqualificationDocument;
-import uk.gov.companieshouse.disqualifiedofficersdataapi.model.Created;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.Updated;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.UpsertOutcome;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.CorporateDisqualifiedOfficerRepository;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualifiedOfficerRepository;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.NaturalDisqualifiedOfficerRepository;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.OutboxEventRepository;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.transform.DisqualificationTransformer;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.transform.PublicJsonRenderer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @ExtendWith(MockitoExtension.class)
 class DisqualifiedOfficerServiceTest {
 
     private static final String OFFICER_ID = "officerId";
     private static final String CURRENT_DATE = "20240121133129395348";
-    private static final String PAST_DATE = "20220121133129395348";
-    private static final String FUTURE_DATE = "30220121133129395348";
     private static final OffsetDateTime CURRENT_ZDT = ZonedDateTime.parse(CURRENT_DATE,
                     DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSSSSS")
                             .withZone(ZoneOffset.UTC))
@@ -59,7 +78,6 @@ class DisqualifiedOfficerServiceTest {
     private InternalCorporateDisqualificationApi corpRequest;
     private DisqualificationDocument document;
 
-    @InjectMocks
     private DisqualifiedOfficerService service;
 
     @Mock
@@ -73,10 +91,23 @@ class DisqualifiedOfficerServiceTest {
     @Mock
     private DisqualifiedOfficerApiService disqualifiedOfficerApiService;
     @Mock
-    private DeltaAtHandler deltaAtHandler;
+    private OutboxEventRepository outboxRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private PublicJsonRenderer renderer;
+    @Spy
+    private DisqualificationCache cache = new DisqualificationCache(100, Duration.ofMinutes(1),
+            new SimpleMeterRegistry());
+    private OfficerIdFilter idFilter;
 
     @BeforeEach
     void setUp() {
+        idFilter = new OfficerIdFilter(repository, true, 100, 0.01, Duration.ofMinutes(1),
+                Duration.ofMinutes(5), new SimpleMeterRegistry());
+        service = new DisqualifiedOfficerService(repository, naturalRepository, corporateRepository, transformer,
+                renderer, new ResourceChangedPublisher(disqualifiedOfficerApiService, outboxRepository, transactionTemplate,
+                        false), cache, idFilter, Duration.ofSeconds(5), new SimpleMeterRegistry());
         request = new InternalNaturalDisqualificationApi();
         corpRequest = new InternalCorporateDisqualificationApi();
         InternalDisqualificationApiInternalData internal = new InternalDisqualificationApiInternalData();
@@ -89,175 +120,194 @@ class DisqualifiedOfficerServiceTest {
     }
 
     @Test
-    void processNaturalDisqualificationSavesDisqualificationIfNoExistingDocument() {
-        when(repository.findById(OFFICER_ID)).thenReturn(Optional.empty());
+    void processNaturalDisqualificationUpsertsDisqualification() {
         when(transformer.transformNaturalDisqualifiedOfficer(OFFICER_ID, request)).thenReturn(document);
+        when(repository.upsertIfNotStale(document, true)).thenReturn(UpsertOutcome.APPLIED);
 
         service.processNaturalDisqualification("", OFFICER_ID, request);
 
-        verify(repository).save(document);
+        verify(repository).upsertIfNotStale(document, true);
+        verify(repository, never()).findById(any());
+        verify(cache).invalidate(OFFICER_ID);
         verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest("", "officerId",
                 DisqualificationResourceType.NATURAL, null, false));
     }
 
     @Test
-    void processNaturalDisqualificationSavesDisqualificationIfExistingDocumentHasEmptyDeltaAt() {
-        document.setDeltaAt("");
-        when(repository.findById(OFFICER_ID)).thenReturn(Optional.of(document));
+    void processNaturalDisqualificationSetsCreatedForInsert() {
         when(transformer.transformNaturalDisqualifiedOfficer(OFFICER_ID, request)).thenReturn(document);
+        when(repository.upsertIfNotStale(document, true)).thenReturn(UpsertOutcome.APPLIED);
 
         service.processNaturalDisqualification("", OFFICER_ID, request);
 
-        verify(repository).save(document);
-        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest("", "officerId",
-                DisqualificationResourceType.NATURAL, null, false));
+        assertEquals(document.getUpdated().getAt(), document.getCreated().getAt());
     }
 
     @Test
-    void processNaturalDisqualificationSavesDisqualificationIfExistingDocumentHasNullDeltaAt() {
-        document.setDeltaAt(null);
-        when(repository.findById(OFFICER_ID)).thenReturn(Optional.of(document));
+    void processRetriedNaturalDisqualificationDeltaFailsSave() {
         when(transformer.transformNaturalDisqualifiedOfficer(OFFICER_ID, request)).thenReturn(document);
+        when(repository.upsertIfNotStale(document, true)).thenThrow(new DataAccessResourceFailureException("error"));
 
-        service.processNaturalDisqualification("", OFFICER_ID, request);
+        Executable executable = () -> service.processNaturalDisqualification("", OFFICER_ID, request);
 
-        verify(repository).save(document);
-        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest("", "officerId",
-                DisqualificationResourceType.NATURAL, null, false));
+        assertThrows(BadGatewayException.class, executable);
+        verify(cache, never()).invalidate(any());
+        verify(disqualifiedOfficerApiService, never()).invokeChsKafkaApi(any());
     }
 
     @Test
-    void shouldProcessNaturalDisqualificationWhenRequestDeltaAtIsMoreRecent() {
-        document.setCreated(new Created().setAt(LocalDateTime.now()));
-        document.setDeltaAt(PAST_DATE);
-        when(repository.findById(OFFICER_ID)).thenReturn(Optional.of(document));
+    void processNaturalDisqualificationTransientErrorThrowsBadGateway() {
         when(transformer.transformNaturalDisqualifiedOfficer(OFFICER_ID, request)).thenReturn(document);
+        when(repository.upsertIfNotStale(document, true)).thenThrow(new TransientDataAccessResourceException("error"));
 
-        service.processNaturalDisqualification("", OFFICER_ID, request);
+        Executable executable = () -> service.processNaturalDisqualification("", OFFICER_ID, request);
 
-        verify(repository).save(document);
-        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest("", "officerId",
-                DisqualificationResourceType.NATURAL, null, false));
+        assertThrows(BadGatewayException.class, executable);
+        verifyNoInteractions(disqualifiedOfficerApiService);
     }
 
     @Test
-    void processRetriedNaturalDisqualificationDelta() {
-        document.setCreated(new Created().setAt(LocalDateTime.now()));
-        document.setDeltaAt(CURRENT_DATE);
-        when(repository.findById(OFFICER_ID)).thenReturn(Optional.of(document));
+    void shouldNotProcessNaturalDisqualificationWhenRequestIsStale() {
         when(transformer.transformNaturalDisqualifiedOfficer(OFFICER_ID, request)).thenReturn(document);
+        when(repository.upsertIfNotStale(document, true)).thenReturn(UpsertOutcome.STALE);
 
         service.processNaturalDisqualification("", OFFICER_ID, request);
 
-        verify(repository).save(document);
-        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest("", "officerId",
-                DisqualificationResourceType.NATURAL, null, false));
+        verify(repository).upsertIfNotStale(document, true);
+        verifyNoMoreInteractions(repository);
+        verify(cache, never()).invalidate(any());
+        verifyNoInteractions(disqualifiedOfficerApiService);
     }
 
     @Test
-    void processRetriedNaturalDisqualificationDeltaFailsSave() {
-        document.setCreated(new Created().setAt(LocalDateTime.now()));
-        document.setDeltaAt(PAST_DATE);
-        when(repository.findById(OFFICER_ID)).thenReturn(Optional.of(document));
+    void shouldNotPublishNaturalDisqualificationWhenContentIsUnchanged() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        service = new DisqualifiedOfficerService(repository, naturalRepository, corporateRepository, transformer,
+                renderer, new ResourceChangedPublisher(disqualifiedOfficerApiService, outboxRepository,
+                        transactionTemplate, false), cache, idFilter, Duration.ofSeconds(5), meterRegistry);
+        document.setContentHash("hash");
         when(transformer.transformNaturalDisqualifiedOfficer(OFFICER_ID, request)).thenReturn(document);
-        when(repository.save(document)).thenThrow(new BadGatewayException("MongoDB error when deleting document"));
-
-        Executable executable = () -> service.processNaturalDisqualification("", OFFICER_ID, request);
-
-        assertThrows(BadGatewayException.class, executable);
-        verify(disqualifiedOfficerApiService, never()).invokeChsKafkaApi(any());
-    }
-
-    @Test
-    void shouldNotProcessNaturalDisqualificationWhenRequestIsStale() {
-        document.setDeltaAt(FUTURE_DATE);
-        when(repository.findById(OFFICER_ID)).thenReturn(Optional.of(document));
-        when(deltaAtHandler.isRequestStale(any(OffsetDateTime.class), any())).thenReturn(true);
+        // The write compares the incoming hash with the stored one, without storing it itself
+        when(repository.upsertIfNotStale(document, false)).thenAnswer(invocation -> {
+            assertEquals("hash", document.getContentHash());
+            return UpsertOutcome.UNCHANGED;
+        });
 
         service.processNaturalDisqualification("", OFFICER_ID, request);
 
-        verifyNoMoreInteractions(repository);
-        verifyNoInteractions(transformer);
+        verify(cache, never()).invalidate(any());
         verifyNoInteractions(disqualifiedOfficerApiService);
+        verify(repository, never()).storeContentHash(any());
+        assertEquals(1.0, meterRegistry.get("disqualification.writes.unchanged").tag("path", "single")
+                .counter().count());
     }
 
     @Test
-    void processCorporateDisqualificationSavesDisqualificationIfNoExistingDocument() {
-        when(repository.findById(OFFICER_ID)).thenReturn(Optional.empty());
-        when(transformer.transformCorporateDisqualifiedOfficer(OFFICER_ID, corpRequest)).thenReturn(document);
+    void shouldNotifyResendAfterChsKafkaCallFailed() {
+        List<String> comparedHashes = new ArrayList<>();
+        when(transformer.transformNaturalDisqualifiedOfficer(OFFICER_ID, request))
+                .thenAnswer(invocation -> document.setContentHash("hash"));
+        // No hash was stored by the first write, so the resend still differs from the stored document
+        when(repository.upsertIfNotStale(document, false)).thenAnswer(invocation -> {
+            comparedHashes.add(document.getContentHash());
+            return UpsertOutcome.APPLIED;
+        });
+        when(disqualifiedOfficerApiService.invokeChsKafkaApi(any()))
+                .thenThrow(new BadGatewayException("chs-kafka-api unavailable"))
+                .thenReturn(null);
+
+        assertThrows(BadGatewayException.class,
+                () -> service.processNaturalDisqualification("", OFFICER_ID, request));
+        verify(repository, never()).storeContentHash(any());
 
-        service.processCorporateDisqualification("", OFFICER_ID, corpRequest);
+        service.processNaturalDisqualification("", OFFICER_ID, request);
 
-        verify(repository).save(document);
-        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest("", "officerId",
-                DisqualificationResourceType.CORPORATE, null, false));
+        assertEquals(List.of("hash", "hash"), comparedHashes);
+        verify(disqualifiedOfficerApiService, times(2)).invokeChsKafkaApi(new ResourceChangedRequest("",
+                OFFICER_ID, DisqualificationResourceType.NATURAL, null, false));
+        verify(repository).storeContentHash(List.of(document));
+        assertEquals("hash", document.getContentHash());
     }
 
     @Test
-    void processCorporateDisqualificationSavesDisqualificationIfExistingDocumentHasEmptyDeltaAt() {
-        document.setDeltaAt("");
-        when(repository.findById(OFFICER_ID)).thenReturn(Optional.of(document));
-        when(transformer.transformCorporateDisqualifiedOfficer(OFFICER_ID, corpRequest)).thenReturn(document);
+    void shouldWriteContentHashWithDocumentWhenOutboxEnabled() {
+        service = new DisqualifiedOfficerService(repository, naturalRepository, corporateRepository, transformer,
+                renderer, new ResourceChangedPublisher(disqualifiedOfficerApiService, outboxRepository,
+                        transactionTemplate, true), cache, idFilter, Duration.ofSeconds(5), new SimpleMeterRegistry());
+        document.setContentHash("hash");
+        when(transformer.transformNaturalDisqualifiedOfficer(OFFICER_ID, request)).thenReturn(document);
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(repository.upsertIfNotStale(document, true)).thenAnswer(invocation -> {
+            assertEquals("hash", document.getContentHash());
+            return UpsertOutcome.APPLIED;
+        });
 
-        service.processCorporateDisqualification("", OFFICER_ID, corpRequest);
+        service.processNaturalDisqualification("", OFFICER_ID, request);
 
-        verify(repository).save(document);
-        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest("", "officerId",
-                DisqualificationResourceType.CORPORATE, null, false));
+        verify(repository, never()).storeContentHash(any());
     }
 
     @Test
-    void processCorporateDisqualificationSavesDisqualificationIfExistingDocumentHasNullDeltaAt() {
-        document.setDeltaAt(null);
-        when(repository.findById(OFFICER_ID)).thenReturn(Optional.of(document));
-        when(transformer.transformCorporateDisqualifiedOfficer(OFFICER_ID, corpRequest)).thenReturn(document);
+    void shouldResolveOutboxWriteThatWasNotMadeAfterItsTransaction() {
+        service = new DisqualifiedOfficerService(repository, naturalRepository, corporateRepository, transformer,
+                renderer, new ResourceChangedPublisher(disqualifiedOfficerApiService, outboxRepository,
+                        transactionTemplate, true), cache, idFilter, Duration.ofSeconds(5), new SimpleMeterRegistry());
+        document.setContentHash("hash");
+        when(transformer.transformNaturalDisqualifiedOfficer(OFFICER_ID, request)).thenReturn(document);
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(repository.upsertIfNotStale(document, true)).thenThrow(new DuplicateKeyException("duplicate"));
+        when(repository.resolveNotWritten(document)).thenReturn(UpsertOutcome.UNCHANGED);
 
-        service.processCorporateDisqualification("", OFFICER_ID, corpRequest);
+        service.processNaturalDisqualification("", OFFICER_ID, request);
 
-        verify(repository).save(document);
-        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest("", "officerId",
-                DisqualificationResourceType.CORPORATE, null, false));
+        verify(repository).resolveNotWritten(document);
+        verify(cache, never()).invalidate(any());
+        verifyNoInteractions(outboxRepository);
+        verifyNoInteractions(disqualifiedOfficerApiService);
     }
 
     @Test
-    void shouldProcessCorporateDisqualificationWhenRequestDeltaAtIsMoreRecent() {
-        document.setCreated(new Created().setAt(LocalDateTime.now()));
-        document.setDeltaAt(PAST_DATE);
-        when(repository.findById(OFFICER_ID)).thenReturn(Optional.of(document));
-        when(deltaAtHandler.isRequestStale(any(OffsetDateTime.class), any())).thenReturn(false);
-        when(transformer.transformCorporateDisqualifiedOfficer(OFFICER_ID, corpRequest)).thenReturn(document);
-
-        service.processCorporateDisqualification("", OFFICER_ID, corpRequest);
-
-        verify(repository).save(document);
-        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest("", "officerId",
-                DisqualificationResourceType.CORPORATE, null, false));
+    void shouldFailOutboxWriteThatLostARaceToInsertWithBadGateway() {
+        service = new DisqualifiedOfficerService(repository, naturalRepository, corporateRepository, transformer,
+                renderer, new ResourceChangedPublisher(disqualifiedOfficerApiService, outboxRepository,
+                        transactionTemplate, true), cache, idFilter, Duration.ofSeconds(5), new SimpleMeterRegistry());
+        when(transformer.transformNaturalDisqualifiedOfficer(OFFICER_ID, request)).thenReturn(document);
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(repository.upsertIfNotStale(document, true)).thenThrow(new DuplicateKeyException("duplicate"));
+        when(repository.resolveNotWritten(document)).thenThrow(new ConcurrencyFailureException("inserted"));
+
+        assertThrows(BadGatewayException.class,
+                () -> service.processNaturalDisqualification("", OFFICER_ID, request));
+        verifyNoInteractions(outboxRepository);
     }
 
     @Test
-    void processRetriedCorporateDisqualificationDeltaAt() {
-        document.setCreated(new Created().setAt(LocalDateTime.now()));
-        document.setDeltaAt(CURRENT_DATE);
-        when(repository.findById(OFFICER_ID)).thenReturn(Optional.of(document));
+    void processCorporateDisqualificationUpsertsDisqualification() {
         when(transformer.transformCorporateDisqualifiedOfficer(OFFICER_ID, corpRequest)).thenReturn(document);
+        when(repository.upsertIfNotStale(document, true)).thenReturn(UpsertOutcome.APPLIED);
 
         service.processCorporateDisqualification("", OFFICER_ID, corpRequest);
 
-        verify(repository).save(document);
+        verify(repository).upsertIfNotStale(document, true);
+        verify(repository, never()).findById(any());
+        verify(cache).invalidate(OFFICER_ID);
         verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest("", "officerId",
                 DisqualificationResourceType.CORPORATE, null, false));
     }
 
     @Test
     void shouldNotProcessCorporateDisqualificationWhenRequestIsStale() {
-        document.setDeltaAt(FUTURE_DATE);
-        when(repository.findById(OFFICER_ID)).thenReturn(Optional.of(document));
-        when(deltaAtHandler.isRequestStale(any(OffsetDateTime.class), any())).thenReturn(true);
+        when(transformer.transformCorporateDisqualifiedOfficer(OFFICER_ID, corpRequest)).thenReturn(document);
+        when(repository.upsertIfNotStale(document, true)).thenReturn(UpsertOutcome.STALE);
 
         service.processCorporateDisqualification("", OFFICER_ID, corpRequest);
 
+        verify(repository).upsertIfNotStale(document, true);
         verifyNoMoreInteractions(repository);
-        verifyNoInteractions(transformer);
+        verify(cache, never()).invalidate(any());
         verifyNoInteractions(disqualifiedOfficerApiService);
     }
 
@@ -266,12 +316,14 @@ class DisqualifiedOfficerServiceTest {
         NaturalDisqualificationDocument naturalDocument = new NaturalDisqualificationDocument();
         naturalDocument.setData(new NaturalDisqualificationApi());
         naturalDocument.setId(OFFICER_ID);
-        when(naturalRepository.findById(OFFICER_ID)).thenReturn(Optional.of(naturalDocument));
+        when(naturalRepository.findPublicJsonById(OFFICER_ID)).thenReturn(Optional.of(naturalDocument));
+        when(repository.findWithRawDataById(OFFICER_ID, NaturalDisqualificationDocument.class))
+                .thenReturn(Optional.of(naturalDocument));
 
         NaturalDisqualificationDocument disqualification = service.retrieveNaturalDisqualification(OFFICER_ID);
 
         assertNotNull(disqualification);
-        verify(naturalRepository, times(1)).findById(any());
+        verify(repository, times(1)).findWithRawDataById(OFFICER_ID, NaturalDisqualificationDocument.class);
     }
 
     @Test
@@ -280,12 +332,65 @@ class DisqualifiedOfficerServiceTest {
         corporateDocument.setData(new CorporateDisqualificationApi());
         corporateDocument.setCorporateOfficer(true);
         corporateDocument.setId(OFFICER_ID);
-        when(corporateRepository.findById(OFFICER_ID)).thenReturn(Optional.of(corporateDocument));
+        when(corporateRepository.findPublicJsonById(OFFICER_ID)).thenReturn(Optional.of(corporateDocument));
+        when(repository.findWithRawDataById(OFFICER_ID, CorporateDisqualificationDocument.class))
+                .thenReturn(Optional.of(corporateDocument));
 
         CorporateDisqualificationDocument disqualification = service.retrieveCorporateDisqualification(OFFICER_ID);
 
         assertNotNull(disqualification);
-        verify(corporateRepository, times(1)).findById(any());
+        verify(repository, times(1)).findWithRawDataById(OFFICER_ID, CorporateDisqualificationDocument.class);
+    }
+
+    @Test
+    void repeatedNaturalRetrievalIsServedFromCache() {
+        NaturalDisqualificationDocument naturalDocument = new NaturalDisqualificationDocument();
+        naturalDocument.setData(new NaturalDisqualificationApi());
+        naturalDocument.setId(OFFICER_ID);
+        when(naturalRepository.findPublicJsonById(OFFICER_ID)).thenReturn(Optional.of(naturalDocument));
+        when(repository.findWithRawDataById(OFFICER_ID, NaturalDisqualificationDocument.class))
+                .thenReturn(Optional.of(naturalDocument));
+
+        NaturalDisqualificationDocument first = service.retrieveNaturalDisqualification(OFFICER_ID);
+        NaturalDisqualificationDocument second = service.retrieveNaturalDisqualification(OFFICER_ID);
+
+        assertSame(first, second);
+        verify(repository, times(1)).findWithRawDataById(OFFICER_ID, NaturalDisqualificationDocument.class);
+    }
+
+    @Test
+    void repeatedCorporateRetrievalIsServedFromCache() {
+        CorporateDisqualificationDocument corporateDocument = new CorporateDisqualificationDocument();
+        corporateDocument.setData(new CorporateDisqualificationApi());
+        corporateDocument.setCorporateOfficer(true);
+        corporateDocument.setId(OFFICER_ID);
+        when(corporateRepository.findPublicJsonById(OFFICER_ID)).thenReturn(Optional.of(corporateDocument));
+        when(repository.findWithRawDataById(OFFICER_ID, CorporateDisqualificationDocument.class))
+                .thenReturn(Optional.of(corporateDocument));
+
+        CorporateDisqualificationDocument first = service.retrieveCorporateDisqualification(OFFICER_ID);
+        CorporateDisqualificationDocument second = service.retrieveCorporateDisqualification(OFFICER_ID);
+
+        assertSame(first, second);
+        verify(repository, times(1)).findWithRawDataById(OFFICER_ID, CorporateDisqualificationDocument.class);
+    }
+
+    @Test
+    void naturalRetrievalReloadsAfterDisqualificationIsUpdated() {
+        NaturalDisqualificationDocument naturalDocument = new NaturalDisqualificationDocument();
+        naturalDocument.setData(new NaturalDisqualificationApi());
+        naturalDocument.setId(OFFICER_ID);
+        when(naturalRepository.findPublicJsonById(OFFICER_ID)).thenReturn(Optional.of(naturalDocument));
+        when(repository.findWithRawDataById(OFFICER_ID, NaturalDisqualificationDocument.class))
+                .thenReturn(Optional.of(naturalDocument));
+        when(transformer.transformNaturalDisqualifiedOfficer(OFFICER_ID, request)).thenReturn(document);
+        when(repository.upsertIfNotStale(document, true)).thenReturn(UpsertOutcome.APPLIED);
+
+        service.retrieveNaturalDisqualification(OFFICER_ID);
+        service.processNaturalDisqualification("", OFFICER_ID, request);
+        service.retrieveNaturalDisqualification(OFFICER_ID);
+
+        verify(repository, times(2)).findWithRawDataById(OFFICER_ID, NaturalDisqualificationDocument.class);
     }
 
     @Test
@@ -294,11 +399,13 @@ class DisqualifiedOfficerServiceTest {
         naturalDocument.setData(new NaturalDisqualificationApi());
         naturalDocument.setCorporateOfficer(true);
         naturalDocument.setId(OFFICER_ID);
-        when(naturalRepository.findById(OFFICER_ID)).thenReturn(Optional.of(naturalDocument));
+        when(naturalRepository.findPublicJsonById(OFFICER_ID)).thenReturn(Optional.of(naturalDocument));
+        when(repository.findWithRawDataById(OFFICER_ID, NaturalDisqualificationDocument.class))
+                .thenReturn(Optional.of(naturalDocument));
 
         assertThrows(RuntimeException.class, () -> service.retrieveNaturalDisqualification
                 (OFFICER_ID));
-        verify(naturalRepository, times(1)).findById(any());
+        verify(repository, times(1)).findWithRawDataById(OFFICER_ID, NaturalDisqualificationDocument.class);
 
     }
 
@@ -308,12 +415,50 @@ class DisqualifiedOfficerServiceTest {
         corporateDocument.setData(new CorporateDisqualificationApi());
         corporateDocument.setCorporateOfficer(false);
         corporateDocument.setId(OFFICER_ID);
-        when(corporateRepository.findById(OFFICER_ID)).thenReturn(Optional.of(corporateDocument));
+        when(corporateRepository.findPublicJsonById(OFFICER_ID)).thenReturn(Optional.of(corporateDocument));
+        when(repository.findWithRawDataById(OFFICER_ID, CorporateDisqualificationDocument.class))
+                .thenReturn(Optional.of(corporateDocument));
 
         assertThrows(RuntimeException.class, () -> service.retrieveCorporateDisqualification
                 (OFFICER_ID));
-        verify(corporateRepository, times(1)).findById(any());
+        verify(repository, times(1)).findWithRawDataById(OFFICER_ID, CorporateDisqualificationDocument.class);
+
+    }
+
+    @Test
+    void processNaturalDisqualificationRendersPublicJsonBeforeWriting() {
+        when(transformer.transformNaturalDisqualifiedOfficer(OFFICER_ID, request)).thenReturn(document);
+        when(repository.upsertIfNotStale(document, true)).thenReturn(UpsertOutcome.APPLIED);
+
+        service.processNaturalDisqualification("", OFFICER_ID, request);
+
+        InOrder inOrder = inOrder(renderer, repository);
+        inOrder.verify(renderer).render(document);
+        inOrder.verify(repository).upsertIfNotStale(document, true);
+    }
+
+    @Test
+    void retrieveNaturalDisqualificationReadsOnlyRenderedPublicJson() {
+        NaturalDisqualificationDocument projection = new NaturalDisqualificationDocument();
+        projection.setPublicJson("{}".getBytes()).setPublicJsonVersion(PublicJsonRenderer.VERSION);
+        when(naturalRepository.findPublicJsonById(OFFICER_ID)).thenReturn(Optional.of(projection));
+
+        assertSame(projection, service.retrieveNaturalDisqualification(OFFICER_ID));
+        verify(repository, never()).findWithRawDataById(any(), any());
+    }
+
+    @Test
+    void retrieveCorporateDisqualificationReadsRawDataWhenPublicJsonIsOutdated() {
+        CorporateDisqualificationDocument projection = new CorporateDisqualificationDocument();
+        projection.setCorporateOfficer(true);
+        projection.setPublicJson("{}".getBytes()).setPublicJsonVersion(PublicJsonRenderer.VERSION - 1);
+        CorporateDisqualificationDocument corporateDocument = new CorporateDisqualificationDocument();
+        corporateDocument.setCorporateOfficer(true);
+        when(corporateRepository.findPublicJsonById(OFFICER_ID)).thenReturn(Optional.of(projection));
+        when(repository.findWithRawDataById(OFFICER_ID, CorporateDisqualificationDocument.class))
+                .thenReturn(Optional.of(corporateDocument));
 
+        assertSame(corporateDocument, service.retrieveCorporateDisqualification(OFFICER_ID));
     }
 
     @Test
@@ -321,7 +466,100 @@ class DisqualifiedOfficerServiceTest {
 
         assertThrows(RuntimeException.class, () -> service.retrieveNaturalDisqualification
                 ("asdfasdfasdf"));
-        verify(naturalRepository, times(1)).findById(any());
+        verify(naturalRepository, times(1)).findPublicJsonById(any());
+        verify(repository, never()).findWithRawDataById(any(), any());
+
+    }
+
+    @Test
+    void naturalValidatorsAreReadFromProjectionWhenNotCached() {
+        NaturalDisqualificationDocument projection = new NaturalDisqualificationDocument();
+        projection.setData(new NaturalDisqualificationApi());
+        when(naturalRepository.findEtagById(OFFICER_ID)).thenReturn(Optional.of(projection));
+
+        NaturalDisqualificationDocument actual = service.retrieveNaturalDisqualificationValidators(OFFICER_ID);
+
+        assertSame(projection, actual);
+        verify(repository, never()).findWithRawDataById(any(), any());
+    }
+
+    @Test
+    void naturalValidatorsAreServedFromCachedDocument() {
+        NaturalDisqualificationDocument naturalDocument = new NaturalDisqualificationDocument();
+        naturalDocument.setData(new NaturalDisqualificationApi());
+        when(naturalRepository.findPublicJsonById(OFFICER_ID)).thenReturn(Optional.of(naturalDocument));
+        when(repository.findWithRawDataById(OFFICER_ID, NaturalDisqualificationDocument.class))
+                .thenReturn(Optional.of(naturalDocument));
+        service.retrieveNaturalDisqualification(OFFICER_ID);
+
+        NaturalDisqualificationDocument actual = service.retrieveNaturalDisqualificationValidators(OFFICER_ID);
+
+        assertSame(naturalDocument, actual);
+        verify(naturalRepository, never()).findEtagById(any());
+    }
+
+    @Test
+    void corporateValidatorsAreReadFromProjectionWhenNotCached() {
+        CorporateDisqualificationDocument projection = new CorporateDisqualificationDocument();
+        projection.setData(new CorporateDisqualificationApi());
+        projection.setCorporateOfficer(true);
+        when(corporateRepository.findEtagById(OFFICER_ID)).thenReturn(Optional.of(projection));
+
+        CorporateDisqualificationDocument actual = service.retrieveCorporateDisqualificationValidators(OFFICER_ID);
+
+        assertSame(projection, actual);
+        verify(repository, never()).findWithRawDataById(any(), any());
+    }
+
+    @Test
+    void validatorsThrowNotFoundWhenOfficerTypeDoesNotMatch() {
+        NaturalDisqualificationDocument projection = new NaturalDisqualificationDocument();
+        projection.setCorporateOfficer(true);
+        when(naturalRepository.findEtagById(OFFICER_ID)).thenReturn(Optional.of(projection));
+
+        assertThrows(NotFoundException.class, () -> service.retrieveNaturalDisqualificationValidators(OFFICER_ID));
+    }
+
+    @Test
+    void validatorsThrowNotFoundWhenDocumentMissing() {
+        when(corporateRepository.findEtagById(OFFICER_ID)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> service.retrieveCorporateDisqualificationValidators(OFFICER_ID));
+    }
+
+    @Test
+    void idMissingFromFilterIsRejectedWithoutQueryingMongo() {
+        buildFilterWith("otherOfficerId");
+
+        assertThrows(NotFoundException.class, () -> service.retrieveNaturalDisqualification(OFFICER_ID));
+        assertThrows(NotFoundException.class, () -> service.retrieveCorporateDisqualificationValidators(OFFICER_ID));
+        verifyNoInteractions(naturalRepository, corporateRepository);
+    }
+
+    @Test
+    void idWrittenAfterFilterIsBuiltIsReadFromMongo() {
+        buildFilterWith();
+        when(transformer.transformNaturalDisqualifiedOfficer(OFFICER_ID, request)).thenReturn(document);
+        when(repository.upsertIfNotStale(document, true)).thenReturn(UpsertOutcome.APPLIED);
+        NaturalDisqualificationDocument naturalDocument = new NaturalDisqualificationDocument();
+        when(naturalRepository.findPublicJsonById(OFFICER_ID)).thenReturn(Optional.of(naturalDocument));
+        when(repository.findWithRawDataById(OFFICER_ID, NaturalDisqualificationDocument.class))
+                .thenReturn(Optional.of(naturalDocument));
+
+        service.processNaturalDisqualification("", OFFICER_ID, request);
+
+        assertSame(naturalDocument, service.retrieveNaturalDisqualification(OFFICER_ID));
+    }
 
+    @SuppressWarnings("unchecked")
+    private void buildFilterWith(String... officerIds) {
+        doAnswer(invocation -> {
+            Consumer<String> action = invocation.getArgument(0);
+            for (String officerId : officerIds) {
+                action.accept(officerId);
+            }
+            return null;
+        }).when(repository).forEachId(any(Consumer.class));
+        idFilter.rebuild();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,265 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.companieshouse.disqualifiedofficersdataapi.repository.JobLockRepository.OUTBOX_DISPATCHER;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.api.DisqualifiedOfficerApiService;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.OutboxEvent;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.OutboxEventRepository;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.JobLockRepository;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+
+    private static final Instant NOW = Instant.parse("2024-09-25T17:10:03Z");
+
+    @Mock
+    private OutboxEventRepository outboxRepository;
+    @Mock
+    private JobLockRepository lockRepository;
+    @Mock
+    private DisqualifiedOfficerApiService disqualifiedOfficerApiService;
+
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new OutboxDispatcher(outboxRepository, lockRepository, disqualifiedOfficerApiService, 10, 3,
+                Duration.ofSeconds(1), Duration.ofSeconds(3), Duration.ofSeconds(30), Duration.ofHours(1));
+    }
+
+    @Test
+    void shouldDeliverEventsInOrderAndDeleteThem() {
+        OutboxEvent first = event("1", "officer-1");
+        OutboxEvent second = event("2", "officer-1");
+        when(lockRepository.tryAcquire(eq(OUTBOX_DISPATCHER), anyString(), eq(NOW), eq(Duration.ofSeconds(30))))
+                .thenReturn(true);
+        pending(first, second);
+
+        dispatcher.dispatch(NOW);
+
+        InOrder inOrder = Mockito.inOrder(disqualifiedOfficerApiService);
+        inOrder.verify(disqualifiedOfficerApiService).invokeChsKafkaApi(first.toResourceChangedRequest());
+        inOrder.verify(disqualifiedOfficerApiService).invokeChsKafkaApi(second.toResourceChangedRequest());
+        verify(outboxRepository).deleteAllById(List.of("1", "2"));
+    }
+
+    @Test
+    void shouldHoldBackLaterEventsForOfficerAfterFailure() {
+        OutboxEvent failing = event("1", "officer-1");
+        OutboxEvent heldBack = event("2", "officer-1");
+        OutboxEvent other = event("3", "officer-2");
+        when(lockRepository.tryAcquire(eq(OUTBOX_DISPATCHER), anyString(), eq(NOW), any())).thenReturn(true);
+        pending(failing, heldBack, other);
+        doThrow(new BadGatewayException("error")).when(disqualifiedOfficerApiService)
+                .invokeChsKafkaApi(failing.toResourceChangedRequest());
+
+        dispatcher.dispatch(NOW);
+
+        verify(disqualifiedOfficerApiService, never()).invokeChsKafkaApi(heldBack.toResourceChangedRequest());
+        verify(outboxRepository).deleteAllById(List.of("3"));
+        verify(outboxRepository).save(failing);
+        assertEquals(1, failing.getAttempts());
+        assertEquals(NOW.plusSeconds(1), failing.getNextAttemptAt());
+        assertNull(failing.getFailedAt());
+    }
+
+    @Test
+    void shouldHoldBackOfficerWhileEventIsBackingOff() {
+        OutboxEvent waiting = event("1", "officer-1").setAttempts(1).setNextAttemptAt(NOW.plusSeconds(1));
+        OutboxEvent heldBack = event("2", "officer-1");
+        when(lockRepository.tryAcquire(eq(OUTBOX_DISPATCHER), anyString(), eq(NOW), any())).thenReturn(true);
+        pending(waiting, heldBack);
+
+        dispatcher.dispatch(NOW);
+
+        verifyNoInteractions(disqualifiedOfficerApiService);
+        verify(outboxRepository, never()).deleteAllById(any());
+    }
+
+    @Test
+    void shouldCapBackoffAndParkEventAfterMaxAttempts() {
+        OutboxEvent retried = event("1", "officer-1").setAttempts(1);
+        OutboxEvent exhausted = event("2", "officer-2").setAttempts(2);
+        when(lockRepository.tryAcquire(eq(OUTBOX_DISPATCHER), anyString(), eq(NOW), any())).thenReturn(true);
+        pending(retried, exhausted);
+        doThrow(new BadGatewayException("error")).when(disqualifiedOfficerApiService).invokeChsKafkaApi(any());
+
+        dispatcher.dispatch(NOW);
+
+        assertEquals(NOW.plusSeconds(2), retried.getNextAttemptAt());
+        assertNull(retried.getFailedAt());
+        assertEquals(3, exhausted.getAttempts());
+        assertEquals(NOW, exhausted.getFailedAt());
+        assertEquals("error", exhausted.getLastError());
+    }
+
+    @Test
+    void shouldNotCountCallsRejectedByTheCircuitBreakerAsAttempts() {
+        OutboxEvent rejected = event("1", "officer-1").setAttempts(2);
+        OutboxEvent other = event("2", "officer-2");
+        when(lockRepository.tryAcquire(eq(OUTBOX_DISPATCHER), anyString(), eq(NOW), any())).thenReturn(true);
+        pending(rejected, other);
+        doThrow(new BadGatewayException("Circuit breaker open for resource changed endpoint",
+                CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("test"))))
+                .when(disqualifiedOfficerApiService).invokeChsKafkaApi(rejected.toResourceChangedRequest());
+
+        dispatcher.dispatch(NOW);
+
+        assertEquals(2, rejected.getAttempts());
+        assertNull(rejected.getFailedAt());
+        assertNull(rejected.getNextAttemptAt());
+        verify(outboxRepository, never()).save(any());
+        verify(disqualifiedOfficerApiService, never()).invokeChsKafkaApi(other.toResourceChangedRequest());
+        verify(outboxRepository, never()).deleteAllById(any());
+    }
+
+    @Test
+    void shouldNotCountCallsRejectedByTheBulkheadAsAttempts() {
+        OutboxEvent rejected = event("1", "officer-1").setAttempts(2);
+        when(lockRepository.tryAcquire(eq(OUTBOX_DISPATCHER), anyString(), eq(NOW), any())).thenReturn(true);
+        pending(rejected);
+        doThrow(new BadGatewayException("Too many concurrent calls to resource changed endpoint",
+                BulkheadFullException.createBulkheadFullException(Bulkhead.ofDefaults("test"))))
+                .when(disqualifiedOfficerApiService).invokeChsKafkaApi(any());
+
+        dispatcher.dispatch(NOW);
+
+        assertEquals(2, rejected.getAttempts());
+        assertNull(rejected.getFailedAt());
+        verify(outboxRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldRedriveEventsParkedForLongerThanRedriveAfter() {
+        when(outboxRepository.redriveFailedBefore(NOW.minus(Duration.ofHours(1)))).thenReturn(2L);
+
+        dispatcher.redriveParked(NOW);
+
+        verify(outboxRepository).redriveFailedBefore(NOW.minus(Duration.ofHours(1)));
+    }
+
+    @Test
+    void shouldSwallowMongoErrorsWhenRedriving() {
+        when(outboxRepository.redriveFailedBefore(any())).thenThrow(new DataAccessResourceFailureException("error"));
+
+        dispatcher.redriveParked(NOW);
+
+        verifyNoInteractions(disqualifiedOfficerApiService);
+    }
+
+    @Test
+    void shouldSendEventsOfAnOfficerInSequenceOrder() {
+        OutboxEvent later = event("1", "officer-1").setSequence(2);
+        OutboxEvent earlier = event("2", "officer-1").setSequence(1);
+        when(lockRepository.tryAcquire(eq(OUTBOX_DISPATCHER), anyString(), eq(NOW), any())).thenReturn(true);
+        when(outboxRepository.findDue(eq(NOW), any(Pageable.class))).thenReturn(List.of(later));
+        when(outboxRepository.findByOfficerIdIn(Set.of("officer-1"), Sort.by("sequence", "id")))
+                .thenReturn(List.of(earlier, later));
+
+        dispatcher.dispatch(NOW);
+
+        InOrder inOrder = Mockito.inOrder(disqualifiedOfficerApiService);
+        inOrder.verify(disqualifiedOfficerApiService).invokeChsKafkaApi(earlier.toResourceChangedRequest());
+        inOrder.verify(disqualifiedOfficerApiService).invokeChsKafkaApi(later.toResourceChangedRequest());
+        verify(outboxRepository).deleteAllById(List.of("2", "1"));
+    }
+
+    @Test
+    void shouldHoldBackOfficerWithParkedEvent() {
+        OutboxEvent parked = event("1", "officer-1").setSequence(1).setAttempts(3).setFailedAt(NOW);
+        OutboxEvent heldBack = event("2", "officer-1").setSequence(2);
+        when(lockRepository.tryAcquire(eq(OUTBOX_DISPATCHER), anyString(), eq(NOW), any())).thenReturn(true);
+        when(outboxRepository.findDue(eq(NOW), any(Pageable.class))).thenReturn(List.of(heldBack));
+        when(outboxRepository.findByOfficerIdIn(Set.of("officer-1"), Sort.by("sequence", "id")))
+                .thenReturn(List.of(parked, heldBack));
+
+        dispatcher.dispatch(NOW);
+
+        verifyNoInteractions(disqualifiedOfficerApiService);
+        verify(outboxRepository, never()).deleteAllById(any());
+    }
+
+    @Test
+    void shouldStopDispatchingWhenLeaseCannotBeRenewed() {
+        dispatcher = new OutboxDispatcher(outboxRepository, lockRepository, disqualifiedOfficerApiService, 10, 3,
+                Duration.ofSeconds(1), Duration.ofSeconds(3), Duration.ZERO, Duration.ofHours(1));
+        OutboxEvent first = event("1", "officer-1");
+        OutboxEvent second = event("2", "officer-2");
+        when(lockRepository.tryAcquire(eq(OUTBOX_DISPATCHER), anyString(), any(Instant.class), eq(Duration.ZERO)))
+                .thenReturn(true, true, false);
+        pending(first, second);
+
+        dispatcher.dispatch(NOW);
+
+        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(first.toResourceChangedRequest());
+        verify(disqualifiedOfficerApiService, never()).invokeChsKafkaApi(second.toResourceChangedRequest());
+        verify(outboxRepository).deleteAllById(List.of("1"));
+    }
+
+    @Test
+    void shouldNotDispatchWithoutLease() {
+        when(lockRepository.tryAcquire(eq(OUTBOX_DISPATCHER), anyString(), eq(NOW), any())).thenReturn(false);
+
+        dispatcher.dispatch(NOW);
+
+        verifyNoInteractions(outboxRepository, disqualifiedOfficerApiService);
+    }
+
+    @Test
+    void shouldSwallowMongoErrorsUntilNextPoll() {
+        when(lockRepository.tryAcquire(eq(OUTBOX_DISPATCHER), anyString(), eq(NOW), any()))
+                .thenThrow(new DataAccessResourceFailureException("error"));
+
+        dispatcher.dispatch(NOW);
+
+        verifyNoInteractions(outboxRepository, disqualifiedOfficerApiService);
+    }
+
+    /**
+     * Stub the pending events and, per officer, the same events in sequence order.
+     */
+    private void pending(OutboxEvent... events) {
+        List<OutboxEvent> pending = List.of(events);
+        when(outboxRepository.findDue(eq(NOW), any(Pageable.class))).thenReturn(pending);
+        when(outboxRepository.findByOfficerIdIn(any(), eq(Sort.by("sequence", "id")))).thenReturn(pending);
+    }
+
+    private static OutboxEvent event(String id, String officerId) {
+        return new OutboxEvent()
+                .setId(id)
+                .setOfficerId(officerId)
+                .setContextId("context-" + id)
+                .setResourceType(DisqualificationResourceType.NATURAL)
+                .setCreatedAt(NOW);
+    }
+}
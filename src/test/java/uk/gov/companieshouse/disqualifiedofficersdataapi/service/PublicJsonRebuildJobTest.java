@@ -0,0 +1,136 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.companieshouse.disqualifiedofficersdataapi.repository.JobLockRepository.PUBLIC_JSON_REBUILD;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualifiedOfficerRepository;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.JobLockRepository;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.transform.PublicJsonRenderer;
+
+@ExtendWith(MockitoExtension.class)
+class PublicJsonRebuildJobTest {
+
+    @Mock
+    private DisqualifiedOfficerRepository repository;
+    @Mock
+    private JobLockRepository lockRepository;
+    @Mock
+    private PublicJsonRenderer renderer;
+
+    private PublicJsonRebuildJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new PublicJsonRebuildJob(repository, lockRepository, renderer, 2, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void shouldRenderBatchesUntilAShortBatch() {
+        when(lockRepository.tryAcquire(eq(PUBLIC_JSON_REBUILD), anyString(), any(Instant.class),
+                eq(Duration.ofMinutes(5)))).thenReturn(true);
+        DisqualificationDocument first = new NaturalDisqualificationDocument();
+        DisqualificationDocument second = new NaturalDisqualificationDocument();
+        DisqualificationDocument third = new NaturalDisqualificationDocument();
+        when(repository.findWithPublicJsonVersionNot(PublicJsonRenderer.VERSION, 2))
+                .thenReturn(List.of(first, second), List.of(third));
+        when(renderer.render(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(repository.updatePublicJsonIfUnchanged(any())).thenReturn(true);
+
+        job.rebuild();
+
+        verify(repository, times(2)).findWithPublicJsonVersionNot(PublicJsonRenderer.VERSION, 2);
+        verify(repository).updatePublicJsonIfUnchanged(third);
+        verify(lockRepository, times(2)).tryAcquire(eq(PUBLIC_JSON_REBUILD), anyString(), any(Instant.class),
+                eq(Duration.ofMinutes(5)));
+        verify(lockRepository).release(eq(PUBLIC_JSON_REBUILD), anyString());
+    }
+
+    @Test
+    void shouldNotRenderWhileAnotherInstanceHoldsTheLease() {
+        when(lockRepository.tryAcquire(eq(PUBLIC_JSON_REBUILD), anyString(), any(Instant.class), any()))
+                .thenReturn(false);
+
+        job.rebuild();
+
+        verifyNoInteractions(repository, renderer);
+    }
+
+    @Test
+    void shouldStopWhenTheLeaseIsLostBetweenBatches() {
+        DisqualificationDocument first = new NaturalDisqualificationDocument();
+        DisqualificationDocument second = new NaturalDisqualificationDocument();
+        when(lockRepository.tryAcquire(eq(PUBLIC_JSON_REBUILD), anyString(), any(Instant.class), any()))
+                .thenReturn(true, false);
+        when(repository.findWithPublicJsonVersionNot(PublicJsonRenderer.VERSION, 2))
+                .thenReturn(List.of(first, second));
+        when(renderer.render(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(repository.updatePublicJsonIfUnchanged(any())).thenReturn(true);
+
+        job.rebuild();
+
+        verify(repository, times(1)).findWithPublicJsonVersionNot(PublicJsonRenderer.VERSION, 2);
+    }
+
+    @Test
+    void shouldStopWhenABatchMakesNoProgress() {
+        when(lockRepository.tryAcquire(eq(PUBLIC_JSON_REBUILD), anyString(), any(Instant.class),
+                eq(Duration.ofMinutes(5)))).thenReturn(true);
+        DisqualificationDocument document = new NaturalDisqualificationDocument();
+        when(repository.findWithPublicJsonVersionNot(PublicJsonRenderer.VERSION, 2))
+                .thenReturn(List.of(document, document));
+        when(renderer.render(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(repository.updatePublicJsonIfUnchanged(any())).thenReturn(false);
+
+        job.rebuild();
+
+        verify(repository, times(1)).findWithPublicJsonVersionNot(PublicJsonRenderer.VERSION, 2);
+    }
+
+    @Test
+    void shouldSkipDocumentsThatCannotBeRendered() {
+        when(lockRepository.tryAcquire(eq(PUBLIC_JSON_REBUILD), anyString(), any(Instant.class),
+                eq(Duration.ofMinutes(5)))).thenReturn(true);
+        DisqualificationDocument broken = new NaturalDisqualificationDocument();
+        DisqualificationDocument document = new NaturalDisqualificationDocument();
+        when(repository.findWithPublicJsonVersionNot(PublicJsonRenderer.VERSION, 2))
+                .thenReturn(List.of(broken, document), List.of());
+        when(renderer.render(broken)).thenThrow(new IllegalStateException("Unable to render"));
+        when(renderer.render(document)).thenReturn(document);
+        when(repository.updatePublicJsonIfUnchanged(document)).thenReturn(true);
+
+        job.rebuild();
+
+        verify(repository).updatePublicJsonIfUnchanged(document);
+    }
+
+    @Test
+    void shouldStopOnMongoError() {
+        when(lockRepository.tryAcquire(eq(PUBLIC_JSON_REBUILD), anyString(), any(Instant.class),
+                eq(Duration.ofMinutes(5)))).thenReturn(true);
+        when(repository.findWithPublicJsonVersionNot(PublicJsonRenderer.VERSION, 2))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        job.rebuild();
+
+        verify(repository, times(1)).findWithPublicJsonVersionNot(PublicJsonRenderer.VERSION, 2);
+        verify(lockRepository, never()).release(any(), any());
+    }
+}
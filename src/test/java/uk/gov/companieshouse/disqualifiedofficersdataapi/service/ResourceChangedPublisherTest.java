@@ -0,0 +1,197 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.api.DisqualifiedOfficerApiService;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.api.ResourceChangedRequest;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.OutboxEvent;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.OutboxEventRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ResourceChangedPublisherTest {
+
+    private static final ResourceChangedRequest CHANGE = new ResourceChangedRequest("context-id", "officerId",
+            DisqualificationResourceType.NATURAL, null, false);
+
+    @Mock
+    private DisqualifiedOfficerApiService disqualifiedOfficerApiService;
+    @Mock
+    private OutboxEventRepository outboxRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final List<ResourceChangedRequest> afterWrite = new ArrayList<>();
+
+    @Test
+    void shouldCallChsKafkaApiAfterWriteWhenOutboxDisabled() {
+        ResourceChangedPublisher publisher = publisher(false);
+
+        assertTrue(publisher.writeAndPublish(() -> Optional.of(CHANGE), afterWrite::add));
+
+        assertEquals(List.of(CHANGE), afterWrite);
+        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(CHANGE);
+        verifyNoInteractions(outboxRepository, transactionTemplate);
+    }
+
+    @Test
+    void shouldNotPublishWhenNothingWritten() {
+        ResourceChangedPublisher publisher = publisher(false);
+
+        assertFalse(publisher.writeAndPublish(Optional::empty, afterWrite::add));
+
+        assertTrue(afterWrite.isEmpty());
+        verifyNoInteractions(disqualifiedOfficerApiService);
+    }
+
+    @Test
+    void shouldWriteOutboxEventInTransactionWhenOutboxEnabled() {
+        ResourceChangedPublisher publisher = publisher(true);
+        runTransactionCallbacks();
+        NaturalDisqualificationApi deletedData = new NaturalDisqualificationApi();
+        ResourceChangedRequest delete = new ResourceChangedRequest("context-id", "officerId",
+                DisqualificationResourceType.NATURAL, deletedData, true);
+
+        assertTrue(publisher.writeAndPublish(() -> Optional.of(delete), afterWrite::add));
+
+        ArgumentCaptor<List<OutboxEvent>> events = ArgumentCaptor.captor();
+        verify(outboxRepository).insert(events.capture());
+        assertEquals(delete, events.getValue().getFirst().toResourceChangedRequest());
+        assertEquals(1, events.getValue().getFirst().getSequence());
+        assertEquals(List.of(delete), afterWrite);
+        verifyNoInteractions(disqualifiedOfficerApiService);
+    }
+
+    @Test
+    void shouldNotWriteOutboxEventWhenNothingWritten() {
+        ResourceChangedPublisher publisher = publisher(true);
+        runTransactionCallbacks();
+
+        assertFalse(publisher.writeAndPublish(Optional::empty, afterWrite::add));
+
+        verify(outboxRepository, never()).insert(anyList());
+        assertTrue(afterWrite.isEmpty());
+    }
+
+    @Test
+    void shouldThrowBadGatewayWhenTransactionFails() {
+        ResourceChangedPublisher publisher = publisher(true);
+        when(transactionTemplate.execute(any())).thenThrow(new TransactionSystemException("commit failed"));
+
+        assertThrows(BadGatewayException.class,
+                () -> publisher.writeAndPublish(() -> Optional.of(CHANGE), afterWrite::add));
+
+        assertTrue(afterWrite.isEmpty());
+    }
+
+    @Test
+    void shouldCallChsKafkaApiForEachChangeAndReportFailuresWhenOutboxDisabled() {
+        ResourceChangedPublisher publisher = publisher(false);
+        ResourceChangedRequest other = new ResourceChangedRequest("context-id", "otherId",
+                DisqualificationResourceType.CORPORATE, null, false);
+        doThrow(new BadGatewayException("error")).when(disqualifiedOfficerApiService).invokeChsKafkaApi(CHANGE);
+        List<ResourceChangedRequest> failed = new ArrayList<>();
+
+        assertEquals("written", publisher.writeAndPublishAll(() -> "written", written -> List.of(CHANGE, other),
+                afterWrite::add, (request, ex) -> failed.add(request)));
+
+        assertEquals(List.of(CHANGE, other), afterWrite);
+        assertEquals(List.of(CHANGE), failed);
+        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(other);
+        verifyNoInteractions(outboxRepository, transactionTemplate);
+    }
+
+    @Test
+    void shouldWriteAllOutboxEventsInTheWriteTransactionWhenOutboxEnabled() {
+        ResourceChangedPublisher publisher = publisher(true);
+        runTransactionCallbacks();
+        ResourceChangedRequest other = new ResourceChangedRequest("context-id", "otherId",
+                DisqualificationResourceType.CORPORATE, null, false);
+
+        assertEquals("written", publisher.writeAndPublishAll(() -> "written", written -> List.of(CHANGE, other),
+                afterWrite::add, (request, ex) -> fail()));
+
+        ArgumentCaptor<List<OutboxEvent>> events = ArgumentCaptor.captor();
+        verify(outboxRepository).insert(events.capture());
+        assertEquals(List.of(CHANGE, other), events.getValue().stream()
+                .map(OutboxEvent::toResourceChangedRequest)
+                .toList());
+        assertEquals(List.of(CHANGE, other), afterWrite);
+        verifyNoInteractions(disqualifiedOfficerApiService);
+    }
+
+    @Test
+    void shouldNumberOutboxEventsAfterTheLastStoredEventOfEachOfficer() {
+        ResourceChangedPublisher publisher = publisher(true);
+        runTransactionCallbacks();
+        ResourceChangedRequest other = new ResourceChangedRequest("context-id", "otherId",
+                DisqualificationResourceType.CORPORATE, null, false);
+        when(outboxRepository.findByOfficerIdIn(List.of("officerId", "otherId"), Sort.unsorted()))
+                .thenReturn(List.of(new OutboxEvent().setOfficerId("officerId").setSequence(4),
+                        new OutboxEvent().setOfficerId("officerId").setSequence(7)));
+
+        publisher.writeAndPublishAll(() -> "written", written -> List.of(CHANGE, other), afterWrite::add,
+                (request, ex) -> fail());
+
+        ArgumentCaptor<List<OutboxEvent>> events = ArgumentCaptor.captor();
+        verify(outboxRepository).insert(events.capture());
+        assertEquals(List.of(8L, 1L), events.getValue().stream().map(OutboxEvent::getSequence).toList());
+    }
+
+    @Test
+    void shouldNotWriteOutboxEventsWhenBulkWriteChangedNothing() {
+        ResourceChangedPublisher publisher = publisher(true);
+        runTransactionCallbacks();
+
+        publisher.writeAndPublishAll(() -> "written", written -> List.of(), afterWrite::add, (request, ex) -> fail());
+
+        verify(outboxRepository, never()).insert(anyList());
+        assertTrue(afterWrite.isEmpty());
+    }
+
+    @Test
+    void shouldThrowBadGatewayWhenBulkTransactionFails() {
+        ResourceChangedPublisher publisher = publisher(true);
+        when(transactionTemplate.execute(any())).thenThrow(new TransactionSystemException("commit failed"));
+
+        assertThrows(BadGatewayException.class, () -> publisher.writeAndPublishAll(() -> "written",
+                written -> List.of(CHANGE), afterWrite::add, (request, ex) -> fail()));
+
+        assertTrue(afterWrite.isEmpty());
+    }
+
+    private ResourceChangedPublisher publisher(boolean outboxEnabled) {
+        return new ResourceChangedPublisher(disqualifiedOfficerApiService, outboxRepository, transactionTemplate,
+                outboxEnabled);
+    }
+
+    private void runTransactionCallbacks() {
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+}
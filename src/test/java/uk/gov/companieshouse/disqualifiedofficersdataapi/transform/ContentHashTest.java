@@ -0,0 +1,62 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.transform;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.api.disqualification.InternalDisqualificationApiInternalData;
+import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+
+class ContentHashTest {
+
+    @Test
+    void shouldDeriveStableEtagIgnoringStoredEtagAndEmptyValues() {
+        NaturalDisqualificationApi first = data();
+        first.setEtag("etag-1");
+        NaturalDisqualificationApi second = data();
+        second.setEtag("etag-2");
+        second.setPermissionsToAct(List.of());
+
+        String etag = ContentHash.etag(first);
+
+        assertEquals(etag, ContentHash.etag(second));
+        assertEquals(40, etag.length());
+        assertEquals("etag-1", first.getEtag());
+    }
+
+    @Test
+    void shouldChangeEtagWithContent() {
+        NaturalDisqualificationApi renamed = data();
+        renamed.setSurname("OTHER");
+
+        assertNotEquals(ContentHash.etag(data()), ContentHash.etag(renamed));
+    }
+
+    @Test
+    void shouldChangeContentHashWithOfficerIdsAndType() {
+        String etag = ContentHash.etag(data());
+        String hash = ContentHash.of(etag, internalData("raw"), false);
+
+        assertEquals(hash, ContentHash.of(etag, internalData("raw"), false));
+        assertNotEquals(hash, ContentHash.of(etag, internalData("other"), false));
+        assertNotEquals(hash, ContentHash.of(etag, internalData("raw"), true));
+        assertNotEquals(hash, ContentHash.of(ContentHash.etag(new NaturalDisqualificationApi()),
+                internalData("raw"), false));
+    }
+
+    private static NaturalDisqualificationApi data() {
+        NaturalDisqualificationApi data = new NaturalDisqualificationApi();
+        data.setSurname("SURNAME");
+        data.setForename("Forename");
+        data.setDateOfBirth(LocalDate.of(1970, 1, 1));
+        return data;
+    }
+
+    private static InternalDisqualificationApiInternalData internalData(String officerIdRaw) {
+        InternalDisqualificationApiInternalData internalData = new InternalDisqualificationApiInternalData();
+        internalData.setOfficerIdRaw(officerIdRaw);
+        return internalData;
+    }
+}
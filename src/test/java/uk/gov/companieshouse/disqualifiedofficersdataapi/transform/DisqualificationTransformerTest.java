@@ -16,6 +16,7 @@ import java.time.ZoneOffset;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DisqualificationTransformerTest {
@@ -52,11 +53,12 @@ class DisqualificationTransformerTest {
         assertEquals(OFFICER_DETAIL_ID, document.getOfficerDetailId());
         assertEquals(OFFICER_DISQ_ID, document.getOfficerDisqId());
         assertEquals(OFFICER_ID_RAW, document.getOfficerIdRaw());
-        assertEquals("20200101010101000001", document.getDeltaAt());
+        assertEquals("20200101190101000001", document.getDeltaAt());
+        assertEquals(1577905261000001L, document.getDeltaAtMicros());
         assertEquals(OFFICER_ID, document.getId());
         assertFalse(document.isCorporateOfficer());
         assertEquals(external, document.getData());
-        assertTrue(LocalDateTime.now().toEpochSecond(ZoneOffset.MIN)
+        assertTrue(LocalDateTime.now(ZoneOffset.UTC).toEpochSecond(ZoneOffset.MIN)
                 - document.getUpdated().getAt().toEpochSecond(ZoneOffset.MIN) < 2);
     }
 
@@ -79,12 +81,52 @@ class DisqualificationTransformerTest {
         assertEquals(OFFICER_DETAIL_ID, document.getOfficerDetailId());
         assertEquals(OFFICER_DISQ_ID, document.getOfficerDisqId());
         assertEquals(OFFICER_ID_RAW, document.getOfficerIdRaw());
-        assertEquals("20200101010101000001", document.getDeltaAt());
+        assertEquals("20200101190101000001", document.getDeltaAt());
+        assertEquals(1577905261000001L, document.getDeltaAtMicros());
         assertEquals(OFFICER_ID, document.getId());
         assertTrue(document.isCorporateOfficer());
         assertEquals(external, document.getData());
-        assertTrue(LocalDateTime.now().toEpochSecond(ZoneOffset.MIN)
+        assertTrue(LocalDateTime.now(ZoneOffset.UTC).toEpochSecond(ZoneOffset.MIN)
                 - document.getUpdated().getAt().toEpochSecond(ZoneOffset.MIN) < 2);
     }
 
+    @Test
+    void shouldStoreDeltaAtAsUtcSoItIsOrderedByInstant() {
+        NaturalDisqualificationDocument earlier = transformNatural("Doe",
+                OffsetDateTime.of(2024, 1, 1, 0, 30, 0, 0, ZoneOffset.ofHours(1)));
+        NaturalDisqualificationDocument later = transformNatural("Doe",
+                OffsetDateTime.of(2023, 12, 31, 23, 45, 0, 0, ZoneOffset.UTC));
+
+        assertEquals("20231231233000000000", earlier.getDeltaAt());
+        assertTrue(earlier.getDeltaAt().compareTo(later.getDeltaAt()) < 0);
+        assertTrue(earlier.getDeltaAtMicros() < later.getDeltaAtMicros());
+    }
+
+    @Test
+    void shouldDeriveEtagAndContentHashFromContent() {
+        NaturalDisqualificationDocument first = transformNatural("Doe");
+        NaturalDisqualificationDocument second = transformNatural("Doe");
+        NaturalDisqualificationDocument changed = transformNatural("Smith");
+
+        assertEquals(first.getData().getEtag(), second.getData().getEtag());
+        assertEquals(first.getContentHash(), second.getContentHash());
+        assertNotEquals(first.getData().getEtag(), changed.getData().getEtag());
+        assertNotEquals(first.getContentHash(), changed.getContentHash());
+    }
+
+    private NaturalDisqualificationDocument transformNatural(String surname) {
+        return transformNatural(surname, OffsetDateTime.of(2020, 1, 1, 1, 1, 1, 1000, ZoneOffset.MIN));
+    }
+
+    private NaturalDisqualificationDocument transformNatural(String surname, OffsetDateTime deltaAt) {
+        InternalNaturalDisqualificationApi request = new InternalNaturalDisqualificationApi();
+        NaturalDisqualificationApi external = new NaturalDisqualificationApi();
+        external.setSurname(surname);
+        request.setExternalData(external);
+        InternalDisqualificationApiInternalData internal = new InternalDisqualificationApiInternalData();
+        internal.setOfficerIdRaw(OFFICER_ID_RAW);
+        internal.setDeltaAt(deltaAt);
+        request.setInternalData(internal);
+        return (NaturalDisqualificationDocument) transformer.transformNaturalDisqualifiedOfficer(OFFICER_ID, request);
+    }
 }
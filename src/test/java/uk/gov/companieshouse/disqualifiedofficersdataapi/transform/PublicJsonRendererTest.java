@@ -0,0 +1,146 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.transform;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.DisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.PermissionToAct;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.config.ApplicationConfig;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.converter.DisqualifiedCorporateOfficerReadConverter;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.converter.DisqualifiedCorporateOfficerWriteConverter;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.converter.DisqualifiedNaturalOfficerReadConverter;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.converter.DisqualifiedNaturalOfficerWriteConverter;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.CorporateDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
+
+class PublicJsonRendererTest {
+
+    // As configured by spring.jackson.default-property-inclusion
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .build();
+    private final ObjectMapper mongoObjectMapper = ApplicationConfig.mongoDbObjectMapper();
+    private final PublicJsonRenderer renderer = new PublicJsonRenderer(objectMapper);
+
+    @Test
+    void shouldRenderNaturalDataAsAGetWouldReturnItFromMongo() throws Exception {
+        NaturalDisqualificationDocument document = new NaturalDisqualificationDocument();
+        document.setData(naturalDisqualification());
+
+        renderer.render(document);
+
+        // The GET response: the data written and read back by the converters, with kind set by the controller
+        NaturalDisqualificationApi stored = new DisqualifiedNaturalOfficerReadConverter(mongoObjectMapper)
+                .convert(new Document(new DisqualifiedNaturalOfficerWriteConverter(mongoObjectMapper)
+                        .convert(naturalDisqualification())));
+        stored.setKind(NaturalDisqualificationApi.KindEnum.NATURAL_DISQUALIFICATION);
+        assertArrayEquals(objectMapper.writeValueAsBytes(stored), document.getPublicJson());
+        assertEquals(PublicJsonRenderer.VERSION, document.getPublicJsonVersion());
+        assertTrue(PublicJsonRenderer.isRendered(document));
+    }
+
+    @Test
+    void shouldLeaveOutPurposeAndEmptyValues() throws Exception {
+        NaturalDisqualificationDocument document = new NaturalDisqualificationDocument();
+        document.setData(naturalDisqualification());
+
+        renderer.render(document);
+
+        JsonNode body = objectMapper.readTree(document.getPublicJson());
+        assertEquals("natural-disqualification", body.get("kind").asText());
+        assertEquals("Third Company Ltd", body.at("/permissions_to_act/0/company_names/0").asText());
+        assertFalse(body.get("permissions_to_act").get(0).has("purpose"));
+        assertFalse(body.has("title"));
+        assertFalse(body.has("other_forenames"));
+        assertFalse(body.get("disqualifications").get(0).has("company_names"));
+        assertFalse(body.get("disqualifications").get(0).has("address"));
+    }
+
+    @Test
+    void shouldNotChangeTheDocumentData() {
+        NaturalDisqualificationApi data = naturalDisqualification();
+        NaturalDisqualificationDocument document = new NaturalDisqualificationDocument();
+        document.setData(data);
+
+        renderer.render(document);
+
+        assertEquals(naturalDisqualification(), data);
+        assertNull(data.getKind());
+        assertEquals("left out of responses", data.getPermissionsToAct().getFirst().getPurpose());
+    }
+
+    @Test
+    void shouldRenderCorporateDataAsAGetWouldReturnItFromMongo() throws Exception {
+        CorporateDisqualificationApi data = new CorporateDisqualificationApi();
+        data.setName("Acme Ltd");
+        data.setCompanyNumber("");
+        data.setDisqualifications(naturalDisqualification().getDisqualifications());
+        CorporateDisqualificationDocument document = new CorporateDisqualificationDocument();
+        document.setData(data);
+
+        renderer.render(document);
+
+        CorporateDisqualificationApi stored = new DisqualifiedCorporateOfficerReadConverter(mongoObjectMapper)
+                .convert(new Document(new DisqualifiedCorporateOfficerWriteConverter(mongoObjectMapper)
+                        .convert(data)));
+        stored.setKind(CorporateDisqualificationApi.KindEnum.CORPORATE_DISQUALIFICATION);
+        assertArrayEquals(objectMapper.writeValueAsBytes(stored), document.getPublicJson());
+        assertFalse(objectMapper.readTree(document.getPublicJson()).has("company_number"));
+        assertNull(data.getKind());
+    }
+
+    @Test
+    void shouldNotTreatOlderVersionsAsRendered() {
+        NaturalDisqualificationDocument document = new NaturalDisqualificationDocument();
+        document.setPublicJson(new byte[0]).setPublicJsonVersion(PublicJsonRenderer.VERSION - 1);
+
+        assertFalse(PublicJsonRenderer.isRendered(document));
+        assertFalse(PublicJsonRenderer.isRendered(new NaturalDisqualificationDocument()));
+    }
+
+    private static NaturalDisqualificationApi naturalDisqualification() {
+        Map<String, Object> reason = new LinkedHashMap<>();
+        reason.put("act", "company-directors-disqualification-act-1986");
+        reason.put("section", "6");
+
+        DisqualificationApi disqualification = new DisqualificationApi();
+        disqualification.setCaseIdentifier("CASE-1");
+        disqualification.setCompanyNames(List.of());
+        disqualification.setDisqualificationType("court-order");
+        disqualification.setDisqualifiedFrom(LocalDate.of(2020, 1, 1));
+        disqualification.setDisqualifiedUntil(LocalDate.of(2030, 1, 1));
+        disqualification.setAddress(new LinkedHashMap<>());
+        disqualification.setReason(reason);
+
+        PermissionToAct permission = new PermissionToAct();
+        permission.setCompanyNames(List.of("Third Company Ltd"));
+        permission.setGrantedOn(LocalDate.of(2021, 6, 1));
+        permission.setPurpose("left out of responses");
+
+        NaturalDisqualificationApi api = new NaturalDisqualificationApi();
+        api.setTitle("");
+        api.setForename("Jane");
+        api.setOtherForenames("");
+        api.setSurname("Doe");
+        api.setEtag("etag");
+        api.setDateOfBirth(LocalDate.of(1965, 5, 4));
+        api.setDisqualifications(List.of(disqualification));
+        api.setPermissionsToAct(List.of(permission));
+        return api;
+    }
+}